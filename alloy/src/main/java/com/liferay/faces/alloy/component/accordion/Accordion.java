@@ -24,6 +24,8 @@ import javax.faces.component.behavior.AjaxBehavior;
 import javax.faces.component.behavior.Behavior;
 import javax.faces.component.behavior.ClientBehavior;
 import javax.faces.component.behavior.ClientBehaviorHolder;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
 import javax.faces.context.FacesContext;
 import javax.faces.event.AjaxBehaviorEvent;
 import javax.faces.event.FacesEvent;
@@ -32,6 +34,7 @@ import com.liferay.faces.alloy.component.tab.Tab;
 import com.liferay.faces.alloy.component.tab.TabCollapseEvent;
 import com.liferay.faces.alloy.component.tab.TabExpandEvent;
 import com.liferay.faces.alloy.component.tab.TabUtil;
+import com.liferay.faces.alloy.component.tab.internal.LazyTabUtil;
 import com.liferay.faces.util.helper.IntegerHelper;
 import com.liferay.faces.util.lang.StringPool;
 
@@ -116,6 +119,30 @@ public class Accordion extends AccordionBase implements ClientBehaviorHolder {
 		}
 	}
 
+	@Override
+	public boolean visitTree(VisitContext visitContext, VisitCallback visitCallback) {
+
+		// If the current request is the Ajax request that loads the content of a tab, then only the tab is visited so
+		// that only its content is rendered, leaving the markup of the other tabs (and of the accordion) as-is.
+		if (isLazy() && (visitContext.getIdsToVisit() != VisitContext.ALL_IDS) && isVisitable(visitContext)) {
+
+			int loadTabIndex = LazyTabUtil.getLoadTabIndex(visitContext.getFacesContext(), this);
+
+			if (loadTabIndex >= 0) {
+
+				// Since the Ajax request did not execute the accordion, the client-side state of the selected index is
+				// applied here so that it is saved along with the loaded tab.
+				setSelectedIndex(loadTabIndex);
+
+				if (LazyTabUtil.visitTab(visitContext, visitCallback, this, loadTabIndex)) {
+					return true;
+				}
+			}
+		}
+
+		return super.visitTree(visitContext, visitCallback);
+	}
+
 	@Override
 	public String getDefaultEventName() {
 		return TabExpandEvent.TAB_EXPAND;
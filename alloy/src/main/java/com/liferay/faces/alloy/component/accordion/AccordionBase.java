@@ -34,6 +34,7 @@ public abstract class AccordionBase extends UIData implements Styleable, ClientC
 	// Protected Enumerations
 	protected enum AccordionPropertyKeys {
 		clientKey,
+		lazy,
 		multiple,
 		selectedIndex,
 		style,
@@ -57,6 +58,14 @@ public abstract class AccordionBase extends UIData implements Styleable, ClientC
 		getStateHelper().put(AccordionPropertyKeys.clientKey, clientKey);
 	}
 
+	public boolean isLazy() {
+		return (Boolean) getStateHelper().eval(AccordionPropertyKeys.lazy, false);
+	}
+
+	public void setLazy(boolean lazy) {
+		getStateHelper().put(AccordionPropertyKeys.lazy, lazy);
+	}
+
 	public boolean isMultiple() {
 		return (Boolean) getStateHelper().eval(AccordionPropertyKeys.multiple, false);
 	}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.faces.application.ResourceDependencies;
 import javax.faces.application.ResourceDependency;
@@ -28,6 +29,11 @@ import javax.faces.component.behavior.ClientBehavior;
 import javax.faces.component.behavior.ClientBehaviorContext;
 import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.ComponentSystemEvent;
+import javax.faces.event.ComponentSystemEventListener;
+import javax.faces.event.ListenerFor;
+import javax.faces.event.PostAddToViewEvent;
 import javax.faces.render.FacesRenderer;
 
 import com.liferay.faces.alloy.component.accordion.Accordion;
@@ -35,6 +41,8 @@ import com.liferay.faces.alloy.component.tab.Tab;
 import com.liferay.faces.alloy.component.tab.TabCollapseEvent;
 import com.liferay.faces.alloy.component.tab.TabExpandEvent;
 import com.liferay.faces.alloy.component.tab.TabUtil;
+import com.liferay.faces.alloy.component.tab.internal.LazyTabUtil;
+import com.liferay.faces.alloy.render.internal.RowCountCache;
 import com.liferay.faces.util.component.Styleable;
 import com.liferay.faces.util.helper.IntegerHelper;
 import com.liferay.faces.util.lang.StringPool;
@@ -48,6 +56,7 @@ import com.liferay.faces.util.render.RendererUtil;
  */
 //J-
 @FacesRenderer(componentFamily = Accordion.COMPONENT_FAMILY, rendererType = Accordion.RENDERER_TYPE)
+@ListenerFor(systemEventClass = PostAddToViewEvent.class, sourceClass = Accordion.class)
 @ResourceDependencies(
 	{
 		@ResourceDependency(library = "liferay-faces-alloy", name = "alloy.css"),
@@ -58,7 +67,7 @@ import com.liferay.faces.util.render.RendererUtil;
 	}
 )
 //J+
-public class AccordionRenderer extends AccordionRendererBase {
+public class AccordionRenderer extends AccordionRendererBase implements ComponentSystemEventListener {
 
 	// Private Constants
 	private static final String ANIMATED = "animated";
@@ -92,14 +101,28 @@ public class AccordionRenderer extends AccordionRendererBase {
 	@Override
 	public void encodeChildren(FacesContext facesContext, UIComponent uiComponent) throws IOException {
 
-		// If iteration should take place over a data-model, then
 		Accordion accordion = (Accordion) uiComponent;
+		boolean lazy = accordion.isLazy();
+
+		// If iteration should take place over a data-model, then
 		Integer selectedIndex = accordion.getSelectedIndex();
 		Object value = accordion.getValue();
 		String var = accordion.getVar();
 		boolean iterateOverDataModel = ((value != null) && (var != null));
 		ResponseWriter responseWriter = facesContext.getResponseWriter();
 
+		// If the content of the tabs is to be loaded lazily, then determine which tabs have been loaded.
+		Set<Integer> loadedTabIndexes = null;
+
+		if (lazy) {
+
+			if (selectedIndex != null) {
+				LazyTabUtil.setTabLoaded(accordion, selectedIndex);
+			}
+
+			loadedTabIndexes = LazyTabUtil.getLoadedTabIndexes(accordion);
+		}
+
 		if (iterateOverDataModel) {
 
 			// Get the first child tab and use it as a prototype tab.
@@ -108,14 +131,15 @@ public class AccordionRenderer extends AccordionRendererBase {
 			if (prototypeChildTab != null) {
 
 				// Encode a header <div> and content <div> for each row in the data-model.
-				int rowCount = accordion.getRowCount();
+				int rowCount = RowCountCache.getRowCount(facesContext, accordion);
 
 				for (int i = 0; i < rowCount; i++) {
 					accordion.setRowIndex(i);
 
 					boolean selected = ((selectedIndex != null) && (i == selectedIndex));
+					boolean loaded = (!lazy || loadedTabIndexes.contains(i));
 					encodeHeader(facesContext, responseWriter, uiComponent, prototypeChildTab, selected);
-					encodeContent(facesContext, responseWriter, uiComponent, prototypeChildTab, selected);
+					encodeContent(facesContext, responseWriter, uiComponent, prototypeChildTab, selected, loaded);
 				}
 
 				accordion.setRowIndex(-1);
@@ -137,8 +161,9 @@ public class AccordionRenderer extends AccordionRendererBase {
 				if ((child instanceof Tab) && child.isRendered()) {
 					Tab childTab = (Tab) child;
 					boolean selected = ((selectedIndex != null) && (i == selectedIndex));
+					boolean loaded = (!lazy || loadedTabIndexes.contains(i));
 					encodeHeader(facesContext, responseWriter, uiComponent, childTab, selected);
-					encodeContent(facesContext, responseWriter, uiComponent, childTab, selected);
+					encodeContent(facesContext, responseWriter, uiComponent, childTab, selected, loaded);
 				}
 				else {
 					logger.warn("Unable to render child element of alloy:accordion since it is not alloy:tab");
@@ -314,6 +339,21 @@ public class AccordionRenderer extends AccordionRendererBase {
 			}
 		}
 
+		// If the content of the tabs is to be loaded lazily, then render a script that loads the content of the
+		// expanded tab via Ajax the first time that it is expanded.
+		if (accordion.isLazy()) {
+
+			//J-
+			// if (event.newVal) {
+			//	   LFAI.loadLazyTab(hidden, 'clientId', ['clientId:tab1','clientId:tab2'], eventTabIndex);
+			// }
+			//J+
+			behaviorCallback.append("if(event.newVal)");
+			behaviorCallback.append(StringPool.OPEN_CURLY_BRACE);
+			behaviorCallback.append(LazyTabUtil.getLoadScript(facesContext, accordion, "hidden", "eventTabIndex"));
+			behaviorCallback.append(StringPool.CLOSE_CURLY_BRACE);
+		}
+
 		encodeEventCallback(responseWriter, "togglers[i]", StringPool.AFTER, EXPANDED_CHANGE,
 			behaviorCallback.toString());
 
@@ -338,8 +378,20 @@ public class AccordionRenderer extends AccordionRendererBase {
 		responseWriter.endElement(StringPool.DIV);
 	}
 
+	@Override
+	public void processEvent(ComponentSystemEvent componentSystemEvent) throws AbortProcessingException {
+
+		// If the content of the tabs is to be loaded lazily, then the jsf.js script is required in order to submit the
+		// Ajax request that loads the content of a tab.
+		Accordion accordion = (Accordion) componentSystemEvent.getComponent();
+
+		if (accordion.isLazy()) {
+			LazyTabUtil.addJSFScriptResource(FacesContext.getCurrentInstance());
+		}
+	}
+
 	protected void encodeContent(FacesContext facesContext, ResponseWriter responseWriter, UIComponent uiComponent,
-		Tab tab, boolean selected) throws IOException {
+		Tab tab, boolean selected, boolean loaded) throws IOException {
 
 		// Encode the starting <div> element that represents the specified tab's content.
 		responseWriter.startElement(StringPool.DIV, tab);
@@ -360,8 +412,8 @@ public class AccordionRenderer extends AccordionRendererBase {
 
 		responseWriter.writeAttribute(StringPool.CLASS, contentClass, Styleable.STYLE_CLASS);
 
-		// Encode the children of the specified tab as the actual content.
-		tab.encodeAll(facesContext);
+		// Encode the children of the specified tab as the actual content (if it has been loaded).
+		LazyTabUtil.encodeTab(facesContext, tab, loaded);
 
 		// Encode the closing </div> element for the specified tab.
 		responseWriter.endElement(StringPool.DIV);
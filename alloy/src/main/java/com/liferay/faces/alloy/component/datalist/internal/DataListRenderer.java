@@ -25,6 +25,7 @@ import javax.faces.render.FacesRenderer;
 
 import com.liferay.faces.alloy.component.dataitem.DataItem;
 import com.liferay.faces.alloy.component.datalist.DataList;
+import com.liferay.faces.alloy.render.internal.RowCountCache;
 import com.liferay.faces.util.component.Styleable;
 import com.liferay.faces.util.lang.StringPool;
 import com.liferay.faces.util.logging.Logger;
@@ -102,7 +103,7 @@ public class DataListRenderer extends DataListRendererBase {
 			}
 			else {
 
-				int rowCount = dataList.getRowCount();
+				int rowCount = RowCountCache.getRowCount(facesContext, dataList);
 
 				for (int i = 0; i < rowCount; i++) {
 					dataList.setRowIndex(i);
@@ -14,16 +14,16 @@
 package com.liferay.faces.alloy.component.inputdate;
 
 import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
 import javax.faces.component.FacesComponent;
 import javax.faces.context.FacesContext;
 
+import com.liferay.faces.util.text.DateFormatCache;
+
 
 /**
  * @author  Kyle Stiemann
@@ -45,7 +45,7 @@ public class InputDate extends InputDateBase {
 			String datePattern = getPattern();
 			Object minDateObject = getMinDate();
 			String timeZoneString = getTimeZone();
-			TimeZone timeZone = TimeZone.getTimeZone(timeZoneString);
+			TimeZone timeZone = DateFormatCache.getTimeZone(timeZoneString);
 
 			Date minDate = getObjectAsDate(minDateObject, datePattern, timeZone);
 			Object maxDateObject = getMaxDate();
@@ -74,7 +74,7 @@ public class InputDate extends InputDateBase {
 
 	protected Date getDateAtMidnight(Date date, TimeZone timeZone) {
 
-		Calendar calendar = new GregorianCalendar(timeZone);
+		Calendar calendar = DateFormatCache.getCalendar(timeZone);
 		calendar.setTime(date);
 		calendar.set(Calendar.HOUR_OF_DAY, 0);
 		calendar.set(Calendar.MINUTE, 0);
@@ -88,12 +88,7 @@ public class InputDate extends InputDateBase {
 
 		Locale locale = getObjectAsLocale(componentLocale);
 
-		// Note: The following usage of SimpleDateFormat is thread-safe, since only the result of the toPattern()
-		// method is utilized.
-		SimpleDateFormat simpleDateFormat = (SimpleDateFormat) SimpleDateFormat.getDateInstance(DateFormat.MEDIUM,
-				locale);
-
-		return simpleDateFormat.toPattern();
+		return DateFormatCache.getDatePattern(DateFormat.MEDIUM, locale);
 	}
 
 	@Override
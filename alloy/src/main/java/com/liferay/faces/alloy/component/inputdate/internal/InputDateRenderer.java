@@ -38,6 +38,7 @@ import com.liferay.faces.util.client.BrowserSniffer;
 import com.liferay.faces.util.client.BrowserSnifferFactory;
 import com.liferay.faces.util.factory.FactoryExtensionFinder;
 import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.util.text.DateFormatCache;
 
 
 /**
@@ -123,9 +124,9 @@ public class InputDateRenderer extends InputDateRendererBase {
 
 					String datePattern = inputDate.getPattern();
 					String timeZoneString = inputDate.getTimeZone();
-					TimeZone timeZone = TimeZone.getTimeZone(timeZoneString);
-					SimpleDateFormat simpleDateFormat = new SimpleDateFormat(InputDate.DEFAULT_HTML5_DATE_PATTERN,
-							Locale.ENGLISH);
+					TimeZone timeZone = DateFormatCache.getTimeZone(timeZoneString);
+					SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(
+							InputDate.DEFAULT_HTML5_DATE_PATTERN, Locale.ENGLISH, null);
 
 					if (maxDateObject != null) {
 						Date maxDate = inputDate.getObjectAsDate(maxDateObject, datePattern, timeZone);
@@ -225,13 +226,13 @@ public class InputDateRenderer extends InputDateRendererBase {
 
 		String datePattern = inputDate.getPattern();
 		String timeZoneString = inputDate.getTimeZone();
-		TimeZone timeZone = TimeZone.getTimeZone(timeZoneString);
+		TimeZone timeZone = DateFormatCache.getTimeZone(timeZoneString);
 		Date date = inputDate.getObjectAsDate(dateObject, datePattern, timeZone);
 
 		// Note: The JavaScript date object expects zero-based month numbers, so it is necessary to offset the month
 		// by 1.
-		SimpleDateFormat simpleDateFormat = new SimpleDateFormat("'new Date'(yyyy,MM-1,dd,0,0,0,0)");
-		simpleDateFormat.setTimeZone(timeZone);
+		SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat("'new Date'(yyyy,MM-1,dd,0,0,0,0)",
+				null, timeZone);
 
 		String dateString = simpleDateFormat.format(date);
 		encodeNonEscapedObject(responseWriter, attributeName, dateString, first);
@@ -33,6 +33,7 @@ import com.liferay.faces.util.context.MessageContext;
 import com.liferay.faces.util.context.MessageContextFactory;
 import com.liferay.faces.util.factory.FactoryExtensionFinder;
 import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.util.text.DateFormatCache;
 
 
 /**
@@ -65,9 +66,7 @@ public abstract class InputDateTime extends InputDateTimeBase implements ClientC
 					facesMessage = new FacesMessage(FacesMessage.SEVERITY_ERROR, validatorMessage, validatorMessage);
 				}
 				else {
-					SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
-					simpleDateFormat.setTimeZone(timeZone);
-
+					SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(pattern, null, timeZone);
 					String minDateString = simpleDateFormat.format(minDate);
 					String maxDateString = simpleDateFormat.format(maxDate);
 					Locale locale = getObjectAsLocale(getLocale(facesContext));
@@ -110,8 +109,11 @@ public abstract class InputDateTime extends InputDateTimeBase implements ClientC
 			dateTimeConverter.setLocale(locale);
 
 			String timeZoneString = getTimeZone();
-			TimeZone timeZone = TimeZone.getTimeZone(timeZoneString);
-			dateTimeConverter.setTimeZone(timeZone);
+			TimeZone timeZone = DateFormatCache.getTimeZone(timeZoneString);
+
+			// Note: Since the cached time zone is shared, the converter (which is exposed to the application) is
+			// provided with a copy.
+			dateTimeConverter.setTimeZone((TimeZone) timeZone.clone());
 			converter = dateTimeConverter;
 		}
 
@@ -175,8 +177,8 @@ public abstract class InputDateTime extends InputDateTimeBase implements ClientC
 
 					try {
 
-						SimpleDateFormat simpleDateFormat = new SimpleDateFormat(datePattern);
-						simpleDateFormat.setTimeZone(timeZone);
+						SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(datePattern, null,
+								timeZone);
 						date = simpleDateFormat.parse(dateAsString);
 					}
 					catch (ParseException e) {
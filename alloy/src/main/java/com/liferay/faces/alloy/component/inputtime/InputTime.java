@@ -22,6 +22,8 @@ import javax.faces.FacesException;
 import javax.faces.component.FacesComponent;
 import javax.faces.context.FacesContext;
 
+import com.liferay.faces.util.text.DateFormatCache;
+
 
 /**
  * @author  Bruno Basto
@@ -45,9 +47,9 @@ public class InputTime extends InputTimeBase {
 
 			// Determine if the specified value falls between the values of the minTime and maxTime attributes.
 			String timeZoneAsString = getTimeZone();
-			TimeZone timeZone = TimeZone.getTimeZone(timeZoneAsString);
-			SimpleDateFormat simpleDateFormat = new SimpleDateFormat(MIN_MAX_TIME_PATTERN);
-			simpleDateFormat.setTimeZone(timeZone);
+			TimeZone timeZone = DateFormatCache.getTimeZone(timeZoneAsString);
+			SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(MIN_MAX_TIME_PATTERN, null,
+					timeZone);
 
 			String minTimeString = getMinTime();
 			String maxTimeString = getMaxTime();
@@ -41,6 +41,7 @@ import com.liferay.faces.util.client.BrowserSniffer;
 import com.liferay.faces.util.client.BrowserSnifferFactory;
 import com.liferay.faces.util.factory.FactoryExtensionFinder;
 import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.util.text.DateFormatCache;
 
 
 /**
@@ -62,6 +63,7 @@ public class InputTimeRenderer extends InputTimeRendererBase {
 
 	// Private Constants
 	private static final Pattern TIMESTAMP_PATTERN = Pattern.compile("([0-1][0-9]|2[0-3]):[0-5][0-9]:[0-5][0-9]");
+	private static final TimeValuesCache TIME_VALUES_CACHE = new TimeValuesCache(64);
 
 	// Private Constants used in getMaskFromTimePattern()
 	private static final String TOKEN_REGEX = "\\{0\\}";
@@ -189,37 +191,20 @@ public class InputTimeRenderer extends InputTimeRendererBase {
 			String timePattern = inputTime.getPattern();
 			Object objectLocale = inputTime.getLocale();
 			Locale locale = inputTime.getObjectAsLocale(objectLocale);
-			TimeZone timeZone = TimeZone.getTimeZone(InputDateTime.GREENWICH);
-			SimpleDateFormat simpleDateFormat = new SimpleDateFormat(timePattern, locale);
-			simpleDateFormat.setTimeZone(timeZone);
-
-			Integer millisecondStep = inputTime.getStep() * 1000;
-			boolean firstTimeStamp = true;
+			long millisecondStep = inputTime.getStep() * 1000L;
 
 			if (millisecondStep < 1) {
 				throw new IOException("step cannot be less than 1.");
 			}
 
-			// The values of the timePicker are determined by iterating from minTime to maxTime by the value of
-			// step, and printing each resulting value.
-			for (long milliseconds = minTime; milliseconds <= maxTime; milliseconds = milliseconds + millisecondStep) {
-
-				if (!firstTimeStamp) {
-					responseWriter.write(StringPool.COMMA);
-				}
-				else {
-					firstTimeStamp = false;
-				}
-
-				Date time = new Date(milliseconds);
-				String dateString = simpleDateFormat.format(time);
-				String escapedDateString = escapeJavaScript(dateString);
+			String timeValues = TIME_VALUES_CACHE.get(timePattern, locale, minTime, maxTime, millisecondStep);
 
-				responseWriter.write(StringPool.APOSTROPHE);
-				responseWriter.write(escapedDateString);
-				responseWriter.write(StringPool.APOSTROPHE);
+			if (timeValues == null) {
+				timeValues = getTimeValues(timePattern, locale, minTime, maxTime, millisecondStep);
+				TIME_VALUES_CACHE.put(timePattern, locale, minTime, maxTime, millisecondStep, timeValues);
 			}
 
+			responseWriter.write(timeValues);
 			responseWriter.write("]);");
 		}
 	}
@@ -345,6 +330,42 @@ public class InputTimeRenderer extends InputTimeRendererBase {
 		super.encodeMask(responseWriter, inputTime, timePatternMask, first);
 	}
 
+	/**
+	 * Returns the comma-separated JavaScript array elements that represent the values of the timePicker. The values
+	 * are determined by iterating from minTime to maxTime by the value of step, and formatting each resulting value.
+	 */
+	protected String getTimeValues(String timePattern, Locale locale, long minTime, long maxTime,
+		long millisecondStep) {
+
+		TimeZone timeZone = DateFormatCache.getTimeZone(InputDateTime.GREENWICH);
+		SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(timePattern, locale, timeZone);
+
+		StringBuilder buf = new StringBuilder();
+		Date time = new Date();
+		boolean firstTimeStamp = true;
+
+		for (long milliseconds = minTime; milliseconds <= maxTime; milliseconds = milliseconds + millisecondStep) {
+
+			if (!firstTimeStamp) {
+				buf.append(StringPool.COMMA);
+			}
+			else {
+				firstTimeStamp = false;
+			}
+
+			time.setTime(milliseconds);
+
+			String dateString = simpleDateFormat.format(time);
+			String escapedDateString = escapeJavaScript(dateString);
+
+			buf.append(StringPool.APOSTROPHE);
+			buf.append(escapedDateString);
+			buf.append(StringPool.APOSTROPHE);
+		}
+
+		return buf.toString();
+	}
+
 	@Override
 	public String getAlloyClassName(FacesContext facesContext, UIComponent uiComponent) {
 
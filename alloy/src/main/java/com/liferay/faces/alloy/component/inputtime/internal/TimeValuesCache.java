@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.inputtime.internal;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * This class is a bounded, thread-safe cache of the JavaScript array elements that represent the values of a
+ * timePicker. The values are determined by the time pattern, locale, minimum time, maximum time and step, so they are
+ * identical for every inputTime component (and every request) that shares those attributes. When the cache is full,
+ * the least recently used entry is evicted.
+ *
+ * @author  Kyle Stiemann
+ */
+public class TimeValuesCache {
+
+	// Private Data Members
+	private Map<List<Object>, String> timeValuesMap;
+
+	public TimeValuesCache(final int maxEntries) {
+
+		this.timeValuesMap = new LinkedHashMap<List<Object>, String>(16, 0.75f, true) {
+
+				// serialVersionUID
+				private static final long serialVersionUID = 3618374425376329254L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldestEntry) {
+					return size() > maxEntries;
+				}
+			};
+	}
+
+	private static List<Object> getKey(String timePattern, Locale locale, long minTime, long maxTime,
+		long millisecondStep) {
+		return Arrays.<Object>asList(timePattern, locale, minTime, maxTime, millisecondStep);
+	}
+
+	/**
+	 * Adds the specified JavaScript array elements to the cache, evicting the least recently used entry if necessary.
+	 */
+	public void put(String timePattern, Locale locale, long minTime, long maxTime, long millisecondStep,
+		String timeValues) {
+
+		List<Object> key = getKey(timePattern, locale, minTime, maxTime, millisecondStep);
+
+		synchronized (timeValuesMap) {
+			timeValuesMap.put(key, timeValues);
+		}
+	}
+
+	/**
+	 * Returns the cached JavaScript array elements for the specified attributes, or <code>null</code> if they have not
+	 * been cached.
+	 */
+	public String get(String timePattern, Locale locale, long minTime, long maxTime, long millisecondStep) {
+
+		List<Object> key = getKey(timePattern, locale, minTime, maxTime, millisecondStep);
+
+		// Note: Since the map is ordered by access, get(Object) modifies the map and must be synchronized.
+		synchronized (timeValuesMap) {
+			return timeValuesMap.get(key);
+		}
+	}
+
+	public int size() {
+
+		synchronized (timeValuesMap) {
+			return timeValuesMap.size();
+		}
+	}
+}
@@ -43,6 +43,7 @@ import com.liferay.faces.alloy.component.commandlink.CommandLink;
 import com.liferay.faces.alloy.component.outputtext.OutputText;
 import com.liferay.faces.alloy.component.paginator.Paginator;
 import com.liferay.faces.alloy.render.internal.AlloyRendererUtil;
+import com.liferay.faces.alloy.render.internal.RowCountCache;
 import com.liferay.faces.util.component.Styleable;
 import com.liferay.faces.util.context.MessageContext;
 import com.liferay.faces.util.context.MessageContextFactory;
@@ -117,7 +118,7 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 				// display the next set of rows in the data model.
 				else if ("nextPage".equals(paginatorAction)) {
 					int rows = uiData.getRows();
-					int rowCount = uiData.getRowCount();
+					int rowCount = RowCountCache.getRowCount(facesContext, uiData);
 					int first = uiData.getFirst();
 					first += rows;
 
@@ -132,7 +133,8 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 				// display the last set of rows in the data model.
 				else if ("lastPage".equals(paginatorAction)) {
 
-					uiData.setFirst((uiData.getRowCount() / uiData.getRows()) * uiData.getRows());
+					int rowCount = RowCountCache.getRowCount(facesContext, uiData);
+					uiData.setFirst((rowCount / uiData.getRows()) * uiData.getRows());
 					activatedPaginationControl = true;
 				}
 
@@ -146,7 +148,7 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 						int pageIndex = pageNumber - 1;
 						int first = pageIndex * uiData.getRows();
 
-						if (first > uiData.getRowCount()) {
+						if (first > RowCountCache.getRowCount(facesContext, uiData)) {
 							first = 0;
 						}
 
@@ -190,7 +192,7 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 		int first = uiData.getFirst();
 		int rows = uiData.getRows();
 		int curPage = (first / rows) + 1;
-		int rowCount = uiData.getRowCount();
+		int rowCount = RowCountCache.getRowCount(facesContext, uiData);
 		int pageCount = (int) Math.ceil((double) rowCount / (double) rows);
 
 		// If the summary is to be positioned above the pagination controls, then encode the summary.
@@ -335,7 +337,8 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 	protected void encodeLastPageListItem(FacesContext facesContext, ResponseWriter responseWriter, Paginator paginator,
 		UIData uiData, String clientId, String namingContainerId) throws IOException {
 
-		boolean enabled = ((uiData.getFirst() + uiData.getRows()) < uiData.getRowCount());
+		int rowCount = RowCountCache.getRowCount(facesContext, uiData);
+		boolean enabled = ((uiData.getFirst() + uiData.getRows()) < rowCount);
 		String lastPageLabel = paginator.getLastPageLabel();
 		encodeUnorderedListItem(facesContext, responseWriter, paginator, clientId, namingContainerId, "lastPage",
 			lastPageLabel, enabled, false);
@@ -344,7 +347,8 @@ public class PaginatorRenderer extends PaginatorRendererBase implements Componen
 	protected void encodeNextPageListItem(FacesContext facesContext, ResponseWriter responseWriter, Paginator paginator,
 		UIData uiData, String clientId, String namingContainerId) throws IOException {
 
-		boolean enabled = ((uiData.getFirst() + uiData.getRows()) < uiData.getRowCount());
+		int rowCount = RowCountCache.getRowCount(facesContext, uiData);
+		boolean enabled = ((uiData.getFirst() + uiData.getRows()) < rowCount);
 		String nextPageLabel = paginator.getNextPageLabel();
 		encodeUnorderedListItem(facesContext, responseWriter, paginator, clientId, namingContainerId, "nextPage",
 			nextPageLabel, enabled, false);
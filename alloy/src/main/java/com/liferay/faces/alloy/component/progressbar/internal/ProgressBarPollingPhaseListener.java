@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.progressbar.internal;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.faces.FacesException;
+import javax.faces.component.ContextCallback;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIViewRoot;
+import javax.faces.component.behavior.AjaxBehavior;
+import javax.faces.component.behavior.ClientBehavior;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.context.PartialResponseWriter;
+import javax.faces.event.AjaxBehaviorEvent;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+import javax.faces.render.RenderKit;
+import javax.faces.render.Renderer;
+
+import com.liferay.faces.alloy.component.progressbar.ProgressBar;
+import com.liferay.faces.alloy.component.progressbar.ProgressCompleteEvent;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * <p>This class is a JSF {@link PhaseListener} that short-circuits the JSF lifecycle for the Ajax requests that poll
+ * the server for the value of a {@link ProgressBar}. After the {@link PhaseId#RESTORE_VIEW} phase, the progressBar
+ * that is the source of the poll is located by clientId and the listeners of its "poll" behaviors are notified with a
+ * {@link ProgressCompleteEvent}, just as they would be during the {@link PhaseId#INVOKE_APPLICATION} phase. The
+ * current value of the progressBar is then written to the &lt;eval&gt; section of the partial response. This avoids
+ * visiting the component tree during the remaining phases, and also avoids saving the state of the view.</p>
+ *
+ * <p>If any of the "poll" behaviors execute or render a component other than the progressBar itself, then the full
+ * lifecycle is executed.</p>
+ *
+ * @author  Neil Griffin
+ */
+public class ProgressBarPollingPhaseListener implements PhaseListener {
+
+	// serialVersionUID
+	private static final long serialVersionUID = 7073528556723671474L;
+
+	// Private Constants
+	private static final String BEHAVIOR_EVENT_PARAM_NAME = "javax.faces.behavior.event";
+	private static final String BEHAVIOR_SOURCE_PARAM_NAME = "javax.faces.source";
+	private static final String POLL = "poll";
+
+	public void afterPhase(PhaseEvent phaseEvent) {
+
+		FacesContext facesContext = phaseEvent.getFacesContext();
+
+		if (!facesContext.getRenderResponse() && !facesContext.getResponseComplete() &&
+				facesContext.getPartialViewContext().isAjaxRequest()) {
+
+			ExternalContext externalContext = facesContext.getExternalContext();
+			Map<String, String> requestParameterMap = externalContext.getRequestParameterMap();
+			String clientId = requestParameterMap.get(BEHAVIOR_SOURCE_PARAM_NAME);
+
+			if ((clientId != null) && POLL.equals(requestParameterMap.get(BEHAVIOR_EVENT_PARAM_NAME))) {
+
+				// Queue an event for each of the "poll" behaviors of the progressBar.
+				UIViewRoot viewRoot = facesContext.getViewRoot();
+				QueueEventsCallback queueEventsCallback = new QueueEventsCallback();
+				viewRoot.invokeOnComponent(facesContext, clientId, queueEventsCallback);
+
+				if (queueEventsCallback.isShortCircuited()) {
+
+					// Broadcast the queued events without visiting the component tree.
+					viewRoot.processApplication(facesContext);
+
+					if (!facesContext.getResponseComplete()) {
+
+						// If a listener caused navigation to a different view or threw an exception, then fall back to
+						// the RENDER_RESPONSE phase so that the response is handled normally.
+						boolean exceptionQueued = facesContext.getExceptionHandler().getUnhandledExceptionQueuedEvents()
+							.iterator().hasNext();
+
+						if (exceptionQueued || (viewRoot != facesContext.getViewRoot())) {
+							facesContext.renderResponse();
+						}
+						else {
+
+							WriteValueCallback writeValueCallback = new WriteValueCallback(
+									queueEventsCallback.getProgressBarRenderer());
+							viewRoot.invokeOnComponent(facesContext, clientId, writeValueCallback);
+							facesContext.responseComplete();
+						}
+					}
+				}
+			}
+		}
+	}
+
+	public void beforePhase(PhaseEvent phaseEvent) {
+		// no-op
+	}
+
+	/**
+	 * Determines whether or not the specified "poll" behaviors execute and render only the progressBar with the
+	 * specified clientId and id. Behaviors that are disabled are ignored.
+	 */
+	protected static boolean isExecutedInIsolation(List<ClientBehavior> pollClientBehaviors, String clientId,
+		String id) {
+
+		for (ClientBehavior pollClientBehavior : pollClientBehaviors) {
+
+			if (pollClientBehavior instanceof AjaxBehavior) {
+
+				AjaxBehavior ajaxBehavior = (AjaxBehavior) pollClientBehavior;
+
+				if (!ajaxBehavior.isDisabled()) {
+
+					if (!isThis(ajaxBehavior.getExecute(), clientId, id, false) ||
+							!isThis(ajaxBehavior.getRender(), clientId, id, true)) {
+						return false;
+					}
+				}
+			}
+			else {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isThis(Collection<String> ids, String clientId, String id, boolean noneAllowed) {
+
+		if (ids != null) {
+
+			for (String curId : ids) {
+
+				if (!"@this".equals(curId) && !clientId.equals(curId) && !curId.equals(id) &&
+						!(noneAllowed && "@none".equals(curId))) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	public PhaseId getPhaseId() {
+		return PhaseId.RESTORE_VIEW;
+	}
+
+	protected static class QueueEventsCallback implements ContextCallback {
+
+		// Private Data Members
+		private ProgressBarRenderer progressBarRenderer;
+		private boolean shortCircuited;
+
+		public void invokeContextCallback(FacesContext facesContext, UIComponent uiComponent) {
+
+			if (uiComponent instanceof ProgressBar) {
+
+				ProgressBar progressBar = (ProgressBar) uiComponent;
+				RenderKit renderKit = facesContext.getRenderKit();
+				Renderer renderer = renderKit.getRenderer(progressBar.getFamily(), progressBar.getRendererType());
+
+				// If the renderer has been replaced by the developer, then the full lifecycle must be executed.
+				if (renderer instanceof ProgressBarRenderer) {
+
+					ProgressBarRenderer progressBarRenderer = (ProgressBarRenderer) renderer;
+					List<ClientBehavior> pollClientBehaviors = progressBar.getClientBehaviors().get(POLL);
+					String clientId = progressBar.getClientId(facesContext);
+
+					if (progressBarRenderer.isAjaxPolling(facesContext, progressBar) &&
+							isExecutedInIsolation(pollClientBehaviors, clientId, progressBar.getId())) {
+
+						// Note: ProgressBar.queueEvent(FacesEvent) converts the AjaxBehaviorEvent to a
+						// ProgressCompleteEvent.
+						for (ClientBehavior pollClientBehavior : pollClientBehaviors) {
+
+							AjaxBehavior ajaxBehavior = (AjaxBehavior) pollClientBehavior;
+
+							if (!ajaxBehavior.isDisabled()) {
+								progressBar.queueEvent(new AjaxBehaviorEvent(progressBar, ajaxBehavior));
+							}
+						}
+
+						this.progressBarRenderer = progressBarRenderer;
+						this.shortCircuited = true;
+					}
+				}
+			}
+		}
+
+		public ProgressBarRenderer getProgressBarRenderer() {
+			return progressBarRenderer;
+		}
+
+		public boolean isShortCircuited() {
+			return shortCircuited;
+		}
+	}
+
+	protected static class WriteValueCallback implements ContextCallback {
+
+		// Private Data Members
+		private ProgressBarRenderer progressBarRenderer;
+
+		public WriteValueCallback(ProgressBarRenderer progressBarRenderer) {
+			this.progressBarRenderer = progressBarRenderer;
+		}
+
+		public void invokeContextCallback(FacesContext facesContext, UIComponent uiComponent) {
+
+			ProgressBar progressBar = (ProgressBar) uiComponent;
+
+			try {
+				String script = progressBarRenderer.getServerValueScript(facesContext, progressBar);
+				ExternalContext externalContext = facesContext.getExternalContext();
+				externalContext.setResponseContentType("text/xml");
+				externalContext.setResponseCharacterEncoding(StringPool.UTF8);
+
+				PartialResponseWriter partialResponseWriter = facesContext.getPartialViewContext()
+					.getPartialResponseWriter();
+				partialResponseWriter.startDocument();
+				partialResponseWriter.startEval();
+				partialResponseWriter.write(script);
+				partialResponseWriter.endEval();
+				partialResponseWriter.endDocument();
+			}
+			catch (IOException e) {
+				throw new FacesException(e);
+			}
+		}
+	}
+}
@@ -316,33 +316,11 @@ public class ProgressBarRenderer extends ProgressBarRendererBase {
 
 		if (isAjaxPolling(facesContext, uiComponent)) {
 
+			// Add the JavaScript to the FacesRequestContext so that it is rendered in the <eval> section of the partial
+			// response.
 			ProgressBar progressBar = (ProgressBar) uiComponent;
-			String clientVarName = getClientVarName(facesContext, progressBar);
-			String clientKey = progressBar.getClientKey();
-
-			if (clientKey == null) {
-				clientKey = clientVarName;
-			}
-
-			// Buffer all JavaScript so that it is rendered in the <eval> section of the partial response.
-			BufferedScriptResponseWriter bufferedScriptResponseWriter = new BufferedScriptResponseWriter();
-			String clientId = progressBar.getClientId(facesContext);
-			String hiddenClientId = clientId.concat(HIDDEN_SUFFIX);
-
-			//J-
-			//	Liferay.component('clientKey')
-			//J+
-			JavaScriptFragment liferayComponent = new JavaScriptFragment("Liferay.component('" + clientKey + "')");
-			Integer value = progressBar.getValue();
-
-			//J-
-			//	LFAI.setProgressBarServerValue('hiddenClientId', Liferay.component('clientKey'), value);
-			//J+
-			encodeFunctionCall(bufferedScriptResponseWriter, "LFAI.setProgressBarServerValue", hiddenClientId,
-				liferayComponent, value);
-
 			FacesRequestContext facesRequestContext = FacesRequestContext.getCurrentInstance();
-			facesRequestContext.addScript(bufferedScriptResponseWriter.toString());
+			facesRequestContext.addScript(getServerValueScript(facesContext, progressBar));
 		}
 		else {
 			super.encodeJavaScript(facesContext, uiComponent);
@@ -367,6 +345,38 @@ public class ProgressBarRenderer extends ProgressBarRendererBase {
 		}
 	}
 
+	/**
+	 * Returns the JavaScript that sets the current value of the progressBar on the client when server-side polling
+	 * occurs.
+	 */
+	protected String getServerValueScript(FacesContext facesContext, ProgressBar progressBar) throws IOException {
+
+		String clientVarName = getClientVarName(facesContext, progressBar);
+		String clientKey = progressBar.getClientKey();
+
+		if (clientKey == null) {
+			clientKey = clientVarName;
+		}
+
+		BufferedScriptResponseWriter bufferedScriptResponseWriter = new BufferedScriptResponseWriter();
+		String clientId = progressBar.getClientId(facesContext);
+		String hiddenClientId = clientId.concat(HIDDEN_SUFFIX);
+
+		//J-
+		//	Liferay.component('clientKey')
+		//J+
+		JavaScriptFragment liferayComponent = new JavaScriptFragment("Liferay.component('" + clientKey + "')");
+		Integer value = progressBar.getValue();
+
+		//J-
+		//	LFAI.setProgressBarServerValue('hiddenClientId', Liferay.component('clientKey'), value);
+		//J+
+		encodeFunctionCall(bufferedScriptResponseWriter, "LFAI.setProgressBarServerValue", hiddenClientId,
+			liferayComponent, value);
+
+		return bufferedScriptResponseWriter.toString();
+	}
+
 	private boolean isServerPollingEnabled(UIComponent uiComponent) {
 
 		ProgressBar progressBar = (ProgressBar) uiComponent;
@@ -376,7 +386,7 @@ public class ProgressBarRenderer extends ProgressBarRendererBase {
 		return ((clientBehaviorsForPolling != null) && !clientBehaviorsForPolling.isEmpty());
 	}
 
-	private boolean isAjaxPolling(FacesContext facesContext, UIComponent uiComponent) {
+	protected boolean isAjaxPolling(FacesContext facesContext, UIComponent uiComponent) {
 
 		boolean polling = false;
 
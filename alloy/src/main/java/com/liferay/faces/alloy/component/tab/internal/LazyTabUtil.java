@@ -0,0 +1,285 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.tab.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.faces.component.UIColumn;
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIData;
+import javax.faces.component.UIOutput;
+import javax.faces.component.UIViewRoot;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
+import javax.faces.component.visit.VisitResult;
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.alloy.component.tab.Tab;
+import com.liferay.faces.alloy.component.tab.TabUtil;
+import com.liferay.faces.alloy.render.internal.RowCountCache;
+import com.liferay.faces.util.helper.IntegerHelper;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class provides support for the "lazy" attribute of components that render child tabs (such as alloy:tabView and
+ * alloy:accordion). When a component is lazy, only the content of the selected tab (and the content of tabs that have
+ * already been loaded) is encoded. The content of each of the other tabs is encoded the first time that it is selected,
+ * via an Ajax request that renders only that tab without executing the component.
+ *
+ * @author  Neil Griffin
+ */
+public class LazyTabUtil {
+
+	// Private Constants
+	private static final String LAZY_LOAD = "lazyLoad";
+	private static final String LOADED_TAB_INDEXES = "com.liferay.faces.alloy.component.tab.loadedTabIndexes";
+	private static final String SCRIPT_RENDERER_TYPE = "javax.faces.resource.Script";
+	private static final String SELECTED_INDEX = "selectedIndex";
+
+	/**
+	 * Adds the jsf.js script (which is required in order to load the content of tabs via Ajax) as a resource of the
+	 * &lt;head&gt; section of the view. Note that the script is not declared as a resource dependency of the renderers
+	 * since it is only required when the "lazy" attribute is true.
+	 */
+	public static void addJSFScriptResource(FacesContext facesContext) {
+
+		UIOutput jsfScript = new UIOutput();
+		jsfScript.setRendererType(SCRIPT_RENDERER_TYPE);
+
+		Map<String, Object> attributes = jsfScript.getAttributes();
+		attributes.put("library", "javax.faces");
+		attributes.put("name", "jsf.js");
+
+		UIViewRoot viewRoot = facesContext.getViewRoot();
+		viewRoot.addComponentResource(facesContext, jsfScript, StringPool.HEAD);
+	}
+
+	/**
+	 * Encodes the specified tab. If the content of the tab has not been loaded, then only the markup that represents
+	 * the tab itself is encoded (and not its children) so that the content can be loaded later via Ajax.
+	 */
+	public static void encodeTab(FacesContext facesContext, Tab tab, boolean loaded) throws IOException {
+
+		if (loaded) {
+			tab.encodeAll(facesContext);
+		}
+		else {
+			tab.encodeBegin(facesContext);
+			tab.encodeEnd(facesContext);
+		}
+	}
+
+	/**
+	 * Returns a script that loads the content of the tab at the specified index via Ajax if it has not already been
+	 * loaded.
+	 *
+	 * @param  facesContext     The current faces context.
+	 * @param  uiData           The component that renders the child tabs.
+	 * @param  sourceVarName    The name of the JavaScript variable that contains the source element of the request,
+	 *                          which must be a descendant of a form.
+	 * @param  tabIndexVarName  The name of the JavaScript variable (or expression) that contains the index of the
+	 *                          selected tab.
+	 */
+	public static String getLoadScript(FacesContext facesContext, UIData uiData, String sourceVarName,
+		String tabIndexVarName) {
+
+		// LFAI.loadLazyTab(hidden, 'clientId', ['clientId:0:tab','clientId:1:tab'], eventTabIndex);
+		StringBuilder buf = new StringBuilder();
+		buf.append("LFAI.loadLazyTab(");
+		buf.append(sourceVarName);
+		buf.append(",'");
+		buf.append(uiData.getClientId(facesContext));
+		buf.append("',[");
+
+		boolean first = true;
+
+		for (String tabClientId : getTabClientIds(facesContext, uiData)) {
+
+			if (!first) {
+				buf.append(StringPool.COMMA);
+			}
+
+			buf.append(StringPool.APOSTROPHE);
+			buf.append(tabClientId);
+			buf.append(StringPool.APOSTROPHE);
+			first = false;
+		}
+
+		buf.append("],");
+		buf.append(tabIndexVarName);
+		buf.append(");");
+
+		return buf.toString();
+	}
+
+	/**
+	 * Returns the indexes of the tabs whose content has been loaded in a previous request, which are maintained as a
+	 * (state-saved) attribute of the specified component.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Set<Integer> getLoadedTabIndexes(UIData uiData) {
+
+		Set<Integer> loadedTabIndexes = (Set<Integer>) uiData.getAttributes().get(LOADED_TAB_INDEXES);
+
+		if (loadedTabIndexes == null) {
+			loadedTabIndexes = Collections.emptySet();
+		}
+
+		return loadedTabIndexes;
+	}
+
+	/**
+	 * Returns the index of the tab whose content is being loaded by the current request, or -1 if the current request
+	 * is not the Ajax request that loads the content of a tab of the specified component. Since the component is not
+	 * executed by the request, the index is determined by the client-side state of the selected index.
+	 */
+	public static int getLoadTabIndex(FacesContext facesContext, UIData uiData) {
+
+		int loadTabIndex = -1;
+		Map<String, String> requestParameterMap = facesContext.getExternalContext().getRequestParameterMap();
+		String clientId = uiData.getClientId(facesContext);
+
+		if (Boolean.TRUE.toString().equals(requestParameterMap.get(clientId + LAZY_LOAD))) {
+			loadTabIndex = IntegerHelper.toInteger(requestParameterMap.get(clientId + SELECTED_INDEX), -1);
+		}
+
+		return loadTabIndex;
+	}
+
+	/**
+	 * Records the specified tab index as loaded, so that the content of the corresponding tab continues to be encoded
+	 * in subsequent requests.
+	 */
+	public static void setTabLoaded(UIData uiData, int tabIndex) {
+
+		Set<Integer> loadedTabIndexes = getLoadedTabIndexes(uiData);
+
+		if (!loadedTabIndexes.contains(tabIndex)) {
+
+			// Note: A copy of the set is stored so that the change is detected when the state of the component is
+			// saved.
+			Set<Integer> newLoadedTabIndexes = new HashSet<Integer>(loadedTabIndexes);
+			newLoadedTabIndexes.add(tabIndex);
+			uiData.getAttributes().put(LOADED_TAB_INDEXES, newLoadedTabIndexes);
+		}
+	}
+
+	/**
+	 * Visits the tab at the specified index so that (for example) only the content of that tab is rendered by the
+	 * Ajax request that loads it, leaving the markup of the other tabs as-is on the client. Note that {@link UIData}
+	 * only visits the children of each child {@link UIColumn} (such as a {@link Tab}) for each row, and so a tab that
+	 * is rendered by iterating over a data model could not otherwise be the target of a partial render. The tab is
+	 * recorded as loaded so that its content continues to be encoded in subsequent requests.
+	 *
+	 * @return  <code>true</code> if the tab was visited and the visit is complete, otherwise <code>false</code>.
+	 */
+	public static boolean visitTab(VisitContext visitContext, VisitCallback visitCallback, UIData uiData,
+		int tabIndex) {
+
+		FacesContext facesContext = visitContext.getFacesContext();
+		Object value = uiData.getValue();
+		String var = uiData.getVar();
+		boolean iterateOverDataModel = ((value != null) && (var != null));
+		Tab tab = null;
+
+		if (iterateOverDataModel) {
+
+			if (tabIndex < RowCountCache.getRowCount(facesContext, uiData)) {
+				uiData.setRowIndex(tabIndex);
+				tab = TabUtil.getFirstChildTab(uiData);
+			}
+		}
+		else {
+
+			List<UIComponent> children = uiData.getChildren();
+
+			if (tabIndex < children.size()) {
+
+				UIComponent child = children.get(tabIndex);
+
+				if ((child instanceof Tab) && child.isRendered()) {
+					tab = (Tab) child;
+				}
+			}
+		}
+
+		boolean visitComplete = false;
+
+		if (tab != null) {
+
+			setTabLoaded(uiData, tabIndex);
+			uiData.pushComponentToEL(facesContext, null);
+
+			try {
+				visitComplete = (visitContext.invokeVisitCallback(tab, visitCallback) == VisitResult.COMPLETE);
+			}
+			finally {
+				uiData.popComponentFromEL(facesContext);
+			}
+		}
+
+		uiData.setRowIndex(-1);
+
+		return visitComplete;
+	}
+
+	/**
+	 * Returns the clientIds of the rendered tabs of the specified component, in the same order as the tabs appear on
+	 * the client.
+	 */
+	protected static List<String> getTabClientIds(FacesContext facesContext, UIData uiData) {
+
+		List<String> tabClientIds = new ArrayList<String>();
+		Object value = uiData.getValue();
+		String var = uiData.getVar();
+		boolean iterateOverDataModel = ((value != null) && (var != null));
+
+		if (iterateOverDataModel) {
+
+			Tab prototypeChildTab = TabUtil.getFirstChildTab(uiData);
+
+			if (prototypeChildTab != null) {
+
+				int rowCount = RowCountCache.getRowCount(facesContext, uiData);
+
+				for (int i = 0; i < rowCount; i++) {
+					uiData.setRowIndex(i);
+					tabClientIds.add(prototypeChildTab.getClientId(facesContext));
+				}
+
+				uiData.setRowIndex(-1);
+			}
+		}
+		else {
+
+			List<UIComponent> children = uiData.getChildren();
+
+			for (UIComponent child : children) {
+
+				if ((child instanceof Tab) && child.isRendered()) {
+					tabClientIds.add(child.getClientId(facesContext));
+				}
+			}
+		}
+
+		return tabClientIds;
+	}
+}
@@ -35,6 +35,7 @@ public abstract class TabViewBase extends UIData implements Styleable, ClientCom
 	protected enum TabViewPropertyKeys {
 		clientKey,
 		height,
+		lazy,
 		selectedIndex,
 		stacked,
 		style,
@@ -66,6 +67,14 @@ public abstract class TabViewBase extends UIData implements Styleable, ClientCom
 		getStateHelper().put(TabViewPropertyKeys.height, height);
 	}
 
+	public boolean isLazy() {
+		return (Boolean) getStateHelper().eval(TabViewPropertyKeys.lazy, false);
+	}
+
+	public void setLazy(boolean lazy) {
+		getStateHelper().put(TabViewPropertyKeys.lazy, lazy);
+	}
+
 	public Integer getSelectedIndex() {
 		return (Integer) getStateHelper().eval(TabViewPropertyKeys.selectedIndex, null);
 	}
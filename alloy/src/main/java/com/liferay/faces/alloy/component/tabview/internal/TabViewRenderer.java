@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.faces.application.ResourceDependencies;
 import javax.faces.application.ResourceDependency;
@@ -28,12 +29,19 @@ import javax.faces.component.behavior.ClientBehavior;
 import javax.faces.component.behavior.ClientBehaviorContext;
 import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.ComponentSystemEvent;
+import javax.faces.event.ComponentSystemEventListener;
+import javax.faces.event.ListenerFor;
+import javax.faces.event.PostAddToViewEvent;
 import javax.faces.render.FacesRenderer;
 
 import com.liferay.faces.alloy.component.tab.Tab;
 import com.liferay.faces.alloy.component.tab.TabSelectEvent;
 import com.liferay.faces.alloy.component.tab.TabUtil;
+import com.liferay.faces.alloy.component.tab.internal.LazyTabUtil;
 import com.liferay.faces.alloy.component.tabview.TabView;
+import com.liferay.faces.alloy.render.internal.RowCountCache;
 import com.liferay.faces.util.component.Styleable;
 import com.liferay.faces.util.helper.IntegerHelper;
 import com.liferay.faces.util.lang.StringPool;
@@ -50,6 +58,7 @@ import com.liferay.faces.util.render.RendererUtil;
  */
 //J-
 @FacesRenderer(componentFamily = TabView.COMPONENT_FAMILY, rendererType = TabView.RENDERER_TYPE)
+@ListenerFor(systemEventClass = PostAddToViewEvent.class, sourceClass = TabView.class)
 @ResourceDependencies(
 	{
 		@ResourceDependency(library = "liferay-faces-alloy", name = "alloy.css"),
@@ -60,7 +69,7 @@ import com.liferay.faces.util.render.RendererUtil;
 	}
 )
 //J+
-public class TabViewRenderer extends TabViewRendererBase {
+public class TabViewRenderer extends TabViewRendererBase implements ComponentSystemEventListener {
 
 	// Private Constants
 	private static final String NAV_NAV_TABS = "nav nav-tabs";
@@ -90,9 +99,11 @@ public class TabViewRenderer extends TabViewRendererBase {
 	@Override
 	public void encodeChildren(FacesContext facesContext, UIComponent uiComponent) throws IOException {
 
+		TabView tabView = (TabView) uiComponent;
+		boolean lazy = tabView.isLazy();
+
 		// Get the "value" and "var" attributes of the TabView component and determine if iteration should take place
 		// using a prototype child tab.
-		TabView tabView = (TabView) uiComponent;
 		Integer selectedIndex = tabView.getSelectedIndex();
 		Object value = tabView.getValue();
 		String var = tabView.getVar();
@@ -112,7 +123,7 @@ public class TabViewRenderer extends TabViewRendererBase {
 
 			if (prototypeChildTab != null) {
 
-				int rowCount = tabView.getRowCount();
+				int rowCount = RowCountCache.getRowCount(facesContext, tabView);
 
 				for (int i = 0; i < rowCount; i++) {
 					tabView.setRowIndex(i);
@@ -152,13 +163,31 @@ public class TabViewRenderer extends TabViewRendererBase {
 		responseWriter.startElement(StringPool.DIV, uiComponent);
 		RendererUtil.encodeStyleable(responseWriter, (Styleable) uiComponent, TAB_CONTENT);
 
+		// If the content of the tabs is to be loaded lazily, then determine which tabs have been loaded. Note that if
+		// there is no selected tab, then the first tab will be selected on the client.
+		Set<Integer> loadedTabIndexes = null;
+
+		if (lazy) {
+
+			int selectedTabIndex = 0;
+
+			if (selectedIndex != null) {
+				selectedTabIndex = selectedIndex;
+			}
+
+			LazyTabUtil.setTabLoaded(tabView, selectedTabIndex);
+			loadedTabIndexes = LazyTabUtil.getLoadedTabIndexes(tabView);
+		}
+
 		// Encode the content for each tab.
 		if ((iterateOverDataModel) && (prototypeChildTab != null)) {
-			int rowCount = tabView.getRowCount();
+			int rowCount = RowCountCache.getRowCount(facesContext, tabView);
 
 			for (int i = 0; i < rowCount; i++) {
 				tabView.setRowIndex(i);
-				prototypeChildTab.encodeAll(facesContext);
+
+				boolean loaded = (!lazy || loadedTabIndexes.contains(i));
+				LazyTabUtil.encodeTab(facesContext, prototypeChildTab, loaded);
 			}
 		}
 		else {
@@ -168,7 +197,13 @@ public class TabViewRenderer extends TabViewRendererBase {
 				UIComponent child = children.get(i);
 
 				if (child.isRendered()) {
-					child.encodeAll(facesContext);
+
+					if (lazy && (child instanceof Tab)) {
+						LazyTabUtil.encodeTab(facesContext, (Tab) child, loadedTabIndexes.contains(i));
+					}
+					else {
+						child.encodeAll(facesContext);
+					}
 				}
 			}
 		}
@@ -299,6 +334,22 @@ public class TabViewRenderer extends TabViewRendererBase {
 			}
 		}
 
+		// If the content of the tabs is to be loaded lazily, then render a script that loads the content of the
+		// selected tab via Ajax the first time that it is selected.
+		if (tabView.isLazy()) {
+
+			//J-
+			// if (event.newVal) {
+			//	   LFAI.loadLazyTab(hidden, 'clientId', ['clientId:tab1','clientId:tab2'], event.newVal.get('index'));
+			// }
+			//J+
+			responseWriter.write("if(event.newVal)");
+			responseWriter.write(StringPool.OPEN_CURLY_BRACE);
+			responseWriter.write(LazyTabUtil.getLoadScript(facesContext, tabView, "hidden",
+					"event.newVal.get('index')"));
+			responseWriter.write(StringPool.CLOSE_CURLY_BRACE);
+		}
+
 		responseWriter.write(StringPool.CLOSE_CURLY_BRACE); // end function to call after selectionChange
 		responseWriter.write(StringPool.CLOSE_PARENTHESIS); // end call to "after" method
 		responseWriter.write(StringPool.SEMICOLON);
@@ -347,6 +398,18 @@ public class TabViewRenderer extends TabViewRendererBase {
 		responseWriter.endElement(StringPool.DIV);
 	}
 
+	@Override
+	public void processEvent(ComponentSystemEvent componentSystemEvent) throws AbortProcessingException {
+
+		// If the content of the tabs is to be loaded lazily, then the jsf.js script is required in order to submit the
+		// Ajax request that loads the content of a tab.
+		TabView tabView = (TabView) componentSystemEvent.getComponent();
+
+		if (tabView.isLazy()) {
+			LazyTabUtil.addJSFScriptResource(FacesContext.getCurrentInstance());
+		}
+	}
+
 	@Override
 	protected void encodeHiddenAttributes(FacesContext facesContext, ResponseWriter responseWriter, TabView tabView,
 		boolean first) throws IOException {
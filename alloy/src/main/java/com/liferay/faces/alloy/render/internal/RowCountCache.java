@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.el.ValueExpression;
+import javax.faces.component.UIData;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseId;
+
+
+/**
+ * This class memoizes the value of {@link UIData#getRowCount()} for the duration of a single phase of the request so
+ * that renderers (such as the paginator and the associated data list) do not cause the underlying data model to count
+ * its rows more than one time per render. This is especially important when the model is a {@link
+ * com.liferay.faces.util.model.OnDemandDataModel} or {@link com.liferay.faces.util.model.LazyDataModel} that executes
+ * a query in order to count the rows. A memoized row count is keyed by the clientId and the value expression of the
+ * component, and is recorded along with the identity of the value (model) of the component that was counted. Since the
+ * model might be replaced (for example, with a filtered model) or sorted by an action, memoized row counts are
+ * discarded when the phase of the request changes, when the value of the component is no longer the same instance that
+ * was counted, or when the value of the {@link UIData#getFirst()} attribute has changed since the row count was
+ * recorded.
+ *
+ * @author  Neil Griffin
+ */
+public class RowCountCache {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = RowCountCache.class.getName();
+
+	// Private Data Members
+	private PhaseId phaseId;
+	private Map<String, RowCount> rowCounts = new HashMap<String, RowCount>();
+
+	/**
+	 * Returns the cache associated with the current phase of the current request.
+	 */
+	public static RowCountCache getInstance(FacesContext facesContext) {
+
+		Map<Object, Object> attributes = facesContext.getAttributes();
+		RowCountCache rowCountCache = (RowCountCache) attributes.get(ATTRIBUTE_NAME);
+		PhaseId currentPhaseId = facesContext.getCurrentPhaseId();
+
+		if ((rowCountCache == null) || (rowCountCache.phaseId != currentPhaseId)) {
+			rowCountCache = new RowCountCache();
+			rowCountCache.phaseId = currentPhaseId;
+			attributes.put(ATTRIBUTE_NAME, rowCountCache);
+		}
+
+		return rowCountCache;
+	}
+
+	/**
+	 * Returns the row count of the specified component, memoized for the current phase of the current request. Note
+	 * that the memoized value is keyed by the clientId of the component, which accounts for the row index of any
+	 * enclosing iterating component, and by the expression string of the value expression of the component.
+	 */
+	public static int getRowCount(FacesContext facesContext, UIData uiData) {
+		return getInstance(facesContext).getRowCount(uiData, getKey(facesContext, uiData));
+	}
+
+	protected static String getKey(FacesContext facesContext, UIData uiData) {
+
+		ValueExpression valueExpression = uiData.getValueExpression("value");
+		String expressionString = null;
+
+		if (valueExpression != null) {
+			expressionString = valueExpression.getExpressionString();
+		}
+
+		return getKey(uiData.getClientId(facesContext), expressionString);
+	}
+
+	protected static String getKey(String clientId, String expressionString) {
+
+		if (expressionString == null) {
+			return clientId;
+		}
+		else {
+			return clientId.concat("|").concat(expressionString);
+		}
+	}
+
+	/**
+	 * Returns the row count of the specified component, memoized under the specified key. Note that the value (model)
+	 * of the component is evaluated in order to verify that it is the same instance that was counted, but the rows of
+	 * the model are only counted when the row count is not memoized.
+	 */
+	public int getRowCount(UIData uiData, String key) {
+
+		int first = uiData.getFirst();
+		Object value = uiData.getValue();
+		RowCount rowCount = rowCounts.get(key);
+
+		if ((rowCount == null) || (rowCount.getFirst() != first) || (rowCount.getModel() != value)) {
+			rowCount = new RowCount(uiData.getRowCount(), first, value);
+			rowCounts.put(key, rowCount);
+		}
+
+		return rowCount.getValue();
+	}
+
+	private static final class RowCount {
+
+		// Private Data Members
+		private int first;
+		private Object model;
+		private int rowCount;
+
+		public RowCount(int rowCount, int first, Object model) {
+			this.rowCount = rowCount;
+			this.first = first;
+			this.model = model;
+		}
+
+		public int getFirst() {
+			return first;
+		}
+
+		public Object getModel() {
+			return model;
+		}
+
+		public int getValue() {
+			return rowCount;
+		}
+	}
+}
@@ -436,6 +436,40 @@ LFAI = {
 		}
 	},
 
+	loadLazyTab: function(source, clientId, tabClientIds, tabIndex) {
+
+		var tabClientId = tabClientIds[tabIndex],
+			tab = tabClientId ? document.getElementById(tabClientId) : null;
+
+		// If the content of the selected tab has not been loaded, then submit an Ajax request that renders only the
+		// selected tab, so that the markup of the other tabs is left as-is. Note that the component is not executed,
+		// so that the values of the inputs in the other tabs are neither validated nor applied.
+		if (tab && !tab.firstChild) {
+
+			var options = {
+				execute: '@none',
+				render: tabClientId,
+				onevent: function(data) {
+
+					// Since the widget may have changed the classes of the element of the tab (for example, in order to
+					// indicate that it is active), restore them on the element that replaced it.
+					if (data.status === 'success') {
+
+						var loadedTab = document.getElementById(tabClientId);
+
+						if (loadedTab) {
+							loadedTab.className = tab.className;
+						}
+					}
+				}
+			};
+
+			options[clientId + 'lazyLoad'] = 'true';
+
+			jsf.ajax.request(source, null, options);
+		}
+	},
+
 	initProgressBarServerMode: function(progressBar, clientId, pollingDelay, clientBehaviorsForPolling) {
 
 		var hiddenClientId = clientId + '_hidden';
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.inputtime.internal;
+
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Kyle Stiemann
+ */
+public class TimeValuesCacheTest {
+
+	@Test
+	public void keyTest() {
+
+		TimeValuesCache timeValuesCache = new TimeValuesCache(8);
+		timeValuesCache.put("hh:mm a", Locale.US, 0L, 3600000L, 1800000L, "'12:00 AM','12:30 AM','01:00 AM'");
+
+		Assert.assertEquals("'12:00 AM','12:30 AM','01:00 AM'",
+			timeValuesCache.get("hh:mm a", Locale.US, 0L, 3600000L, 1800000L));
+
+		// Test that each of the attributes is part of the key.
+		Assert.assertNull(timeValuesCache.get("HH:mm", Locale.US, 0L, 3600000L, 1800000L));
+		Assert.assertNull(timeValuesCache.get("hh:mm a", Locale.GERMANY, 0L, 3600000L, 1800000L));
+		Assert.assertNull(timeValuesCache.get("hh:mm a", Locale.US, 60000L, 3600000L, 1800000L));
+		Assert.assertNull(timeValuesCache.get("hh:mm a", Locale.US, 0L, 7200000L, 1800000L));
+		Assert.assertNull(timeValuesCache.get("hh:mm a", Locale.US, 0L, 3600000L, 60000L));
+	}
+
+	@Test
+	public void leastRecentlyUsedEvictionTest() {
+
+		TimeValuesCache timeValuesCache = new TimeValuesCache(2);
+		timeValuesCache.put("HH:mm", Locale.US, 0L, 1000L, 1000L, "a");
+		timeValuesCache.put("HH:mm", Locale.US, 0L, 2000L, 1000L, "b");
+
+		// Access the first entry so that the second entry becomes the least recently used.
+		Assert.assertEquals("a", timeValuesCache.get("HH:mm", Locale.US, 0L, 1000L, 1000L));
+		timeValuesCache.put("HH:mm", Locale.US, 0L, 3000L, 1000L, "c");
+
+		// Test that the size of the cache is bounded and that the least recently used entry was evicted.
+		Assert.assertEquals(2, timeValuesCache.size());
+		Assert.assertEquals("a", timeValuesCache.get("HH:mm", Locale.US, 0L, 1000L, 1000L));
+		Assert.assertNull(timeValuesCache.get("HH:mm", Locale.US, 0L, 2000L, 1000L));
+		Assert.assertEquals("c", timeValuesCache.get("HH:mm", Locale.US, 0L, 3000L, 1000L));
+	}
+}
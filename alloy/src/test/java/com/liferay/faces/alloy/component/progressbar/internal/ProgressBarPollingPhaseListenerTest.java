@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.progressbar.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.faces.component.UIViewRoot;
+import javax.faces.component.behavior.AjaxBehavior;
+import javax.faces.component.behavior.ClientBehavior;
+import javax.faces.context.FacesContext;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.AjaxBehaviorEvent;
+import javax.faces.event.AjaxBehaviorListener;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.alloy.component.progressbar.ProgressBar;
+import com.liferay.faces.alloy.component.progressbar.ProgressCompleteEvent;
+import com.liferay.faces.alloy.render.internal.ApplicationMockImpl;
+import com.liferay.faces.alloy.render.internal.ExceptionHandlerMockImpl;
+import com.liferay.faces.alloy.render.internal.ExternalContextMockImpl;
+import com.liferay.faces.alloy.render.internal.FacesContextMockImpl;
+import com.liferay.faces.alloy.render.internal.LifecycleMockImpl;
+import com.liferay.faces.alloy.render.internal.PartialViewContextMockImpl;
+import com.liferay.faces.alloy.render.internal.RenderKitMockImpl;
+import com.liferay.faces.alloy.render.internal.ResponseWriterMockImpl;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ProgressBarPollingPhaseListenerTest {
+
+	// Private Constants
+	private static final String CLIENT_ID = "A1234:myForm:myProgressBar";
+	private static final String ID = "myProgressBar";
+
+	// Private Data Members
+	private FacesContextMockImpl facesContext;
+
+	@After
+	public void tearDown() {
+
+		if (facesContext != null) {
+			facesContext.release();
+		}
+	}
+
+	@Test
+	public void executedInIsolationTest() {
+
+		// Test that the defaults (execute="@this" and render="@none") are executed in isolation.
+		Assert.assertTrue(isExecutedInIsolation(newAjaxBehavior(null, null)));
+		Assert.assertTrue(isExecutedInIsolation(newAjaxBehavior("@this", "@none")));
+
+		// Test that referring to the progressBar by id or clientId is executed in isolation.
+		Assert.assertTrue(isExecutedInIsolation(newAjaxBehavior(ID, CLIENT_ID)));
+		Assert.assertTrue(isExecutedInIsolation(newAjaxBehavior(CLIENT_ID, "@this " + ID)));
+	}
+
+	@Test
+	public void executedWithOtherComponentsTest() {
+
+		// Test that executing or rendering other components requires the full lifecycle.
+		Assert.assertFalse(isExecutedInIsolation(newAjaxBehavior("@form", null)));
+		Assert.assertFalse(isExecutedInIsolation(newAjaxBehavior("@this", "@all")));
+		Assert.assertFalse(isExecutedInIsolation(newAjaxBehavior("@this", "@this myOutputText")));
+
+		// Test that @none is not permitted for execute since it would prevent the progressBar from being decoded.
+		Assert.assertFalse(isExecutedInIsolation(newAjaxBehavior("@none", null)));
+
+		// Test that a single behavior that requires the full lifecycle is sufficient.
+		Assert.assertFalse(isExecutedInIsolation(newAjaxBehavior(null, null), newAjaxBehavior(null, "@form")));
+	}
+
+	@Test
+	public void disabledBehaviorTest() {
+
+		// Test that disabled behaviors are ignored.
+		AjaxBehavior disabledAjaxBehavior = newAjaxBehavior("@form", "@form");
+		disabledAjaxBehavior.setDisabled(true);
+		Assert.assertTrue(isExecutedInIsolation(newAjaxBehavior(null, null), disabledAjaxBehavior));
+	}
+
+	@Test
+	public void exceptionFallbackTest() {
+
+		// Test that if a listener throws an exception, then the lifecycle falls back to the RENDER_RESPONSE phase so
+		// that the exception is handled normally.
+		ProgressCompleteListener progressCompleteListener = new ProgressCompleteListener() {
+
+				@Override
+				public void processAjaxBehavior(AjaxBehaviorEvent ajaxBehaviorEvent) throws AbortProcessingException {
+
+					super.processAjaxBehavior(ajaxBehaviorEvent);
+					throw new AbortProcessingException();
+				}
+			};
+
+		afterRestoreView(newAjaxBehavior(null, null), progressCompleteListener);
+		Assert.assertEquals(1, progressCompleteListener.getProgressCompleteEvents().size());
+		Assert.assertTrue(facesContext.getRenderResponse());
+		Assert.assertFalse(facesContext.getResponseComplete());
+		Assert.assertEquals("", facesContext.getResponseWriter().toString());
+	}
+
+	@Test
+	public void fullLifecycleTest() {
+
+		// Test that if a "poll" behavior renders another component, then the lifecycle is not short-circuited.
+		ProgressCompleteListener progressCompleteListener = new ProgressCompleteListener();
+		afterRestoreView(newAjaxBehavior(null, "@form"), progressCompleteListener);
+		Assert.assertTrue(progressCompleteListener.getProgressCompleteEvents().isEmpty());
+		Assert.assertFalse(facesContext.getRenderResponse());
+		Assert.assertFalse(facesContext.getResponseComplete());
+		Assert.assertEquals("", facesContext.getResponseWriter().toString());
+	}
+
+	@Test
+	public void navigationFallbackTest() {
+
+		// Test that if a listener causes navigation to a different view, then the lifecycle falls back to the
+		// RENDER_RESPONSE phase so that the new view is rendered.
+		ProgressCompleteListener progressCompleteListener = new ProgressCompleteListener() {
+
+				@Override
+				public void processAjaxBehavior(AjaxBehaviorEvent ajaxBehaviorEvent) throws AbortProcessingException {
+
+					super.processAjaxBehavior(ajaxBehaviorEvent);
+					FacesContext.getCurrentInstance().setViewRoot(new UIViewRoot());
+				}
+			};
+
+		afterRestoreView(newAjaxBehavior(null, null), progressCompleteListener);
+		Assert.assertEquals(1, progressCompleteListener.getProgressCompleteEvents().size());
+		Assert.assertTrue(facesContext.getRenderResponse());
+		Assert.assertFalse(facesContext.getResponseComplete());
+		Assert.assertEquals("", facesContext.getResponseWriter().toString());
+	}
+
+	@Test
+	public void shortCircuitTest() throws IOException {
+
+		// Test that the listeners of the "poll" behavior are notified with a ProgressCompleteEvent, that the value of
+		// the progressBar is written to the <eval> section of the partial response, and that the remaining phases of
+		// the lifecycle are skipped.
+		ProgressCompleteListener progressCompleteListener = new ProgressCompleteListener();
+		afterRestoreView(newAjaxBehavior("@this", ID), progressCompleteListener);
+
+		List<AjaxBehaviorEvent> progressCompleteEvents = progressCompleteListener.getProgressCompleteEvents();
+		Assert.assertEquals(1, progressCompleteEvents.size());
+		Assert.assertTrue(progressCompleteEvents.get(0) instanceof ProgressCompleteEvent);
+		Assert.assertTrue(facesContext.getResponseComplete());
+		Assert.assertFalse(facesContext.getRenderResponse());
+
+		ProgressBar progressBar = (ProgressBar) facesContext.getViewRoot().getChildren().get(0);
+		String script = new ProgressBarRenderer().getServerValueScript(facesContext, progressBar);
+		Assert.assertTrue(script.contains("50"));
+
+		String markup = facesContext.getResponseWriter().toString();
+		Assert.assertTrue(markup, markup.contains("<eval><![CDATA[" + script + "]]></eval>"));
+		Assert.assertEquals("text/xml", facesContext.getExternalContext().getResponseContentType());
+	}
+
+	/**
+	 * Simulates the end of the {@link PhaseId#RESTORE_VIEW} phase of an Ajax request that polls the server for the
+	 * value of a progressBar that has the specified "poll" behavior.
+	 */
+	protected void afterRestoreView(AjaxBehavior pollAjaxBehavior, AjaxBehaviorListener ajaxBehaviorListener) {
+
+		ExternalContextMockImpl externalContext = new ExternalContextMockImpl();
+		Map<String, String> requestParameterMap = externalContext.getRequestParameterMap();
+		requestParameterMap.put("javax.faces.source", ID);
+		requestParameterMap.put("javax.faces.behavior.event", "poll");
+		requestParameterMap.put(ID + "_hidden", "true");
+
+		facesContext = new FacesContextMockImpl(externalContext);
+		facesContext.setApplication(new ApplicationMockImpl());
+		facesContext.setExceptionHandler(new ExceptionHandlerMockImpl());
+
+		ResponseWriterMockImpl responseWriter = new ResponseWriterMockImpl();
+		facesContext.setResponseWriter(responseWriter);
+		facesContext.setPartialViewContext(new PartialViewContextMockImpl(true, responseWriter));
+
+		RenderKitMockImpl renderKit = new RenderKitMockImpl();
+		renderKit.addRenderer(ProgressBar.COMPONENT_FAMILY, ProgressBar.RENDERER_TYPE, new ProgressBarRenderer());
+		facesContext.setRenderKit(renderKit);
+
+		ProgressBar progressBar = new ProgressBar();
+		progressBar.setId(ID);
+		progressBar.setValue(50);
+		pollAjaxBehavior.addAjaxBehaviorListener(ajaxBehaviorListener);
+		progressBar.addClientBehavior("poll", pollAjaxBehavior);
+
+		UIViewRoot viewRoot = new UIViewRoot();
+		viewRoot.getChildren().add(progressBar);
+		facesContext.setViewRoot(viewRoot);
+
+		PhaseEvent phaseEvent = new PhaseEvent(facesContext, PhaseId.RESTORE_VIEW, new LifecycleMockImpl());
+		new ProgressBarPollingPhaseListener().afterPhase(phaseEvent);
+	}
+
+	protected boolean isExecutedInIsolation(AjaxBehavior... ajaxBehaviors) {
+
+		List<ClientBehavior> pollClientBehaviors = new ArrayList<ClientBehavior>(Arrays.asList(ajaxBehaviors));
+
+		return ProgressBarPollingPhaseListener.isExecutedInIsolation(pollClientBehaviors, CLIENT_ID, ID);
+	}
+
+	protected AjaxBehavior newAjaxBehavior(String execute, String render) {
+
+		AjaxBehavior ajaxBehavior = new AjaxBehavior();
+
+		if (execute != null) {
+			ajaxBehavior.setExecute(Arrays.asList(execute.split(" ")));
+		}
+
+		if (render != null) {
+			ajaxBehavior.setRender(Arrays.asList(render.split(" ")));
+		}
+
+		return ajaxBehavior;
+	}
+
+	protected static class ProgressCompleteListener implements AjaxBehaviorListener {
+
+		// Private Data Members
+		private List<AjaxBehaviorEvent> progressCompleteEvents = new ArrayList<AjaxBehaviorEvent>();
+
+		public void processAjaxBehavior(AjaxBehaviorEvent ajaxBehaviorEvent) throws AbortProcessingException {
+			progressCompleteEvents.add(ajaxBehaviorEvent);
+		}
+
+		public List<AjaxBehaviorEvent> getProgressCompleteEvents() {
+			return progressCompleteEvents;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.tab.internal;
+
+import java.io.IOException;
+
+import javax.faces.context.FacesContext;
+import javax.faces.context.ResponseWriter;
+
+import com.liferay.faces.alloy.component.tab.Tab;
+
+
+/**
+ * This class is a {@link Tab} that encodes a &lt;div&gt; element as its markup, and the text "content" as the content
+ * of its children, so that tests can verify whether or not the content of the tab was encoded by the renderer of the
+ * parent component.
+ *
+ * @author  Neil Griffin
+ */
+public class TabMockImpl extends Tab {
+
+	public TabMockImpl(String id) {
+		setId(id);
+		setRendererType(null);
+	}
+
+	@Override
+	public void encodeAll(FacesContext facesContext) throws IOException {
+
+		encodeBegin(facesContext);
+		encodeChildren(facesContext);
+		encodeEnd(facesContext);
+	}
+
+	@Override
+	public void encodeBegin(FacesContext facesContext) throws IOException {
+
+		ResponseWriter responseWriter = facesContext.getResponseWriter();
+		responseWriter.startElement("div", this);
+		responseWriter.writeAttribute("id", getId(), null);
+	}
+
+	@Override
+	public void encodeChildren(FacesContext facesContext) throws IOException {
+		facesContext.getResponseWriter().writeText("content", null);
+	}
+
+	@Override
+	public void encodeEnd(FacesContext facesContext) throws IOException {
+		facesContext.getResponseWriter().endElement("div");
+	}
+
+	@Override
+	public String getClientId(FacesContext facesContext) {
+		return getId();
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.tab.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
+import javax.faces.component.visit.VisitHint;
+import javax.faces.component.visit.VisitResult;
+import javax.faces.context.FacesContext;
+
+
+/**
+ * This class is a {@link VisitContext} that only visits the components with the specified clientIds, similar to the
+ * visit context that is used by a partial request in order to render the specified components.
+ *
+ * @author  Neil Griffin
+ */
+public class VisitContextMockImpl extends VisitContext {
+
+	// Private Data Members
+	private Set<String> clientIds;
+	private FacesContext facesContext;
+
+	public VisitContextMockImpl(FacesContext facesContext, String... clientIds) {
+		this.facesContext = facesContext;
+		this.clientIds = new HashSet<String>(Arrays.asList(clientIds));
+	}
+
+	@Override
+	public VisitResult invokeVisitCallback(UIComponent uiComponent, VisitCallback visitCallback) {
+
+		if (clientIds.remove(uiComponent.getClientId(facesContext))) {
+
+			VisitResult visitResult = visitCallback.visit(this, uiComponent);
+
+			if (clientIds.isEmpty()) {
+				visitResult = VisitResult.COMPLETE;
+			}
+
+			return visitResult;
+		}
+
+		return VisitResult.ACCEPT;
+	}
+
+	@Override
+	public FacesContext getFacesContext() {
+		return facesContext;
+	}
+
+	@Override
+	public Set<VisitHint> getHints() {
+		return Collections.emptySet();
+	}
+
+	@Override
+	public Collection<String> getIdsToVisit() {
+		return clientIds;
+	}
+
+	@Override
+	public Collection<String> getSubtreeIdsToVisit(UIComponent uiComponent) {
+		return clientIds;
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.component.tabview.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.faces.application.ResourceDependencies;
+import javax.faces.application.ResourceDependency;
+import javax.faces.component.UIComponent;
+import javax.faces.component.visit.VisitCallback;
+import javax.faces.component.visit.VisitContext;
+import javax.faces.component.visit.VisitResult;
+import javax.faces.event.PostAddToViewEvent;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.alloy.component.tab.internal.LazyTabUtil;
+import com.liferay.faces.alloy.component.tab.internal.TabMockImpl;
+import com.liferay.faces.alloy.component.tab.internal.VisitContextMockImpl;
+import com.liferay.faces.alloy.component.tabview.TabView;
+import com.liferay.faces.alloy.render.internal.ExternalContextMockImpl;
+import com.liferay.faces.alloy.render.internal.FacesContextMockImpl;
+import com.liferay.faces.alloy.render.internal.ResponseWriterMockImpl;
+import com.liferay.faces.alloy.render.internal.UIViewRootMockImpl;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class TabViewRendererTest {
+
+	// Private Data Members
+	private FacesContextMockImpl facesContext;
+
+	@After
+	public void tearDown() {
+
+		if (facesContext != null) {
+			facesContext.release();
+		}
+	}
+
+	@Test
+	public void eagerTabsTest() throws IOException {
+
+		// When the tabView is not lazy, the content of every tab must be encoded.
+		TabView tabView = newTabView(false);
+		tabView.setSelectedIndex(1);
+
+		String markup = encodeChildren(tabView);
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab0\">content</div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab1\">content</div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab2\">content</div>"));
+		Assert.assertTrue(LazyTabUtil.getLoadedTabIndexes(tabView).isEmpty());
+	}
+
+	@Test
+	public void lazyTabsTest() throws IOException {
+
+		// When the tabView is lazy, only the content of the selected tab must be encoded. The other tabs must be
+		// encoded as empty placeholders so that their content can be loaded the first time that they are selected.
+		TabView tabView = newTabView(true);
+		tabView.setSelectedIndex(1);
+
+		String markup = encodeChildren(tabView);
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab0\"></div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab1\">content</div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab2\"></div>"));
+
+		// The header of every tab must be encoded regardless of whether or not its content has been loaded.
+		Assert.assertTrue(markup, markup.contains("<a href=\"#tab0\">"));
+		Assert.assertTrue(markup, markup.contains("<a href=\"#tab2\">"));
+
+		// Simulate the Ajax request that loads the content of the third tab. Only the third tab must be visited (and
+		// therefore rendered), and since the request does not execute the tabView, the client-side state of the
+		// selected index must be applied.
+		List<String> visitedClientIds = visitTree(tabView, "tab2", "tabViewselectedIndex", "2", "tabViewlazyLoad",
+				"true");
+		Assert.assertEquals(Collections.singletonList("tab2"), visitedClientIds);
+		Assert.assertEquals(Integer.valueOf(2), tabView.getSelectedIndex());
+
+		// The content of the loaded tab and of the previously loaded tab must continue to be encoded.
+		markup = encodeChildren(tabView);
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab0\"></div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab1\">content</div>"));
+		Assert.assertTrue(markup, markup.contains("<div id=\"tab2\">content</div>"));
+
+		// A request that is not the Ajax request that loads the content of a tab must not apply the client-side
+		// state of the selected index, since it would override a change made by an action.
+		tabView.setSelectedIndex(1);
+		encodeChildren(tabView, "tabViewselectedIndex", "0");
+		Assert.assertEquals(Integer.valueOf(1), tabView.getSelectedIndex());
+	}
+
+	@Test
+	public void resourceDependenciesTest() {
+
+		// The jsf.js script must not be a resource dependency of every tabView.
+		ResourceDependencies resourceDependencies = TabViewRenderer.class.getAnnotation(ResourceDependencies.class);
+
+		for (ResourceDependency resourceDependency : resourceDependencies.value()) {
+			Assert.assertFalse("jsf.js".equals(resourceDependency.name()));
+		}
+
+		// Instead, it must only be added to the view when the tabView is lazy.
+		TabViewRenderer tabViewRenderer = new TabViewRenderer();
+		newFacesContext();
+
+		UIViewRootMockImpl viewRoot = (UIViewRootMockImpl) facesContext.getViewRoot();
+		tabViewRenderer.processEvent(new PostAddToViewEvent(newTabView(false)));
+		Assert.assertTrue(viewRoot.getComponentResources().isEmpty());
+
+		tabViewRenderer.processEvent(new PostAddToViewEvent(newTabView(true)));
+
+		List<UIComponent> componentResources = viewRoot.getComponentResources();
+		Assert.assertEquals(1, componentResources.size());
+		Assert.assertEquals("javax.faces", componentResources.get(0).getAttributes().get("library"));
+		Assert.assertEquals("jsf.js", componentResources.get(0).getAttributes().get("name"));
+	}
+
+	protected String encodeChildren(TabView tabView, String... requestParameters) throws IOException {
+
+		newFacesContext(requestParameters);
+
+		new TabViewRenderer().encodeChildren(facesContext, tabView);
+
+		return facesContext.getResponseWriter().toString();
+	}
+
+	protected void newFacesContext(String... requestParameters) {
+
+		if (facesContext != null) {
+			facesContext.release();
+		}
+
+		facesContext = new FacesContextMockImpl(new ExternalContextMockImpl());
+		facesContext.setResponseWriter(new ResponseWriterMockImpl());
+		facesContext.setViewRoot(new UIViewRootMockImpl());
+
+		for (int i = 0; i < requestParameters.length; i += 2) {
+			facesContext.getExternalContext().getRequestParameterMap().put(requestParameters[i],
+				requestParameters[i + 1]);
+		}
+	}
+
+	protected TabView newTabView(boolean lazy) {
+
+		TabView tabView = new TabView();
+		tabView.setId("tabView");
+		tabView.setRendererType(null);
+		tabView.setLazy(lazy);
+
+		for (int i = 0; i < 3; i++) {
+			tabView.getChildren().add(new TabMockImpl("tab" + i));
+		}
+
+		return tabView;
+	}
+
+	protected List<String> visitTree(TabView tabView, String clientId, String... requestParameters) {
+
+		newFacesContext(requestParameters);
+
+		final List<String> visitedClientIds = new ArrayList<String>();
+		tabView.visitTree(new VisitContextMockImpl(facesContext, clientId), new VisitCallback() {
+
+				@Override
+				public VisitResult visit(VisitContext visitContext, UIComponent uiComponent) {
+					visitedClientIds.add(uiComponent.getClientId(visitContext.getFacesContext()));
+
+					return VisitResult.ACCEPT;
+				}
+			});
+
+		return visitedClientIds;
+	}
+}
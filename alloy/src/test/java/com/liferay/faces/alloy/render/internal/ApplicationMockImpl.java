@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import javax.faces.application.Application;
+import javax.faces.application.ApplicationWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.event.ExceptionQueuedEvent;
+import javax.faces.event.ExceptionQueuedEventContext;
+import javax.faces.event.SystemEvent;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ApplicationMockImpl extends ApplicationWrapper {
+
+	@Override
+	public void publishEvent(FacesContext facesContext, Class<? extends SystemEvent> systemEventClass, Object source) {
+
+		// Notify the exception handler of queued exceptions, just as the JSF implementation would. All other system
+		// events are ignored.
+		if (ExceptionQueuedEvent.class.equals(systemEventClass)) {
+			ExceptionQueuedEventContext exceptionQueuedEventContext = (ExceptionQueuedEventContext) source;
+			facesContext.getExceptionHandler().processEvent(new ExceptionQueuedEvent(exceptionQueuedEventContext));
+		}
+	}
+
+	@Override
+	public void publishEvent(FacesContext facesContext, Class<? extends SystemEvent> systemEventClass,
+		Class<?> sourceBaseType, Object source) {
+		publishEvent(facesContext, systemEventClass, source);
+	}
+
+	@Override
+	public Application getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.faces.FacesException;
+import javax.faces.context.ExceptionHandler;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.ExceptionQueuedEvent;
+import javax.faces.event.SystemEvent;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ExceptionHandlerMockImpl extends ExceptionHandler {
+
+	// Private Data Members
+	private List<ExceptionQueuedEvent> handledExceptionQueuedEvents = new ArrayList<ExceptionQueuedEvent>();
+	private List<ExceptionQueuedEvent> unhandledExceptionQueuedEvents = new ArrayList<ExceptionQueuedEvent>();
+
+	@Override
+	public void handle() throws FacesException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void processEvent(SystemEvent event) throws AbortProcessingException {
+		unhandledExceptionQueuedEvents.add((ExceptionQueuedEvent) event);
+	}
+
+	@Override
+	public ExceptionQueuedEvent getHandledExceptionQueuedEvent() {
+
+		if (handledExceptionQueuedEvents.isEmpty()) {
+			return null;
+		}
+		else {
+			return handledExceptionQueuedEvents.get(0);
+		}
+	}
+
+	@Override
+	public Iterable<ExceptionQueuedEvent> getHandledExceptionQueuedEvents() {
+		return handledExceptionQueuedEvents;
+	}
+
+	@Override
+	public boolean isListenerForSource(Object source) {
+		return (source instanceof ExceptionQueuedEvent);
+	}
+
+	@Override
+	public Throwable getRootCause(Throwable t) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterable<ExceptionQueuedEvent> getUnhandledExceptionQueuedEvents() {
+		return unhandledExceptionQueuedEvents;
+	}
+}
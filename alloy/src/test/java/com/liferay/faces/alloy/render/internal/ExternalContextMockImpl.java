@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+
+
+/**
+ * This class is a minimal {@link ExternalContext} that only supports the request parameter map and the content type
+ * and character encoding of the response. All other methods throw {@link UnsupportedOperationException}.
+ *
+ * @author  Neil Griffin
+ */
+public class ExternalContextMockImpl extends ExternalContextWrapper {
+
+	// Private Data Members
+	private Map<String, String> requestParameterMap;
+	private String responseCharacterEncoding;
+	private String responseContentType;
+
+	public ExternalContextMockImpl() {
+		this.requestParameterMap = new HashMap<String, String>();
+	}
+
+	/**
+	 * Returns null so that the default separator char is used by {@link javax.faces.component.UINamingContainer}.
+	 */
+	@Override
+	public String getInitParameter(String name) {
+		return null;
+	}
+
+	@Override
+	public Map<String, String> getRequestParameterMap() {
+		return requestParameterMap;
+	}
+
+	@Override
+	public String getResponseCharacterEncoding() {
+		return responseCharacterEncoding;
+	}
+
+	@Override
+	public void setResponseCharacterEncoding(String responseCharacterEncoding) {
+		this.responseCharacterEncoding = responseCharacterEncoding;
+	}
+
+	@Override
+	public String getResponseContentType() {
+		return responseContentType;
+	}
+
+	@Override
+	public void setResponseContentType(String responseContentType) {
+		this.responseContentType = responseContentType;
+	}
+
+	@Override
+	public ExternalContext getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
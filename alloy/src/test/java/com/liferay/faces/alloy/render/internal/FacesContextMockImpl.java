@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.application.Application;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExceptionHandler;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+import javax.faces.context.PartialViewContext;
+import javax.faces.context.ResponseWriter;
+import javax.faces.render.RenderKit;
+
+
+/**
+ * This class is a minimal {@link FacesContext} that only supports the state that is needed by the renderer and phase
+ * listener tests. All other methods throw {@link UnsupportedOperationException}.
+ *
+ * @author  Neil Griffin
+ */
+public class FacesContextMockImpl extends FacesContextWrapper {
+
+	// Private Data Members
+	private Application application;
+	private Map<Object, Object> attributes;
+	private ExceptionHandler exceptionHandler;
+	private ExternalContext externalContext;
+	private PartialViewContext partialViewContext;
+	private RenderKit renderKit;
+	private boolean renderResponse;
+	private boolean responseComplete;
+	private ResponseWriter responseWriter;
+	private UIViewRoot viewRoot;
+
+	public FacesContextMockImpl(ExternalContext externalContext) {
+		this.attributes = new HashMap<Object, Object>();
+		this.externalContext = externalContext;
+		setCurrentInstance(this);
+	}
+
+	@Override
+	public void release() {
+		this.application = null;
+		this.attributes = null;
+		this.exceptionHandler = null;
+		this.externalContext = null;
+		this.partialViewContext = null;
+		this.renderKit = null;
+		this.responseWriter = null;
+		this.viewRoot = null;
+		setCurrentInstance(null);
+	}
+
+	@Override
+	public void renderResponse() {
+		this.renderResponse = true;
+	}
+
+	@Override
+	public void responseComplete() {
+		this.responseComplete = true;
+	}
+
+	@Override
+	public Application getApplication() {
+		return application;
+	}
+
+	public void setApplication(Application application) {
+		this.application = application;
+	}
+
+	@Override
+	public Map<Object, Object> getAttributes() {
+		return attributes;
+	}
+
+	@Override
+	public ExceptionHandler getExceptionHandler() {
+		return exceptionHandler;
+	}
+
+	@Override
+	public void setExceptionHandler(ExceptionHandler exceptionHandler) {
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	@Override
+	public ExternalContext getExternalContext() {
+		return externalContext;
+	}
+
+	@Override
+	public PartialViewContext getPartialViewContext() {
+		return partialViewContext;
+	}
+
+	public void setPartialViewContext(PartialViewContext partialViewContext) {
+		this.partialViewContext = partialViewContext;
+	}
+
+	@Override
+	public RenderKit getRenderKit() {
+		return renderKit;
+	}
+
+	public void setRenderKit(RenderKit renderKit) {
+		this.renderKit = renderKit;
+	}
+
+	@Override
+	public boolean getRenderResponse() {
+		return renderResponse;
+	}
+
+	@Override
+	public boolean getResponseComplete() {
+		return responseComplete;
+	}
+
+	@Override
+	public ResponseWriter getResponseWriter() {
+		return responseWriter;
+	}
+
+	@Override
+	public void setResponseWriter(ResponseWriter responseWriter) {
+		this.responseWriter = responseWriter;
+	}
+
+	@Override
+	public UIViewRoot getViewRoot() {
+		return viewRoot;
+	}
+
+	@Override
+	public void setViewRoot(UIViewRoot viewRoot) {
+		this.viewRoot = viewRoot;
+	}
+
+	@Override
+	public FacesContext getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import javax.faces.FacesException;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseListener;
+import javax.faces.lifecycle.Lifecycle;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class LifecycleMockImpl extends Lifecycle {
+
+	@Override
+	public void addPhaseListener(PhaseListener listener) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void attachWindow(FacesContext context) {
+		// no-op
+	}
+
+	@Override
+	public void execute(FacesContext context) throws FacesException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void removePhaseListener(PhaseListener listener) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void render(FacesContext context) throws FacesException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public PhaseListener[] getPhaseListeners() {
+		throw new UnsupportedOperationException();
+	}
+}
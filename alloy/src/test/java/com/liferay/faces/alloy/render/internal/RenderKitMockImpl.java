@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.ResponseStream;
+import javax.faces.context.ResponseWriter;
+import javax.faces.render.RenderKit;
+import javax.faces.render.Renderer;
+import javax.faces.render.ResponseStateManager;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RenderKitMockImpl extends RenderKit {
+
+	// Private Data Members
+	private Map<String, Renderer> renderers = new HashMap<String, Renderer>();
+
+	@Override
+	public void addRenderer(String family, String rendererType, Renderer renderer) {
+		renderers.put(family + rendererType, renderer);
+	}
+
+	@Override
+	public ResponseStream createResponseStream(OutputStream outputStream) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseWriter createResponseWriter(Writer writer, String contentTypeList, String characterEncoding) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Renderer getRenderer(String family, String rendererType) {
+		return renderers.get(family + rendererType);
+	}
+
+	@Override
+	public ResponseStateManager getResponseStateManager() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.ResponseWriter;
+
+
+/**
+ * This class is a {@link ResponseWriter} that records the markup that is written to it, so that tests can verify the
+ * output of renderers.
+ *
+ * @author  Neil Griffin
+ */
+public class ResponseWriterMockImpl extends ResponseWriter {
+
+	// Private Data Members
+	private StringBuilder markup = new StringBuilder();
+	private boolean startElementOpen;
+
+	@Override
+	public ResponseWriter cloneWithWriter(Writer writer) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() throws IOException {
+		// no-op
+	}
+
+	@Override
+	public void endCDATA() throws IOException {
+		markup.append("]]>");
+	}
+
+	@Override
+	public void endDocument() throws IOException {
+		// no-op
+	}
+
+	@Override
+	public void endElement(String name) throws IOException {
+		closeStartElement();
+		markup.append("</").append(name).append(">");
+	}
+
+	@Override
+	public void flush() throws IOException {
+		// no-op
+	}
+
+	@Override
+	public void startCDATA() throws IOException {
+		closeStartElement();
+		markup.append("<![CDATA[");
+	}
+
+	@Override
+	public void startDocument() throws IOException {
+		// no-op
+	}
+
+	@Override
+	public void startElement(String name, UIComponent component) throws IOException {
+		closeStartElement();
+		markup.append("<").append(name);
+		startElementOpen = true;
+	}
+
+	@Override
+	public String toString() {
+		return markup.toString();
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		closeStartElement();
+		markup.append(cbuf, off, len);
+	}
+
+	@Override
+	public void writeAttribute(String name, Object value, String property) throws IOException {
+
+		if (value != null) {
+			markup.append(" ").append(name).append("=\"").append(value).append("\"");
+		}
+	}
+
+	@Override
+	public void writeComment(Object comment) throws IOException {
+		closeStartElement();
+		markup.append("<!--").append(comment).append("-->");
+	}
+
+	@Override
+	public void writeText(Object text, String property) throws IOException {
+		closeStartElement();
+		markup.append(text);
+	}
+
+	@Override
+	public void writeText(char[] text, int off, int len) throws IOException {
+		write(text, off, len);
+	}
+
+	@Override
+	public void writeURIAttribute(String name, Object value, String property) throws IOException {
+		writeAttribute(name, value, property);
+	}
+
+	protected void closeStartElement() {
+
+		if (startElementOpen) {
+			markup.append(">");
+			startElementOpen = false;
+		}
+	}
+
+	@Override
+	public String getCharacterEncoding() {
+		return "UTF-8";
+	}
+
+	@Override
+	public String getContentType() {
+		return "text/html";
+	}
+}
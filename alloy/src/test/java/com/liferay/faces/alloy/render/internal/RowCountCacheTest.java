@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.faces.component.UIData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.util.model.OnDemandDataModel;
+import com.liferay.faces.util.model.SortCriterion;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RowCountCacheTest {
+
+	@Test
+	public void keyTest() {
+
+		Assert.assertEquals("form:dataList", RowCountCache.getKey("form:dataList", null));
+		Assert.assertEquals("form:dataList|#{bean.rows}", RowCountCache.getKey("form:dataList", "#{bean.rows}"));
+		Assert.assertFalse(RowCountCache.getKey("form:dataList", "#{bean.rows}").equals(
+				RowCountCache.getKey("form:dataList", "#{bean.filteredRows}")));
+	}
+
+	@Test
+	public void rowCountMemoizedPerRenderTest() {
+
+		CountingDataModel countingDataModel = new CountingDataModel(25);
+		UIData uiData = new UIData();
+		uiData.setValue(countingDataModel);
+
+		RowCountCache rowCountCache = new RowCountCache();
+
+		// Simulate a paginated render in which the paginator (encodeBegin, next page item, last page item) and the
+		// data list each ask for the row count. Resetting the model in between simulates iteration outside the range
+		// of cached rows, which would otherwise cause the model to count its rows again.
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals(25, rowCountCache.getRowCount(uiData, "dataList"));
+			countingDataModel.reset();
+		}
+
+		Assert.assertEquals(1, countingDataModel.getCountRowsInvocations());
+
+		// Changing the first row invalidates the memoized row count.
+		uiData.setFirst(10);
+		rowCountCache.getRowCount(uiData, "dataList");
+		rowCountCache.getRowCount(uiData, "dataList");
+		Assert.assertEquals(2, countingDataModel.getCountRowsInvocations());
+
+		// Changing the sort criteria does not change the number of rows, so the memoized row count remains valid.
+		countingDataModel.reset();
+
+		List<SortCriterion> sortCriteria = new ArrayList<SortCriterion>();
+		sortCriteria.add(new SortCriterion("lastName", SortCriterion.Order.ASCENDING));
+		countingDataModel.setSortCriteria(sortCriteria);
+		Assert.assertEquals(25, rowCountCache.getRowCount(uiData, "dataList"));
+		Assert.assertEquals(2, countingDataModel.getCountRowsInvocations());
+
+		// Replacing the value (model) within the same phase (for example, with a filtered model) invalidates the
+		// memoized row count.
+		CountingDataModel filteredDataModel = new CountingDataModel(5);
+		uiData.setValue(filteredDataModel);
+		Assert.assertEquals(5, rowCountCache.getRowCount(uiData, "dataList"));
+		Assert.assertEquals(5, rowCountCache.getRowCount(uiData, "dataList"));
+		Assert.assertEquals(1, filteredDataModel.getCountRowsInvocations());
+		Assert.assertEquals(2, countingDataModel.getCountRowsInvocations());
+
+		// A different key (such as the clientId of a component nested within an iterating component) is memoized
+		// separately.
+		filteredDataModel.reset();
+		rowCountCache.getRowCount(uiData, "outer:0:dataList");
+		Assert.assertEquals(2, filteredDataModel.getCountRowsInvocations());
+	}
+
+	protected static class CountingDataModel extends OnDemandDataModel<String> {
+
+		// Private Data Members
+		private int countRowsInvocations;
+		private int rowCount;
+
+		public CountingDataModel(int rowCount) {
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public int countRows() {
+			countRowsInvocations++;
+
+			return rowCount;
+		}
+
+		@Override
+		public Collection<String> findRows(int startRow, int finishRow, List<SortCriterion> sortCritieria) {
+			return Collections.emptyList();
+		}
+
+		public int getCountRowsInvocations() {
+			return countRowsInvocations;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.alloy.render.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class UIViewRootMockImpl extends UIViewRoot {
+
+	// Private Data Members
+	private List<UIComponent> componentResources = new ArrayList<UIComponent>();
+
+	@Override
+	public void addComponentResource(FacesContext facesContext, UIComponent componentResource, String target) {
+		componentResources.add(componentResource);
+	}
+
+	/**
+	 * Returns the component resources that have been added to the view, regardless of their target.
+	 */
+	public List<UIComponent> getComponentResources() {
+		return componentResources;
+	}
+}
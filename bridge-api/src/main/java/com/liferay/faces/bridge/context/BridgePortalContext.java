@@ -44,6 +44,12 @@ public interface BridgePortalContext extends PortalContext {
 	public static final String ADD_STYLE_SHEET_RESOURCE_TO_HEAD_SUPPORT =
 		"com.liferay.faces.bridge.add.style.sheet.resource.to.head.support";
 
+	/**
+	 * Property whose value identifies the portal page that contains the portlet. A null value indicates that the portal
+	 * application does not provide a page identifier.
+	 */
+	public static final String PAGE_ID = "com.liferay.faces.bridge.page.id";
+
 	/**
 	 * Property indicating if the portal application supports/implements the POST-REDIRECT-GET design pattern, meaning
 	 * that the {@link javax.portlet.PortletRequest#ACTION_PHASE} originates from an HTTP POST request, and the {@link
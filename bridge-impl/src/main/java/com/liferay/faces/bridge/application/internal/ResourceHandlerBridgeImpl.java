@@ -24,7 +24,7 @@ import javax.portlet.PortalContext;
 import javax.portlet.PortletConfig;
 import javax.portlet.PortletRequest;
 
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.context.BridgePortalContext;
 import com.liferay.faces.util.application.ResourceHandlerWrapperBase;
@@ -179,7 +179,7 @@ public class ResourceHandlerBridgeImpl extends ResourceHandlerWrapperBase {
 
 			BridgeContext bridgeContext = BridgeContext.getCurrentInstance();
 			PortletConfig portletConfig = bridgeContext.getPortletConfig();
-			bufferSize = PortletConfigParam.ResourceBufferSize.getIntegerValue(portletConfig);
+			bufferSize = PortletConfigParamValues.getInstance(portletConfig).getResourceBufferSize();
 		}
 
 		return bufferSize;
@@ -18,6 +18,7 @@ import java.lang.reflect.Method;
 import javax.faces.component.UIInput;
 
 import com.liferay.faces.bridge.component.internal.UIInputWrapper;
+import com.liferay.faces.util.lang.MethodCache;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -40,6 +41,7 @@ public class PrimeFacesFileUpload extends UIInputWrapper {
 
 	// Private Constants
 	private static final String METHOD_GET_MODE = "getMode";
+	private static final MethodCache GET_MODE_METHOD_CACHE = new MethodCache(METHOD_GET_MODE);
 
 	// Private Data Members
 	private UIInput wrappedUIInput;
@@ -54,8 +56,14 @@ public class PrimeFacesFileUpload extends UIInputWrapper {
 		Class<?> clazz = wrappedUIInput.getClass();
 
 		try {
-			Method method = clazz.getMethod(METHOD_GET_MODE, (Class[]) null);
-			mode = (String) method.invoke(wrappedUIInput, (Object[]) null);
+			Method method = GET_MODE_METHOD_CACHE.getMethod(clazz);
+
+			if (method == null) {
+				logger.error("Unable to find method {0}() in class=[{1}]", METHOD_GET_MODE, clazz.getName());
+			}
+			else {
+				mode = (String) method.invoke(wrappedUIInput, (Object[]) null);
+			}
 		}
 		catch (Exception e) {
 			logger.error(e);
@@ -140,11 +140,13 @@ public class BridgeConfigImpl implements BridgeConfig {
 			}
 		}
 
+		PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+
 		// viewIdResourceParameterName
-		this.viewIdResourceParameterName = PortletConfigParam.ViewIdResourceParameterName.getStringValue(portletConfig);
+		this.viewIdResourceParameterName = portletConfigParamValues.getViewIdResourceParameterName();
 
 		// viewIdRenderParameterName
-		this.viewIdRenderParameterName = PortletConfigParam.ViewIdRenderParameterName.getStringValue(portletConfig);
+		this.viewIdRenderParameterName = portletConfigParamValues.getViewIdRenderParameterName();
 	}
 
 	public Map<String, Object> getAttributes() {
@@ -59,6 +59,14 @@ public enum PortletConfigParam implements ConfigParam<PortletConfig> {
 	 */
 	ManageIncongruities("com.liferay.faces.bridge.manageIncongruities", true),
 
+	/**
+	 * Flag indicating whether or not the bridge should skip injecting public render parameters into the model during
+	 * the RENDER_PHASE when the incoming values are unchanged since the last RENDER_PHASE of the same bridge request
+	 * scope. Default value is false. Set value to true only if the model-el targets are preserved along with the bridge
+	 * request scope (see {@link #BridgeRequestScopePreserved}).
+	 */
+	OptimizePublicRenderParameterInjection("com.liferay.faces.bridge.optimizePublicRenderParameterInjection", false),
+
 	/**
 	 * Flag indicating whether or not methods annotated with the &#064;PreDestroy annotation are preferably invoked over
 	 * the &#064;BridgePreDestroy annotation. Default value is true.For more info, see:
@@ -66,16 +74,60 @@ public enum PortletConfigParam implements ConfigParam<PortletConfig> {
 	 */
 	PreferPreDestroy("com.liferay.faces.bridge.preferPreDestroy", "org.portletfaces.bridge.preferPreDestroy", true),
 
+	/**
+	 * EL expression that is evaluated during the RENDER_PHASE of the portlet lifecycle, the value of which becomes part
+	 * of the key of the render markup cache. Views whose markup depends on state beyond the viewId, portlet mode,
+	 * window state, locale, render parameters, portlet preferences and remote user (such as the role set of the user)
+	 * must include that state in the value of this expression. Default value is null.
+	 */
+	RenderCacheKey("com.liferay.faces.bridge.renderCacheKey", null),
+
+	/**
+	 * Number of seconds that the markup rendered for an idempotent view is cached by the bridge and served during the
+	 * RENDER_PHASE of the portlet lifecycle without executing the Faces lifecycle. Views that contain a JSF view state
+	 * (such as views with forms) or that queue Faces messages are never cached. Default value is 0 (the render markup
+	 * cache is disabled).
+	 */
+	RenderCacheTimeToLive("com.liferay.faces.bridge.renderCacheTimeToLive", null, 0),
+
+	/**
+	 * Maximum number of characters that the render-redirect feature will buffer during the RENDER_PHASE of the portlet
+	 * lifecycle. If the limit is exceeded, then the buffered markup is written to the response and subsequent markup is
+	 * no longer buffered, which means that a render-redirect can no longer take place. Default value is 0, meaning that
+	 * the size of the buffer is unlimited.
+	 */
+	RenderRedirectBufferMaxSize("com.liferay.faces.bridge.renderRedirectBufferMaxSize", null, 0),
+
 	/**
 	 * Flag indicating whether or not the render-redirect standard feature is enabled. Default value is false for the
 	 * sake of performance.
 	 */
 	RenderRedirectEnabled("com.liferay.faces.bridge.renderRedirectEnabled", false),
 
+	/**
+	 * Size in characters of the buffer that is used to stream markup to the portlet response during the RENDER_PHASE of
+	 * the portlet lifecycle. When the buffer becomes full, its contents are written to the response which is then
+	 * flushed. If the render-redirect standard feature is enabled then markup is first buffered for render-redirect and
+	 * streamed afterward. Note that resources added to the &lt;head&gt; section of the portal page after the first
+	 * flush might not be honored by the portlet container. Default value is 0 (streaming is disabled).
+	 */
+	RenderStreamingBufferSize("com.liferay.faces.bridge.renderStreamingBufferSize", null, 0),
+
 	/** Size in bytes for the buffer that is used to deliver resources back to the browser. Default value is 1024. */
 	ResourceBufferSize("com.liferay.faces.bridge.resourceBufferSize", "org.portletfaces.bridge.resourceBufferSize",
 		1024),
 
+	/**
+	 * Flag indicating whether or not the bridge creates the {@link javax.portlet.PortletSession} only when it needs to
+	 * store state. When enabled, the viewId history required by Section 5.4.3 of the Bridge Spec is tracked lazily and
+	 * written only when it changes, so that a render request for a default view (such as a GET request from a guest
+	 * user) does not cause a session to be created by the bridge. Note that the JSF implementation might still create a
+	 * session (for example, in order to save the state of a view with server-side state saving), and that the bridge
+	 * creates the session in order to maintain the bridge request scope of an action, event, or Ajax request. Default
+	 * value is false.
+	 */
+	SessionCreatedOnDemand("com.liferay.faces.bridge.sessionCreatedOnDemand", false),
+
 	/**
 	 * Absolute path to a directory (folder) in which the uploaded file data should be written to. Default value is the
 	 * value of the system property "java.io.tmpdir".
@@ -94,7 +146,20 @@ public enum PortletConfigParam implements ConfigParam<PortletConfig> {
 	ViewIdResourceParameterName("com.liferay.faces.bridge.viewIdResourceParameterName", "_facesViewIdResource"),
 
 	/** Flag indicating whether or not the JSF 2 "View Parameters" feature is enabled. Default value is true. */
-	ViewParametersEnabled("com.liferay.faces.bridge.viewParametersEnabled", true);
+	ViewParametersEnabled("com.liferay.faces.bridge.viewParametersEnabled", true),
+
+	/**
+	 * Maximum number of facesViewId values resolved from javax.portlet.faces.viewPath values that are cached for each
+	 * portlet. When the cache is full, the least recently used value is evicted. Default value is 256.
+	 */
+	ViewPathCacheMaxSize("com.liferay.faces.bridge.viewPathCacheMaxSize", null, 256),
+
+	/**
+	 * Number of seconds that the facesViewId resolved from a javax.portlet.faces.viewPath is cached before the
+	 * underlying resources are checked again. Default value is 0, meaning that cached values never expire. A negative
+	 * value disables the cache. Note that the cache is always disabled when the JSF project stage is Development.
+	 */
+	ViewPathCacheTimeToLive("com.liferay.faces.bridge.viewPathCacheTimeToLive", null, 0);
 
 	// Private Data Members
 	private String alternateName;
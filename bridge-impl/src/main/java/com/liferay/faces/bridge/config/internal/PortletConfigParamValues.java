@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.config.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+
+import com.liferay.faces.util.helper.BooleanHelper;
+import com.liferay.faces.util.helper.IntegerHelper;
+import com.liferay.faces.util.helper.LongHelper;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class is an immutable snapshot of the effective value of every {@link PortletConfigParam} for a single portlet.
+ * The values are resolved (and parsed) one time when the bridge is initialized so that callers on the request path
+ * can read plain fields rather than performing init-param lookups.
+ *
+ * @author  Neil Griffin
+ */
+public final class PortletConfigParamValues {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME_PREFIX = PortletConfigParamValues.class.getName() + StringPool.PERIOD;
+
+	// Private Data Members
+	private final boolean bridgeRequestScopeAjaxEnabled;
+	private final boolean bridgeRequestScopePreserved;
+	private final boolean containerAbleToSetHttpStatusCode;
+	private final boolean distinctRequestScopedManagedBeans;
+	private final Map<String, String> effectiveValues;
+	private final boolean manageIncongruities;
+	private final boolean optimizePublicRenderParameterInjection;
+	private final String portletName;
+	private final boolean preferPreDestroy;
+	private final String renderCacheKey;
+	private final int renderCacheTimeToLive;
+	private final int renderRedirectBufferMaxSize;
+	private final boolean renderRedirectEnabled;
+	private final int renderStreamingBufferSize;
+	private final int resourceBufferSize;
+	private final boolean sessionCreatedOnDemand;
+	private final long uploadedFileMaxSize;
+	private final String uploadedFilesDir;
+	private final String viewIdRenderParameterName;
+	private final String viewIdResourceParameterName;
+	private final boolean viewParametersEnabled;
+	private final int viewPathCacheMaxSize;
+	private final int viewPathCacheTimeToLive;
+
+	private PortletConfigParamValues(PortletConfig portletConfig) {
+
+		this.portletName = portletConfig.getPortletName();
+		this.bridgeRequestScopeAjaxEnabled = resolveBoolean(portletConfig,
+				PortletConfigParam.BridgeRequestScopeAjaxEnabled);
+		this.bridgeRequestScopePreserved = resolveBoolean(portletConfig,
+				PortletConfigParam.BridgeRequestScopePreserved);
+		this.containerAbleToSetHttpStatusCode = resolveBoolean(portletConfig,
+				PortletConfigParam.ContainerAbleToSetHttpStatusCode);
+		this.distinctRequestScopedManagedBeans = resolveBoolean(portletConfig,
+				PortletConfigParam.DistinctRequestScopedManagedBeans);
+		this.manageIncongruities = resolveBoolean(portletConfig, PortletConfigParam.ManageIncongruities);
+		this.optimizePublicRenderParameterInjection = resolveBoolean(portletConfig,
+				PortletConfigParam.OptimizePublicRenderParameterInjection);
+		this.preferPreDestroy = resolveBoolean(portletConfig, PortletConfigParam.PreferPreDestroy);
+		this.renderCacheKey = resolveString(portletConfig, PortletConfigParam.RenderCacheKey);
+		this.renderCacheTimeToLive = resolveInteger(portletConfig, PortletConfigParam.RenderCacheTimeToLive);
+		this.renderRedirectBufferMaxSize = resolveInteger(portletConfig,
+				PortletConfigParam.RenderRedirectBufferMaxSize);
+		this.renderRedirectEnabled = resolveBoolean(portletConfig, PortletConfigParam.RenderRedirectEnabled);
+		this.renderStreamingBufferSize = resolveInteger(portletConfig, PortletConfigParam.RenderStreamingBufferSize);
+		this.resourceBufferSize = resolveInteger(portletConfig, PortletConfigParam.ResourceBufferSize);
+		this.sessionCreatedOnDemand = resolveBoolean(portletConfig, PortletConfigParam.SessionCreatedOnDemand);
+		this.uploadedFilesDir = resolveString(portletConfig, PortletConfigParam.UploadedFilesDir);
+		this.uploadedFileMaxSize = resolveLong(portletConfig, PortletConfigParam.UploadedFileMaxSize);
+		this.viewIdRenderParameterName = resolveString(portletConfig, PortletConfigParam.ViewIdRenderParameterName);
+		this.viewIdResourceParameterName = resolveString(portletConfig,
+				PortletConfigParam.ViewIdResourceParameterName);
+		this.viewParametersEnabled = resolveBoolean(portletConfig, PortletConfigParam.ViewParametersEnabled);
+		this.viewPathCacheMaxSize = resolveInteger(portletConfig, PortletConfigParam.ViewPathCacheMaxSize);
+		this.viewPathCacheTimeToLive = resolveInteger(portletConfig, PortletConfigParam.ViewPathCacheTimeToLive);
+
+		// Record the effective value of every parameter (in declaration order) so that the configuration can be dumped
+		// for diagnostic purposes.
+		Map<String, String> effectiveValues = new LinkedHashMap<String, String>();
+
+		for (PortletConfigParam portletConfigParam : PortletConfigParam.values()) {
+			effectiveValues.put(portletConfigParam.getName(), resolveString(portletConfig, portletConfigParam));
+		}
+
+		this.effectiveValues = Collections.unmodifiableMap(effectiveValues);
+	}
+
+	/**
+	 * Returns the snapshot associated with the specified portlet. If the snapshot was not resolved by {@link
+	 * #initialize(PortletConfig)} (for example, in environments that do not call {@link
+	 * javax.portlet.faces.Bridge#init(PortletConfig)}) then it is resolved and registered on demand.
+	 */
+	public static PortletConfigParamValues getInstance(PortletConfig portletConfig) {
+
+		PortletContext portletContext = portletConfig.getPortletContext();
+		String attributeName = ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName();
+		PortletConfigParamValues portletConfigParamValues = (PortletConfigParamValues) portletContext.getAttribute(
+				attributeName);
+
+		if (portletConfigParamValues == null) {
+			portletConfigParamValues = initialize(portletConfig);
+		}
+
+		return portletConfigParamValues;
+	}
+
+	/**
+	 * Resolves the effective value of every {@link PortletConfigParam} for the specified portlet and registers the
+	 * resulting snapshot as a {@link PortletContext} attribute. Intended to be called from {@link
+	 * javax.portlet.faces.Bridge#init(PortletConfig)}.
+	 */
+	public static PortletConfigParamValues initialize(PortletConfig portletConfig) {
+
+		PortletConfigParamValues portletConfigParamValues = new PortletConfigParamValues(portletConfig);
+		PortletContext portletContext = portletConfig.getPortletContext();
+		portletContext.setAttribute(ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName(), portletConfigParamValues);
+
+		return portletConfigParamValues;
+	}
+
+	private static boolean resolveBoolean(PortletConfig portletConfig, PortletConfigParam portletConfigParam) {
+
+		String configuredValue = portletConfigParam.getConfiguredValue(portletConfig);
+
+		if (configuredValue == null) {
+			return portletConfigParam.getDefaultBooleanValue();
+		}
+		else {
+			return BooleanHelper.isTrueToken(configuredValue);
+		}
+	}
+
+	private static int resolveInteger(PortletConfig portletConfig, PortletConfigParam portletConfigParam) {
+
+		String configuredValue = portletConfigParam.getConfiguredValue(portletConfig);
+
+		if (configuredValue == null) {
+			return portletConfigParam.getDefaultIntegerValue();
+		}
+		else {
+			return IntegerHelper.toInteger(configuredValue);
+		}
+	}
+
+	private static long resolveLong(PortletConfig portletConfig, PortletConfigParam portletConfigParam) {
+
+		String configuredValue = portletConfigParam.getConfiguredValue(portletConfig);
+
+		if (configuredValue == null) {
+			return portletConfigParam.getDefaultLongValue();
+		}
+		else {
+			return LongHelper.toLong(configuredValue);
+		}
+	}
+
+	private static String resolveString(PortletConfig portletConfig, PortletConfigParam portletConfigParam) {
+
+		String configuredValue = portletConfigParam.getConfiguredValue(portletConfig);
+
+		if (configuredValue == null) {
+			return portletConfigParam.getDefaultStringValue();
+		}
+		else {
+			return configuredValue;
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("Effective configuration for portletName=[");
+		buf.append(portletName);
+		buf.append("]");
+
+		for (Map.Entry<String, String> mapEntry : effectiveValues.entrySet()) {
+			buf.append(StringPool.NEW_LINE);
+			buf.append(mapEntry.getKey());
+			buf.append(StringPool.EQUAL);
+			buf.append(mapEntry.getValue());
+		}
+
+		return buf.toString();
+	}
+
+	public boolean isBridgeRequestScopeAjaxEnabled() {
+		return bridgeRequestScopeAjaxEnabled;
+	}
+
+	public boolean isBridgeRequestScopePreserved() {
+		return bridgeRequestScopePreserved;
+	}
+
+	public boolean isContainerAbleToSetHttpStatusCode() {
+		return containerAbleToSetHttpStatusCode;
+	}
+
+	public boolean isDistinctRequestScopedManagedBeans() {
+		return distinctRequestScopedManagedBeans;
+	}
+
+	/**
+	 * Returns an unmodifiable map of init-param name to effective value (configured or default) for every {@link
+	 * PortletConfigParam}, in declaration order.
+	 */
+	public Map<String, String> getEffectiveValues() {
+		return effectiveValues;
+	}
+
+	public boolean isManageIncongruities() {
+		return manageIncongruities;
+	}
+
+	public boolean isOptimizePublicRenderParameterInjection() {
+		return optimizePublicRenderParameterInjection;
+	}
+
+	public String getPortletName() {
+		return portletName;
+	}
+
+	public boolean isPreferPreDestroy() {
+		return preferPreDestroy;
+	}
+
+	public String getRenderCacheKey() {
+		return renderCacheKey;
+	}
+
+	public int getRenderCacheTimeToLive() {
+		return renderCacheTimeToLive;
+	}
+
+	public int getRenderRedirectBufferMaxSize() {
+		return renderRedirectBufferMaxSize;
+	}
+
+	public boolean isRenderRedirectEnabled() {
+		return renderRedirectEnabled;
+	}
+
+	public int getRenderStreamingBufferSize() {
+		return renderStreamingBufferSize;
+	}
+
+	public int getResourceBufferSize() {
+		return resourceBufferSize;
+	}
+
+	public boolean isSessionCreatedOnDemand() {
+		return sessionCreatedOnDemand;
+	}
+
+	public long getUploadedFileMaxSize() {
+		return uploadedFileMaxSize;
+	}
+
+	public String getUploadedFilesDir() {
+		return uploadedFilesDir;
+	}
+
+	public String getViewIdRenderParameterName() {
+		return viewIdRenderParameterName;
+	}
+
+	public String getViewIdResourceParameterName() {
+		return viewIdResourceParameterName;
+	}
+
+	public boolean isViewParametersEnabled() {
+		return viewParametersEnabled;
+	}
+
+	public int getViewPathCacheMaxSize() {
+		return viewPathCacheMaxSize;
+	}
+
+	public int getViewPathCacheTimeToLive() {
+		return viewPathCacheTimeToLive;
+	}
+}
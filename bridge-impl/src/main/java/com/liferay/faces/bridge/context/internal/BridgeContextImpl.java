@@ -50,7 +50,7 @@ import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.application.internal.BridgeNavigationUtil;
 import com.liferay.faces.bridge.config.BridgeConfig;
 import com.liferay.faces.bridge.config.internal.BridgeConfigAttributeMap;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.context.BridgePortalContext;
 import com.liferay.faces.bridge.context.IncongruityContext;
@@ -615,8 +615,87 @@ public class BridgeContextImpl extends BridgeContextCompatImpl {
 		}
 	}
 
+	protected String resolveFacesViewIdFromPath(String viewPath, boolean mustExist) {
+
+		String facesViewId = null;
+
+		// Try to determine the viewId by examining the servlet-mapping entries for the Faces Servlet.
+		// For each servlet-mapping:
+		for (ConfiguredServletMapping configuredFacesServletMapping : configuredFacesServletMappings) {
+
+			// If the curent servlet-mapping matches the viewPath, then
+			logger.debug("Attempting to determine the facesViewId from {0}=[{1}]", Bridge.VIEW_PATH, viewPath);
+
+			if (configuredFacesServletMapping.isMatch(viewPath)) {
+
+				// If the servlet-mapping is extension mapped (like *.faces or *.jsf), then
+				if (configuredFacesServletMapping.isExtensionMapped()) {
+
+					// Iterate through each of the valid extensions (.jsp, .jspx, etc.) that the developer
+					// may have specified in the web.xml descriptor. For each extension, see if file exists
+					// within the filesystem of this context.
+					for (String defaultSuffix : configuredSuffixes) {
+
+						int pos = viewPath.lastIndexOf(StringPool.PERIOD);
+
+						if (pos > 0) {
+
+							if (mustExist) {
+								String resourcePath = viewPath.substring(0, pos) + defaultSuffix;
+
+								try {
+									URL resourceURL = getPortletContext().getResource(resourcePath);
+
+									// If the file exists, then we've determined the viewId from the viewPath.
+									if (resourceURL != null) {
+										facesViewId = viewPath;
+
+										break;
+									}
+
+								}
+								catch (MalformedURLException e) {
+									logger.error(e);
+								}
+							}
+							else {
+								facesViewId = viewPath;
+
+								break;
+							}
+						}
+					}
+
+					if (facesViewId == null) {
+						logger.error(
+							"Matched EXTENSION MAPPING for for urlPattern=[{0}] and viewPath=[{1}] but unable to find a facesViewId with extensions[{2}]",
+							configuredFacesServletMapping.getUrlPattern(), viewPath, configuredSuffixes);
+					}
+				}
+
+				// Otherwise, if the servlet-mapping is path-mapped, then
+				else if (configuredFacesServletMapping.isPathMapped()) {
+					facesViewId = viewPath;
+				}
+
+				if (facesViewId != null) {
+					break;
+				}
+			}
+		}
+
+		return facesViewId;
+	}
+
 	@Override
 	public void release() {
+
+		// If the render phase did not complete normally (for example, because an exception was thrown), then the
+		// buffers of the RenderRedirectWriter must still be released.
+		if (responseOutputWriter instanceof RenderRedirectWriter) {
+			((RenderRedirectWriter) responseOutputWriter).release();
+		}
+
 		this.attributeMap = null;
 		this.bridgeConfig = null;
 		this.bridgeRequestScopePreserved = null;
@@ -647,6 +726,7 @@ public class BridgeContextImpl extends BridgeContextCompatImpl {
 		this.requestServletPath = null;
 		this.requestQueryString = null;
 		this.requestURL = null;
+		this.responseOutputWriter = null;
 		this.savedViewState = null;
 		this.viewIdAndQueryString = null;
 		setCurrentInstance(null);
@@ -863,74 +943,32 @@ public class BridgeContextImpl extends BridgeContextCompatImpl {
 	@Override
 	public String getFacesViewIdFromPath(String viewPath, boolean mustExist) {
 
-		String facesViewId = null;
-
-		// Try to determine the viewId by examining the servlet-mapping entries for the Faces Servlet.
-		// For each servlet-mapping:
-		for (ConfiguredServletMapping configuredFacesServletMapping : configuredFacesServletMappings) {
-
-			// If the curent servlet-mapping matches the viewPath, then
-			logger.debug("Attempting to determine the facesViewId from {0}=[{1}]", Bridge.VIEW_PATH, viewPath);
-
-			if (configuredFacesServletMapping.isMatch(viewPath)) {
+		// If the viewPath must exist, then resolving it might require a resource lookup for each configured suffix.
+		// Since the outcome only depends on the viewPath, resolved values are cached.
+		if (mustExist) {
 
-				// If the servlet-mapping is extension mapped (like *.faces or *.jsf), then
-				if (configuredFacesServletMapping.isExtensionMapped()) {
-
-					// Iterate through each of the valid extensions (.jsp, .jspx, etc.) that the developer
-					// may have specified in the web.xml descriptor. For each extension, see if file exists
-					// within the filesystem of this context.
-					for (String defaultSuffix : configuredSuffixes) {
-
-						int pos = viewPath.lastIndexOf(StringPool.PERIOD);
+			FacesViewIdCache facesViewIdCache = FacesViewIdCache.getInstance(portletConfig);
+			String facesViewId = facesViewIdCache.get(viewPath);
 
-						if (pos > 0) {
-
-							if (mustExist) {
-								String resourcePath = viewPath.substring(0, pos) + defaultSuffix;
-
-								try {
-									URL resourceURL = getPortletContext().getResource(resourcePath);
-
-									// If the file exists, then we've determined the viewId from the viewPath.
-									if (resourceURL != null) {
-										facesViewId = viewPath;
-
-										break;
-									}
-
-								}
-								catch (MalformedURLException e) {
-									logger.error(e);
-								}
-							}
-							else {
-								facesViewId = viewPath;
-
-								break;
-							}
-						}
-					}
-
-					if (facesViewId == null) {
-						logger.error(
-							"Matched EXTENSION MAPPING for for urlPattern=[{0}] and viewPath=[{1}] but unable to find a facesViewId with extensions[{2}]",
-							configuredFacesServletMapping.getUrlPattern(), viewPath, configuredSuffixes);
-					}
-				}
+			if (facesViewId != null) {
+				logger.debug("Cached facesViewId=[{0}] for {1}=[{2}]", facesViewId, Bridge.VIEW_PATH, viewPath);
+			}
+			else {
 
-				// Otherwise, if the servlet-mapping is path-mapped, then
-				else if (configuredFacesServletMapping.isPathMapped()) {
-					facesViewId = viewPath;
-				}
+				facesViewId = resolveFacesViewIdFromPath(viewPath, mustExist);
+				facesViewIdCache.put(viewPath, facesViewId);
 
-				if (facesViewId != null) {
-					break;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Resolved facesViewId=[{0}] for {1}=[{2}] facesViewIdCache {3}", facesViewId,
+						Bridge.VIEW_PATH, viewPath, facesViewIdCache);
 				}
 			}
-		}
 
-		return facesViewId;
+			return facesViewId;
+		}
+		else {
+			return resolveFacesViewIdFromPath(viewPath, mustExist);
+		}
 	}
 
 	protected String getFacesViewIdRequestAttribute(String name) {
@@ -1260,15 +1298,35 @@ public class BridgeContextImpl extends BridgeContextCompatImpl {
 
 			if (portletPhase == Bridge.PortletPhase.RENDER_PHASE) {
 
+				PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+
 				if (renderRedirectEnabled == null) {
-					renderRedirectEnabled = PortletConfigParam.RenderRedirectEnabled.getBooleanValue(portletConfig);
+					renderRedirectEnabled = portletConfigParamValues.isRenderRedirectEnabled();
+				}
+
+				Writer writer = mimeResponse.getWriter();
+				int renderStreamingBufferSize = portletConfigParamValues.getRenderStreamingBufferSize();
+
+				if (renderStreamingBufferSize > 0) {
+					writer = new StreamingWriter(writer, renderStreamingBufferSize);
+				}
+
+				// If the markup of the view is to be cached by the RenderMarkupCache, then capture the markup that is
+				// actually written to the response.
+				Object capturedMarkup = attributeMap.get(RenderMarkupCache.CAPTURED_MARKUP);
+
+				if (capturedMarkup instanceof StringBuilder) {
+					writer = new CapturingWriter(writer, (StringBuilder) capturedMarkup);
 				}
 
+				// If the render-redirect standard feature is enabled, then markup must be buffered (prior to being
+				// streamed) so that it can be discarded in the case that a render-redirect occurs.
 				if (renderRedirectEnabled) {
-					responseOutputWriter = new RenderRedirectWriterImpl(mimeResponse.getWriter());
+					responseOutputWriter = new RenderRedirectWriterImpl(writer,
+							portletConfigParamValues.getRenderRedirectBufferMaxSize());
 				}
 				else {
-					responseOutputWriter = mimeResponse.getWriter();
+					responseOutputWriter = writer;
 				}
 
 			}
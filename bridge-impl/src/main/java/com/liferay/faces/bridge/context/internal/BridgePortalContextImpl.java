@@ -53,6 +53,7 @@ public class BridgePortalContextImpl implements BridgePortalContext {
 		propertyNameList.add(ADD_SCRIPT_TEXT_TO_HEAD_SUPPORT);
 		propertyNameList.add(ADD_STYLE_SHEET_RESOURCE_TO_HEAD_SUPPORT);
 		propertyNameList.add(CREATE_RENDER_URL_DURING_ACTION_PHASE_SUPPORT);
+		propertyNameList.add(PAGE_ID);
 		propertyNameList.add(POST_REDIRECT_GET_SUPPORT);
 		propertyNameList.add(SET_HTTP_STATUS_CODE_SUPPORT);
 		propertyNameList.add(SET_RESOURCE_RESPONSE_BUFFER_SIZE_SUPPORT);
@@ -86,6 +87,10 @@ public class BridgePortalContextImpl implements BridgePortalContext {
 		return null;
 	}
 
+	protected String getPageId() {
+		return null;
+	}
+
 	@Override
 	public String getPortalInfo() {
 		return wrappedPortalContext.getPortalInfo();
@@ -113,6 +118,9 @@ public class BridgePortalContextImpl implements BridgePortalContext {
 		else if (STRICT_NAMESPACED_PARAMETERS_SUPPORT.equals(name)) {
 			return getNamespacedParametersRequired();
 		}
+		else if (PAGE_ID.equals(name)) {
+			return getPageId();
+		}
 		else if (POST_REDIRECT_GET_SUPPORT.equals(name)) {
 			return getPostRedirectGetSupported();
 		}
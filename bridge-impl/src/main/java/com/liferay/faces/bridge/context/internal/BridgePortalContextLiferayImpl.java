@@ -22,6 +22,9 @@ import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 import com.liferay.faces.util.product.Product;
 
+import com.liferay.portal.kernel.util.WebKeys;
+import com.liferay.portal.theme.ThemeDisplay;
+
 
 /**
  * @author  Neil Griffin
@@ -38,6 +41,7 @@ public class BridgePortalContextLiferayImpl extends BridgePortalContextLiferayCo
 	private String ableToSetHttpStatusCode;
 	private String liferayAbleToSetHttpStatusCode;
 	private String namespacedParametersRequired;
+	private String pageId;
 
 	public BridgePortalContextLiferayImpl(PortalContext portalContext, PortletRequest portletRequest,
 		Product liferayPortal) {
@@ -93,6 +97,13 @@ public class BridgePortalContextLiferayImpl extends BridgePortalContextLiferayCo
 		if (isLiferayNamingspacingParameters(portletRequest)) {
 			this.namespacedParametersRequired = "true";
 		}
+
+		// The portal page that contains the portlet is identified by the plid of the layout.
+		ThemeDisplay themeDisplay = (ThemeDisplay) portletRequest.getAttribute(WebKeys.THEME_DISPLAY);
+
+		if (themeDisplay != null) {
+			this.pageId = Long.toString(themeDisplay.getPlid());
+		}
 	}
 
 	@Override
@@ -130,6 +141,11 @@ public class BridgePortalContextLiferayImpl extends BridgePortalContextLiferayCo
 		return namespacedParametersRequired;
 	}
 
+	@Override
+	protected String getPageId() {
+		return pageId;
+	}
+
 	@Override
 	protected String getPostRedirectGetSupported() {
 
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * This class writes characters to the wrapped {@link Writer} and also appends them to a {@link StringBuilder} so that
+ * the markup of the response can be captured by the {@link RenderMarkupCache}.
+ *
+ * @author  Neil Griffin
+ */
+public class CapturingWriter extends WriterWrapper {
+
+	// Private Data Members
+	private StringBuilder capturedMarkup;
+	private Writer wrappedWriter;
+
+	public CapturingWriter(Writer writer, StringBuilder capturedMarkup) {
+		this.wrappedWriter = writer;
+		this.capturedMarkup = capturedMarkup;
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		wrappedWriter.write(c);
+		capturedMarkup.append((char) c);
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+		wrappedWriter.write(cbuf, off, len);
+		capturedMarkup.append(cbuf, off, len);
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		wrappedWriter.write(str, off, len);
+		capturedMarkup.append(str, off, off + len);
+	}
+
+	public Writer getWrapped() {
+		return wrappedWriter;
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletResponse;
+import javax.portlet.faces.Bridge;
+
+import com.liferay.faces.bridge.context.BridgeContext;
+
+
+/**
+ * This class is a per-request memo of the values returned by {@link javax.faces.context.ExternalContext#encodeActionURL(
+ * String)} and {@link javax.faces.context.ExternalContext#encodeResourceURL(String)}. Pages commonly encode the same
+ * URL many times (for example, repeated references to the same script or image resource) and the result is
+ * deterministic for a given portlet response and Faces view. The memo is only used during the RENDER_PHASE and
+ * RESOURCE_PHASE of the portlet lifecycle, and is discarded if the portlet response or the viewId changes.
+ *
+ * @author  Neil Griffin
+ */
+public class EncodedURLCache {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = EncodedURLCache.class.getName();
+
+	// Private Data Members
+	private Map<String, String> actionURLs = new HashMap<String, String>();
+	private PortletResponse portletResponse;
+	private Map<String, String> resourceURLs = new HashMap<String, String>();
+	private String viewId;
+
+	private EncodedURLCache(PortletResponse portletResponse, String viewId) {
+		this.portletResponse = portletResponse;
+		this.viewId = viewId;
+	}
+
+	/**
+	 * Returns the memo associated with the current request, or <code>null</code> if encoded URLs cannot be memoized
+	 * during the current phase of the portlet lifecycle.
+	 */
+	public static EncodedURLCache getInstance(BridgeContext bridgeContext) {
+
+		EncodedURLCache encodedURLCache = null;
+		Bridge.PortletPhase portletPhase = bridgeContext.getPortletRequestPhase();
+
+		if ((portletPhase == Bridge.PortletPhase.RENDER_PHASE) ||
+				(portletPhase == Bridge.PortletPhase.RESOURCE_PHASE)) {
+
+			PortletResponse portletResponse = bridgeContext.getPortletResponse();
+			String viewId = null;
+			FacesContext facesContext = FacesContext.getCurrentInstance();
+
+			if (facesContext != null) {
+
+				UIViewRoot viewRoot = facesContext.getViewRoot();
+
+				if (viewRoot != null) {
+					viewId = viewRoot.getViewId();
+				}
+			}
+
+			Map<String, Object> attributes = bridgeContext.getAttributes();
+			encodedURLCache = (EncodedURLCache) attributes.get(ATTRIBUTE_NAME);
+
+			if ((encodedURLCache == null) || (encodedURLCache.portletResponse != portletResponse) ||
+					!isEqual(encodedURLCache.viewId, viewId)) {
+
+				encodedURLCache = new EncodedURLCache(portletResponse, viewId);
+				attributes.put(ATTRIBUTE_NAME, encodedURLCache);
+			}
+		}
+
+		return encodedURLCache;
+	}
+
+	private static boolean isEqual(String value1, String value2) {
+		return (value1 == null) ? (value2 == null) : value1.equals(value2);
+	}
+
+	public void putActionURL(String url, String encodedURL) {
+		actionURLs.put(url, encodedURL);
+	}
+
+	public void putResourceURL(String url, String encodedURL) {
+		resourceURLs.put(url, encodedURL);
+	}
+
+	public String getActionURL(String url) {
+		return actionURLs.get(url);
+	}
+
+	public String getResourceURL(String url) {
+		return resourceURLs.get(url);
+	}
+}
@@ -23,7 +23,7 @@ import javax.portlet.PortletRequest;
 import javax.portlet.PortletResponse;
 
 import com.liferay.faces.bridge.component.primefaces.internal.PrimeFacesFileUpload;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.context.IncongruityContext;
 
@@ -58,7 +58,7 @@ public abstract class ExternalContextCompat_1_2_Impl extends ExternalContext {
 
 		// Determine whether or not lifecycle incongruities should be managed.
 		PortletConfig portletConfig = bridgeContext.getPortletConfig();
-		this.manageIncongruities = PortletConfigParam.ManageIncongruities.getBooleanValue(portletConfig);
+		this.manageIncongruities = PortletConfigParamValues.getInstance(portletConfig).isManageIncongruities();
 	}
 
 	/**
@@ -76,7 +76,23 @@ public abstract class ExternalContextCompat_1_2_Impl extends ExternalContext {
 			return encodePartialActionURL(url);
 		}
 		else {
-			return bridgeContext.encodeActionURL(url).toString();
+
+			EncodedURLCache encodedURLCache = EncodedURLCache.getInstance(bridgeContext);
+
+			if ((encodedURLCache == null) || (url == null)) {
+				return bridgeContext.encodeActionURL(url).toString();
+			}
+			else {
+
+				String encodedURL = encodedURLCache.getActionURL(url);
+
+				if (encodedURL == null) {
+					encodedURL = bridgeContext.encodeActionURL(url).toString();
+					encodedURLCache.putActionURL(url, encodedURL);
+				}
+
+				return encodedURL;
+			}
 		}
 	}
 
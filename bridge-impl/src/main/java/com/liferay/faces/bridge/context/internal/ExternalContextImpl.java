@@ -176,7 +176,23 @@ public class ExternalContextImpl extends ExternalContextCompat_2_2_Impl {
 	 */
 	@Override
 	public String encodeResourceURL(String url) {
-		return bridgeContext.encodeResourceURL(url).toString();
+
+		EncodedURLCache encodedURLCache = EncodedURLCache.getInstance(bridgeContext);
+
+		if ((encodedURLCache == null) || (url == null)) {
+			return bridgeContext.encodeResourceURL(url).toString();
+		}
+		else {
+
+			String encodedURL = encodedURLCache.getResourceURL(url);
+
+			if (encodedURL == null) {
+				encodedURL = bridgeContext.encodeResourceURL(url).toString();
+				encodedURLCache.putResourceURL(url, encodedURL);
+			}
+
+			return encodedURL;
+		}
 	}
 
 	@Override
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.faces.FactoryFinder;
+import javax.faces.application.Application;
+import javax.faces.application.ApplicationFactory;
+import javax.faces.application.ProjectStage;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class is a per-portlet cache of the facesViewId values that are resolved from javax.portlet.faces.viewPath
+ * values. Resolving a viewPath that is extension-mapped requires a call to {@link PortletContext#getResource(String)}
+ * for each configured suffix, which hits the file system (or JAR index) of the container. Since the outcome only
+ * depends on the viewPath, resolved values are cached. Unresolved viewPaths are not cached, since they might be
+ * supplied by the client and could otherwise fill the cache. The cache holds at most {@link
+ * com.liferay.faces.bridge.config.internal.PortletConfigParam#ViewPathCacheMaxSize} values (evicting the least
+ * recently used), values expire according to {@link
+ * com.liferay.faces.bridge.config.internal.PortletConfigParam#ViewPathCacheTimeToLive}, and the cache is disabled when
+ * the JSF project stage is Development so that newly added views are discovered immediately.
+ *
+ * @author  Neil Griffin
+ */
+public class FacesViewIdCache {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME_PREFIX = FacesViewIdCache.class.getName() + StringPool.PERIOD;
+
+	// Private Data Members
+	private boolean enabled;
+	private Map<String, CachedValue> cachedValues;
+	private AtomicLong hitCount;
+	private AtomicLong missCount;
+	private long timeToLiveMillis;
+
+	public FacesViewIdCache(int timeToLive, final int maxSize, boolean developmentStage) {
+		this.enabled = (timeToLive >= 0) && (maxSize > 0) && !developmentStage;
+		this.timeToLiveMillis = timeToLive * 1000L;
+		this.cachedValues = new LinkedHashMap<String, CachedValue>(16, 0.75f, true) {
+
+				// serialVersionUID
+				private static final long serialVersionUID = 4378426014592867021L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldestEntry) {
+					return size() > maxSize;
+				}
+			};
+		this.hitCount = new AtomicLong();
+		this.missCount = new AtomicLong();
+	}
+
+	public static FacesViewIdCache getInstance(PortletConfig portletConfig) {
+
+		PortletContext portletContext = portletConfig.getPortletContext();
+		String attributeName = ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName();
+		FacesViewIdCache facesViewIdCache = (FacesViewIdCache) portletContext.getAttribute(attributeName);
+
+		if (facesViewIdCache == null) {
+
+			PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+			facesViewIdCache = new FacesViewIdCache(portletConfigParamValues.getViewPathCacheTimeToLive(),
+					portletConfigParamValues.getViewPathCacheMaxSize(), isDevelopmentStage(portletContext));
+			portletContext.setAttribute(attributeName, facesViewIdCache);
+		}
+
+		return facesViewIdCache;
+	}
+
+	/**
+	 * Determines whether or not the JSF project stage is Development, either according to the {@link Application}
+	 * (which also takes JNDI into account) or according to the javax.faces.PROJECT_STAGE context-param.
+	 */
+	private static boolean isDevelopmentStage(PortletContext portletContext) {
+
+		String projectStage = portletContext.getInitParameter(ProjectStage.PROJECT_STAGE_PARAM_NAME);
+
+		if (ProjectStage.Development.name().equals(projectStage)) {
+			return true;
+		}
+		else {
+
+			Application application;
+			FacesContext facesContext = FacesContext.getCurrentInstance();
+
+			if (facesContext != null) {
+				application = facesContext.getApplication();
+			}
+			else {
+
+				ApplicationFactory applicationFactory = (ApplicationFactory) FactoryFinder.getFactory(
+						FactoryFinder.APPLICATION_FACTORY);
+				application = applicationFactory.getApplication();
+			}
+
+			return ProjectStage.Development.equals(application.getProjectStage());
+		}
+	}
+
+	/**
+	 * Returns the cached facesViewId for the specified viewPath, or <code>null</code> if it is not cached (or has
+	 * expired).
+	 */
+	public String get(String viewPath) {
+
+		String facesViewId = null;
+
+		if (enabled) {
+
+			CachedValue cachedValue;
+
+			synchronized (cachedValues) {
+
+				cachedValue = cachedValues.get(viewPath);
+
+				if ((cachedValue != null) && (timeToLiveMillis > 0) &&
+						((System.currentTimeMillis() - cachedValue.timestamp) > timeToLiveMillis)) {
+
+					cachedValues.remove(viewPath);
+					cachedValue = null;
+				}
+			}
+
+			if (cachedValue == null) {
+				missCount.incrementAndGet();
+			}
+			else {
+				hitCount.incrementAndGet();
+				facesViewId = cachedValue.facesViewId;
+			}
+		}
+
+		return facesViewId;
+	}
+
+	/**
+	 * Caches the specified facesViewId for the specified viewPath, evicting the least recently used value if necessary.
+	 * A <code>null</code> facesViewId (indicating that the viewPath could not be resolved) is not cached.
+	 */
+	public void put(String viewPath, String facesViewId) {
+
+		if (enabled && (facesViewId != null)) {
+
+			synchronized (cachedValues) {
+				cachedValues.put(viewPath, new CachedValue(facesViewId, System.currentTimeMillis()));
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		int size;
+
+		synchronized (cachedValues) {
+			size = cachedValues.size();
+		}
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("enabled=[");
+		buf.append(enabled);
+		buf.append("] size=[");
+		buf.append(size);
+		buf.append("] hitCount=[");
+		buf.append(hitCount.get());
+		buf.append("] missCount=[");
+		buf.append(missCount.get());
+		buf.append("]");
+
+		return buf.toString();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private static final class CachedValue {
+
+		// Private Data Members
+		private String facesViewId;
+		private long timestamp;
+
+		private CachedValue(String facesViewId, long timestamp) {
+			this.facesViewId = facesViewId;
+			this.timestamp = timestamp;
+		}
+	}
+}
@@ -15,22 +15,30 @@ package com.liferay.faces.bridge.context.internal;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.EmptyStackException;
+import java.util.List;
 
 import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
 import javax.faces.context.ResponseWriter;
 
 import org.w3c.dom.Element;
 
 import com.liferay.faces.bridge.context.HeadResponseWriter;
-import com.liferay.faces.bridge.renderkit.html_basic.internal.ElementWriter;
-import com.liferay.faces.bridge.renderkit.html_basic.internal.ElementWriterStack;
+import com.liferay.faces.bridge.context.internal.RenderMarkupCache.HeadElement;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.ElementBlankImpl;
 import com.liferay.faces.util.lang.StringPool;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
 
 /**
+ * This class is the base for {@link ResponseWriter} implementations that capture the elements written by JSF component
+ * renderers so that they can be added to the &lt;head&gt;...&lt;/head&gt; section of the portal page. Rather than
+ * building a DOM {@link Element} for each element as it is being written, the names, attributes, and text of the
+ * elements that are currently open are recorded in flat arrays and a single reusable character buffer. The {@link
+ * Element} is only created when the element is ended, immediately before being passed to {@link
+ * #addResourceToHeadSection(Element, String)}.
+ *
  * @author  Neil Griffin
  */
 public abstract class HeadResponseWriterBase extends HeadResponseWriter {
@@ -41,40 +49,83 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	protected static final String ADDED_RESOURCE_TO_HEAD =
 		"Added resource to {0}'s <head>...</head> section, element=[{1}]";
 
+	// Private Constants
+	private static final int INITIAL_ATTRIBUTE_CAPACITY = 16;
+	private static final int INITIAL_ELEMENT_CAPACITY = 8;
+	private static final int INITIAL_TEXT_CAPACITY = 1024;
+
 	// Private Data Members
-	ResponseWriter wrappedResponseWriter;
-	ElementWriterStack elementWriterStack;
+	private int attributeCount;
+	private String[] attributeNames;
+	private int[] attributeStarts;
+	private String[] attributeValues;
+	private int elementCount;
+	private String[] elementNames;
+	private char[] text;
+	private int textLength;
+	private int[] textStarts;
+	private boolean[] textWritten;
 	private boolean titleElement = false;
+	ResponseWriter wrappedResponseWriter;
 
 	public HeadResponseWriterBase(ResponseWriter wrappedResponseWriter) {
 		this.wrappedResponseWriter = wrappedResponseWriter;
-		this.elementWriterStack = new ElementWriterStack();
+		this.attributeNames = new String[INITIAL_ATTRIBUTE_CAPACITY];
+		this.attributeValues = new String[INITIAL_ATTRIBUTE_CAPACITY];
+		this.attributeStarts = new int[INITIAL_ELEMENT_CAPACITY];
+		this.elementNames = new String[INITIAL_ELEMENT_CAPACITY];
+		this.textStarts = new int[INITIAL_ELEMENT_CAPACITY];
+		this.textWritten = new boolean[INITIAL_ELEMENT_CAPACITY];
+		this.text = new char[INITIAL_TEXT_CAPACITY];
 	}
 
 	public abstract Element createElement(String name);
 
-	@Override
-	public Writer append(CharSequence csq) throws IOException {
+	/**
+	 * Adds the specified elements (previously captured by the {@link RenderMarkupCache}) to the
+	 * &lt;head&gt;...&lt;/head&gt; section of the portal page.
+	 */
+	public void addHeadElements(List<HeadElement> headElements) throws IOException {
 
-		try {
-			elementWriterStack.safePeek().append(csq);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
+		for (HeadElement headElement : headElements) {
+
+			String elementName = headElement.getName();
+			Element element;
+
+			if (elementName == null) {
+				element = new ElementBlankImpl();
+			}
+			else {
+				element = createElement(elementName);
+
+				String[] elementAttributeNames = headElement.getAttributeNames();
+				String[] elementAttributeValues = headElement.getAttributeValues();
+
+				for (int i = 0; i < elementAttributeNames.length; i++) {
+					element.setAttribute(elementAttributeNames[i], elementAttributeValues[i]);
+				}
+			}
+
+			String elementText = headElement.getText();
+
+			if (elementText != null) {
+				element.setTextContent(elementText);
+			}
+
+			addResourceToHeadSection(element, (elementName == null) ? StringPool.BLANK : elementName);
 		}
+	}
+
+	@Override
+	public Writer append(CharSequence csq) throws IOException {
+		appendText(String.valueOf(csq));
 
 		return this;
 	}
 
 	@Override
 	public Writer append(char c) throws IOException {
-
-		try {
-			elementWriterStack.safePeek().append(c);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		appendText(c);
 
 		return this;
 	}
@@ -82,36 +133,23 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	@Override
 	public Writer append(CharSequence csq, int start, int end) throws IOException {
 
-		try {
-			elementWriterStack.safePeek().append(csq, start, end);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
+		if (csq == null) {
+			csq = StringPool.NULL;
 		}
 
+		appendText(csq.subSequence(start, end).toString());
+
 		return this;
 	}
 
 	@Override
 	public void close() throws IOException {
-
-		try {
-			elementWriterStack.safePeek().close();
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		ensureElement();
 	}
 
 	@Override
 	public void endCDATA() throws IOException {
-
-		try {
-			elementWriterStack.safePeek().write(StringPool.CDATA_CLOSE);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		appendText(StringPool.CDATA_CLOSE);
 	}
 
 	@Override
@@ -127,42 +165,97 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 		}
 		else {
 
-			try {
-				ElementWriter elementWriter = elementWriterStack.pop();
-				Element element = elementWriter.getElement();
-				String nodeName = element.getNodeName();
-				logger.trace("POPPED element name=[{0}]", nodeName);
+			if (elementCount == 0) {
+				throw new IOException("Unable to end element name=[" + name + "] since no element has been started");
+			}
 
-				if (!StringPool.HEAD.equals(nodeName)) {
-					addResourceToHeadSection(element, nodeName);
+			// Pop the top element off the stack.
+			int top = --elementCount;
+			String elementName = elementNames[top];
+			boolean elementTextWritten = textWritten[top];
+			int elementTextStart = textStarts[top];
+			int elementAttributeStart = attributeStarts[top];
+			int discardedAttributeStart = elementAttributeStart;
+			boolean blankElementTextPrepended = false;
+
+			// Blank pseudo-elements are pushed onto the bottom of the stack when a JSF component renderer writes
+			// without first calling startElement(). Since the text of a blank pseudo-element immediately precedes the
+			// text of the element above it in the buffer, PREPENDING the text simply means extending the start of the
+			// text of the popped element. Note that the attributes of a blank pseudo-element are not rendered, but they
+			// must be discarded along with those of the popped element.
+			if ((elementName != null) && (elementCount > 0) && (elementNames[elementCount - 1] == null)) {
+
+				elementCount--;
+				elementTextStart = textStarts[elementCount];
+				discardedAttributeStart = attributeStarts[elementCount];
+				blankElementTextPrepended = true;
+			}
+
+			String nodeName = (elementName == null) ? StringPool.BLANK : elementName;
+			logger.trace("POPPED element name=[{0}]", nodeName);
+
+			if (!StringPool.HEAD.equals(nodeName)) {
+
+				Element element;
+
+				if (elementName == null) {
+					element = new ElementBlankImpl();
+				}
+				else {
+					element = createElement(elementName);
+
+					for (int i = elementAttributeStart; i < attributeCount; i++) {
+						element.setAttribute(attributeNames[i], attributeValues[i]);
+					}
+				}
+
+				String elementText = null;
+
+				if (elementTextWritten || blankElementTextPrepended) {
+					elementText = new String(text, elementTextStart, textLength - elementTextStart);
+					element.setTextContent(elementText);
+				}
+
+				addResourceToHeadSection(element, nodeName);
+
+				// If the markup of the view is being captured by the RenderMarkupCache, then record the element so that
+				// it can be added to the <head>...</head> section again when the cached markup is rendered.
+				List<HeadElement> capturedHeadElements = getCapturedHeadElements();
+
+				if (capturedHeadElements != null) {
+
+					int elementAttributeCount = (elementName == null) ? 0 : (attributeCount - elementAttributeStart);
+					String[] elementAttributeNames = new String[elementAttributeCount];
+					String[] elementAttributeValues = new String[elementAttributeCount];
+					System.arraycopy(attributeNames, elementAttributeStart, elementAttributeNames, 0,
+						elementAttributeCount);
+					System.arraycopy(attributeValues, elementAttributeStart, elementAttributeValues, 0,
+						elementAttributeCount);
+					capturedHeadElements.add(new HeadElement(elementName, elementAttributeNames,
+							elementAttributeValues, elementText));
 				}
 			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
+
+			// Discard the text and attributes of the popped element(s) so that the buffers can be reused.
+			for (int i = discardedAttributeStart; i < attributeCount; i++) {
+				attributeNames[i] = null;
+				attributeValues[i] = null;
 			}
+
+			attributeCount = discardedAttributeStart;
+			textLength = elementTextStart;
+			elementNames[top] = null;
 		}
 	}
 
 	@Override
 	public void flush() throws IOException {
-
-		try {
-			elementWriterStack.safePeek().flush();
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		ensureElement();
 	}
 
 	@Override
 	public void startCDATA() throws IOException {
-
-		try {
-			elementWriterStack.safePeek().write(StringPool.CDATA_OPEN);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		appendText(StringPool.CDATA_OPEN);
 	}
 
 	@Override
@@ -180,35 +273,21 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 			titleElement = true;
 		}
 		else {
-			Element element = createElement(name);
-			ElementWriter elementWriter = new ElementWriter(element);
-			elementWriterStack.push(elementWriter);
+			pushElement(name);
 			logger.trace("PUSHED element name=[{0}]", name);
 		}
 	}
 
 	@Override
 	public void write(int c) throws IOException {
-
-		try {
-			elementWriterStack.safePeek().write(c);
-		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
-		}
+		appendText((char) c);
 	}
 
 	@Override
 	public void write(char[] cbuf) throws IOException {
 
 		if (cbuf != null) {
-
-			try {
-				elementWriterStack.safePeek().write(cbuf);
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(cbuf, 0, cbuf.length);
 		}
 	}
 
@@ -216,13 +295,7 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void write(String str) throws IOException {
 
 		if (str != null) {
-
-			try {
-				elementWriterStack.safePeek().write(str);
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(str);
 		}
 	}
 
@@ -230,13 +303,7 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void write(char[] cbuf, int off, int len) throws IOException {
 
 		if (cbuf != null) {
-
-			try {
-				elementWriterStack.safePeek().write(cbuf, off, len);
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(cbuf, off, len);
 		}
 	}
 
@@ -244,44 +311,37 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void write(String str, int off, int len) throws IOException {
 
 		if (str != null) {
-
-			try {
-				elementWriterStack.safePeek().write(str, off, len);
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(str.substring(off, off + len));
 		}
 	}
 
 	@Override
 	public void writeAttribute(String name, Object value, String property) throws IOException {
 
-		try {
+		ensureElement();
 
-			if (value == null) {
-				elementWriterStack.safePeek().getElement().setAttribute(name, null);
-			}
-			else {
-				elementWriterStack.safePeek().getElement().setAttribute(name, value.toString());
-			}
+		if (attributeCount == attributeNames.length) {
+			attributeNames = grow(attributeNames);
+			attributeValues = grow(attributeValues);
 		}
-		catch (EmptyStackException e) {
-			throw new IOException(EmptyStackException.class.getSimpleName());
+
+		attributeNames[attributeCount] = name;
+
+		if (value == null) {
+			attributeValues[attributeCount] = null;
 		}
+		else {
+			attributeValues[attributeCount] = value.toString();
+		}
+
+		attributeCount++;
 	}
 
 	@Override
 	public void writeComment(Object comment) throws IOException {
 
 		if (comment != null) {
-
-			try {
-				elementWriterStack.safePeek().write(comment.toString());
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(comment.toString());
 		}
 	}
 
@@ -289,13 +349,7 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void writeText(Object text, String property) throws IOException {
 
 		if ((text != null) && !titleElement) {
-
-			try {
-				elementWriterStack.safePeek().write(text.toString());
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(text.toString());
 		}
 	}
 
@@ -303,13 +357,7 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void writeText(Object text, UIComponent component, String property) throws IOException {
 
 		if (text != null) {
-
-			try {
-				elementWriterStack.safePeek().write(text.toString());
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(text.toString());
 		}
 	}
 
@@ -317,13 +365,7 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 	public void writeText(char[] text, int off, int len) throws IOException {
 
 		if (text != null) {
-
-			try {
-				elementWriterStack.safePeek().write(text, off, len);
-			}
-			catch (EmptyStackException e) {
-				throw new IOException(EmptyStackException.class.getSimpleName());
-			}
+			appendText(text, off, len);
 		}
 	}
 
@@ -339,6 +381,112 @@ public abstract class HeadResponseWriterBase extends HeadResponseWriter {
 
 	protected abstract void addResourceToHeadSection(Element element, String nodeName) throws IOException;
 
+	@SuppressWarnings("unchecked")
+	private static List<HeadElement> getCapturedHeadElements() {
+
+		FacesContext facesContext = FacesContext.getCurrentInstance();
+
+		if (facesContext == null) {
+			return null;
+		}
+		else {
+			return (List<HeadElement>) facesContext.getAttributes().get(RenderMarkupCache.CAPTURED_HEAD_ELEMENTS);
+		}
+	}
+
+	private static int[] grow(int[] array) {
+
+		int[] grownArray = new int[array.length * 2];
+		System.arraycopy(array, 0, grownArray, 0, array.length);
+
+		return grownArray;
+	}
+
+	private static String[] grow(String[] array) {
+
+		String[] grownArray = new String[array.length * 2];
+		System.arraycopy(array, 0, grownArray, 0, array.length);
+
+		return grownArray;
+	}
+
+	private void appendText(char c) {
+
+		ensureTextElement();
+		ensureTextCapacity(1);
+		text[textLength++] = c;
+	}
+
+	private void appendText(String str) {
+
+		ensureTextElement();
+
+		int len = str.length();
+		ensureTextCapacity(len);
+		str.getChars(0, len, text, textLength);
+		textLength += len;
+	}
+
+	private void appendText(char[] cbuf, int off, int len) {
+
+		ensureTextElement();
+		ensureTextCapacity(len);
+		System.arraycopy(cbuf, off, text, textLength, len);
+		textLength += len;
+	}
+
+	/**
+	 * Ensures that there is an element to write to. If a JSF component renderer does not play by the rules (whereby
+	 * startElement() should be called first before write()), then a blank pseudo-element is pushed onto the stack.
+	 */
+	private void ensureElement() {
+
+		if (elementCount == 0) {
+			logger.debug("Stack was empty so created blank element", (Object[]) null);
+			pushElement(null);
+		}
+	}
+
+	/**
+	 * Ensures that there is an element to write to, and marks it as having text content.
+	 */
+	private void ensureTextElement() {
+		ensureElement();
+		textWritten[elementCount - 1] = true;
+	}
+
+	private void ensureTextCapacity(int len) {
+
+		int requiredCapacity = textLength + len;
+
+		if (requiredCapacity > text.length) {
+
+			char[] grownText = new char[Math.max(text.length * 2, requiredCapacity)];
+			System.arraycopy(text, 0, grownText, 0, textLength);
+			text = grownText;
+		}
+	}
+
+	private void pushElement(String name) {
+
+		if (elementCount == elementNames.length) {
+
+			elementNames = grow(elementNames);
+			attributeStarts = grow(attributeStarts);
+			textStarts = grow(textStarts);
+
+			boolean[] grownTextWritten = new boolean[textWritten.length * 2];
+			System.arraycopy(textWritten, 0, grownTextWritten, 0, textWritten.length);
+			textWritten = grownTextWritten;
+		}
+
+		elementNames[elementCount] = name;
+		attributeStarts[elementCount] = attributeCount;
+		textStarts[elementCount] = textLength;
+		textWritten[elementCount] = false;
+		elementCount++;
+	}
+
 	protected String escapeURI(String uri) {
 
 		if (uri.length() == 0) {
@@ -0,0 +1,481 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.el.ELContext;
+import javax.el.ValueExpression;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+import javax.portlet.PortletPreferences;
+import javax.portlet.PortletSession;
+import javax.portlet.RenderRequest;
+
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
+import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class is a per-portlet cache of the markup (and &lt;head&gt; resources) rendered for idempotent JSF views. It is
+ * only enabled when {@link com.liferay.faces.bridge.config.internal.PortletConfigParam#RenderCacheTimeToLive} is
+ * greater than zero. Entries are keyed by the response namespace, the portal page (plid), the viewId, portlet mode,
+ * window state, locale, render parameters (including public render parameters), portlet preferences, the remote user or
+ * session id (unless the cache scope of the response is public), and the value of the optional {@link
+ * com.liferay.faces.bridge.config.internal.PortletConfigParam#RenderCacheKey} expression. The cache holds at most
+ * {@link #MAX_ENTRIES} entries, evicting the least recently used entry when it is full. The {@link ValueExpression} for
+ * the cache key expression is compiled the first time it is needed and is reused for all subsequent requests.
+ *
+ * @author  Neil Griffin
+ */
+public class RenderMarkupCache {
+
+	// Public Constants
+	public static final String CAPTURED_HEAD_ELEMENTS = RenderMarkupCache.class.getName() + ".capturedHeadElements";
+	public static final String CAPTURED_MARKUP = RenderMarkupCache.class.getName() + ".capturedMarkup";
+	public static final int MAX_ENTRIES = 512;
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME_PREFIX = RenderMarkupCache.class.getName() + StringPool.PERIOD;
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(RenderMarkupCache.class);
+
+	// Private Data Members
+	private Map<String, CachedMarkup> cachedMarkups;
+	private AtomicLong evictionCount;
+	private AtomicLong hitCount;
+	private String keyExpression;
+	private volatile ValueExpression keyValueExpression;
+	private AtomicLong missCount;
+	private long timeToLiveMillis;
+
+	public RenderMarkupCache(int timeToLive) {
+		this(timeToLive, null);
+	}
+
+	/**
+	 * @param  timeToLive     The number of seconds that cached markup remains valid.
+	 * @param  keyExpression  The optional EL expression whose value becomes part of the key (may be <code>null</code>).
+	 */
+	public RenderMarkupCache(int timeToLive, String keyExpression) {
+		this.timeToLiveMillis = timeToLive * 1000L;
+		this.keyExpression = keyExpression;
+		this.evictionCount = new AtomicLong();
+		this.cachedMarkups = new LinkedHashMap<String, CachedMarkup>(16, 0.75f, true) {
+
+				// serialVersionUID
+				private static final long serialVersionUID = 2893546310784530118L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CachedMarkup> eldestEntry) {
+
+					boolean full = size() > MAX_ENTRIES;
+
+					if (full && (evictionCount.getAndIncrement() == 0)) {
+						logger.warn(
+							"Render markup cache is full with {0} entries; evicting the least recently used markup",
+							MAX_ENTRIES);
+					}
+
+					return full;
+				}
+			};
+		this.hitCount = new AtomicLong();
+		this.missCount = new AtomicLong();
+	}
+
+	/**
+	 * Returns the cache associated with the specified portlet, or <code>null</code> if the cache is not enabled.
+	 */
+	public static RenderMarkupCache getInstance(PortletConfig portletConfig) {
+
+		PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+		int timeToLive = portletConfigParamValues.getRenderCacheTimeToLive();
+
+		if (timeToLive <= 0) {
+			return null;
+		}
+
+		PortletContext portletContext = portletConfig.getPortletContext();
+		String attributeName = ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName();
+		RenderMarkupCache renderMarkupCache = (RenderMarkupCache) portletContext.getAttribute(attributeName);
+
+		if (renderMarkupCache == null) {
+			renderMarkupCache = new RenderMarkupCache(timeToLive, portletConfigParamValues.getRenderCacheKey());
+			portletContext.setAttribute(attributeName, renderMarkupCache);
+		}
+
+		return renderMarkupCache;
+	}
+
+	/**
+	 * Returns the cache key for the specified view according to the state of the specified request, or <code>
+	 * null</code> if the markup must not be cached. Markup that is cached in the private scope is keyed by the remote
+	 * user, or by the session id in the case of an anonymous user. If an anonymous user does not have a session, then
+	 * there is nothing that can distinguish the user from other anonymous users and so the markup is not cached.
+	 *
+	 * @param  renderRequest  The current request.
+	 * @param  namespace      The namespace of the current response.
+	 * @param  plid           The id of the portal page that contains the portlet (may be <code>null</code>).
+	 * @param  viewId         The viewId of the view that is to be rendered.
+	 * @param  publicScope    Flag indicating whether or not the markup may be shared among users.
+	 * @param  customKey      The value of the optional cache key expression (may be <code>null</code>).
+	 */
+	public static String getKey(RenderRequest renderRequest, String namespace, String plid, String viewId,
+		boolean publicScope, String customKey) {
+
+		String userKey = null;
+
+		if (!publicScope) {
+
+			String remoteUser = renderRequest.getRemoteUser();
+
+			if (remoteUser == null) {
+
+				PortletSession portletSession = renderRequest.getPortletSession(false);
+
+				if (portletSession == null) {
+					return null;
+				}
+
+				userKey = StringPool.POUND + portletSession.getId();
+			}
+			else {
+				userKey = remoteUser;
+			}
+		}
+
+		// Each component of the key is prefixed by its length (see appendComponent) so that distinct combinations of
+		// components can never produce the same key, regardless of the characters that the components contain.
+		StringBuilder buf = new StringBuilder();
+		appendComponent(buf, namespace);
+		appendComponent(buf, plid);
+		appendComponent(buf, viewId);
+		appendComponent(buf, String.valueOf(renderRequest.getPortletMode()));
+		appendComponent(buf, String.valueOf(renderRequest.getWindowState()));
+
+		Locale locale = renderRequest.getLocale();
+
+		if (locale != null) {
+			appendComponent(buf, locale.toString());
+		}
+		else {
+			appendComponent(buf, null);
+		}
+
+		appendComponent(buf, userKey);
+		appendParameters(buf, renderRequest.getParameterMap());
+
+		PortletPreferences portletPreferences = renderRequest.getPreferences();
+
+		if (portletPreferences != null) {
+			appendParameters(buf, portletPreferences.getMap());
+		}
+		else {
+			appendParameters(buf, null);
+		}
+
+		appendComponent(buf, customKey);
+
+		return buf.toString();
+	}
+
+	/**
+	 * Appends the specified component to the key as its length, followed by a colon, followed by its value. A <code>
+	 * null</code> component is appended as a single dash so that it differs from an empty component.
+	 */
+	private static void appendComponent(StringBuilder buf, String component) {
+
+		if (component == null) {
+			buf.append(StringPool.DASH);
+		}
+		else {
+			buf.append(component.length());
+			buf.append(StringPool.COLON);
+			buf.append(component);
+		}
+	}
+
+	/**
+	 * Appends the specified parameters to the key as the number of parameters, followed by the name of each parameter
+	 * and the number of its values, followed by each value.
+	 */
+	private static void appendParameters(StringBuilder buf, Map<String, String[]> parameterMap) {
+
+		if ((parameterMap == null) || parameterMap.isEmpty()) {
+			buf.append(0);
+			buf.append(StringPool.SEMICOLON);
+		}
+		else {
+
+			buf.append(parameterMap.size());
+			buf.append(StringPool.SEMICOLON);
+
+			// Sort the parameters by name so that the key does not depend on the iteration order of the map.
+			Map<String, String[]> sortedParameterMap = new TreeMap<String, String[]>(parameterMap);
+
+			for (Map.Entry<String, String[]> mapEntry : sortedParameterMap.entrySet()) {
+
+				appendComponent(buf, mapEntry.getKey());
+
+				String[] values = mapEntry.getValue();
+
+				if (values == null) {
+					buf.append(StringPool.DASH);
+				}
+				else {
+
+					buf.append(values.length);
+					buf.append(StringPool.SEMICOLON);
+
+					for (String value : values) {
+						appendComponent(buf, value);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of the cache key expression evaluated for the current request, or <code>null</code> if no
+	 * cache key expression has been specified.
+	 */
+	public String getCustomKey(FacesContext facesContext) {
+
+		if (keyExpression == null) {
+			return null;
+		}
+
+		ELContext elContext = facesContext.getELContext();
+		ValueExpression keyValueExpression = this.keyValueExpression;
+
+		// Note: Compiling the same expression more than once in the case of a race condition is harmless, so there is
+		// no need for synchronization.
+		if (keyValueExpression == null) {
+			keyValueExpression = facesContext.getApplication().getExpressionFactory().createValueExpression(elContext,
+					keyExpression, String.class);
+			this.keyValueExpression = keyValueExpression;
+		}
+
+		return (String) keyValueExpression.getValue(elContext);
+	}
+
+	/**
+	 * Returns the cached markup for the specified key, or <code>null</code> if the markup is not cached (or has
+	 * expired).
+	 */
+	public CachedMarkup get(String key) {
+
+		CachedMarkup cachedMarkup;
+
+		synchronized (cachedMarkups) {
+
+			cachedMarkup = cachedMarkups.get(key);
+
+			if ((cachedMarkup != null) && cachedMarkup.isExpired(System.currentTimeMillis())) {
+				cachedMarkups.remove(key);
+				cachedMarkup = null;
+			}
+		}
+
+		if (cachedMarkup == null) {
+			missCount.incrementAndGet();
+		}
+		else {
+			hitCount.incrementAndGet();
+		}
+
+		return cachedMarkup;
+	}
+
+	/**
+	 * Caches the specified markup and &lt;head&gt; elements for the specified key. If the cache is full, then the least
+	 * recently used entry is evicted.
+	 *
+	 * @return  The cached markup.
+	 */
+	public CachedMarkup put(String key, String markup, List<HeadElement> headElements, boolean namespaced) {
+
+		CachedMarkup cachedMarkup = new CachedMarkup(markup, headElements, namespaced,
+				System.currentTimeMillis() + timeToLiveMillis);
+
+		synchronized (cachedMarkups) {
+			cachedMarkups.put(key, cachedMarkup);
+		}
+
+		return cachedMarkup;
+	}
+
+	@Override
+	public String toString() {
+
+		int size;
+
+		synchronized (cachedMarkups) {
+			size = cachedMarkups.size();
+		}
+
+		StringBuilder buf = new StringBuilder();
+		buf.append("size=[");
+		buf.append(size);
+		buf.append("] evictionCount=[");
+		buf.append(evictionCount.get());
+		buf.append("] hitCount=[");
+		buf.append(hitCount.get());
+		buf.append("] missCount=[");
+		buf.append(missCount.get());
+		buf.append("] hitRatio=[");
+		buf.append(getHitRatio());
+		buf.append("]");
+
+		return buf.toString();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the ratio of cache hits to cache lookups, or zero if no lookups have been performed.
+	 */
+	public double getHitRatio() {
+
+		long hits = hitCount.get();
+		long lookups = hits + missCount.get();
+
+		if (lookups == 0) {
+			return 0;
+		}
+		else {
+			return (double) hits / lookups;
+		}
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public static final class CachedMarkup {
+
+		// Private Data Members
+		private String eTag;
+		private long expirationTime;
+		private List<HeadElement> headElements;
+		private String markup;
+		private boolean namespaced;
+
+		private CachedMarkup(String markup, List<HeadElement> headElements, boolean namespaced, long expirationTime) {
+			this.markup = markup;
+			this.namespaced = namespaced;
+			this.expirationTime = expirationTime;
+			this.eTag = Integer.toHexString(markup.hashCode()) + StringPool.DASH + Long.toHexString(expirationTime);
+
+			if (headElements == null) {
+				this.headElements = Collections.emptyList();
+			}
+			else {
+				this.headElements = Collections.unmodifiableList(headElements);
+			}
+		}
+
+		private boolean isExpired(long currentTimeMillis) {
+			return currentTimeMillis > expirationTime;
+		}
+
+		/**
+		 * Returns the validation token that is to be set on the {@link javax.portlet.CacheControl} of the response.
+		 */
+		public String getETag() {
+			return eTag;
+		}
+
+		/**
+		 * Returns the number of seconds until the cached markup expires.
+		 */
+		public int getExpirationSeconds() {
+
+			long remainingMillis = expirationTime - System.currentTimeMillis();
+
+			if (remainingMillis > 0) {
+				return (int) (remainingMillis / 1000L);
+			}
+			else {
+				return 0;
+			}
+		}
+
+		public List<HeadElement> getHeadElements() {
+			return headElements;
+		}
+
+		public String getMarkup() {
+			return markup;
+		}
+
+		public boolean isNamespaced() {
+			return namespaced;
+		}
+	}
+
+	/**
+	 * Represents an element that was added to the &lt;head&gt; section of the portal page while the markup was being
+	 * rendered, so that it can be added again when the cached markup is rendered. A <code>null</code> name indicates a
+	 * blank element.
+	 */
+	public static final class HeadElement {
+
+		// Private Data Members
+		private String[] attributeNames;
+		private String[] attributeValues;
+		private String name;
+		private String text;
+
+		public HeadElement(String name, String[] attributeNames, String[] attributeValues, String text) {
+			this.name = name;
+			this.attributeNames = attributeNames;
+			this.attributeValues = attributeValues;
+			this.text = text;
+		}
+
+		public String[] getAttributeNames() {
+			return attributeNames;
+		}
+
+		public String[] getAttributeValues() {
+			return attributeValues;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+}
@@ -31,6 +31,12 @@ public abstract class RenderRedirectWriter extends WriterWrapper {
 	 */
 	public abstract void discard();
 
+	/**
+	 * Releases the resources that are used to buffer the response output. Any buffered response output that has not
+	 * been rendered is discarded.
+	 */
+	public abstract void release();
+
 	/**
 	 * Renders the buffered response output to the wrapped {@link Writer}.
 	 *
@@ -17,47 +17,144 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
 
 
 /**
- * This class supports the render-redirect feature by queuing up a list of all write operations. Calling the {@link
- * #render()} method causes the queued operations to be invoked. Conversely, not calling the method will prevent the
- * queued operations from being invoked. This is necessary because in the case of a render-redirect, any markup written
- * to the response in the initially rendered view must be discarded.
+ * This class supports the render-redirect feature by buffering all of the characters that are written. Calling the
+ * {@link #render()} method causes the buffered characters to be written to the wrapped {@link Writer}. Conversely,
+ * calling the {@link #discard()} method causes the buffered characters to be thrown away. This is necessary because in
+ * the case of a render-redirect, any markup written to the response in the initially rendered view must be discarded.
+ *
+ * <p>Characters are copied into fixed-size chunks that are borrowed from (and returned to) a shared pool, so that
+ * buffering does not create an object per write operation and does not retain references to the char arrays of
+ * callers. Calls to {@link #flush()} and {@link #close()} are recorded as markers at the current position and are
+ * replayed in the same order. If a maximum buffer size is specified and exceeded, then the buffered characters are
+ * written to the wrapped {@link Writer} and all subsequent output is passed through without buffering.</p>
  *
  * @author  Neil Griffin
  */
 public class RenderRedirectWriterImpl extends RenderRedirectWriter {
 
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(RenderRedirectWriterImpl.class);
+
+	// Private Constants
+	private static final int CHUNK_SIZE = 4096;
+	private static final int CHUNK_POOL_MAX_SIZE = 64;
+	private static final Queue<char[]> CHUNK_POOL = new ConcurrentLinkedQueue<char[]>();
+	private static final AtomicInteger CHUNK_POOL_SIZE = new AtomicInteger();
+
 	// Private Data Members
+	private int bufferedCharCount;
+	private List<char[]> chunks;
+	private List<Marker> markers;
+	private int maxBufferSize;
+	private boolean passThrough;
+	private int peakBufferedCharCount;
 	private Writer wrappedWriter;
-	private List<OutputOperation> outputOperationList;
 
 	public RenderRedirectWriterImpl(Writer writer) {
+		this(writer, 0);
+	}
+
+	/**
+	 * @param  writer         The writer that is to receive the buffered characters when {@link #render()} is called.
+	 * @param  maxBufferSize  The maximum number of characters to buffer, or zero (or less) for no limit.
+	 */
+	public RenderRedirectWriterImpl(Writer writer, int maxBufferSize) {
 		this.wrappedWriter = writer;
-		this.outputOperationList = new ArrayList<OutputOperation>();
+		this.maxBufferSize = maxBufferSize;
+		this.chunks = new ArrayList<char[]>();
+	}
+
+	private static char[] borrowChunk() {
+
+		char[] chunk = CHUNK_POOL.poll();
+
+		if (chunk == null) {
+			chunk = new char[CHUNK_SIZE];
+		}
+		else {
+			CHUNK_POOL_SIZE.decrementAndGet();
+		}
+
+		return chunk;
+	}
+
+	private static void returnChunk(char[] chunk) {
+
+		if (CHUNK_POOL_SIZE.incrementAndGet() <= CHUNK_POOL_MAX_SIZE) {
+			CHUNK_POOL.offer(chunk);
+		}
+		else {
+			CHUNK_POOL_SIZE.decrementAndGet();
+		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		outputOperationList.add(new CloseOperation());
+
+		if (passThrough) {
+			wrappedWriter.close();
+		}
+		else {
+			addMarker(true);
+		}
 	}
 
 	@Override
 	public void discard() {
-		this.outputOperationList = new ArrayList<OutputOperation>();
+
+		if (passThrough) {
+			logger.warn(
+				"Unable to discard markup that has already been written to the response (maxBufferSize=[{0}] exceeded)",
+				maxBufferSize);
+		}
+		else {
+			logger.debug("Discarding [{0}] buffered characters (peak=[{1}])", bufferedCharCount,
+				peakBufferedCharCount);
+
+			// Note that the markup of the redirected view is written to a new writer (since the bridge phase creates a
+			// new BridgeContext), so the chunks are returned to the pool.
+			releaseChunks();
+		}
 	}
 
 	@Override
 	public void flush() throws IOException {
-		outputOperationList.add(new FlushOperation());
+
+		if (passThrough) {
+			wrappedWriter.flush();
+		}
+		else {
+			addMarker(false);
+		}
+	}
+
+	@Override
+	public void release() {
+		releaseChunks();
 	}
 
 	@Override
 	public void render() throws IOException {
 
-		for (OutputOperation outputOperation : outputOperationList) {
-			outputOperation.invoke();
+		if (!passThrough) {
+
+			logger.debug("Rendering [{0}] buffered characters in [{1}] chunks (peak=[{2}])", bufferedCharCount,
+				chunks.size(), peakBufferedCharCount);
+
+			writeBuffer();
+			releaseChunks();
+
+			// Any output that occurs after rendering is no longer subject to render-redirect.
+			passThrough = true;
 		}
 	}
 
@@ -65,20 +162,29 @@ public class RenderRedirectWriterImpl extends RenderRedirectWriter {
 	public void write(char[] cbuf) throws IOException {
 
 		if (cbuf != null) {
-			outputOperationList.add(new CbufWriteOperation(cbuf));
+			write(cbuf, 0, cbuf.length);
 		}
 	}
 
 	@Override
 	public void write(int c) throws IOException {
-		outputOperationList.add(new IntWriteOperation(c));
+
+		if (passThrough || isMaxBufferSizeExceeded(1)) {
+			wrappedWriter.write(c);
+		}
+		else {
+
+			int chunkOffset = bufferedCharCount % CHUNK_SIZE;
+			getChunk(bufferedCharCount / CHUNK_SIZE)[chunkOffset] = (char) c;
+			incrementBufferedCharCount(1);
+		}
 	}
 
 	@Override
 	public void write(String str) throws IOException {
 
 		if (str != null) {
-			outputOperationList.add(new StrWriteOperation(str));
+			write(str, 0, str.length());
 		}
 	}
 
@@ -86,7 +192,25 @@ public class RenderRedirectWriterImpl extends RenderRedirectWriter {
 	public void write(char[] cbuf, int off, int len) throws IOException {
 
 		if (cbuf != null) {
-			outputOperationList.add(new CBufOffLenOutputOperation(cbuf, off, len));
+
+			if (passThrough || isMaxBufferSizeExceeded(len)) {
+				wrappedWriter.write(cbuf, off, len);
+			}
+			else {
+
+				int remaining = len;
+
+				while (remaining > 0) {
+
+					int chunkOffset = bufferedCharCount % CHUNK_SIZE;
+					int count = Math.min(remaining, CHUNK_SIZE - chunkOffset);
+					char[] chunk = getChunk(bufferedCharCount / CHUNK_SIZE);
+					System.arraycopy(cbuf, off, chunk, chunkOffset, count);
+					off += count;
+					remaining -= count;
+					incrementBufferedCharCount(count);
+				}
+			}
 		}
 	}
 
@@ -94,100 +218,144 @@ public class RenderRedirectWriterImpl extends RenderRedirectWriter {
 	public void write(String str, int off, int len) throws IOException {
 
 		if (str != null) {
-			outputOperationList.add(new StrOffLenWriteOperation(str, off, len));
+
+			if (passThrough || isMaxBufferSizeExceeded(len)) {
+				wrappedWriter.write(str, off, len);
+			}
+			else {
+
+				int remaining = len;
+
+				while (remaining > 0) {
+
+					int chunkOffset = bufferedCharCount % CHUNK_SIZE;
+					int count = Math.min(remaining, CHUNK_SIZE - chunkOffset);
+					char[] chunk = getChunk(bufferedCharCount / CHUNK_SIZE);
+					str.getChars(off, off + count, chunk, chunkOffset);
+					off += count;
+					remaining -= count;
+					incrementBufferedCharCount(count);
+				}
+			}
 		}
 	}
 
-	public Writer getWrapped() {
-		return wrappedWriter;
-	}
+	protected void addMarker(boolean close) {
+
+		if (markers == null) {
+			markers = new ArrayList<Marker>();
+		}
 
-	protected interface OutputOperation {
-		void invoke() throws IOException;
+		markers.add(new Marker(bufferedCharCount, close));
 	}
 
-	protected class CBufOffLenOutputOperation implements OutputOperation {
+	protected void incrementBufferedCharCount(int count) {
 
-		private char[] cbuf;
-		private int off;
-		private int len;
+		bufferedCharCount += count;
 
-		public CBufOffLenOutputOperation(char[] cbuf, int off, int len) {
-			this.cbuf = cbuf.clone();
-			this.off = off;
-			this.len = len;
+		if (bufferedCharCount > peakBufferedCharCount) {
+			peakBufferedCharCount = bufferedCharCount;
 		}
+	}
+
+	protected void releaseChunks() {
 
-		public void invoke() throws IOException {
-			wrappedWriter.write(cbuf, off, len);
+		for (char[] chunk : chunks) {
+			returnChunk(chunk);
 		}
+
+		chunks.clear();
+		bufferedCharCount = 0;
+		markers = null;
 	}
 
-	protected class CbufWriteOperation implements OutputOperation {
+	protected void writeBuffer() throws IOException {
 
-		private char[] cbuf;
+		int pos = 0;
 
-		public CbufWriteOperation(char[] cbuf) {
-			this.cbuf = cbuf.clone();
-		}
+		if (markers != null) {
 
-		public void invoke() throws IOException {
-			wrappedWriter.write(cbuf);
-		}
-	}
+			for (Marker marker : markers) {
 
-	protected class CloseOperation implements OutputOperation {
-		public void invoke() throws IOException {
-			wrappedWriter.close();
+				writeBuffer(pos, marker.position);
+				pos = marker.position;
+
+				if (marker.close) {
+					wrappedWriter.close();
+				}
+				else {
+					wrappedWriter.flush();
+				}
+			}
 		}
+
+		writeBuffer(pos, bufferedCharCount);
 	}
 
-	protected class FlushOperation implements OutputOperation {
-		public void invoke() throws IOException {
-			wrappedWriter.flush();
+	protected void writeBuffer(int start, int end) throws IOException {
+
+		int pos = start;
+
+		while (pos < end) {
+
+			int chunkOffset = pos % CHUNK_SIZE;
+			int count = Math.min(end - pos, CHUNK_SIZE - chunkOffset);
+			wrappedWriter.write(chunks.get(pos / CHUNK_SIZE), chunkOffset, count);
+			pos += count;
 		}
 	}
 
-	protected class IntWriteOperation implements OutputOperation {
+	/**
+	 * Returns the number of characters that are currently buffered.
+	 */
+	public int getBufferedCharCount() {
+		return bufferedCharCount;
+	}
 
-		private int c;
+	protected char[] getChunk(int index) {
 
-		public IntWriteOperation(int c) {
-			this.c = c;
+		while (chunks.size() <= index) {
+			chunks.add(borrowChunk());
 		}
 
-		public void invoke() throws IOException {
-			wrappedWriter.write(c);
-		}
+		return chunks.get(index);
 	}
 
-	protected class StrOffLenWriteOperation implements OutputOperation {
+	protected boolean isMaxBufferSizeExceeded(int len) throws IOException {
 
-		private String str;
-		private int off;
-		private int len;
+		boolean maxBufferSizeExceeded = false;
 
-		public StrOffLenWriteOperation(String str, int off, int len) {
-			this.str = str;
-			this.off = off;
-			this.len = len;
-		}
+		if ((maxBufferSize > 0) && ((bufferedCharCount + len) > maxBufferSize)) {
 
-		public void invoke() throws IOException {
-			wrappedWriter.write(str, off, len);
+			logger.warn(
+				"Render-redirect buffer exceeded maxBufferSize=[{0}] so markup will be written directly to the response",
+				maxBufferSize);
+			render();
+			maxBufferSizeExceeded = true;
 		}
+
+		return maxBufferSizeExceeded;
 	}
 
-	protected class StrWriteOperation implements OutputOperation {
+	/**
+	 * Returns the highest number of characters that have been buffered at any one time.
+	 */
+	public int getPeakBufferedCharCount() {
+		return peakBufferedCharCount;
+	}
 
-		private String str;
+	public Writer getWrapped() {
+		return wrappedWriter;
+	}
 
-		public StrWriteOperation(String str) {
-			this.str = str;
-		}
+	protected static final class Marker {
+
+		private final boolean close;
+		private final int position;
 
-		public void invoke() throws IOException {
-			wrappedWriter.write(str);
+		public Marker(int position, boolean close) {
+			this.position = position;
+			this.close = close;
 		}
 	}
 }
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class supports the streaming mode of the RENDER_PHASE of the portlet lifecycle by collecting the characters that
+ * are written in a bounded buffer. Each time the buffer becomes full, its contents are written to the wrapped {@link
+ * Writer} which is then flushed, so that markup is delivered to the portlet container while the view is still being
+ * rendered rather than after the entire view has been rendered. The number of characters streamed and the number of
+ * flushes are recorded for diagnostic purposes.
+ *
+ * @author  Neil Griffin
+ */
+public class StreamingWriter extends WriterWrapper {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(StreamingWriter.class);
+
+	// Private Data Members
+	private char[] buffer;
+	private int count;
+	private int flushCount;
+	private long streamedCharCount;
+	private Writer wrappedWriter;
+
+	/**
+	 * @param  writer      The writer that is to receive the characters each time the buffer becomes full.
+	 * @param  bufferSize  The number of characters that are to be collected before writing to the wrapped writer.
+	 */
+	public StreamingWriter(Writer writer, int bufferSize) {
+		this.wrappedWriter = writer;
+		this.buffer = new char[bufferSize];
+	}
+
+	@Override
+	public void close() throws IOException {
+		drain();
+		wrappedWriter.close();
+	}
+
+	/**
+	 * Writes the characters that remain in the buffer to the wrapped {@link Writer} without flushing it.
+	 */
+	public void drain() throws IOException {
+
+		if (count > 0) {
+			wrappedWriter.write(buffer, 0, count);
+			streamedCharCount += count;
+			count = 0;
+		}
+	}
+
+	/**
+	 * Writes the characters that remain in the buffer to the wrapped {@link Writer} and logs the number of characters
+	 * that were streamed. Intended to be called after the view has been rendered.
+	 */
+	public void finish() throws IOException {
+
+		drain();
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Streamed [{0}] characters with [{1}] flushes using bufferSize=[{2}]", streamedCharCount,
+				flushCount, buffer.length);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		drain();
+		wrappedWriter.flush();
+		flushCount++;
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+
+		if (count == buffer.length) {
+			flush();
+		}
+
+		buffer[count++] = (char) c;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) throws IOException {
+
+		// If the characters will not fit in the buffer, then write whatever is in the buffer along with the specified
+		// characters and flush.
+		if ((count + len) > buffer.length) {
+
+			drain();
+
+			if (len >= buffer.length) {
+				wrappedWriter.write(cbuf, off, len);
+				streamedCharCount += len;
+				wrappedWriter.flush();
+				flushCount++;
+
+				return;
+			}
+
+			wrappedWriter.flush();
+			flushCount++;
+		}
+
+		System.arraycopy(cbuf, off, buffer, count, len);
+		count += len;
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+
+		if ((count + len) > buffer.length) {
+
+			drain();
+
+			if (len >= buffer.length) {
+				wrappedWriter.write(str, off, len);
+				streamedCharCount += len;
+				wrappedWriter.flush();
+				flushCount++;
+
+				return;
+			}
+
+			wrappedWriter.flush();
+			flushCount++;
+		}
+
+		str.getChars(off, off + len, buffer, count);
+		count += len;
+	}
+
+	/**
+	 * Returns the number of times that the wrapped {@link Writer} has been flushed.
+	 */
+	public int getFlushCount() {
+		return flushCount;
+	}
+
+	/**
+	 * Returns the number of characters that have been written to the wrapped {@link Writer}.
+	 */
+	public long getStreamedCharCount() {
+		return streamedCharCount;
+	}
+
+	public Writer getWrapped() {
+		return wrappedWriter;
+	}
+}
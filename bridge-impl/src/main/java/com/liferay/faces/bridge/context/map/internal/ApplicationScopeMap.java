@@ -24,7 +24,7 @@ import javax.portlet.PortletContext;
 import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.bean.internal.BeanManager;
 import com.liferay.faces.bridge.bean.internal.BeanManagerFactory;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.util.config.ApplicationConfig;
 import com.liferay.faces.util.map.AbstractPropertyMap;
@@ -54,7 +54,7 @@ public class ApplicationScopeMap extends AbstractPropertyMap<Object> {
 		// Determines whether or not methods annotated with the @PreDestroy annotation are preferably invoked
 		// over the @BridgePreDestroy annotation.
 		PortletConfig portletConfig = bridgeContext.getPortletConfig();
-		this.preferPreDestroy = PortletConfigParam.PreferPreDestroy.getBooleanValue(portletConfig);
+		this.preferPreDestroy = PortletConfigParamValues.getInstance(portletConfig).isPreferPreDestroy();
 	}
 
 	/**
@@ -14,6 +14,7 @@
 package com.liferay.faces.bridge.context.map.internal;
 
 import java.util.HashMap;
+import java.util.Map;
 
 
 /**
@@ -24,6 +25,29 @@ public class CaseInsensitiveHashMap<V> extends HashMap<String, V> {
 	// serialVersionUID
 	private static final long serialVersionUID = 7989809010272499963L;
 
+	// Private Constants
+	private static final String[] WELL_KNOWN_KEYS = new String[] {
+			"Accept", "Accept-Charset", "Accept-Encoding", "Accept-Language", "Cache-Control", "Connection",
+			"Content-Length", "Content-Type", "Cookie", "Faces-Request", "Host", "If-Modified-Since", "If-None-Match",
+			"Pragma", "Referer", "User-Agent", "X-Requested-With"
+		};
+	private static final Map<String, String> LOWER_CASE_KEYS;
+
+	static {
+
+		// Pre-compute the (interned) lower-case form of the well-known keys so that looking them up does not require
+		// a new String to be created.
+		Map<String, String> lowerCaseKeys = new HashMap<String, String>();
+
+		for (String wellKnownKey : WELL_KNOWN_KEYS) {
+			String lowerCaseKey = wellKnownKey.toLowerCase().intern();
+			lowerCaseKeys.put(wellKnownKey, lowerCaseKey);
+			lowerCaseKeys.put(lowerCaseKey, lowerCaseKey);
+		}
+
+		LOWER_CASE_KEYS = lowerCaseKeys;
+	}
+
 	@Override
 	public boolean containsKey(Object key) {
 		return super.containsKey(getLowerCaseKey(key));
@@ -44,7 +68,13 @@ public class CaseInsensitiveHashMap<V> extends HashMap<String, V> {
 		String lowerCaseKey = null;
 
 		if (key != null) {
-			lowerCaseKey = key.toString().toLowerCase();
+
+			String keyAsString = key.toString();
+			lowerCaseKey = LOWER_CASE_KEYS.get(keyAsString);
+
+			if (lowerCaseKey == null) {
+				lowerCaseKey = keyAsString.toLowerCase();
+			}
 		}
 
 		return lowerCaseKey;
@@ -50,7 +50,7 @@ import org.apache.commons.fileupload.util.Streams;
 import org.apache.commons.io.FileUtils;
 
 import com.liferay.faces.bridge.BridgeFactoryFinder;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.util.context.map.FacesRequestParameterMap;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
@@ -76,7 +76,7 @@ public class MultiPartFormDataProcessorImpl implements MultiPartFormDataProcesso
 
 		PortletSession portletSession = clientDataRequest.getPortletSession();
 
-		String uploadedFilesDir = PortletConfigParam.UploadedFilesDir.getStringValue(portletConfig);
+		String uploadedFilesDir = PortletConfigParamValues.getInstance(portletConfig).getUploadedFilesDir();
 
 		// Using the portlet sessionId, determine a unique folder path and create the path if it does not exist.
 		String sessionId = portletSession.getId();
@@ -103,7 +103,7 @@ public class MultiPartFormDataProcessorImpl implements MultiPartFormDataProcesso
 		diskFileItemFactory.setSizeThreshold(0);
 
 		// Determine the max file upload size threshold (in bytes).
-		long uploadedFileMaxSize = PortletConfigParam.UploadedFileMaxSize.getLongValue(portletConfig);
+		long uploadedFileMaxSize = PortletConfigParamValues.getInstance(portletConfig).getUploadedFileMaxSize();
 
 		// Parse the request parameters and save all uploaded files in a map.
 		PortletFileUpload portletFileUpload = new PortletFileUpload(diskFileItemFactory);
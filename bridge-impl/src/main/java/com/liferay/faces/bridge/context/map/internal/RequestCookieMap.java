@@ -14,7 +14,8 @@
 package com.liferay.faces.bridge.context.map.internal;
 
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -22,10 +23,18 @@ import javax.servlet.http.Cookie;
 
 
 /**
+ * This class is an immutable map of cookie name to {@link Cookie}. As required by {@link
+ * javax.faces.context.ExternalContext#getRequestCookieMap()}, the value for each name is the first (or only) cookie
+ * with that name, and the iteration order of the collection views is the order of the cookies in the request. The name
+ * index and the collection views are built the first time that they are needed and are reused for the remainder of
+ * the request.
+ *
  * @author  Neil Griffin
  */
 public class RequestCookieMap implements Map<String, Object> {
 
+	// Private Data Members
+	private Map<String, Object> cookieMap;
 	private Cookie[] cookies;
 
 	public RequestCookieMap(Cookie[] cookies) {
@@ -37,91 +46,35 @@ public class RequestCookieMap implements Map<String, Object> {
 	}
 
 	public boolean containsKey(Object key) {
-		boolean found = false;
-
-		if (key != null) {
-			String keyAsString = key.toString();
-
-			if (cookies != null) {
 
-				for (Cookie cookie : cookies) {
-					found = cookie.getName().equals(keyAsString);
-
-					if (found) {
-						break;
-					}
-				}
-			}
+		if (key == null) {
+			return false;
+		}
+		else {
+			return getCookieMap().containsKey(key.toString());
 		}
-
-		return found;
 	}
 
 	public boolean containsValue(Object value) {
-		boolean found = false;
-
-		if (cookies != null) {
-
-			for (Cookie cookie : cookies) {
-				found = (cookie == value);
-
-				if (found) {
-					break;
-				}
-			}
-		}
-
-		return found;
+		return getCookieMap().containsValue(value);
 	}
 
 	public Set<Map.Entry<String, Object>> entrySet() {
-		Set<Map.Entry<String, Object>> entrySet = null;
-
-		if (cookies != null) {
-			entrySet = new HashSet<Map.Entry<String, Object>>();
-
-			for (Cookie cookie : cookies) {
-				String cookieName = cookie.getName();
-				RequestCookieMapEntry requestCookieMapEntry = new RequestCookieMapEntry(cookieName, cookie);
-				entrySet.add(requestCookieMapEntry);
-			}
-		}
-
-		return entrySet;
+		return getCookieMap().entrySet();
 	}
 
 	public Cookie get(Object key) {
-		Cookie value = null;
-
-		if ((key != null) && (cookies != null)) {
-			String keyAsString = key.toString();
-
-			for (Cookie cookie : cookies) {
 
-				if (cookie.getName().equals(keyAsString)) {
-					value = cookie;
-
-					break;
-				}
-			}
+		if (key == null) {
+			return null;
+		}
+		else {
+			return (Cookie) getCookieMap().get(key.toString());
 		}
-
-		return value;
 	}
 
 	public Set<String> keySet() {
-		Set<String> keySet = null;
-
-		if (cookies != null) {
-			keySet = new HashSet<String>();
-
-			for (Cookie cookie : cookies) {
-				String cookieName = cookie.getName();
-				keySet.add(cookieName);
-			}
-		}
-
-		return keySet;
+		return getCookieMap().keySet();
 	}
 
 	public Cookie put(String key, Object value) {
@@ -137,27 +90,42 @@ public class RequestCookieMap implements Map<String, Object> {
 	}
 
 	public int size() {
-		int size = 0;
-
-		if (cookies != null) {
-			size = cookies.length;
-		}
-
-		return size;
+		return getCookieMap().size();
 	}
 
 	public Collection<Object> values() {
-		Collection<Object> values = null;
+		return getCookieMap().values();
+	}
+
+	/**
+	 * Returns an unmodifiable index of cookie name to the first cookie with that name, in request order. Since the
+	 * unmodifiable wrapper caches its collection views, the views are only created once.
+	 */
+	protected Map<String, Object> getCookieMap() {
+
+		if (cookieMap == null) {
+
+			if ((cookies == null) || (cookies.length == 0)) {
+				cookieMap = Collections.emptyMap();
+			}
+			else {
 
-		if (cookies != null) {
-			values = new HashSet<Object>();
+				Map<String, Object> cookieIndex = new LinkedHashMap<String, Object>(cookies.length * 2);
+
+				for (Cookie cookie : cookies) {
+
+					String cookieName = cookie.getName();
+
+					if (!cookieIndex.containsKey(cookieName)) {
+						cookieIndex.put(cookieName, cookie);
+					}
+				}
 
-			for (Cookie cookie : cookies) {
-				values.add(cookie);
+				cookieMap = Collections.unmodifiableMap(cookieIndex);
 			}
 		}
 
-		return values;
+		return cookieMap;
 	}
 
 	public boolean isEmpty() {
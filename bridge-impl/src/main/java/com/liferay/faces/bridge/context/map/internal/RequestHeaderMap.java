@@ -13,6 +13,7 @@
  */
 package com.liferay.faces.bridge.context.map.internal;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,6 +22,9 @@ import com.liferay.faces.util.logging.LoggerFactory;
 
 
 /**
+ * This class provides a lazily populated view of the first value of each header in a {@link RequestHeaderValuesMap}.
+ * Each header is only resolved when it is accessed, and the underlying map is only iterated when this map is iterated.
+ *
  * @author  Neil Griffin
  */
 public class RequestHeaderMap extends CaseInsensitiveHashMap<String> {
@@ -31,25 +35,114 @@ public class RequestHeaderMap extends CaseInsensitiveHashMap<String> {
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(RequestHeaderMap.class);
 
+	// Private Data Members
+	private boolean fullyResolved;
+	private Map<String, String[]> requestHeaderValuesMap;
+
 	public RequestHeaderMap(Map<String, String[]> requestHeaderValuesMap) {
-		Set<Map.Entry<String, String[]>> entrySet = requestHeaderValuesMap.entrySet();
+		this.requestHeaderValuesMap = requestHeaderValuesMap;
+	}
 
-		if (entrySet != null) {
+	@Override
+	public boolean containsKey(Object key) {
 
-			for (Map.Entry<String, String[]> mapEntry : entrySet) {
-				String key = mapEntry.getKey();
-				String[] value = mapEntry.getValue();
+		if (fullyResolved) {
+			return super.containsKey(key);
+		}
+		else {
+			return requestHeaderValuesMap.containsKey(key);
+		}
+	}
 
-				if ((value != null) && (value.length > 0)) {
-					put(key, value[0]);
-					logger.debug("Adding {0}=[{1}] to header map", key, value);
-				}
-				else {
-					put(key, null);
-					logger.debug("Adding {0}=[null] to header map", key);
-				}
+	@Override
+	public boolean containsValue(Object value) {
+		resolveAll();
+
+		return super.containsValue(value);
+	}
+
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		resolveAll();
+
+		return super.entrySet();
+	}
+
+	@Override
+	public String get(Object key) {
+
+		String lowerCaseKey = getLowerCaseKey(key);
+		String value = super.get(lowerCaseKey);
+
+		if ((value == null) && !fullyResolved && (lowerCaseKey != null)) {
+
+			String[] values = requestHeaderValuesMap.get(key);
+
+			if ((values != null) && (values.length > 0)) {
+				value = values[0];
+				super.put(lowerCaseKey, value);
 			}
 		}
+
+		return value;
 	}
 
+	@Override
+	public boolean isEmpty() {
+		resolveAll();
+
+		return super.isEmpty();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		resolveAll();
+
+		return super.keySet();
+	}
+
+	@Override
+	public int size() {
+		resolveAll();
+
+		return super.size();
+	}
+
+	@Override
+	public Collection<String> values() {
+		resolveAll();
+
+		return super.values();
+	}
+
+	/**
+	 * Adds the first value of every header in the underlying {@link RequestHeaderValuesMap} so that the map can be
+	 * iterated.
+	 */
+	protected void resolveAll() {
+
+		if (!fullyResolved) {
+
+			Set<Map.Entry<String, String[]>> entrySet = requestHeaderValuesMap.entrySet();
+
+			if (entrySet != null) {
+
+				for (Map.Entry<String, String[]> mapEntry : entrySet) {
+					String key = mapEntry.getKey();
+					String[] value = mapEntry.getValue();
+
+					if ((value != null) && (value.length > 0)) {
+						put(key, value[0]);
+						logger.debug("Adding {0}=[{1}] to header map", key, value);
+					}
+					else {
+						put(key, null);
+						logger.debug("Adding {0}=[null] to header map", key);
+					}
+				}
+			}
+
+			fullyResolved = true;
+		}
+	}
 }
@@ -13,8 +13,12 @@
  */
 package com.liferay.faces.bridge.context.map.internal;
 
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
@@ -31,6 +35,11 @@ import com.liferay.faces.util.logging.LoggerFactory;
 
 
 /**
+ * This class provides a map of request header values that is populated lazily. Each header is resolved from the {@link
+ * PortletRequest} the first time that it is accessed, so that the common case of JSF (or a component library) reading
+ * only one or two headers per request does not require every portlet request property to be copied. Iterating the map
+ * (or asking for its size) causes all of the headers to be resolved.
+ *
  * @author  Neil Griffin
  */
 public class RequestHeaderValuesMap extends RequestHeaderValuesMapCompat {
@@ -50,123 +59,90 @@ public class RequestHeaderValuesMap extends RequestHeaderValuesMapCompat {
 	private static final String HEADER_ACCEPT_LANGUAGE = "Accept-Language";
 	private static final String HEADER_CONTENT_TYPE = "Content-Type";
 	private static final String HEADER_FACES_REQUEST = "Faces-Request";
+	private static final String LOWER_CASE_HEADER_ACCEPT = "accept";
+	private static final String LOWER_CASE_HEADER_ACCEPT_LANGUAGE = "accept-language";
+	private static final String LOWER_CASE_HEADER_CONTENT_TYPE = "content-type";
+	private static final String LOWER_CASE_HEADER_FACES_REQUEST = "faces-request";
 
-	public RequestHeaderValuesMap(BridgeContext bridgeContext) {
-
-		PortletRequest portletRequest = bridgeContext.getPortletRequest();
-		Enumeration<String> propertyNames = portletRequest.getPropertyNames();
-		boolean foundAccept = false;
-		boolean foundContentType = false;
-		boolean foundFacesRequest = false;
+	// Private Data Members
+	private Set<String> absentNames;
+	private boolean fullyResolved;
+	private Set<String> lowerCasePropertyNames;
+	private transient PortletRequest portletRequest;
 
-		if (propertyNames != null) {
+	public RequestHeaderValuesMap(BridgeContext bridgeContext) {
+		this.portletRequest = bridgeContext.getPortletRequest();
+	}
 
-			while (propertyNames.hasMoreElements()) {
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
 
-				boolean addHeader = true;
-				String name = propertyNames.nextElement();
+	@Override
+	public boolean containsValue(Object value) {
+		resolveAll();
 
-				if (name.equalsIgnoreCase(HEADER_ACCEPT_LANGUAGE)) {
-					Enumeration<Locale> locales = portletRequest.getLocales();
+		return super.containsValue(value);
+	}
 
-					if (locales != null) {
-						addHeader = false;
+	@Override
+	public Set<Map.Entry<String, String[]>> entrySet() {
+		resolveAll();
 
-						StringBuilder buf = new StringBuilder();
+		return super.entrySet();
+	}
 
-						for (int i = 0; locales.hasMoreElements(); i++) {
+	@Override
+	public String[] get(Object key) {
 
-							if (i > 0) {
-								buf.append(StringPool.COMMA);
-							}
+		String lowerCaseKey = getLowerCaseKey(key);
+		String[] values = super.get(lowerCaseKey);
 
-							Locale locale = locales.nextElement();
-							buf.append(locale.getLanguage());
+		if ((values == null) && (lowerCaseKey != null) && !fullyResolved &&
+				((absentNames == null) || !absentNames.contains(lowerCaseKey))) {
 
-							String country = locale.getCountry();
+			values = resolve(key.toString(), lowerCaseKey);
 
-							if ((country != null) && (country.length() > 0)) {
-								buf.append(StringPool.DASH);
-								buf.append(country);
-							}
-						}
+			if (values == null) {
 
-						super.put(name, new String[] { buf.toString() });
-					}
+				if (absentNames == null) {
+					absentNames = new HashSet<String>();
 				}
 
-				if (addHeader) {
-					Enumeration<String> properties = portletRequest.getProperties(name);
-
-					StringBuilder buf = new StringBuilder();
-
-					if (properties != null) {
-
-						for (int i = 0; properties.hasMoreElements(); i++) {
-
-							if (i > 0) {
-								buf.append(StringPool.COMMA);
-							}
-
-							buf.append(properties.nextElement());
-						}
-					}
-
-					String values = buf.toString();
-					super.put(name, new String[] { values });
-
-					// NOTE: Need to check that the portlet container actually provided a value before the bridge can
-					// claim that it has detected "Accept", "Content-Type", or "Faces-Request".
-					// http://issues.liferay.com/browse/FACES-34
-					if (values.length() > 0) {
-
-						if (!foundAccept) {
-							foundAccept = name.equalsIgnoreCase(HEADER_ACCEPT);
-						}
-
-						if (!foundContentType) {
-							foundContentType = name.equalsIgnoreCase(HEADER_CONTENT_TYPE);
-						}
-
-						if (!foundFacesRequest) {
-							foundFacesRequest = name.equalsIgnoreCase(HEADER_FACES_REQUEST);
-						}
-					}
-				}
+				absentNames.add(lowerCaseKey);
 			}
 		}
 
-		if (!foundAccept) {
-			addAcceptHeader(portletRequest);
-		}
+		return values;
+	}
 
-		if (!foundContentType) {
-			addContentTypeHeader(portletRequest);
-		}
+	@Override
+	public boolean isEmpty() {
+		resolveAll();
 
-		if (!foundFacesRequest) {
+		return super.isEmpty();
+	}
 
-			// If this is a ResourceRequest, and the resource handler chain doesn't consider this to be a resource, then
-			// we assume that it's Ajax and add the "Faces-Request" header with value "partial/ajax". Note that this is
-			// normally done by the jsf.js JavaScript library, but in a portlet environment, the original XmlHttpRequest
-			// is not made available to the portlet bridge.
-			if (portletRequest instanceof ResourceRequest) {
+	@Override
+	public Set<String> keySet() {
+		resolveAll();
 
-				// If the BridgeExt.FACES_AJAX_PARAMETER request parameter is "true" then set the "partial/ajax" header
-				// so that the Ajax-based PartialResponseWriter renders XML. Otherwise, since the URL was probably setup
-				// with "portlet:resource" don't setup the header because it needs to fully run the JSF lifecycle with a
-				// real (non-parital) ResponseWriter that renders HTML.
-				FacesContext facesContext = FacesContext.getCurrentInstance();
-				ExternalContext externalContext = facesContext.getExternalContext();
-				String facesAjaxParam = externalContext.getRequestParameterMap().get(BridgeExt.FACES_AJAX_PARAMETER);
+		return super.keySet();
+	}
 
-				if ((facesAjaxParam != null) && BooleanHelper.isTrueToken(facesAjaxParam)) {
-					put(HEADER_FACES_REQUEST, new String[] { PARTIAL_AJAX });
-				}
-			}
-		}
+	@Override
+	public int size() {
+		resolveAll();
+
+		return super.size();
+	}
 
-		addJSF1Headers(portletRequest);
+	@Override
+	public Collection<String[]> values() {
+		resolveAll();
+
+		return super.values();
 	}
 
 	/**
@@ -238,4 +214,221 @@ public class RequestHeaderValuesMap extends RequestHeaderValuesMapCompat {
 			// TCK TestPage142: getRequestHeaderMapRenderTest
 		}
 	}
+
+	/**
+	 * If this is a ResourceRequest, and the resource handler chain doesn't consider this to be a resource, then we
+	 * assume that it's Ajax and add the "Faces-Request" header with value "partial/ajax". Note that this is normally
+	 * done by the jsf.js JavaScript library, but in a portlet environment, the original XmlHttpRequest is not made
+	 * available to the portlet bridge.
+	 *
+	 * @param  portletRequest  The current portlet request.
+	 */
+	protected void addFacesRequestHeader(PortletRequest portletRequest) {
+
+		if (portletRequest instanceof ResourceRequest) {
+
+			// If the BridgeExt.FACES_AJAX_PARAMETER request parameter is "true" then set the "partial/ajax" header so
+			// that the Ajax-based PartialResponseWriter renders XML. Otherwise, since the URL was probably setup with
+			// "portlet:resource" don't setup the header because it needs to fully run the JSF lifecycle with a real
+			// (non-parital) ResponseWriter that renders HTML.
+			FacesContext facesContext = FacesContext.getCurrentInstance();
+			ExternalContext externalContext = facesContext.getExternalContext();
+			String facesAjaxParam = externalContext.getRequestParameterMap().get(BridgeExt.FACES_AJAX_PARAMETER);
+
+			if ((facesAjaxParam != null) && BooleanHelper.isTrueToken(facesAjaxParam)) {
+				put(HEADER_FACES_REQUEST, new String[] { PARTIAL_AJAX });
+			}
+		}
+	}
+
+	/**
+	 * Resolves the values of the specified header from the portlet request and adds them to the map.
+	 *
+	 * @param   name          The name of the header.
+	 * @param   lowerCaseKey  The lower-case name of the header.
+	 *
+	 * @return  The values of the header, or <code>null</code> if the header is not present in the request.
+	 */
+	protected String[] resolve(String name, String lowerCaseKey) {
+
+		String[] values = null;
+
+		if (LOWER_CASE_HEADER_ACCEPT_LANGUAGE.equals(lowerCaseKey)) {
+
+			String acceptLanguage = getAcceptLanguage(name);
+
+			if (acceptLanguage != null) {
+				values = new String[] { acceptLanguage };
+			}
+		}
+		else {
+
+			String property = getProperty(name);
+
+			// NOTE: Need to check that the portlet container actually provided a value before the bridge can claim that
+			// it has detected "Accept", "Content-Type", or "Faces-Request".
+			// http://issues.liferay.com/browse/FACES-34
+			if ((property != null) && ((property.length() > 0) || !isSynthesized(lowerCaseKey))) {
+				values = new String[] { property };
+			}
+			else if (LOWER_CASE_HEADER_ACCEPT.equals(lowerCaseKey)) {
+				addAcceptHeader(portletRequest);
+				values = super.get(lowerCaseKey);
+			}
+			else if (LOWER_CASE_HEADER_CONTENT_TYPE.equals(lowerCaseKey)) {
+				addContentTypeHeader(portletRequest);
+				values = super.get(lowerCaseKey);
+			}
+			else if (LOWER_CASE_HEADER_FACES_REQUEST.equals(lowerCaseKey)) {
+				addFacesRequestHeader(portletRequest);
+				values = super.get(lowerCaseKey);
+			}
+
+			// If the header could not be synthesized, then fall back to the (empty) value provided by the portlet
+			// container.
+			if ((values == null) && (property != null)) {
+				values = new String[] { property };
+			}
+		}
+
+		if (values != null) {
+			super.put(lowerCaseKey, values);
+		}
+
+		return values;
+	}
+
+	/**
+	 * Resolves every header from the portlet request so that the map can be iterated.
+	 */
+	protected void resolveAll() {
+
+		if (!fullyResolved) {
+
+			Enumeration<String> propertyNames = portletRequest.getPropertyNames();
+
+			// Since the names are being enumerated anyway, collect them so that they do not have to be enumerated
+			// again in order to resolve the headers that are not present in the request.
+			if (lowerCasePropertyNames == null) {
+				lowerCasePropertyNames = new HashSet<String>();
+			}
+
+			if (propertyNames != null) {
+
+				while (propertyNames.hasMoreElements()) {
+
+					String name = propertyNames.nextElement();
+					lowerCasePropertyNames.add(getLowerCaseKey(name));
+					get(name);
+				}
+			}
+
+			get(HEADER_ACCEPT);
+			get(HEADER_CONTENT_TYPE);
+			get(HEADER_FACES_REQUEST);
+			addJSF1Headers(portletRequest);
+			fullyResolved = true;
+			absentNames = null;
+			lowerCasePropertyNames = null;
+		}
+	}
+
+	private String getAcceptLanguage(String name) {
+
+		// The "Accept-Language" header is only present if the portlet container provided it.
+		if (getProperty(name) == null) {
+			return null;
+		}
+
+		Enumeration<Locale> locales = portletRequest.getLocales();
+
+		if (locales == null) {
+			return getProperty(name);
+		}
+
+		StringBuilder buf = new StringBuilder();
+
+		for (int i = 0; locales.hasMoreElements(); i++) {
+
+			if (i > 0) {
+				buf.append(StringPool.COMMA);
+			}
+
+			Locale locale = locales.nextElement();
+			buf.append(locale.getLanguage());
+
+			String country = locale.getCountry();
+
+			if ((country != null) && (country.length() > 0)) {
+				buf.append(StringPool.DASH);
+				buf.append(country);
+			}
+		}
+
+		return buf.toString();
+	}
+
+	/**
+	 * Returns the lower-case names of the portlet request properties. Since the names are only needed in order to
+	 * distinguish a property without values from an absent property, they are not collected until a property without
+	 * values is encountered.
+	 */
+	private Set<String> getLowerCasePropertyNames() {
+
+		if (lowerCasePropertyNames == null) {
+
+			lowerCasePropertyNames = new HashSet<String>();
+
+			Enumeration<String> names = portletRequest.getPropertyNames();
+
+			if (names != null) {
+
+				while (names.hasMoreElements()) {
+					lowerCasePropertyNames.add(getLowerCaseKey(names.nextElement()));
+				}
+			}
+		}
+
+		return lowerCasePropertyNames;
+	}
+
+	/**
+	 * Returns the comma-delimited values of the specified portlet request property, or <code>null</code> if the
+	 * property is not present in the request. Single-valued properties (the common case) are returned without copying.
+	 * A property that the portlet container lists without any values is present with an empty value.
+	 */
+	private String getProperty(String name) {
+
+		Enumeration<String> properties = portletRequest.getProperties(name);
+
+		if ((properties == null) || !properties.hasMoreElements()) {
+
+			if (getLowerCasePropertyNames().contains(getLowerCaseKey(name))) {
+				return StringPool.BLANK;
+			}
+			else {
+				return null;
+			}
+		}
+
+		String property = properties.nextElement();
+
+		if (!properties.hasMoreElements()) {
+			return property;
+		}
+
+		StringBuilder buf = new StringBuilder(property);
+
+		while (properties.hasMoreElements()) {
+			buf.append(StringPool.COMMA);
+			buf.append(properties.nextElement());
+		}
+
+		return buf.toString();
+	}
+
+	private boolean isSynthesized(String lowerCaseKey) {
+		return LOWER_CASE_HEADER_ACCEPT.equals(lowerCaseKey) || LOWER_CASE_HEADER_CONTENT_TYPE.equals(lowerCaseKey) ||
+			LOWER_CASE_HEADER_FACES_REQUEST.equals(lowerCaseKey);
+	}
 }
@@ -13,7 +13,6 @@
  */
 package com.liferay.faces.bridge.context.map.internal;
 
-import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -29,7 +28,7 @@ import javax.portlet.PortletRequest;
 import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.bean.internal.BeanManager;
 import com.liferay.faces.bridge.bean.internal.BeanManagerFactory;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.internal.BridgeConstants;
 import com.liferay.faces.bridge.scope.BridgeRequestScope;
@@ -50,7 +49,6 @@ public class RequestScopeMap extends AbstractPropertyMap<Object> {
 	private static final boolean LIFERAY_PORTAL_DETECTED = ProductMap.getInstance().get(ProductConstants.LIFERAY_PORTAL)
 		.isDetected();
 	private static final boolean NULL_PATH_ATTRIBUTES;
-	private static final String REQUEST_SCOPED_FQCN = "javax.faces.bean.RequestScoped";
 
 	static {
 
@@ -69,6 +67,7 @@ public class RequestScopeMap extends AbstractPropertyMap<Object> {
 	private PortletRequest portletRequest;
 	private boolean preferPreDestroy;
 	private Set<String> removedAttributeNames;
+	private RequestScopedClassCache requestScopedClassCache;
 
 	public RequestScopeMap(BridgeContext bridgeContext) {
 
@@ -86,19 +85,23 @@ public class RequestScopeMap extends AbstractPropertyMap<Object> {
 		PortletConfig portletConfig = bridgeContext.getPortletConfig();
 
 		if (LIFERAY_PORTAL_DETECTED) {
-			distinctRequestScopedManagedBeans = PortletConfigParam.DistinctRequestScopedManagedBeans.getBooleanValue(
-					portletConfig);
+			PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+			distinctRequestScopedManagedBeans = portletConfigParamValues.isDistinctRequestScopedManagedBeans();
 		}
 
 		this.distinctRequestScopedManagedBeans = distinctRequestScopedManagedBeans;
 
+		if (distinctRequestScopedManagedBeans) {
+			this.requestScopedClassCache = RequestScopedClassCache.getInstance(portletContext);
+		}
+
 		this.namespace = bridgeContext.getPortletResponse().getNamespace();
 
 		this.portletRequest = bridgeContext.getPortletRequest();
 
 		// Determines whether or not methods annotated with the @PreDestroy annotation are preferably invoked
 		// over the @BridgePreDestroy annotation.
-		this.preferPreDestroy = PortletConfigParam.PreferPreDestroy.getBooleanValue(portletConfig);
+		this.preferPreDestroy = PortletConfigParamValues.getInstance(portletConfig).isPreferPreDestroy();
 
 		BridgeRequestScope bridgeRequestScope = bridgeContext.getBridgeRequestScope();
 
@@ -156,22 +159,7 @@ public class RequestScopeMap extends AbstractPropertyMap<Object> {
 
 				if (attributeValue != null) {
 
-					boolean requestScopedBean = false;
-					Annotation[] annotations = attributeValue.getClass().getAnnotations();
-
-					if (annotations != null) {
-
-						for (Annotation annotation : annotations) {
-
-							if (annotation.annotationType().getName().equals(REQUEST_SCOPED_FQCN)) {
-								requestScopedBean = true;
-
-								break;
-							}
-						}
-					}
-
-					if (requestScopedBean) {
+					if (requestScopedClassCache.isRequestScoped(attributeValue.getClass())) {
 
 						// If the private-request-attribute feature is enabled in WEB-INF/liferay-portlet.xml, then the
 						// NamespaceServletRequest.getAttribute(String) method first tries to get the attribute value by
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.map.internal;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.portlet.PortletContext;
+
+
+/**
+ * This class is a per-application cache that records whether or not a class is annotated with
+ * javax.faces.bean.RequestScoped, so that the annotations of a class only need to be examined one time. The cache is
+ * stored as a {@link PortletContext} attribute and holds its classes weakly, so that it does not prevent the class
+ * loader of a class that is no longer in use from being garbage collected.
+ *
+ * @author  Neil Griffin
+ */
+public class RequestScopedClassCache {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = RequestScopedClassCache.class.getName();
+	private static final String REQUEST_SCOPED_FQCN = "javax.faces.bean.RequestScoped";
+
+	// Private Data Members
+	private Map<Class<?>, Boolean> requestScopedClasses;
+
+	public RequestScopedClassCache() {
+		this.requestScopedClasses = Collections.synchronizedMap(new WeakHashMap<Class<?>, Boolean>());
+	}
+
+	public static RequestScopedClassCache getInstance(PortletContext portletContext) {
+
+		RequestScopedClassCache requestScopedClassCache = (RequestScopedClassCache) portletContext.getAttribute(
+				ATTRIBUTE_NAME);
+
+		if (requestScopedClassCache == null) {
+			requestScopedClassCache = new RequestScopedClassCache();
+			portletContext.setAttribute(ATTRIBUTE_NAME, requestScopedClassCache);
+		}
+
+		return requestScopedClassCache;
+	}
+
+	/**
+	 * Returns <code>true</code> if the specified class is annotated with javax.faces.bean.RequestScoped, otherwise
+	 * <code>false</code>.
+	 */
+	public boolean isRequestScoped(Class<?> clazz) {
+
+		Boolean requestScoped = requestScopedClasses.get(clazz);
+
+		// Note: Examining the annotations more than once in the case of a race condition is harmless, so there is no
+		// need for synchronization.
+		if (requestScoped == null) {
+
+			requestScoped = Boolean.FALSE;
+
+			Annotation[] annotations = clazz.getAnnotations();
+
+			if (annotations != null) {
+
+				for (Annotation annotation : annotations) {
+
+					if (annotation.annotationType().getName().equals(REQUEST_SCOPED_FQCN)) {
+						requestScoped = Boolean.TRUE;
+
+						break;
+					}
+				}
+			}
+
+			requestScopedClasses.put(clazz, requestScoped);
+		}
+
+		return requestScoped;
+	}
+}
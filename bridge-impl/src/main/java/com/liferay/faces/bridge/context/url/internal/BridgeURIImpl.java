@@ -16,6 +16,7 @@ package com.liferay.faces.bridge.context.url.internal;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.portlet.faces.Bridge;
@@ -48,6 +49,7 @@ public class BridgeURIImpl implements BridgeURI {
 	private Bridge.PortletPhase portletPhase;
 	private Boolean portletScheme;
 	private String query;
+	private int queryPos;
 	private String stringValue;
 	private URI uri;
 
@@ -55,13 +57,10 @@ public class BridgeURIImpl implements BridgeURI {
 		this.stringValue = uri;
 		this.uri = new URI(uri);
 		portletScheme = "portlet".equals(this.uri.getScheme());
+		queryPos = uri.indexOf('?');
 
-		if (portletScheme) {
-			int queryPos = uri.indexOf('?');
-
-			if (queryPos > 0) {
-				query = uri.substring(queryPos + 1);
-			}
+		if (portletScheme && (queryPos > 0)) {
+			query = uri.substring(queryPos + 1);
 		}
 	}
 
@@ -209,7 +208,10 @@ public class BridgeURIImpl implements BridgeURI {
 	public Map<String, String[]> getParameterMap() {
 
 		if (parameters == null) {
-			parameters = Collections.unmodifiableMap(URLUtil.parseParameterMapValuesArray(uri.toString()));
+
+			Map<String, String[]> parameterMapValuesArray = new LinkedHashMap<String, String[]>();
+			URLUtil.parseParameterMapValuesArray(stringValue, queryPos, parameterMapValuesArray);
+			parameters = Collections.unmodifiableMap(parameterMapValuesArray);
 		}
 
 		return parameters;
@@ -254,6 +256,14 @@ public class BridgeURIImpl implements BridgeURI {
 		return portletPhase;
 	}
 
+	/**
+	 * Returns the position of the question-mark character within the string-based representation of the URI, or -1 if
+	 * the URI does not have a query component. The position is determined one time when the URI is constructed.
+	 */
+	public int getQueryPos() {
+		return queryPos;
+	}
+
 	public String getQuery() {
 
 		if (query == null) {
@@ -17,7 +17,6 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -43,7 +42,6 @@ import com.liferay.faces.bridge.context.internal.ExternalContextImpl;
 import com.liferay.faces.bridge.context.url.BridgeURI;
 import com.liferay.faces.bridge.context.url.BridgeURL;
 import com.liferay.faces.bridge.helper.internal.WindowStateHelper;
-import com.liferay.faces.bridge.internal.BridgeConstants;
 import com.liferay.faces.bridge.util.internal.RequestParameter;
 import com.liferay.faces.util.helper.BooleanHelper;
 import com.liferay.faces.util.lang.StringPool;
@@ -146,11 +144,7 @@ public abstract class BridgeURLBase implements BridgeURL {
 
 		String uri = bridgeURI.toString();
 
-		int endPos = uri.indexOf(StringPool.QUESTION);
-
-		if (endPos < 0) {
-			endPos = uri.length();
-		}
+		int endPos = getQueryPos(uri);
 
 		if (bridgeURI.isPortletScheme()) {
 			Bridge.PortletPhase urlPortletPhase = bridgeURI.getPortletPhase();
@@ -435,28 +429,53 @@ public abstract class BridgeURLBase implements BridgeURL {
 		List<RequestParameter> requestParameters = null;
 
 		if (url != null) {
-			int pos = url.indexOf("?");
+			int pos = url.indexOf(StringPool.QUESTION);
 
 			if (pos >= 0) {
-				String queryString = url.substring(pos + 1);
 
-				if (queryString.length() > 0) {
+				int length = url.length();
+				int tokenStart = pos + 1;
+
+				if (tokenStart < length) {
 					requestParameters = new ArrayList<RequestParameter>();
+				}
+
+				// Note that trailing delimiters are ignored.
+				while ((length > tokenStart) && (url.charAt(length - 1) == '&')) {
+					length--;
+				}
+
+				// Scan the name=value pairs in a single pass rather than splitting the query-string with regular
+				// expressions.
+				while (tokenStart < length) {
 
-					String[] queryParameters = queryString.split(BridgeConstants.REGEX_AMPERSAND_DELIMITER);
+					int tokenEnd = url.indexOf(StringPool.AMPERSAND, tokenStart);
 
-					for (String queryParameter : queryParameters) {
-						String[] nameValueArray = queryParameter.split("[=]");
+					if (tokenEnd < 0) {
+						tokenEnd = length;
+					}
+
+					int equalsPos = url.indexOf(StringPool.EQUAL, tokenStart);
+					int extraEqualsPos = -1;
+
+					if (equalsPos >= 0) {
+						extraEqualsPos = url.indexOf(StringPool.EQUAL, equalsPos + 1);
+					}
 
-						if (nameValueArray.length == 2) {
-							String name = nameValueArray[0];
-							String value = nameValueArray[1];
-							requestParameters.add(new RequestParameter(name, value));
-						}
-						else {
-							throw new MalformedURLException("invalid name/value pair: " + queryParameter);
-						}
+					// The name=value pair is valid only if it contains exactly one equals sign and a non-empty value.
+					if ((equalsPos >= 0) && (equalsPos < (tokenEnd - 1)) &&
+							((extraEqualsPos < 0) || (extraEqualsPos >= tokenEnd))) {
+
+						String name = url.substring(tokenStart, equalsPos);
+						String value = url.substring(equalsPos + 1, tokenEnd);
+						requestParameters.add(new RequestParameter(name, value));
+					}
+					else {
+						throw new MalformedURLException("invalid name/value pair: " +
+							url.substring(tokenStart, tokenEnd));
 					}
+
+					tokenStart = tokenEnd + 1;
 				}
 			}
 		}
@@ -512,7 +531,7 @@ public abstract class BridgeURLBase implements BridgeURL {
 	public Map<String, String[]> getParameterMap() {
 
 		if (parameterMap == null) {
-			parameterMap = new LinkedHashMap<String, String[]>(bridgeURI.getParameterMap());
+			parameterMap = new ParameterMapCopyOnWrite(bridgeURI.getParameterMap());
 		}
 
 		return parameterMap;
@@ -656,6 +675,28 @@ public abstract class BridgeURLBase implements BridgeURL {
 		return facesViewTarget;
 	}
 
+	/**
+	 * Returns the position of the question-mark character within the specified string-based representation of the
+	 * bridge URI, or the length of the string if it does not have a query component.
+	 */
+	private int getQueryPos(String uri) {
+
+		int queryPos;
+
+		if (bridgeURI instanceof BridgeURIImpl) {
+			queryPos = ((BridgeURIImpl) bridgeURI).getQueryPos();
+		}
+		else {
+			queryPos = uri.indexOf(StringPool.QUESTION);
+		}
+
+		if (queryPos < 0) {
+			queryPos = uri.length();
+		}
+
+		return queryPos;
+	}
+
 	protected String getViewIdParameterName() {
 
 		if (bridgeURI.isPortletScheme() && (bridgeURI.getPortletPhase() == Bridge.PortletPhase.RESOURCE_PHASE)) {
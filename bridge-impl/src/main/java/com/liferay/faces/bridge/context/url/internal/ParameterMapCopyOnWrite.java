@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.url.internal;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * This class is a parameter map that reads through to the immutable parameter map of a {@link
+ * com.liferay.faces.bridge.context.url.BridgeURI} until the first time that it is modified, at which point a private
+ * (ordered) copy is made. Since the vast majority of URLs are encoded without their parameters ever being changed, this
+ * avoids copying the parameters of every URL that is encoded. Note that the {@link #entrySet()}, {@link #keySet()},
+ * and {@link #values()} views are read-only until the map has been modified via {@link #put(String, String[])},
+ * {@link #putAll(Map)}, {@link #remove(Object)}, or {@link #clear()}.
+ *
+ * @author  Neil Griffin
+ */
+class ParameterMapCopyOnWrite extends AbstractMap<String, String[]> {
+
+	// Private Data Members
+	private boolean copied;
+	private Map<String, String[]> parameterMap;
+
+	public ParameterMapCopyOnWrite(Map<String, String[]> parameterMap) {
+		this.parameterMap = parameterMap;
+	}
+
+	@Override
+	public void clear() {
+
+		if (copied) {
+			parameterMap.clear();
+		}
+		else {
+			parameterMap = new LinkedHashMap<String, String[]>();
+			copied = true;
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return parameterMap.containsKey(key);
+	}
+
+	@Override
+	public String[] get(Object key) {
+		return parameterMap.get(key);
+	}
+
+	@Override
+	public String[] put(String key, String[] value) {
+		return getCopy().put(key, value);
+	}
+
+	@Override
+	public void putAll(Map<? extends String, ? extends String[]> map) {
+		getCopy().putAll(map);
+	}
+
+	@Override
+	public String[] remove(Object key) {
+
+		if (copied || parameterMap.containsKey(key)) {
+			return getCopy().remove(key);
+		}
+		else {
+			return null;
+		}
+	}
+
+	@Override
+	public int size() {
+		return parameterMap.size();
+	}
+
+	protected Map<String, String[]> getCopy() {
+
+		if (!copied) {
+			parameterMap = new LinkedHashMap<String, String[]>(parameterMap);
+			copied = true;
+		}
+
+		return parameterMap;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return parameterMap.isEmpty();
+	}
+
+	@Override
+	public Set<Entry<String, String[]>> entrySet() {
+		return parameterMap.entrySet();
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return parameterMap.keySet();
+	}
+}
@@ -13,21 +13,24 @@
  */
 package com.liferay.faces.bridge.event.internal;
 
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Set;
 
 import javax.faces.context.FacesContext;
 import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseId;
 import javax.faces.event.PhaseListener;
+import javax.portlet.PortletConfig;
 import javax.portlet.StateAwareResponse;
 import javax.portlet.faces.Bridge;
 import javax.portlet.faces.BridgePublicRenderParameterHandler;
 import javax.portlet.faces.BridgeUtil;
 
-import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
-import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.bridge.scope.BridgeRequestScope;
+import com.liferay.faces.bridge.scope.internal.BridgeRequestScopeBaseImpl;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -48,6 +51,10 @@ public class IPCPhaseListener implements PhaseListener {
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(IPCPhaseListener.class);
 
+	// Private Constants
+	private static final String BRIDGE_REQ_SCOPE_ATTR_PUBLIC_PARAMETER_VALUES =
+		"com.liferay.faces.bridge.publicParameterValues";
+
 	public void afterPhase(PhaseEvent phaseEvent) {
 
 		BridgeContext bridgeContext = BridgeContext.getCurrentInstance();
@@ -105,82 +112,73 @@ public class IPCPhaseListener implements PhaseListener {
 				// Model concern of the MVC design pattern (as in JSF model managed-beans) after RESTORE_VIEW
 				// phase completes. This is accomplished below by evaluating the EL expressions found in the
 				// <model-el>...</model-el> section of the WEB-INF/faces-config.xml file.
-				BridgeConfig bridgeConfig = bridgeContext.getBridgeConfig();
-				Map<String, String[]> publicParameterMappings = bridgeConfig.getPublicParameterMappings();
+				PortletConfig portletConfig = bridgeContext.getPortletConfig();
+				PublicRenderParameterMappings publicRenderParameterMappings = PublicRenderParameterMappings
+					.getInstance(portletConfig, bridgeContext.getBridgeConfig());
 
-				if (publicParameterMappings != null) {
+				if (!publicRenderParameterMappings.isEmpty()) {
 
 					boolean invokeHandler = false;
-					String portletName = bridgeContext.getPortletConfig().getPortletName();
+					String portletName = portletConfig.getPortletName();
 					Map<String, String[]> publicParameterMap = bridgeContext.getPortletRequest()
 						.getPublicParameterMap();
-					Set<String> publicRenderParameterNames = publicParameterMappings.keySet();
 
-					// For each of the public render parameters found in the WEB-INF/faces-config.xml file:
-					for (String prefixedParameterName : publicRenderParameterNames) {
+					// If the incoming values are unchanged since the last RENDER_PHASE of the bridge request scope,
+					// then the model already contains them and there is no need to inject them again.
+					if (isIncomingPublicRenderParametersUnchanged(bridgeContext, publicRenderParameterMappings,
+								publicParameterMap)) {
 
-						String[] modelExpressions = publicParameterMappings.get(prefixedParameterName);
+						logger.debug(
+							"NOT injecting public render parameters for portletName=[{0}] because they have NOT changed",
+							portletName);
 
-						if (modelExpressions != null) {
+						return;
+					}
+
+					// For each of the public render parameters found in the WEB-INF/faces-config.xml file:
+					for (PublicRenderParameterMapping mapping : publicRenderParameterMappings.getMappings()) {
 
-							String parameterPrefix;
-							String nonPrefixedParameterName;
+						String nonPrefixedParameterName = mapping.getNonPrefixedParameterName();
 
-							int colonPos = prefixedParameterName.indexOf(StringPool.COLON);
+						if (publicParameterMap.containsKey(nonPrefixedParameterName)) {
 
-							if (colonPos > 0) {
-								parameterPrefix = prefixedParameterName.substring(0, colonPos);
-								nonPrefixedParameterName = prefixedParameterName.substring(colonPos + 1);
+							String[] parameterValues = publicParameterMap.get(nonPrefixedParameterName);
+							String parameterValue = null;
+
+							if ((parameterValues != null) && (parameterValues.length > 0)) {
+								parameterValue = parameterValues[0];
 							}
-							else {
-								parameterPrefix = null;
-								nonPrefixedParameterName = prefixedParameterName;
+
+							PublicRenderParameter publicRenderParameter = new PublicRenderParameterImpl(mapping,
+									parameterValue);
+
+							if (logger.isTraceEnabled()) {
+								logger.trace(
+									"portletName=[{0}] public render parameter=[{1}] originalModelEL=[{2}] modifiedModelEL=[{3}] isForThisPortlet=[{4}]",
+									portletName, nonPrefixedParameterName, mapping.getModelEL(),
+									publicRenderParameter.getModifiedModelEL(),
+									publicRenderParameter.isForThisPortlet());
 							}
 
-							if (publicParameterMap.containsKey(nonPrefixedParameterName)) {
-
-								for (String originalModelEL : modelExpressions) {
-
-									String[] parameterValues = publicParameterMap.get(nonPrefixedParameterName);
-									String parameterValue = null;
-
-									if ((parameterValues != null) && (parameterValues.length > 0)) {
-										parameterValue = parameterValues[0];
-									}
-
-									PublicRenderParameter publicRenderParameter = new PublicRenderParameterImpl(
-											parameterPrefix, parameterValue, originalModelEL, portletName);
-
-									if (logger.isTraceEnabled()) {
-										logger.trace(
-											"portletName=[{0}] public render parameter=[{1}] originalModelEL=[{2}] modifiedModelEL=[{3}] isForThisPortlet=[{4}]",
-											portletName, nonPrefixedParameterName, originalModelEL,
-											publicRenderParameter.getModifiedModelEL(),
-											publicRenderParameter.isForThisPortlet());
-									}
-
-									if (publicRenderParameter.isForThisPortlet()) {
-
-										logger.debug(
-											"Injecting render parameter=[{0}] value=[{1}] into expression=[{2}]",
-											nonPrefixedParameterName, parameterValue,
-											publicRenderParameter.getModifiedModelEL());
-										invokeHandler = publicRenderParameter.injectIntoModel(facesContext);
-									}
-									else {
-										logger.debug(
-											"NOT injecting render parameter=[{0}] value=[{1}] into expression=[{2}] because it is NOT for this portletName=[{3}]",
-											nonPrefixedParameterName, parameterValue,
-											publicRenderParameter.getModifiedModelEL(), portletName);
-									}
-								}
+							if (publicRenderParameter.isForThisPortlet()) {
+
+								logger.debug("Injecting render parameter=[{0}] value=[{1}] into expression=[{2}]",
+									nonPrefixedParameterName, parameterValue,
+									publicRenderParameter.getModifiedModelEL());
+								invokeHandler = publicRenderParameter.injectIntoModel(facesContext);
 							}
 							else {
 								logger.debug(
-									"NOT injecting render parameter=[{0}] because it is not found in the public parameter map",
-									nonPrefixedParameterName);
+									"NOT injecting render parameter=[{0}] value=[{1}] into expression=[{2}] because it is NOT for this portletName=[{3}]",
+									nonPrefixedParameterName, parameterValue,
+									publicRenderParameter.getModifiedModelEL(), portletName);
 							}
 						}
+						else {
+							logger.debug(
+								"NOT injecting render parameter=[{0}] because it is not found in the public parameter map",
+								nonPrefixedParameterName);
+						}
 					}
 
 					// Section 5.3.2 also requires that if a bridgePublicRenderParameterHandler has been registered
@@ -232,79 +230,58 @@ public class IPCPhaseListener implements PhaseListener {
 				// that has been changed in the model, its new value must be set in the response, so that when the
 				// RENDER_PHASE of the Portlet 2.0 lifecycle executes, this phase listener will be able to inject the
 				// new value into the model of other portlets that are participating in the IPC.
-				BridgeConfig bridgeConfig = bridgeContext.getBridgeConfig();
-				Map<String, String[]> publicParameterMappings = bridgeConfig.getPublicParameterMappings();
+				PortletConfig portletConfig = bridgeContext.getPortletConfig();
+				PublicRenderParameterMappings publicRenderParameterMappings = PublicRenderParameterMappings
+					.getInstance(portletConfig, bridgeContext.getBridgeConfig());
 
-				if (publicParameterMappings != null) {
+				if (!publicRenderParameterMappings.isEmpty()) {
 
-					String portletName = bridgeContext.getPortletConfig().getPortletName();
+					String portletName = portletConfig.getPortletName();
 					Map<String, String[]> publicParameterMap = bridgeContext.getPortletRequest()
 						.getPublicParameterMap();
-					Set<String> publicRenderParameterNames = publicParameterMappings.keySet();
 
 					// For each of the public render parameters found in the WEB-INF/faces-config.xml file:
-					for (String prefixedParameterName : publicRenderParameterNames) {
-						String[] modelExpressions = publicParameterMappings.get(prefixedParameterName);
+					for (PublicRenderParameterMapping mapping : publicRenderParameterMappings.getMappings()) {
 
-						if (modelExpressions != null) {
+						String nonPrefixedParameterName = mapping.getNonPrefixedParameterName();
 
-							String parameterPrefix;
-							String nonPrefixedParameterName;
+						if (mapping.isForThisPortlet()) {
 
-							int colonPos = prefixedParameterName.indexOf(StringPool.COLON);
+							String[] parameterValues = publicParameterMap.get(nonPrefixedParameterName);
+							String parameterValue = null;
 
-							if (colonPos > 0) {
-								parameterPrefix = prefixedParameterName.substring(0, colonPos);
-								nonPrefixedParameterName = prefixedParameterName.substring(colonPos + 1);
+							if ((parameterValues != null) && (parameterValues.length > 0)) {
+								parameterValue = parameterValues[0];
 							}
-							else {
-								parameterPrefix = null;
-								nonPrefixedParameterName = prefixedParameterName;
+
+							PublicRenderParameter publicRenderParameter = new PublicRenderParameterImpl(mapping,
+									parameterValue);
+							String modelValue = publicRenderParameter.getModelValue(facesContext);
+							boolean modelValueHasChanged = publicRenderParameter.isModelValueChanged(facesContext);
+
+							if (logger.isTraceEnabled()) {
+								logger.trace(
+									"portletName=[{0}] public render parameter=[{1}] parameterValue=[{2}] modelValue=[{3}] modelValueHasChanged=[{4}]",
+									portletName, nonPrefixedParameterName, parameterValue, modelValue,
+									modelValueHasChanged);
 							}
 
-							for (String originalModelEL : modelExpressions) {
-
-								String[] parameterValues = publicParameterMap.get(nonPrefixedParameterName);
-								String parameterValue = null;
-
-								if ((parameterValues != null) && (parameterValues.length > 0)) {
-									parameterValue = parameterValues[0];
-								}
-
-								PublicRenderParameter publicRenderParameter = new PublicRenderParameterImpl(
-										parameterPrefix, parameterValue, originalModelEL, portletName);
-
-								if (publicRenderParameter.isForThisPortlet()) {
-
-									String modelValue = publicRenderParameter.getModelValue(facesContext);
-									boolean modelValueHasChanged = publicRenderParameter.isModelValueChanged(
-											facesContext);
-
-									if (logger.isTraceEnabled()) {
-										logger.trace(
-											"portletName=[{0}] public render parameter=[{1}] parameterValue=[{2}] modelValue=[{3}] modelValueHasChanged=[{4}]",
-											portletName, nonPrefixedParameterName, parameterValue, modelValue,
-											modelValueHasChanged);
-									}
-
-									if (modelValueHasChanged) {
-										logger.debug(
-											"Setting render parameter=[{0}] in response because modelValue=[{1}] has changed",
-											nonPrefixedParameterName, modelValue);
-										stateAwareResponse.setRenderParameter(nonPrefixedParameterName, modelValue);
-									}
-									else {
-										logger.debug(
-											"NOT setting render parameter=[{0}] in response because modelValue=[{1}] has NOT changed",
-											nonPrefixedParameterName, modelValue);
-									}
-								}
-								else {
-									logger.debug(
-										"NOT setting render parameter=[{0}] in response because it is NOT for this portletName=[{1}]",
-										nonPrefixedParameterName, portletName);
-								}
+							if (modelValueHasChanged) {
+								logger.debug(
+									"Setting render parameter=[{0}] in response because modelValue=[{1}] has changed",
+									nonPrefixedParameterName, modelValue);
+								stateAwareResponse.setRenderParameter(nonPrefixedParameterName, modelValue);
 							}
+							else {
+								logger.debug(
+									"NOT setting render parameter=[{0}] in response because modelValue=[{1}] has NOT changed",
+									nonPrefixedParameterName, modelValue);
+							}
+						}
+						else {
+							logger.debug(
+								"NOT setting render parameter=[{0}] in response because it is NOT for this portletName=[{1}]",
+								nonPrefixedParameterName, portletName);
 						}
 					}
 				}
@@ -318,6 +295,43 @@ public class IPCPhaseListener implements PhaseListener {
 		}
 	}
 
+	/**
+	 * Determines whether or not the incoming public render parameter values are the same as the ones that were
+	 * injected during the previous RENDER_PHASE of the current bridge request scope. As a side effect, the incoming
+	 * values are remembered in the bridge request scope for comparison during the next RENDER_PHASE. This optimization
+	 * is only performed if the {@link PortletConfigParam#OptimizePublicRenderParameterInjection} init-param is enabled.
+	 */
+	protected boolean isIncomingPublicRenderParametersUnchanged(BridgeContext bridgeContext,
+		PublicRenderParameterMappings publicRenderParameterMappings, Map<String, String[]> publicParameterMap) {
+
+		boolean unchanged = false;
+
+		if (bridgeContext.getPortletRequestPhase() == Bridge.PortletPhase.RENDER_PHASE) {
+
+			PortletConfig portletConfig = bridgeContext.getPortletConfig();
+			PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+			BridgeRequestScope bridgeRequestScope = bridgeContext.getBridgeRequestScope();
+
+			if (portletConfigParamValues.isOptimizePublicRenderParameterInjection() &&
+					(bridgeRequestScope instanceof BridgeRequestScopeBaseImpl)) {
+
+				BridgeRequestScopeBaseImpl bridgeRequestScopeBaseImpl = (BridgeRequestScopeBaseImpl)
+					bridgeRequestScope;
+				String[] parameterValues = publicRenderParameterMappings.getParameterValues(publicParameterMap);
+				String[] previousParameterValues = (String[]) bridgeRequestScopeBaseImpl.getAttribute(
+						BRIDGE_REQ_SCOPE_ATTR_PUBLIC_PARAMETER_VALUES);
+				unchanged = Arrays.equals(parameterValues, previousParameterValues);
+
+				if (!unchanged) {
+					bridgeRequestScopeBaseImpl.setAttribute(BRIDGE_REQ_SCOPE_ATTR_PUBLIC_PARAMETER_VALUES,
+						parameterValues);
+				}
+			}
+		}
+
+		return unchanged;
+	}
+
 	public PhaseId getPhaseId() {
 		return PhaseId.ANY_PHASE;
 	}
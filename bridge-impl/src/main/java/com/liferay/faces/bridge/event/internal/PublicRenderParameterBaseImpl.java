@@ -22,18 +22,14 @@ public abstract class PublicRenderParameterBaseImpl implements PublicRenderParam
 	protected boolean forThisPortlet;
 	protected String modelEL;
 	protected String originalRequestValue;
+	protected PublicRenderParameterMapping publicRenderParameterMapping;
 
-	public PublicRenderParameterBaseImpl(String prefix, String originalRequestValue, String originalModelEL,
-		String portletName) {
+	public PublicRenderParameterBaseImpl(PublicRenderParameterMapping publicRenderParameterMapping,
+		String originalRequestValue) {
 
+		this.publicRenderParameterMapping = publicRenderParameterMapping;
 		this.originalRequestValue = originalRequestValue;
-		this.modelEL = originalModelEL;
-
-		if (prefix == null) {
-			this.forThisPortlet = true;
-		}
-		else {
-			this.forThisPortlet = prefix.equals(portletName);
-		}
+		this.modelEL = publicRenderParameterMapping.getModelEL();
+		this.forThisPortlet = publicRenderParameterMapping.isForThisPortlet();
 	}
 }
@@ -32,9 +32,9 @@ public abstract class PublicRenderParameterCompatImpl extends PublicRenderParame
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(PublicRenderParameterCompatImpl.class);
 
-	public PublicRenderParameterCompatImpl(String prefix, String originalRequestValue, String originalModelEL,
-		String portletName) {
-		super(prefix, originalRequestValue, originalModelEL, portletName);
+	public PublicRenderParameterCompatImpl(PublicRenderParameterMapping publicRenderParameterMapping,
+		String originalRequestValue) {
+		super(publicRenderParameterMapping, originalRequestValue);
 	}
 
 	public boolean injectIntoModel(FacesContext facesContext) {
@@ -42,8 +42,7 @@ public abstract class PublicRenderParameterCompatImpl extends PublicRenderParame
 		try {
 
 			ELContext elContext = facesContext.getELContext();
-			ValueExpression valueExpression = facesContext.getApplication().getExpressionFactory()
-				.createValueExpression(elContext, modelEL, String.class);
+			ValueExpression valueExpression = getValueExpression(facesContext);
 			valueExpression.setValue(elContext, originalRequestValue);
 
 			return true;
@@ -62,4 +61,7 @@ public abstract class PublicRenderParameterCompatImpl extends PublicRenderParame
 		}
 	}
 
+	protected ValueExpression getValueExpression(FacesContext facesContext) {
+		return publicRenderParameterMapping.getValueExpression(facesContext);
+	}
 }
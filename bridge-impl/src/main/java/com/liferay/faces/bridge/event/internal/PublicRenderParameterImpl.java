@@ -35,9 +35,9 @@ public class PublicRenderParameterImpl extends PublicRenderParameterCompatImpl {
 	protected Boolean modelValueChanged;
 	protected boolean modelValueRetrieved;
 
-	public PublicRenderParameterImpl(String prefix, String originalRequestValue, String originalModelEL,
-		String portletName) {
-		super(prefix, originalRequestValue, originalModelEL, portletName);
+	public PublicRenderParameterImpl(PublicRenderParameterMapping publicRenderParameterMapping,
+		String originalRequestValue) {
+		super(publicRenderParameterMapping, originalRequestValue);
 	}
 
 	public boolean isModelValueChanged(FacesContext facesContext) {
@@ -70,8 +70,7 @@ public class PublicRenderParameterImpl extends PublicRenderParameterCompatImpl {
 			try {
 
 				ELContext elContext = facesContext.getELContext();
-				ValueExpression valueExpression = facesContext.getApplication().getExpressionFactory()
-					.createValueExpression(elContext, modelEL, String.class);
+				ValueExpression valueExpression = getValueExpression(facesContext);
 				modelValue = (String) valueExpression.getValue(elContext);
 			}
 			catch (PropertyNotFoundException e) {
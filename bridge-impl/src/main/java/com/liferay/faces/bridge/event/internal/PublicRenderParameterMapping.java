@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.event.internal;
+
+import javax.el.ELContext;
+import javax.el.ValueExpression;
+import javax.faces.context.FacesContext;
+
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class represents a single parameter/model-el pair found in the WEB-INF/faces-config.xml descriptor, with the
+ * parameter prefix already split from the parameter name. The {@link ValueExpression} for the model-el is compiled the
+ * first time it is needed and is reused for all subsequent requests.
+ *
+ * @author  Neil Griffin
+ */
+public class PublicRenderParameterMapping {
+
+	// Private Data Members
+	private boolean forThisPortlet;
+	private String modelEL;
+	private String nonPrefixedParameterName;
+	private String parameterPrefix;
+	private volatile ValueExpression valueExpression;
+
+	public PublicRenderParameterMapping(String prefixedParameterName, String modelEL, String portletName) {
+
+		int colonPos = prefixedParameterName.indexOf(StringPool.COLON);
+
+		if (colonPos > 0) {
+			this.parameterPrefix = prefixedParameterName.substring(0, colonPos);
+			this.nonPrefixedParameterName = prefixedParameterName.substring(colonPos + 1);
+			this.forThisPortlet = parameterPrefix.equals(portletName);
+		}
+		else {
+			this.parameterPrefix = null;
+			this.nonPrefixedParameterName = prefixedParameterName;
+			this.forThisPortlet = true;
+		}
+
+		this.modelEL = modelEL;
+	}
+
+	public boolean isForThisPortlet() {
+		return forThisPortlet;
+	}
+
+	public String getModelEL() {
+		return modelEL;
+	}
+
+	public String getNonPrefixedParameterName() {
+		return nonPrefixedParameterName;
+	}
+
+	public String getParameterPrefix() {
+		return parameterPrefix;
+	}
+
+	public ValueExpression getValueExpression(FacesContext facesContext) {
+
+		ValueExpression valueExpression = this.valueExpression;
+
+		// Note: Compiling the same expression more than once in the case of a race condition is harmless, so there is
+		// no need for synchronization.
+		if (valueExpression == null) {
+
+			ELContext elContext = facesContext.getELContext();
+			valueExpression = facesContext.getApplication().getExpressionFactory().createValueExpression(elContext,
+					modelEL, String.class);
+			this.valueExpression = valueExpression;
+		}
+
+		return valueExpression;
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.event.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+
+import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class is a per-portlet table of {@link PublicRenderParameterMapping} instances that is built one time from
+ * {@link BridgeConfig#getPublicParameterMappings()} and cached as a {@link PortletContext} attribute.
+ *
+ * @author  Neil Griffin
+ */
+public class PublicRenderParameterMappings {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME_PREFIX = PublicRenderParameterMappings.class.getName() +
+		StringPool.PERIOD;
+
+	// Private Data Members
+	private List<PublicRenderParameterMapping> mappings;
+
+	public PublicRenderParameterMappings(Map<String, String[]> publicParameterMappings, String portletName) {
+
+		List<PublicRenderParameterMapping> mappings = new ArrayList<PublicRenderParameterMapping>();
+
+		if (publicParameterMappings != null) {
+
+			for (Map.Entry<String, String[]> mapEntry : publicParameterMappings.entrySet()) {
+
+				String prefixedParameterName = mapEntry.getKey();
+				String[] modelExpressions = mapEntry.getValue();
+
+				if (modelExpressions != null) {
+
+					for (String modelEL : modelExpressions) {
+						mappings.add(new PublicRenderParameterMapping(prefixedParameterName, modelEL, portletName));
+					}
+				}
+			}
+		}
+
+		this.mappings = Collections.unmodifiableList(mappings);
+	}
+
+	public static PublicRenderParameterMappings getInstance(PortletConfig portletConfig, BridgeConfig bridgeConfig) {
+
+		PortletContext portletContext = portletConfig.getPortletContext();
+		String portletName = portletConfig.getPortletName();
+		String attributeName = ATTRIBUTE_NAME_PREFIX + portletName;
+		PublicRenderParameterMappings publicRenderParameterMappings = (PublicRenderParameterMappings) portletContext
+			.getAttribute(attributeName);
+
+		if (publicRenderParameterMappings == null) {
+			publicRenderParameterMappings = new PublicRenderParameterMappings(bridgeConfig.getPublicParameterMappings(),
+					portletName);
+			portletContext.setAttribute(attributeName, publicRenderParameterMappings);
+		}
+
+		return publicRenderParameterMappings;
+	}
+
+	/**
+	 * Returns the first value of each mapped public render parameter that is intended for this portlet, in the same
+	 * order as {@link #getMappings()}. The resulting array is suitable for determining whether or not the incoming
+	 * values have changed since a previous request.
+	 */
+	public String[] getParameterValues(Map<String, String[]> publicParameterMap) {
+
+		String[] parameterValues = new String[mappings.size()];
+
+		for (int i = 0; i < parameterValues.length; i++) {
+
+			PublicRenderParameterMapping mapping = mappings.get(i);
+
+			if (mapping.isForThisPortlet()) {
+
+				String[] values = publicParameterMap.get(mapping.getNonPrefixedParameterName());
+
+				if ((values != null) && (values.length > 0)) {
+					parameterValues[i] = values[0];
+				}
+			}
+		}
+
+		return parameterValues;
+	}
+
+	public boolean isEmpty() {
+		return mappings.isEmpty();
+	}
+
+	public List<PublicRenderParameterMapping> getMappings() {
+		return mappings;
+	}
+}
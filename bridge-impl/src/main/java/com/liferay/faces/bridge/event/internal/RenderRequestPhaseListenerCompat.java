@@ -15,7 +15,7 @@ package com.liferay.faces.bridge.event.internal;
 
 import javax.portlet.PortletConfig;
 
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 
 
@@ -28,6 +28,6 @@ public class RenderRequestPhaseListenerCompat {
 
 		PortletConfig portletConfig = bridgeContext.getPortletConfig();
 
-		return PortletConfigParam.ViewParametersEnabled.getBooleanValue(portletConfig);
+		return PortletConfigParamValues.getInstance(portletConfig).isViewParametersEnabled();
 	}
 }
@@ -13,196 +13,638 @@
  */
 package com.liferay.faces.bridge.event.internal.liferay;
 
-import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-import javax.xml.parsers.SAXParser;
-
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
-
-import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadResource;
+import com.liferay.faces.bridge.internal.BridgeConstants;
 import com.liferay.faces.util.lang.StringPool;
-import com.liferay.faces.util.logging.Logger;
-import com.liferay.faces.util.logging.LoggerFactory;
 
 import com.liferay.portal.kernel.util.StringBundler;
-import com.liferay.portal.kernel.util.WebKeys;
 
 
 /**
- * This class provides the ability to parse the {@link StringBundler} value of the LIFERAY_SHARED_PAGE_TOP request
+ * This class provides the ability to scan the {@link StringBundler} value of the LIFERAY_SHARED_PAGE_TOP request
  * attribute and remove duplicate CSS and/or JavaScript resources that are meant to be rendered in the <head>...</head>
- * section of the Liferay Portal page.
+ * section of the Liferay Portal page. Rather than parsing the markup as an XML document, the segments of the {@link
+ * StringBundler} are scanned in a single pass for &lt;link&gt;, &lt;script&gt; and &lt;style&gt; elements, and all
+ * markup that is not a duplicate is written back verbatim.
  *
  * @author  Neil Griffin
  */
 public class LiferaySharedPageTop {
 
-	// Logger
-	private static final Logger logger = LoggerFactory.getLogger(LiferaySharedPageTop.class);
-
 	// Private Constants
-	private static final String XML_DOCUMENT_DECLARATION = "<?xml version=\"1.0\"?>";
-
-	// FACES-1442: The SAXParserFactory.newSAXParser() method that comes with the JRE suffers from a
-	// performance problem. Use the Liferay factory intead.
-	private static final javax.xml.parsers.SAXParserFactory saxParserFactory =
-		com.liferay.faces.util.xml.ConcurrentSAXParserFactory.newInstance();
+	private static final String FACES_RESOURCE_PARAM = "javax.faces.resource";
+	private static final String STYLE = "style";
 
 	// Private Data Members
-	private List<HeadResource> headResources;
+	private List<HeadResourceElement> headResourceElements;
+	private SegmentedCharSequence pageTop;
 
 	public LiferaySharedPageTop(StringBundler stringBundler) {
 
-		try {
-			headResources = new ArrayList<HeadResource>();
+		this.pageTop = new SegmentedCharSequence(stringBundler.getStrings(), stringBundler.index());
+		this.headResourceElements = new ArrayList<HeadResourceElement>();
+		scan();
+	}
 
-			SharedPageTopHandler sharedPageTopHandler = new SharedPageTopHandler();
-			StringBundler xmlDocument = new StringBundler();
-			xmlDocument.append(XML_DOCUMENT_DECLARATION);
-			xmlDocument.append(StringPool.LESS_THAN);
-			xmlDocument.append(WebKeys.PAGE_TOP);
-			xmlDocument.append(StringPool.GREATER_THAN);
-			xmlDocument.append(stringBundler);
-			xmlDocument.append(StringPool.LESS_THAN);
-			xmlDocument.append(StringPool.FORWARD_SLASH);
-			xmlDocument.append(WebKeys.PAGE_TOP);
-			xmlDocument.append(StringPool.GREATER_THAN);
+	public void removeDuplicates() {
 
-			String xmlDocumentAsString = xmlDocument.toString();
+		Set<String> keys = new HashSet<String>();
 
-			ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(xmlDocumentAsString.getBytes());
+		for (HeadResourceElement headResourceElement : headResourceElements) {
 
-			SAXParser saxParser = saxParserFactory.newSAXParser();
-			saxParser.parse(byteArrayInputStream, sharedPageTopHandler);
+			String urlKey = headResourceElement.getURLKey();
+			String facesResourceKey = headResourceElement.getFacesResourceKey();
+			boolean duplicate = false;
 
-			byteArrayInputStream.close();
-		}
-		catch (Exception e) {
-			logger.error(e);
+			if (urlKey != null) {
+				duplicate = !keys.add(urlKey);
+			}
+
+			if (facesResourceKey != null) {
+				duplicate = !keys.add(facesResourceKey) || duplicate;
+			}
+
+			headResourceElement.setDuplicate(duplicate);
 		}
 	}
 
-	public void removeDuplicates() {
+	protected int indexOfIgnoreCase(String token, int fromIndex) {
+
+		int tokenLength = token.length();
+		int lastIndex = pageTop.length() - tokenLength;
 
-		int totalHeadResources = headResources.size();
+		for (int i = fromIndex; i <= lastIndex; i++) {
 
-		for (int i = 0; i < totalHeadResources; i++) {
+			if (regionMatchesIgnoreCase(i, token)) {
+				return i;
+			}
+		}
 
-			HeadResource headResource1 = headResources.get(i);
+		return -1;
+	}
 
-			for (int j = i + 1; j < totalHeadResources; j++) {
-				HeadResource headResource2 = headResources.get(j);
+	protected boolean regionMatchesIgnoreCase(int offset, String token) {
 
-				if (!headResource2.isDuplicate() && headResource1.equals(headResource2)) {
+		int tokenLength = token.length();
 
-					headResource2.setDuplicate(true);
+		if ((offset + tokenLength) > pageTop.length()) {
+			return false;
+		}
 
-					break;
-				}
+		for (int i = 0; i < tokenLength; i++) {
+
+			if (Character.toLowerCase(pageTop.charAt(offset + i)) != token.charAt(i)) {
+				return false;
 			}
 		}
 
-		Iterator<HeadResource> itr = headResources.iterator();
+		return true;
+	}
+
+	/**
+	 * Scans the page top for &lt;link&gt;, &lt;script&gt; and &lt;style&gt; elements, recording the offsets and the
+	 * de-duplication keys of each one.
+	 */
+	protected void scan() {
+
+		int length = pageTop.length();
+		int pos = 0;
 
-		while (itr.hasNext()) {
-			HeadResource headResource = itr.next();
+		while (pos < length) {
 
-			if (headResource.isDuplicate()) {
-				itr.remove();
+			if (pageTop.charAt(pos) != '<') {
+				pos++;
+
+				continue;
+			}
+
+			// Skip over comments so that resources that have been commented-out are not considered.
+			if (regionMatchesIgnoreCase(pos, "<!--")) {
+
+				int commentEnd = indexOfIgnoreCase("-->", pos + 4);
+				pos = (commentEnd < 0) ? length : (commentEnd + 3);
+
+				continue;
+			}
+
+			String type = null;
+
+			if (isStartTag(pos, StringPool.LINK)) {
+				type = StringPool.LINK;
+			}
+			else if (isStartTag(pos, StringPool.SCRIPT)) {
+				type = StringPool.SCRIPT;
+			}
+			else if (isStartTag(pos, STYLE)) {
+				type = STYLE;
+			}
+
+			if (type == null) {
+				pos++;
+
+				continue;
+			}
+
+			int startTagEnd = indexOfStartTagEnd(pos + type.length() + 1);
+
+			if (startTagEnd < 0) {
+				break;
+			}
+
+			String url = null;
+
+			if (StringPool.LINK.equals(type)) {
+				url = getAttributeValue(pos + type.length() + 1, startTagEnd, StringPool.HREF);
+			}
+			else if (StringPool.SCRIPT.equals(type)) {
+				url = getAttributeValue(pos + type.length() + 1, startTagEnd, BridgeConstants.SRC);
+			}
+
+			int elementEnd = startTagEnd + 1;
+
+			// If the start tag is not self-closing, then the element ends with the corresponding end tag. Note that
+			// <link> elements are typically not closed, but sometimes are immediately followed by </link>.
+			if (pageTop.charAt(startTagEnd - 1) != '/') {
+
+				String endTag = "</" + type;
+
+				if (StringPool.LINK.equals(type)) {
+
+					if (regionMatchesIgnoreCase(elementEnd, endTag)) {
+						int endTagEnd = indexOfIgnoreCase(StringPool.GREATER_THAN, elementEnd);
+						elementEnd = (endTagEnd < 0) ? length : (endTagEnd + 1);
+					}
+				}
+				else {
+					int endTagStart = indexOfIgnoreCase(endTag, elementEnd);
+
+					if (endTagStart < 0) {
+						elementEnd = length;
+					}
+					else {
+						int endTagEnd = indexOfIgnoreCase(StringPool.GREATER_THAN, endTagStart);
+						elementEnd = (endTagEnd < 0) ? length : (endTagEnd + 1);
+					}
+				}
 			}
-		}
 
+			headResourceElements.add(new HeadResourceElement(type, url, pos, elementEnd));
+			pos = elementEnd;
+		}
 	}
 
 	public StringBundler toStringBundler() {
+
 		StringBundler stringBundler = new StringBundler();
+		int pos = 0;
 
-		for (HeadResource headResource : headResources) {
-			String headResourceMarkup = headResource.toString();
+		for (HeadResourceElement headResourceElement : headResourceElements) {
 
-			// One of the by-products of parsing an XML document is that the SAXParser converts "&amp;" to "&" for
-			// attribute values. For example, if the XML document specifies a URL as "foo.jsp?x=1&amp;y=2" then the
-			// parser will set the attribute value "foo.jsp?x=1&y=2". So in order for the string representation
-			// to accurately reflect the values in the original XML document that was parsed, it is necessary to
-			// re-encode the ampersands.
-			headResourceMarkup = encodeAmpersands(headResourceMarkup);
-			stringBundler.append(headResourceMarkup);
+			if (headResourceElement.isDuplicate()) {
+				pageTop.appendTo(stringBundler, pos, headResourceElement.getStart());
+				pos = headResourceElement.getEnd();
+			}
 		}
 
+		pageTop.appendTo(stringBundler, pos, pageTop.length());
+
 		return stringBundler;
 	}
 
-	protected String encodeAmpersands(String value) {
+	/**
+	 * Returns the value of the specified attribute found within the specified range of a start tag, or null if the
+	 * attribute is not present. Note that the value is returned exactly as it appears in the markup (entities such as
+	 * &amp;amp; are not decoded). See {@link #decodeCharacterEntities(String)}.
+	 */
+	protected String getAttributeValue(int fromIndex, int toIndex, String attributeName) {
+
+		int pos = fromIndex;
+
+		while (pos < toIndex) {
+
+			// Skip whitespace preceding the attribute name.
+			while ((pos < toIndex) && Character.isWhitespace(pageTop.charAt(pos))) {
+				pos++;
+			}
+
+			int nameStart = pos;
+
+			while ((pos < toIndex) && !isAttributeNameTerminator(pageTop.charAt(pos))) {
+				pos++;
+			}
+
+			int nameEnd = pos;
+
+			if (nameStart == nameEnd) {
+				pos++;
 
-		String encodedValue = value;
+				continue;
+			}
 
-		int ampersandPos = value.indexOf(StringPool.AMPERSAND);
+			while ((pos < toIndex) && Character.isWhitespace(pageTop.charAt(pos))) {
+				pos++;
+			}
 
-		if (ampersandPos > 0) {
+			int valueStart = -1;
+			int valueEnd = -1;
+
+			if ((pos < toIndex) && (pageTop.charAt(pos) == '=')) {
+				pos++;
+
+				while ((pos < toIndex) && Character.isWhitespace(pageTop.charAt(pos))) {
+					pos++;
+				}
 
-			int startPos = 0;
-			StringBuilder buf = new StringBuilder();
+				if (pos < toIndex) {
+					char quote = pageTop.charAt(pos);
+
+					if ((quote == '"') || (quote == '\'')) {
+						valueStart = pos + 1;
+						valueEnd = valueStart;
+
+						while ((valueEnd < toIndex) && (pageTop.charAt(valueEnd) != quote)) {
+							valueEnd++;
+						}
+
+						pos = valueEnd + 1;
+					}
+					else {
+						valueStart = pos;
+						valueEnd = pos;
+
+						while ((valueEnd < toIndex) && !Character.isWhitespace(pageTop.charAt(valueEnd)) &&
+								(pageTop.charAt(valueEnd) != '>')) {
+							valueEnd++;
+						}
+
+						pos = valueEnd;
+					}
+				}
+			}
+
+			if (((nameEnd - nameStart) == attributeName.length()) &&
+					regionMatchesIgnoreCase(nameStart, attributeName)) {
+
+				if (valueStart < 0) {
+					return StringPool.BLANK;
+				}
+				else {
+					return pageTop.subSequence(valueStart, valueEnd).toString();
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the specified attribute value with its character entities (the predefined XML entities and numeric
+	 * character references) decoded, so that URLs are compared the same way that an XML parser would compare them.
+	 * Unrecognized entities are left as-is.
+	 */
+	protected static String decodeCharacterEntities(String value) {
+
+		int ampersandPos = value.indexOf('&');
+
+		if (ampersandPos < 0) {
+			return value;
+		}
+
+		int length = value.length();
+		StringBuilder buf = new StringBuilder(length);
+		buf.append(value, 0, ampersandPos);
+
+		int pos = ampersandPos;
+
+		while (pos < length) {
+
+			char ch = value.charAt(pos);
+			int semicolonPos = (ch == '&') ? value.indexOf(';', pos + 1) : -1;
+
+			if (semicolonPos < 0) {
+				buf.append(ch);
+				pos++;
+
+				continue;
+			}
+
+			String entity = value.substring(pos + 1, semicolonPos);
+			int decoded = -1;
+
+			if ("amp".equals(entity)) {
+				decoded = '&';
+			}
+			else if ("lt".equals(entity)) {
+				decoded = '<';
+			}
+			else if ("gt".equals(entity)) {
+				decoded = '>';
+			}
+			else if ("quot".equals(entity)) {
+				decoded = '"';
+			}
+			else if ("apos".equals(entity)) {
+				decoded = '\'';
+			}
+			else if ((entity.length() > 1) && (entity.charAt(0) == '#')) {
 
-			while (ampersandPos > 0) {
+				try {
 
-				buf.append(value.substring(startPos, ampersandPos));
-				buf.append(StringPool.AMPERSAND_ENCODED);
+					if ((entity.charAt(1) == 'x') || (entity.charAt(1) == 'X')) {
+						decoded = Integer.parseInt(entity.substring(2), 16);
+					}
+					else {
+						decoded = Integer.parseInt(entity.substring(1));
+					}
+				}
+				catch (NumberFormatException e) {
+					decoded = -1;
+				}
 
-				startPos = ampersandPos + 1;
+				if (!Character.isValidCodePoint(decoded)) {
+					decoded = -1;
+				}
+			}
 
-				ampersandPos = value.indexOf(StringPool.AMPERSAND, startPos);
+			if (decoded < 0) {
+				buf.append(ch);
+				pos++;
 			}
+			else {
+				buf.appendCodePoint(decoded);
+				pos = semicolonPos + 1;
+			}
+		}
+
+		return buf.toString();
+	}
+
+	protected boolean isAttributeNameTerminator(char ch) {
+		return Character.isWhitespace(ch) || (ch == '=') || (ch == '>') || (ch == '/');
+	}
 
-			if (startPos < value.length()) {
-				buf.append(value.substring(startPos));
+	protected boolean isStartTag(int offset, String tagName) {
+
+		if (regionMatchesIgnoreCase(offset + 1, tagName)) {
+
+			int afterTagName = offset + tagName.length() + 1;
+
+			if (afterTagName < pageTop.length()) {
+				char ch = pageTop.charAt(afterTagName);
+
+				return Character.isWhitespace(ch) || (ch == '>') || (ch == '/');
 			}
+		}
+
+		return false;
+	}
 
-			encodedValue = buf.toString();
+	/**
+	 * Returns the offset of the '&gt;' character that closes the start tag beginning at the specified offset, taking
+	 * quoted attribute values into account.
+	 */
+	protected int indexOfStartTagEnd(int fromIndex) {
+
+		int length = pageTop.length();
+		char quote = 0;
+
+		for (int i = fromIndex; i < length; i++) {
+
+			char ch = pageTop.charAt(i);
+
+			if (quote != 0) {
+
+				if (ch == quote) {
+					quote = 0;
+				}
+			}
+			else if ((ch == '"') || (ch == '\'')) {
+				quote = ch;
+			}
+			else if (ch == '>') {
+				return i;
+			}
 		}
 
-		return encodedValue;
+		return -1;
 	}
 
-	protected class SharedPageTopHandler extends DefaultHandler {
+	protected static class HeadResourceElement {
 
 		// Private Data Members
-		private HeadResource headResource;
+		private boolean duplicate;
+		private int end;
+		private String facesResourceKey;
+		private int start;
+		private String urlKey;
 
-		@Override
-		public void characters(char[] chars, int start, int length) throws SAXException {
+		public HeadResourceElement(String type, String url, int start, int end) {
+
+			this.start = start;
+			this.end = end;
+
+			if (url != null) {
+
+				// Decode character entities so that "x.js?a=1&amp;b=2" and "x.js?a=1&b=2" are regarded as the same URL.
+				// Note that the original markup is written back verbatim.
+				url = decodeCharacterEntities(url);
+				this.urlKey = url;
+
+				int queryPos = url.indexOf(StringPool.QUESTION);
+
+				if (queryPos > 0) {
+
+					String facesResource = null;
+					String facesLibrary = null;
+					int paramStart = queryPos + 1;
+
+					while ((paramStart < url.length()) && ((facesResource == null) || (facesLibrary == null))) {
+
+						int paramEnd = url.indexOf(StringPool.AMPERSAND, paramStart);
+
+						if (paramEnd < 0) {
+							paramEnd = url.length();
+						}
 
-			if (headResource != null) {
-				String text = headResource.getText();
+						int equalsPos = url.indexOf(StringPool.EQUAL, paramStart);
 
-				if (text == null) {
-					text = new String(chars, start, length);
+						if ((equalsPos > paramStart) && (equalsPos < paramEnd)) {
+
+							if (url.regionMatches(equalsPos - FACES_RESOURCE_PARAM.length(), FACES_RESOURCE_PARAM, 0,
+										FACES_RESOURCE_PARAM.length())) {
+								facesResource = url.substring(equalsPos + 1, paramEnd);
+							}
+							else if (url.regionMatches(equalsPos - StringPool.LN.length(), StringPool.LN, 0,
+										StringPool.LN.length())) {
+								facesLibrary = url.substring(equalsPos + 1, paramEnd);
+							}
+						}
+
+						paramStart = paramEnd + 1;
+					}
+
+					if ((facesResource != null) && (facesLibrary != null)) {
+						this.facesResourceKey = type + StringPool.COLON + facesLibrary + StringPool.COLON +
+							facesResource;
+					}
 				}
-				else {
-					text = text + new String(chars, start, length);
+			}
+		}
+
+		public void setDuplicate(boolean duplicate) {
+			this.duplicate = duplicate;
+		}
+
+		public boolean isDuplicate() {
+			return duplicate;
+		}
+
+		public int getEnd() {
+			return end;
+		}
+
+		/**
+		 * Returns a key that identifies the JSF resource (type, library and name) referenced by the element, or null
+		 * if the element does not reference a JSF resource.
+		 */
+		public String getFacesResourceKey() {
+			return facesResourceKey;
+		}
+
+		public int getStart() {
+			return start;
+		}
+
+		/** Returns a key that identifies the URL referenced by the element, or null if there is no URL. */
+		public String getURLKey() {
+			return urlKey;
+		}
+	}
+
+	/**
+	 * This class provides a read-only {@link CharSequence} view of the segments of a {@link StringBundler} so that the
+	 * markup can be scanned without concatenating the segments into a single String.
+	 */
+	protected static class SegmentedCharSequence implements CharSequence {
+
+		// Private Data Members
+		private int currentSegment;
+		private int length;
+		private int[] offsets;
+		private String[] segments;
+		private int totalSegments;
+
+		public SegmentedCharSequence(String[] segments, int totalSegments) {
+
+			this.segments = segments;
+			this.totalSegments = totalSegments;
+			this.offsets = new int[totalSegments + 1];
+
+			for (int i = 0; i < totalSegments; i++) {
+				offsets[i + 1] = offsets[i] + segments[i].length();
+			}
+
+			this.length = offsets[totalSegments];
+		}
+
+		/**
+		 * Appends the characters in the specified range to the specified {@link StringBundler}. Segments that are
+		 * entirely within the range are appended as-is.
+		 */
+		public void appendTo(StringBundler stringBundler, int start, int end) {
+
+			if (start < end) {
+
+				int segment = getSegment(start);
+
+				while ((segment < totalSegments) && (offsets[segment] < end)) {
+
+					int segmentStart = Math.max(start, offsets[segment]) - offsets[segment];
+					int segmentEnd = Math.min(end, offsets[segment + 1]) - offsets[segment];
+					String segmentValue = segments[segment];
+
+					if ((segmentStart == 0) && (segmentEnd == segmentValue.length())) {
+						stringBundler.append(segmentValue);
+					}
+					else if (segmentStart < segmentEnd) {
+						stringBundler.append(segmentValue.substring(segmentStart, segmentEnd));
+					}
+
+					segment++;
 				}
+			}
+		}
+
+		public char charAt(int index) {
 
-				headResource.setText(text);
+			int segment = getSegment(index);
+
+			return segments[segment].charAt(index - offsets[segment]);
+		}
+
+		public int length() {
+			return length;
+		}
+
+		public CharSequence subSequence(int start, int end) {
+
+			StringBuilder buf = new StringBuilder(end - start);
+
+			for (int i = start; i < end; i++) {
+				buf.append(charAt(i));
 			}
+
+			return buf;
 		}
 
 		@Override
-		public void endElement(String uri, String localName, String qName) throws SAXException {
-			headResource = null;
+		public String toString() {
+			return subSequence(0, length).toString();
 		}
 
-		@Override
-		public void startElement(String uri, String localName, String qName, Attributes attributes)
-			throws SAXException {
+		/**
+		 * Returns the index of the segment that contains the specified offset. Since scanning is mostly sequential,
+		 * the most recently used segment is checked first.
+		 */
+		protected int getSegment(int index) {
+
+			if ((index < 0) || (index >= length)) {
+				throw new IndexOutOfBoundsException(Integer.toString(index));
+			}
+
+			int segment = currentSegment;
 
-			if (!WebKeys.PAGE_TOP.equals(qName)) {
-				headResource = new HeadResource(qName, attributes);
-				headResources.add(headResource);
+			if ((index >= offsets[segment]) && (index < offsets[segment + 1])) {
+				return segment;
 			}
+
+			int low = 0;
+			int high = totalSegments - 1;
+
+			while (low <= high) {
+
+				int middle = (low + high) >>> 1;
+
+				if (index < offsets[middle]) {
+					high = middle - 1;
+				}
+				else if (index >= offsets[middle + 1]) {
+					low = middle + 1;
+				}
+				else {
+					segment = middle;
+
+					break;
+				}
+			}
+
+			currentSegment = segment;
+
+			return segment;
 		}
 	}
 }
@@ -16,7 +16,9 @@ package com.liferay.faces.bridge.filter.liferay.internal;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -58,7 +60,9 @@ import com.liferay.portal.util.Portal;
  *
  * <p>The constructors of this class receive a String-based parameter named "baseURL" which is expected to be the result
  * of calling the toString() method of a Liferay URL. The baseURL is then parsed and the URL parameters are cached so
- * that the {@link #generateURL(Map)} method can quickly generate a consistent URL.</p>
+ * that the {@link #generateURL(Map)} method can quickly generate a consistent URL. Additionally, the beginning and end
+ * of the URL (which only depend on the cacheability, portlet mode, window state and resource ID) are compiled one time
+ * and reused, so that only the namespaced parameters need to be appended for each URL.</p>
  *
  * @author  Neil Griffin
  */
@@ -94,7 +98,7 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 	// Protected Constants
 	protected static final String LIFECYCLE_RESOURCE_PHASE_ID = "2";
 
-	private static final ArrayList<String> LIFERAY_NON_NAMESPACED_PARAMS = new ArrayList<String>(5);
+	private static final Set<String> LIFERAY_NON_NAMESPACED_PARAMS = new HashSet<String>();
 
 	static {
 		LIFERAY_NON_NAMESPACED_PARAMS.add(P_AUTH);
@@ -116,6 +120,11 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 
 	// Private Data Members
 	private String baseURL;
+	private String defaultHead;
+	private String defaultTail;
+	private Map<String, String> headCache;
+	private Map<String, String> tailCache;
+	private StringBuilder urlBuffer;
 	private Map<String, String> parameterMap;
 	private PortletMode initialPortletMode;
 	private String prefix;
@@ -152,6 +161,9 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 		this.initialPortletMode = portletMode;
 		this.responseNamespace = responseNamespace;
 		this.initialWindowState = windowState;
+		this.headCache = new HashMap<String, String>();
+		this.tailCache = new HashMap<String, String>();
+		this.urlBuffer = new StringBuilder();
 		parse();
 	}
 
@@ -168,7 +180,8 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 		return generateURL(additionalParameterMap, null, portletMode, null, windowState);
 	}
 
-	public String generateURL(Map<String, String[]> additionalParameterMap, String cacheability, PortletMode portletMode, String resourceId, WindowState windowState) {
+	public String generateURL(Map<String, String[]> additionalParameterMap, String cacheability,
+		PortletMode portletMode, String resourceId, WindowState windowState) {
 
 		String toStringValue;
 
@@ -177,301 +190,345 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 		}
 		else {
 
-			StringBuilder url = new StringBuilder();
+			StringBuilder url = urlBuffer;
+			url.setLength(0);
 
-			// Build up a new URL string based on the one returned by Liferay, but discard everything after the
-			// question mark because it's filled with all kinds of unnecessary stuff.
-			url.append(prefix);
+			// If none of the additional parameters override the parameters that Liferay Portal expects to find at the
+			// beginning of the URL, then the beginning of the URL is always the same for a given combination of
+			// cacheability, portlet mode and window state. In that case, use the pre-compiled head of the URL.
+			boolean overridden = false;
 
-			// Possibly add the p_auth parameter.
-			boolean firstParameter = true;
+			for (String parameterName : additionalParameterMap.keySet()) {
 
-			String portalAuthToken = StringHelper.toString(additionalParameterMap.get(P_AUTH),
-					parameterMap.get(P_AUTH));
+				if (LIFERAY_NON_NAMESPACED_PARAMS.contains(parameterName)) {
+					overridden = true;
 
-			if (portalAuthToken != null) {
+					break;
+				}
+			}
 
-				appendParameterToURL(firstParameter, P_AUTH, portalAuthToken, url);
-				firstParameter = false;
+			if (overridden) {
+				appendHead(additionalParameterMap, cacheability, portletMode, windowState, url);
+			}
+			else {
+				url.append(getHead(cacheability, portletMode, windowState));
 			}
 
-			// Possibly add the p_l_id parameter.
-			String plid = StringHelper.toString(additionalParameterMap.get(P_L_ID), parameterMap.get(P_L_ID));
+			// Add request parameters from the request parameter map.
+			appendNamespacedParameters(additionalParameterMap, url);
 
-			if (plid != null) {
+			// Add the parameters that Liferay Portal expects to find at the end of the URL.
+			url.append(getTail(resourceId));
 
-				appendParameterToURL(firstParameter, P_L_ID, plid, url);
-				firstParameter = false;
-			}
+			toStringValue = url.toString();
+		}
 
-			// Possibly add the p_p_auth parameter.
-			String portletAuthToken = StringHelper.toString(additionalParameterMap.get(P_P_AUTH),
-					parameterMap.get(P_P_AUTH));
+		return toStringValue;
+	}
 
-			if (portletAuthToken != null) {
+	/**
+	 * Appends the parameters that Liferay Portal expects to find at the beginning of the URL (from the prefix up to and
+	 * including the controlPanelCategory parameter).
+	 */
+	protected void appendHead(Map<String, String[]> additionalParameterMap, String cacheability,
+		PortletMode portletMode, WindowState windowState, StringBuilder url) {
 
-				boolean addPortletAuthToken = true;
+		// Build up a new URL string based on the one returned by Liferay, but discard everything after the
+		// question mark because it's filled with all kinds of unnecessary stuff.
+		url.append(prefix);
 
-				if ((LIFERAY_BUILD_NUMBER < 6102) || ((LIFERAY_BUILD_NUMBER > 6102) && (LIFERAY_BUILD_NUMBER < 6130))) {
+		// Possibly add the p_auth parameter.
+		boolean firstParameter = true;
 
-					// Versions of Liferay Portal prior to 6.1.2-CE/6.1.30-EE suffered from LPS-36481 which caused
-					// PortletURLImpl.addPortletAuthToken(StringBundle, Key) method to add the p_p_auth parameter to
-					// URLs for portlets when add-default-resource=false. It is therefore necessary to check that
-					// add-default-resource=true before adding the p_p_auth parameter to the URL.
-					FacesContext facesContext = FacesContext.getCurrentInstance();
-					PortletRequest portletRequest = (PortletRequest) facesContext.getExternalContext().getRequest();
-					String portletId = (String) portletRequest.getAttribute(WebKeys.PORTLET_ID);
-					ThemeDisplay themeDisplay = (ThemeDisplay) portletRequest.getAttribute(WebKeys.THEME_DISPLAY);
+		String portalAuthToken = StringHelper.toString(additionalParameterMap.get(P_AUTH),
+				parameterMap.get(P_AUTH));
 
-					try {
-						Portlet portlet = PortletLocalServiceUtil.getPortletById(themeDisplay.getCompanyId(),
-								portletId);
-						addPortletAuthToken = portlet.isAddDefaultResource();
-					}
-					catch (SystemException e) {
-						logger.error(e);
-					}
-				}
+		if (portalAuthToken != null) {
 
-				if (addPortletAuthToken) {
-					appendParameterToURL(firstParameter, P_P_AUTH, portletAuthToken, url);
-					firstParameter = false;
-				}
-			}
+			appendParameterToURL(firstParameter, P_AUTH, portalAuthToken, url);
+			firstParameter = false;
+		}
 
-			// Always add the p_p_id parameter
-			String parameterValue = StringHelper.toString(additionalParameterMap.get(P_P_ID), responseNamespace);
+		// Possibly add the p_l_id parameter.
+		String plid = StringHelper.toString(additionalParameterMap.get(P_L_ID), parameterMap.get(P_L_ID));
 
-			if (parameterValue.startsWith(StringPool.UNDERLINE)) {
-				parameterValue = parameterValue.substring(1);
-			}
+		if (plid != null) {
 
-			if (parameterValue.endsWith(StringPool.UNDERLINE)) {
-				parameterValue = parameterValue.substring(0, parameterValue.length() - 1);
-			}
+			appendParameterToURL(firstParameter, P_L_ID, plid, url);
+			firstParameter = false;
+		}
 
-			appendParameterToURL(firstParameter, P_P_ID, parameterValue, url);
+		// Possibly add the p_p_auth parameter.
+		String portletAuthToken = StringHelper.toString(additionalParameterMap.get(P_P_AUTH),
+				parameterMap.get(P_P_AUTH));
 
-			firstParameter = false;
+		if (portletAuthToken != null) {
 
-			// Always add the p_p_lifecycle parameter.
-			String portletLifecycleId = getPortletLifecycleId();
-			appendParameterToURL(P_P_LIFECYCLE, portletLifecycleId, url);
+			boolean addPortletAuthToken = true;
 
-			// Add the p_p_state parameter.
-			FacesContext facesContext = FacesContext.getCurrentInstance();
-			Map<String, Object> applicationMap = facesContext.getExternalContext().getApplicationMap();
+			if ((LIFERAY_BUILD_NUMBER < 6102) || ((LIFERAY_BUILD_NUMBER > 6102) && (LIFERAY_BUILD_NUMBER < 6130))) {
 
-			WindowState urlWindowState = initialWindowState;
+				// Versions of Liferay Portal prior to 6.1.2-CE/6.1.30-EE suffered from LPS-36481 which caused
+				// PortletURLImpl.addPortletAuthToken(StringBundle, Key) method to add the p_p_auth parameter to
+				// URLs for portlets when add-default-resource=false. It is therefore necessary to check that
+				// add-default-resource=true before adding the p_p_auth parameter to the URL.
+				FacesContext facesContext = FacesContext.getCurrentInstance();
+				PortletRequest portletRequest = (PortletRequest) facesContext.getExternalContext().getRequest();
+				String portletId = (String) portletRequest.getAttribute(WebKeys.PORTLET_ID);
+				ThemeDisplay themeDisplay = (ThemeDisplay) portletRequest.getAttribute(WebKeys.THEME_DISPLAY);
 
-			if (additionalParameterMap.get(P_P_STATE) != null) {
-				urlWindowState = new WindowState(additionalParameterMap.get(P_P_STATE)[0]);
+				try {
+					Portlet portlet = PortletLocalServiceUtil.getPortletById(themeDisplay.getCompanyId(),
+							portletId);
+					addPortletAuthToken = portlet.isAddDefaultResource();
+				}
+				catch (SystemException e) {
+					logger.error(e);
+				}
 			}
 
-			if (windowState != null) {
-				urlWindowState = windowState;
+			if (addPortletAuthToken) {
+				appendParameterToURL(firstParameter, P_P_AUTH, portletAuthToken, url);
+				firstParameter = false;
 			}
+		}
 
-			if (urlWindowState == null) {
-				parameterValue = (String) applicationMap.get(responseNamespace + P_P_STATE);
-			}
-			else {
-				parameterValue = urlWindowState.toString();
-			}
+		// Always add the p_p_id parameter
+		String parameterValue = StringHelper.toString(additionalParameterMap.get(P_P_ID), responseNamespace);
 
-			appendParameterToURL(P_P_STATE, parameterValue, url);
+		if (parameterValue.startsWith(StringPool.UNDERLINE)) {
+			parameterValue = parameterValue.substring(1);
+		}
 
-			// Possibly add the p_p_state_rcv parameter.
-			String stateRestoreCurrentView = StringHelper.toString(additionalParameterMap.get(P_P_STATE_RCV),
-					parameterMap.get(P_P_STATE_RCV));
+		if (parameterValue.endsWith(StringPool.UNDERLINE)) {
+			parameterValue = parameterValue.substring(0, parameterValue.length() - 1);
+		}
 
-			if (stateRestoreCurrentView != null) {
-				appendParameterToURL(P_P_STATE_RCV, stateRestoreCurrentView, url);
-			}
+		appendParameterToURL(firstParameter, P_P_ID, parameterValue, url);
 
-			// Add the p_p_mode parameter.
-			PortletMode urlPortletMode = initialPortletMode;
+		firstParameter = false;
 
-			if (additionalParameterMap.get(P_P_MODE) != null) {
-				urlPortletMode = new PortletMode(additionalParameterMap.get(P_P_MODE)[0]);
-			}
+		// Always add the p_p_lifecycle parameter.
+		String portletLifecycleId = getPortletLifecycleId();
+		appendParameterToURL(P_P_LIFECYCLE, portletLifecycleId, url);
 
-			if (portletMode != null) {
-				urlPortletMode = portletMode;
-			}
+		// Add the p_p_state parameter.
+		FacesContext facesContext = FacesContext.getCurrentInstance();
+		Map<String, Object> applicationMap = facesContext.getExternalContext().getApplicationMap();
 
-			if (urlPortletMode == null) {
-				parameterValue = (String) applicationMap.get(responseNamespace + P_P_MODE);
-			}
-			else {
-				parameterValue = urlPortletMode.toString();
-			}
+		WindowState urlWindowState = initialWindowState;
 
-			appendParameterToURL(P_P_MODE, parameterValue, url);
+		if (additionalParameterMap.get(P_P_STATE) != null) {
+			urlWindowState = new WindowState(additionalParameterMap.get(P_P_STATE)[0]);
+		}
 
-			// Possibly add the p_p_cacheability parameter
-			if (LIFECYCLE_RESOURCE_PHASE_ID.equals(portletLifecycleId)) {
+		if (windowState != null) {
+			urlWindowState = windowState;
+		}
 
-				String urlCacheability = null;
+		if (urlWindowState == null) {
+			parameterValue = (String) applicationMap.get(responseNamespace + P_P_STATE);
+		}
+		else {
+			parameterValue = urlWindowState.toString();
+		}
 
-				if (cacheability != null) {
-					urlCacheability = cacheability;
-				}
+		appendParameterToURL(P_P_STATE, parameterValue, url);
 
-				if (urlCacheability == null) {
-					urlCacheability = StringHelper.toString(additionalParameterMap.get(P_P_CACHEABILITY),
-						parameterMap.get(P_P_CACHEABILITY));
-				}
+		// Possibly add the p_p_state_rcv parameter.
+		String stateRestoreCurrentView = StringHelper.toString(additionalParameterMap.get(P_P_STATE_RCV),
+				parameterMap.get(P_P_STATE_RCV));
 
-				if (urlCacheability != null) {
-					appendParameterToURL(P_P_CACHEABILITY, urlCacheability, url);
-				}
-			}
+		if (stateRestoreCurrentView != null) {
+			appendParameterToURL(P_P_STATE_RCV, stateRestoreCurrentView, url);
+		}
 
-			// Always add the p_p_col_id parameter
-			parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_ID);
-			appendParameterToURL(P_P_COL_ID, parameterValue, url);
+		// Add the p_p_mode parameter.
+		PortletMode urlPortletMode = initialPortletMode;
 
-			// Possibly add the p_p_col_count parameter.
-			parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_COUNT);
-			appendParameterToURL(P_P_COL_COUNT, parameterValue, url);
+		if (additionalParameterMap.get(P_P_MODE) != null) {
+			urlPortletMode = new PortletMode(additionalParameterMap.get(P_P_MODE)[0]);
+		}
 
-			// Add the p_p_col_pos parameter if it is greater than zero (same logic as Liferay's
-			// PortletURLImpl.toString())
-			parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_POS);
+		if (portletMode != null) {
+			urlPortletMode = portletMode;
+		}
 
-			if ((parameterValue != null) && (parameterValue.length() > 0)) {
+		if (urlPortletMode == null) {
+			parameterValue = (String) applicationMap.get(responseNamespace + P_P_MODE);
+		}
+		else {
+			parameterValue = urlPortletMode.toString();
+		}
 
-				try {
-					int colPos = Integer.parseInt(parameterValue);
+		appendParameterToURL(P_P_MODE, parameterValue, url);
 
-					if (colPos > 0) {
-						appendParameterToURL(P_P_COL_POS, parameterValue, url);
-					}
-				}
-				catch (NumberFormatException e) {
-					// ignore
-				}
-			}
+		// Possibly add the p_p_cacheability parameter
+		if (LIFECYCLE_RESOURCE_PHASE_ID.equals(portletLifecycleId)) {
 
-			// Possibly add the p_o_p_id parameter.
-			String outerPortletId = StringHelper.toString(additionalParameterMap.get(P_O_P_ID),
-					parameterMap.get(P_O_P_ID));
+			String urlCacheability = null;
 
-			if (outerPortletId != null) {
-				appendParameterToURL(P_O_P_ID, outerPortletId, url);
+			if (cacheability != null) {
+				urlCacheability = cacheability;
 			}
 
-			// Possibly add the doAsUserId parameter.
-			String doAsUserId = StringHelper.toString(additionalParameterMap.get(DO_AS_USER_ID),
-					parameterMap.get(DO_AS_USER_ID));
+			if (urlCacheability == null) {
+				urlCacheability = StringHelper.toString(additionalParameterMap.get(P_P_CACHEABILITY),
+					parameterMap.get(P_P_CACHEABILITY));
+			}
 
-			if (doAsUserId != null) {
-				appendParameterToURL(DO_AS_USER_ID, doAsUserId, url);
+			if (urlCacheability != null) {
+				appendParameterToURL(P_P_CACHEABILITY, urlCacheability, url);
 			}
+		}
 
-			// Possibly add the doAsUserLanguageId parameter.
-			String doAsUserLanguageId = StringHelper.toString(additionalParameterMap.get(DO_AS_USER_LANGUAGE_ID),
-					parameterMap.get(DO_AS_USER_LANGUAGE_ID));
+		// Always add the p_p_col_id parameter
+		parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_ID);
+		appendParameterToURL(P_P_COL_ID, parameterValue, url);
 
-			if (doAsUserLanguageId != null) {
-				appendParameterToURL(DO_AS_USER_LANGUAGE_ID, doAsUserLanguageId, url);
-			}
+		// Possibly add the p_p_col_count parameter.
+		parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_COUNT);
+		appendParameterToURL(P_P_COL_COUNT, parameterValue, url);
 
-			// Possibly add the doAsGroupId parameter.
-			String doAsGroupId = StringHelper.toString(additionalParameterMap.get(DO_AS_GROUP_ID),
-					parameterMap.get(DO_AS_GROUP_ID));
+		// Add the p_p_col_pos parameter if it is greater than zero (same logic as Liferay's
+		// PortletURLImpl.toString())
+		parameterValue = (String) applicationMap.get(responseNamespace + P_P_COL_POS);
 
-			if (doAsGroupId != null) {
-				appendParameterToURL(DO_AS_GROUP_ID, doAsGroupId, url);
-			}
+		if ((parameterValue != null) && (parameterValue.length() > 0)) {
 
-			// Possibly add the refererGroupId parameter.
-			String refererGroupId = StringHelper.toString(additionalParameterMap.get(REFERER_GROUP_ID),
-					parameterMap.get(REFERER_GROUP_ID));
+			try {
+				int colPos = Integer.parseInt(parameterValue);
 
-			if (refererGroupId != null) {
-				appendParameterToURL(REFERER_GROUP_ID, refererGroupId, url);
+				if (colPos > 0) {
+					appendParameterToURL(P_P_COL_POS, parameterValue, url);
+				}
+			}
+			catch (NumberFormatException e) {
+				// ignore
 			}
+		}
 
-			// Possibly add the refererPlid parameter.
-			String refererPlid = StringHelper.toString(additionalParameterMap.get(REFERER_PLID),
-					parameterMap.get(REFERER_PLID));
+		// Possibly add the p_o_p_id parameter.
+		String outerPortletId = StringHelper.toString(additionalParameterMap.get(P_O_P_ID),
+				parameterMap.get(P_O_P_ID));
 
-			if (refererPlid != null) {
-				appendParameterToURL(REFERER_PLID, refererPlid, url);
-			}
+		if (outerPortletId != null) {
+			appendParameterToURL(P_O_P_ID, outerPortletId, url);
+		}
 
-			// Possibly add the controlPanelCategory parameter.
-			String controlPanelCategory = StringHelper.toString(additionalParameterMap.get(CONTROL_PANEL_CATEGORY),
-					parameterMap.get(CONTROL_PANEL_CATEGORY));
+		// Possibly add the doAsUserId parameter.
+		String doAsUserId = StringHelper.toString(additionalParameterMap.get(DO_AS_USER_ID),
+				parameterMap.get(DO_AS_USER_ID));
 
-			if (controlPanelCategory != null) {
-				appendParameterToURL(CONTROL_PANEL_CATEGORY, controlPanelCategory, url);
-			}
+		if (doAsUserId != null) {
+			appendParameterToURL(DO_AS_USER_ID, doAsUserId, url);
+		}
 
-			// Add request parameters from the request parameter map.
-			boolean namespaced = !responseNamespace.startsWith(BridgeConstants.WSRP);
+		// Possibly add the doAsUserLanguageId parameter.
+		String doAsUserLanguageId = StringHelper.toString(additionalParameterMap.get(DO_AS_USER_LANGUAGE_ID),
+				parameterMap.get(DO_AS_USER_LANGUAGE_ID));
 
-			Set<Map.Entry<String, String[]>> mapEntries = additionalParameterMap.entrySet();
+		if (doAsUserLanguageId != null) {
+			appendParameterToURL(DO_AS_USER_LANGUAGE_ID, doAsUserLanguageId, url);
+		}
+
+		// Possibly add the doAsGroupId parameter.
+		String doAsGroupId = StringHelper.toString(additionalParameterMap.get(DO_AS_GROUP_ID),
+				parameterMap.get(DO_AS_GROUP_ID));
+
+		if (doAsGroupId != null) {
+			appendParameterToURL(DO_AS_GROUP_ID, doAsGroupId, url);
+		}
+
+		// Possibly add the refererGroupId parameter.
+		String refererGroupId = StringHelper.toString(additionalParameterMap.get(REFERER_GROUP_ID),
+				parameterMap.get(REFERER_GROUP_ID));
 
-			if (mapEntries != null) {
+		if (refererGroupId != null) {
+			appendParameterToURL(REFERER_GROUP_ID, refererGroupId, url);
+		}
+
+		// Possibly add the refererPlid parameter.
+		String refererPlid = StringHelper.toString(additionalParameterMap.get(REFERER_PLID),
+				parameterMap.get(REFERER_PLID));
 
-				for (Map.Entry<String, String[]> mapEntry : mapEntries) {
-					String[] parameterValues = mapEntry.getValue();
+		if (refererPlid != null) {
+			appendParameterToURL(REFERER_PLID, refererPlid, url);
+		}
 
-					if (parameterValues != null) {
+		// Possibly add the controlPanelCategory parameter.
+		String controlPanelCategory = StringHelper.toString(additionalParameterMap.get(CONTROL_PANEL_CATEGORY),
+				parameterMap.get(CONTROL_PANEL_CATEGORY));
 
-						String parameterName = mapEntry.getKey();
+		if (controlPanelCategory != null) {
+			appendParameterToURL(CONTROL_PANEL_CATEGORY, controlPanelCategory, url);
+		}
+	}
 
-						if (!LIFERAY_NON_NAMESPACED_PARAMS.contains(parameterName)) {
+	protected void appendNamespacedParameters(Map<String, String[]> additionalParameterMap, StringBuilder url) {
 
-							for (String curParameterValue : parameterValues) {
+		boolean namespaced = !responseNamespace.startsWith(BridgeConstants.WSRP);
 
-								if (curParameterValue != null) {
+		Set<Map.Entry<String, String[]>> mapEntries = additionalParameterMap.entrySet();
 
-									String encodedParameterValue = encode(curParameterValue);
-									appendParameterToURL(firstParameter, namespaced, parameterName,
-										encodedParameterValue, url);
-								}
+		if (mapEntries != null) {
+
+			for (Map.Entry<String, String[]> mapEntry : mapEntries) {
+				String[] parameterValues = mapEntry.getValue();
+
+				if (parameterValues != null) {
+
+					String parameterName = mapEntry.getKey();
+
+					if (!LIFERAY_NON_NAMESPACED_PARAMS.contains(parameterName)) {
+
+						for (String curParameterValue : parameterValues) {
+
+							if (curParameterValue != null) {
+
+								String encodedParameterValue = encode(curParameterValue);
+								appendParameterToURL(false, namespaced, parameterName, encodedParameterValue, url);
 							}
 						}
 					}
 				}
 			}
+		}
+	}
 
-			// Add WSRP URL parameters
-			for (URLParameter wsrpParameter : wsrpParameters) {
+	/**
+	 * Appends the parameters that Liferay Portal expects to find at the end of the URL (the WSRP parameters, the
+	 * p_p_resource_id parameter, and the anchor).
+	 */
+	protected void appendTail(String resourceId, StringBuilder url) {
 
-				appendParameterToURL(wsrpParameter.getName(), wsrpParameter.getValue(), url);
-			}
+		// Add WSRP URL parameters
+		for (URLParameter wsrpParameter : wsrpParameters) {
 
-			// Possibly add the p_p_resource_id parameter.
-			String urlResourceId = parameterMap.get(P_O_P_ID);
+			appendParameterToURL(wsrpParameter.getName(), wsrpParameter.getValue(), url);
+		}
 
-			if (resourceId != null) {
-				urlResourceId = resourceId;
-			}
+		// Possibly add the p_p_resource_id parameter.
+		String urlResourceId = parameterMap.get(P_O_P_ID);
 
-			if (urlResourceId == null) {
+		if (resourceId != null) {
+			urlResourceId = resourceId;
+		}
 
-				if (prefix.startsWith(BridgeConstants.WSRP)) {
-					appendParameterToURL(P_P_RESOURCE_ID, BridgeConstants.WSRP, url);
-				}
-			}
-			else {
-				appendParameterToURL(P_P_RESOURCE_ID, urlResourceId, url);
-			}
+		if (urlResourceId == null) {
 
-			// Possibly add a Portlet URL Anchor
-			if (portletURLAnchor != null) {
-				url.append(portletURLAnchor);
+			if (prefix.startsWith(BridgeConstants.WSRP)) {
+				appendParameterToURL(P_P_RESOURCE_ID, BridgeConstants.WSRP, url);
 			}
-
-			toStringValue = url.toString();
+		}
+		else {
+			appendParameterToURL(P_P_RESOURCE_ID, urlResourceId, url);
 		}
 
-		return toStringValue;
+		// Possibly add a Portlet URL Anchor
+		if (portletURLAnchor != null) {
+			url.append(portletURLAnchor);
+		}
 	}
 
 	protected void appendParameterToURL(String parameterName, String parameterValue, StringBuilder url) {
@@ -525,6 +582,87 @@ public abstract class LiferayURLGeneratorBaseImpl implements LiferayURLGenerator
 		return encodedValue;
 	}
 
+	/**
+	 * Returns the pre-compiled beginning of the URL for the specified cacheability, portlet mode and window state. Since
+	 * instances of this class are cached for the duration of a single request, the values that are obtained from the
+	 * request (such as p_p_col_id) do not change and the result can safely be reused.
+	 */
+	protected String getHead(String cacheability, PortletMode portletMode, WindowState windowState) {
+
+		String head;
+
+		if ((cacheability == null) && (portletMode == null) && (windowState == null)) {
+
+			if (defaultHead == null) {
+				defaultHead = compileHead(null, null, null);
+			}
+
+			head = defaultHead;
+		}
+		else {
+
+			StringBuilder key = new StringBuilder();
+			key.append(cacheability);
+			key.append(StringPool.PIPE);
+			key.append(portletMode);
+			key.append(StringPool.PIPE);
+			key.append(windowState);
+
+			String headKey = key.toString();
+			head = headCache.get(headKey);
+
+			if (head == null) {
+				head = compileHead(cacheability, portletMode, windowState);
+				headCache.put(headKey, head);
+			}
+		}
+
+		return head;
+	}
+
+	/** Returns the pre-compiled end of the URL for the specified resource ID. */
+	protected String getTail(String resourceId) {
+
+		String tail;
+
+		if (resourceId == null) {
+
+			if (defaultTail == null) {
+				defaultTail = compileTail(null);
+			}
+
+			tail = defaultTail;
+		}
+		else {
+
+			tail = tailCache.get(resourceId);
+
+			if (tail == null) {
+				tail = compileTail(resourceId);
+				tailCache.put(resourceId, tail);
+			}
+		}
+
+		return tail;
+	}
+
+	protected String compileHead(String cacheability, PortletMode portletMode, WindowState windowState) {
+
+		StringBuilder url = new StringBuilder();
+		Map<String, String[]> emptyParameterMap = Collections.emptyMap();
+		appendHead(emptyParameterMap, cacheability, portletMode, windowState, url);
+
+		return url.toString();
+	}
+
+	protected String compileTail(String resourceId) {
+
+		StringBuilder url = new StringBuilder();
+		appendTail(resourceId, url);
+
+		return url.toString();
+	}
+
 	protected void parse() {
 
 		parameterMap = new HashMap<String, String>();
@@ -37,8 +37,7 @@ import javax.portlet.faces.BridgeUninitializedException;
 import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.BridgePhase;
 import com.liferay.faces.bridge.BridgePhaseFactory;
-import com.liferay.faces.bridge.config.BridgeConfig;
-import com.liferay.faces.bridge.config.BridgeConfigFactory;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.scope.BridgeRequestScopeManager;
 import com.liferay.faces.bridge.scope.BridgeRequestScopeManagerFactory;
 import com.liferay.faces.util.lang.StringPool;
@@ -55,6 +54,7 @@ public class BridgeImpl implements Bridge {
 	private static final Logger logger = LoggerFactory.getLogger(BridgeImpl.class);
 
 	// Private Data Members
+	private BridgePhaseEnvironment bridgePhaseEnvironment;
 	private boolean initialized = false;
 	private PortletConfig portletConfig;
 
@@ -82,14 +82,9 @@ public class BridgeImpl implements Bridge {
 
 		if (initialized) {
 
-			BridgeConfigFactory bridgeConfigFactory = (BridgeConfigFactory) BridgeFactoryFinder.getFactory(
-					BridgeConfigFactory.class);
-			BridgeConfig bridgeConfig = bridgeConfigFactory.getBridgeConfig(portletConfig);
-			PortletConfig wrappedPortletConfig = bridgeConfigFactory.getPortletConfig(portletConfig);
-			BridgePhaseFactory bridgePhaseFactory = (BridgePhaseFactory) BridgeFactoryFinder.getFactory(
-					BridgePhaseFactory.class);
+			BridgePhaseFactory bridgePhaseFactory = bridgePhaseEnvironment.getBridgePhaseFactory();
 			BridgePhase bridgePhase = bridgePhaseFactory.getBridgeActionPhase(actionRequest, actionResponse,
-					wrappedPortletConfig, bridgeConfig);
+					bridgePhaseEnvironment.getPortletConfig(), bridgePhaseEnvironment.getBridgeConfig());
 			bridgePhase.execute();
 		}
 		else {
@@ -103,14 +98,9 @@ public class BridgeImpl implements Bridge {
 		checkNull(eventRequest, eventResponse);
 
 		if (initialized) {
-			BridgeConfigFactory bridgeConfigFactory = (BridgeConfigFactory) BridgeFactoryFinder.getFactory(
-					BridgeConfigFactory.class);
-			BridgeConfig bridgeConfig = bridgeConfigFactory.getBridgeConfig(portletConfig);
-			PortletConfig wrappedPortletConfig = bridgeConfigFactory.getPortletConfig(portletConfig);
-			BridgePhaseFactory bridgePhaseFactory = (BridgePhaseFactory) BridgeFactoryFinder.getFactory(
-					BridgePhaseFactory.class);
+			BridgePhaseFactory bridgePhaseFactory = bridgePhaseEnvironment.getBridgePhaseFactory();
 			BridgePhase bridgePhase = bridgePhaseFactory.getBridgeEventPhase(eventRequest, eventResponse,
-					wrappedPortletConfig, bridgeConfig);
+					bridgePhaseEnvironment.getPortletConfig(), bridgePhaseEnvironment.getBridgeConfig());
 			bridgePhase.execute();
 		}
 		else {
@@ -125,14 +115,9 @@ public class BridgeImpl implements Bridge {
 		checkNull(renderRequest, renderResponse);
 
 		if (initialized) {
-			BridgeConfigFactory bridgeConfigFactory = (BridgeConfigFactory) BridgeFactoryFinder.getFactory(
-					BridgeConfigFactory.class);
-			BridgeConfig bridgeConfig = bridgeConfigFactory.getBridgeConfig(portletConfig);
-			PortletConfig wrappedPortletConfig = bridgeConfigFactory.getPortletConfig(portletConfig);
-			BridgePhaseFactory bridgePhaseFactory = (BridgePhaseFactory) BridgeFactoryFinder.getFactory(
-					BridgePhaseFactory.class);
+			BridgePhaseFactory bridgePhaseFactory = bridgePhaseEnvironment.getBridgePhaseFactory();
 			BridgePhase bridgePhase = bridgePhaseFactory.getBridgeRenderPhase(renderRequest, renderResponse,
-					wrappedPortletConfig, bridgeConfig);
+					bridgePhaseEnvironment.getPortletConfig(), bridgePhaseEnvironment.getBridgeConfig());
 			bridgePhase.execute();
 		}
 		else {
@@ -147,14 +132,9 @@ public class BridgeImpl implements Bridge {
 		checkNull(resourceRequest, resourceResponse);
 
 		if (initialized) {
-			BridgeConfigFactory bridgeConfigFactory = (BridgeConfigFactory) BridgeFactoryFinder.getFactory(
-					BridgeConfigFactory.class);
-			BridgeConfig bridgeConfig = bridgeConfigFactory.getBridgeConfig(portletConfig);
-			PortletConfig wrappedPortletConfig = bridgeConfigFactory.getPortletConfig(portletConfig);
-			BridgePhaseFactory bridgePhaseFactory = (BridgePhaseFactory) BridgeFactoryFinder.getFactory(
-					BridgePhaseFactory.class);
+			BridgePhaseFactory bridgePhaseFactory = bridgePhaseEnvironment.getBridgePhaseFactory();
 			BridgePhase bridgePhase = bridgePhaseFactory.getBridgeResourcePhase(resourceRequest, resourceResponse,
-					wrappedPortletConfig, bridgeConfig);
+					bridgePhaseEnvironment.getPortletConfig(), bridgePhaseEnvironment.getBridgeConfig());
 			bridgePhase.execute();
 		}
 		else {
@@ -181,6 +161,18 @@ public class BridgeImpl implements Bridge {
 		System.out.println(logMessage.toString());
 		this.initialized = true;
 		this.portletConfig = portletConfig;
+
+		// Resolve the effective value of every PortletConfigParam one time so that request processing can read plain
+		// fields rather than performing init-param lookups.
+		PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.initialize(portletConfig);
+
+		if (logger.isDebugEnabled()) {
+			logger.debug(portletConfigParamValues.toString());
+		}
+
+		// Build the per-portlet environment one time so that constructing a bridge phase for each request does not
+		// require repeated factory lookups.
+		this.bridgePhaseEnvironment = BridgePhaseEnvironment.initialize(portletConfig);
 	}
 
 	protected void checkNull(PortletRequest portletRequest, PortletResponse portletResponse) {
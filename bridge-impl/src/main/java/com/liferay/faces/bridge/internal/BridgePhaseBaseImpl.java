@@ -15,13 +15,10 @@ package com.liferay.faces.bridge.internal;
 
 import javax.el.ELContext;
 import javax.faces.FacesException;
-import javax.faces.FactoryFinder;
 import javax.faces.component.UIViewRoot;
 import javax.faces.context.FacesContext;
 import javax.faces.context.FacesContextFactory;
 import javax.faces.lifecycle.Lifecycle;
-import javax.faces.lifecycle.LifecycleFactory;
-import javax.faces.webapp.FacesServlet;
 import javax.portlet.PortletConfig;
 import javax.portlet.PortletContext;
 import javax.portlet.PortletRequest;
@@ -31,22 +28,16 @@ import javax.portlet.StateAwareResponse;
 import javax.portlet.faces.Bridge;
 import javax.portlet.faces.annotation.PortletNamingContainer;
 
-import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.BridgePhase;
 import com.liferay.faces.bridge.config.BridgeConfig;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.context.BridgeContextFactory;
 import com.liferay.faces.bridge.context.IncongruityContext;
-import com.liferay.faces.bridge.context.IncongruityContextFactory;
-import com.liferay.faces.bridge.filter.BridgePortletContextFactory;
-import com.liferay.faces.bridge.helper.internal.PortletModeHelper;
 import com.liferay.faces.bridge.scope.BridgeRequestScope;
 import com.liferay.faces.bridge.scope.BridgeRequestScopeCache;
-import com.liferay.faces.bridge.scope.BridgeRequestScopeCacheFactory;
 import com.liferay.faces.bridge.scope.BridgeRequestScopeFactory;
-import com.liferay.faces.util.factory.FactoryExtensionFinder;
-import com.liferay.faces.util.lang.StringPool;
+import com.liferay.faces.bridge.scope.internal.BridgeRequestScopeImpl;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -59,9 +50,6 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(BridgePhaseBaseImpl.class);
 
-	// Private Constants
-	private static final String PARAM_BRIDGE_REQUEST_SCOPE_ID = "com.liferay.faces.bridge.bridgeRequestScopeId";
-
 	// Protected Data Members
 	protected BridgeConfig bridgeConfig;
 	protected BridgeContext bridgeContext;
@@ -72,11 +60,13 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 	protected IncongruityContext incongruityContext;
 	protected Lifecycle facesLifecycle;
 	protected PortletConfig portletConfig;
+	protected PortletConfigParamValues portletConfigParamValues;
 	protected PortletContext portletContext;
 	protected String portletName;
+	protected ViewIdHistory viewIdHistory;
 
 	// Private Data Members
-	private FacesContextFactory facesContextFactory;
+	private BridgePhaseEnvironment bridgePhaseEnvironment;
 	private String pathInfo;
 	private String servletPath;
 
@@ -85,33 +75,16 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 		this.portletConfig = portletConfig;
 		this.bridgeConfig = bridgeConfig;
 		this.portletName = portletConfig.getPortletName();
-		this.bridgeRequestScopePreserved = PortletConfigParam.BridgeRequestScopePreserved.getBooleanValue(
-				portletConfig);
-
-		BridgePortletContextFactory bridgePortletContextFactory = (BridgePortletContextFactory) BridgeFactoryFinder
-			.getFactory(BridgePortletContextFactory.class);
-		this.portletContext = bridgePortletContextFactory.getPortletContext(portletConfig.getPortletContext());
-
-		// Initialize the incongruity context implementation.
-		IncongruityContextFactory incongruityContextFactory = (IncongruityContextFactory) FactoryExtensionFinder
-			.getFactory(IncongruityContextFactory.class);
-		this.incongruityContext = incongruityContextFactory.getIncongruityContext();
-
-		// Get the bridge request scope cache from the factory.
-		BridgeRequestScopeCacheFactory bridgeRequestScopeCacheFactory = (BridgeRequestScopeCacheFactory)
-			BridgeFactoryFinder.getFactory(BridgeRequestScopeCacheFactory.class);
-		this.bridgeRequestScopeCache = bridgeRequestScopeCacheFactory.getBridgeRequestScopeCache(portletContext);
-
-		// Get the default lifecycle instance from the factory.
-		LifecycleFactory lifecycleFactory = (LifecycleFactory) FactoryFinder.getFactory(
-				FactoryFinder.LIFECYCLE_FACTORY);
-		String lifecycleId = this.portletContext.getInitParameter(FacesServlet.LIFECYCLE_ID_ATTR);
-
-		if (lifecycleId == null) {
-			lifecycleId = LifecycleFactory.DEFAULT_LIFECYCLE;
-		}
 
-		this.facesLifecycle = lifecycleFactory.getLifecycle(lifecycleId);
+		// Obtain the factories, caches, and the Faces lifecycle from the per-portlet environment that was built when
+		// the bridge was initialized.
+		this.bridgePhaseEnvironment = BridgePhaseEnvironment.getInstance(portletConfig);
+		this.portletConfigParamValues = bridgePhaseEnvironment.getPortletConfigParamValues();
+		this.bridgeRequestScopePreserved = portletConfigParamValues.isBridgeRequestScopePreserved();
+		this.portletContext = bridgePhaseEnvironment.getPortletContext();
+		this.incongruityContext = bridgePhaseEnvironment.getIncongruityContextFactory().getIncongruityContext();
+		this.bridgeRequestScopeCache = bridgePhaseEnvironment.getBridgeRequestScopeCache();
+		this.facesLifecycle = bridgePhaseEnvironment.getFacesLifecycle();
 	}
 
 	@SuppressWarnings("deprecation")
@@ -174,8 +147,7 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 		initBridgeRequestScope(portletRequest, portletResponse, portletPhase);
 
 		// Get the bridge context.
-		BridgeContextFactory bridgeContextFactory = (BridgeContextFactory) BridgeFactoryFinder.getFactory(
-				BridgeContextFactory.class);
+		BridgeContextFactory bridgeContextFactory = bridgePhaseEnvironment.getBridgeContextFactory();
 		bridgeContext = bridgeContextFactory.getBridgeContext(bridgeConfig, bridgeRequestScope, portletConfig,
 				portletContext, portletRequest, portletResponse, portletPhase, incongruityContext);
 
@@ -197,15 +169,9 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 		portletRequest.removeAttribute(BridgeConstants.REQ_ATTR_SERVLET_PATH);
 
 		// If not set by a previous request, then set the default viewIdHistory for the portlet modes.
-		for (String portletMode : PortletModeHelper.PORTLET_MODE_NAMES) {
-
-			String attributeName = Bridge.VIEWID_HISTORY + StringPool.PERIOD + portletMode;
-			PortletSession portletSession = portletRequest.getPortletSession();
-
-			if (portletSession.getAttribute(attributeName) == null) {
-				portletSession.setAttribute(attributeName, bridgeContext.getDefaultViewIdMap().get(portletMode));
-			}
-		}
+		viewIdHistory = new ViewIdHistory(bridgeContext.getDefaultViewIdMap(),
+				portletConfigParamValues.isSessionCreatedOnDemand());
+		viewIdHistory.initialize(portletRequest);
 	}
 
 	protected void initBridgeRequestScope(PortletRequest portletRequest, PortletResponse portletResponse,
@@ -214,7 +180,7 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 		boolean bridgeRequestScopeEnabled = true;
 
 		if (portletPhase == Bridge.PortletPhase.RESOURCE_PHASE) {
-			bridgeRequestScopeEnabled = PortletConfigParam.BridgeRequestScopeAjaxEnabled.getBooleanValue(portletConfig);
+			bridgeRequestScopeEnabled = portletConfigParamValues.isBridgeRequestScopeAjaxEnabled();
 		}
 
 		if (bridgeRequestScopeEnabled) {
@@ -222,8 +188,7 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 			// Determine if there is a bridge request scope "id" saved as a render parameter. Note that in order to
 			// avoid collisions with bridge request scopes for other portlets, the render parameter name has to be
 			// namespaced with the portlet name.
-			String portletName = portletConfig.getPortletName();
-			String bridgeRequestScopeKey = portletName + PARAM_BRIDGE_REQUEST_SCOPE_ID;
+			String bridgeRequestScopeKey = bridgePhaseEnvironment.getBridgeRequestScopeKey();
 
 			// If there is a render parameter value found for the "id", then return the cached bridge request scope
 			// associated with the "id".
@@ -254,8 +219,23 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 
 				// TCK TestPage071: nonFacesResourceTest
 				// TCK TestPage073: scopeAfterRedisplayResourcePPRTest
-				PortletSession portletSession = portletRequest.getPortletSession();
-				bridgeRequestScopeId = (String) portletSession.getAttribute(bridgeRequestScopeKey);
+				PortletSession portletSession;
+
+				// Note: If the session is created on demand, then the absence of a session implies the absence of the
+				// session attribute.
+				if (portletConfigParamValues.isSessionCreatedOnDemand()) {
+					portletSession = portletRequest.getPortletSession(false);
+				}
+				else {
+					portletSession = portletRequest.getPortletSession();
+				}
+
+				if (portletSession == null) {
+					bridgeRequestScopeId = null;
+				}
+				else {
+					bridgeRequestScopeId = (String) portletSession.getAttribute(bridgeRequestScopeKey);
+				}
 
 				if (bridgeRequestScopeId != null) {
 
@@ -288,8 +268,8 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 
 			// Otherwise, return a new factory created instance.
 			if (bridgeRequestScope == null) {
-				BridgeRequestScopeFactory bridgeRequestScopeFactory = (BridgeRequestScopeFactory) FactoryExtensionFinder
-					.getFactory(BridgeRequestScopeFactory.class);
+				BridgeRequestScopeFactory bridgeRequestScopeFactory =
+					bridgePhaseEnvironment.getBridgeRequestScopeFactory();
 				bridgeRequestScope = bridgeRequestScopeFactory.getBridgeRequestScope(portletRequest, portletConfig,
 						bridgeConfig);
 			}
@@ -301,9 +281,24 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 
 		String bridgeRequestScopeId = bridgeRequestScope.getId();
 
+		// If the session is created on demand, then the bridge request scope might have been created without a session.
+		// Since cached bridge request scopes are only removed when the session whose id is part of the bridge request
+		// scope id expires, the session must be created (and its id must be part of the bridge request scope id)
+		// before the bridge request scope is cached.
+		if (portletConfigParamValues.isSessionCreatedOnDemand()) {
+
+			PortletSession portletSession = portletRequest.getPortletSession(true);
+			String idPrefix = BridgeRequestScopeImpl.getIdPrefix(portletName, portletSession.getId());
+
+			if (!bridgeRequestScopeId.startsWith(idPrefix)) {
+				bridgeRequestScope.setIdPrefix(idPrefix);
+				bridgeRequestScopeId = bridgeRequestScope.getId();
+			}
+		}
+
 		bridgeRequestScopeCache.put(bridgeRequestScopeId, bridgeRequestScope);
 
-		String bridgeRequestScopeKey = portletName + PARAM_BRIDGE_REQUEST_SCOPE_ID;
+		String bridgeRequestScopeKey = bridgePhaseEnvironment.getBridgeRequestScopeKey();
 
 		if (bridgeRequestScopeTransport == BridgeRequestScope.Transport.PORTLET_SESSION_ATTRIBUTE) {
 
@@ -361,11 +356,6 @@ public abstract class BridgePhaseBaseImpl implements BridgePhase {
 	}
 
 	protected FacesContextFactory getFacesContextFactory() {
-
-		if (facesContextFactory == null) {
-			facesContextFactory = (FacesContextFactory) FactoryFinder.getFactory(FactoryFinder.FACES_CONTEXT_FACTORY);
-		}
-
-		return facesContextFactory;
+		return bridgePhaseEnvironment.getFacesContextFactory();
 	}
 }
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.internal;
+
+import javax.faces.FactoryFinder;
+import javax.faces.context.FacesContextFactory;
+import javax.faces.lifecycle.Lifecycle;
+import javax.faces.lifecycle.LifecycleFactory;
+import javax.faces.webapp.FacesServlet;
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+
+import com.liferay.faces.bridge.BridgeFactoryFinder;
+import com.liferay.faces.bridge.BridgePhaseFactory;
+import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.config.BridgeConfigFactory;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
+import com.liferay.faces.bridge.context.BridgeContextFactory;
+import com.liferay.faces.bridge.context.IncongruityContextFactory;
+import com.liferay.faces.bridge.filter.BridgePortletContextFactory;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeCache;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeCacheFactory;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeFactory;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class is an immutable snapshot of everything that a {@link com.liferay.faces.bridge.BridgePhase} needs from its
+ * environment that does not vary from one request to the next for a single portlet, such as factories, the {@link
+ * BridgeRequestScopeCache}, and the Faces {@link Lifecycle}. It is built one time when the bridge is initialized so
+ * that constructing a bridge phase does not require repeated factory lookups. Note that the {@link
+ * IncongruityContextFactory} is held rather than an {@link com.liferay.faces.bridge.context.IncongruityContext}
+ * because the latter maintains per-request state.
+ *
+ * @author  Neil Griffin
+ */
+public final class BridgePhaseEnvironment {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME_PREFIX = BridgePhaseEnvironment.class.getName() + StringPool.PERIOD;
+	private static final String PARAM_BRIDGE_REQUEST_SCOPE_ID = "com.liferay.faces.bridge.bridgeRequestScopeId";
+
+	// Private Data Members
+	private final BridgeConfig bridgeConfig;
+	private final BridgeContextFactory bridgeContextFactory;
+	private final BridgePhaseFactory bridgePhaseFactory;
+	private final BridgeRequestScopeCache bridgeRequestScopeCache;
+	private final BridgeRequestScopeFactory bridgeRequestScopeFactory;
+	private final String bridgeRequestScopeKey;
+	private final FacesContextFactory facesContextFactory;
+	private final Lifecycle facesLifecycle;
+	private final IncongruityContextFactory incongruityContextFactory;
+	private final PortletConfig portletConfig;
+	private final PortletConfigParamValues portletConfigParamValues;
+	private final PortletContext portletContext;
+
+	private BridgePhaseEnvironment(PortletConfig portletConfig) {
+
+		BridgeConfigFactory bridgeConfigFactory = (BridgeConfigFactory) BridgeFactoryFinder.getFactory(
+				BridgeConfigFactory.class);
+		this.bridgeConfig = bridgeConfigFactory.getBridgeConfig(portletConfig);
+		this.portletConfig = bridgeConfigFactory.getPortletConfig(portletConfig);
+		this.portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+		this.bridgePhaseFactory = (BridgePhaseFactory) BridgeFactoryFinder.getFactory(BridgePhaseFactory.class);
+		this.bridgeContextFactory = (BridgeContextFactory) BridgeFactoryFinder.getFactory(BridgeContextFactory.class);
+		this.bridgeRequestScopeFactory = (BridgeRequestScopeFactory) FactoryExtensionFinder.getFactory(
+				BridgeRequestScopeFactory.class);
+		this.incongruityContextFactory = (IncongruityContextFactory) FactoryExtensionFinder.getFactory(
+				IncongruityContextFactory.class);
+
+		// Note that in order to avoid collisions with bridge request scopes for other portlets, the name of the render
+		// parameter (and session attribute) that holds the bridge request scope "id" is namespaced with the portlet
+		// name.
+		this.bridgeRequestScopeKey = portletConfig.getPortletName() + PARAM_BRIDGE_REQUEST_SCOPE_ID;
+
+		BridgePortletContextFactory bridgePortletContextFactory = (BridgePortletContextFactory) BridgeFactoryFinder
+			.getFactory(BridgePortletContextFactory.class);
+		this.portletContext = bridgePortletContextFactory.getPortletContext(portletConfig.getPortletContext());
+
+		// Get the bridge request scope cache from the factory.
+		BridgeRequestScopeCacheFactory bridgeRequestScopeCacheFactory = (BridgeRequestScopeCacheFactory)
+			BridgeFactoryFinder.getFactory(BridgeRequestScopeCacheFactory.class);
+		this.bridgeRequestScopeCache = bridgeRequestScopeCacheFactory.getBridgeRequestScopeCache(portletContext);
+
+		// Get the default lifecycle instance from the factory.
+		LifecycleFactory lifecycleFactory = (LifecycleFactory) FactoryFinder.getFactory(
+				FactoryFinder.LIFECYCLE_FACTORY);
+		String lifecycleId = portletContext.getInitParameter(FacesServlet.LIFECYCLE_ID_ATTR);
+
+		if (lifecycleId == null) {
+			lifecycleId = LifecycleFactory.DEFAULT_LIFECYCLE;
+		}
+
+		this.facesLifecycle = lifecycleFactory.getLifecycle(lifecycleId);
+		this.facesContextFactory = (FacesContextFactory) FactoryFinder.getFactory(
+				FactoryFinder.FACES_CONTEXT_FACTORY);
+	}
+
+	/**
+	 * Returns the environment associated with the specified portlet. If the environment was not built by {@link
+	 * #initialize(PortletConfig)} (for example, in environments that do not call {@link
+	 * javax.portlet.faces.Bridge#init(PortletConfig)}) then it is built and registered on demand.
+	 */
+	public static BridgePhaseEnvironment getInstance(PortletConfig portletConfig) {
+
+		PortletContext portletContext = portletConfig.getPortletContext();
+		String attributeName = ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName();
+		BridgePhaseEnvironment bridgePhaseEnvironment = (BridgePhaseEnvironment) portletContext.getAttribute(
+				attributeName);
+
+		if (bridgePhaseEnvironment == null) {
+			bridgePhaseEnvironment = initialize(portletConfig);
+		}
+
+		return bridgePhaseEnvironment;
+	}
+
+	/**
+	 * Builds the environment for the specified portlet and registers it as a {@link PortletContext} attribute. Intended
+	 * to be called from {@link javax.portlet.faces.Bridge#init(PortletConfig)}.
+	 */
+	public static BridgePhaseEnvironment initialize(PortletConfig portletConfig) {
+
+		BridgePhaseEnvironment bridgePhaseEnvironment = new BridgePhaseEnvironment(portletConfig);
+		PortletContext portletContext = portletConfig.getPortletContext();
+		portletContext.setAttribute(ATTRIBUTE_NAME_PREFIX + portletConfig.getPortletName(), bridgePhaseEnvironment);
+
+		return bridgePhaseEnvironment;
+	}
+
+	/**
+	 * Returns the {@link BridgeConfig} that was obtained from the {@link BridgeConfigFactory}.
+	 */
+	public BridgeConfig getBridgeConfig() {
+		return bridgeConfig;
+	}
+
+	public BridgeContextFactory getBridgeContextFactory() {
+		return bridgeContextFactory;
+	}
+
+	public BridgePhaseFactory getBridgePhaseFactory() {
+		return bridgePhaseFactory;
+	}
+
+	public BridgeRequestScopeCache getBridgeRequestScopeCache() {
+		return bridgeRequestScopeCache;
+	}
+
+	public BridgeRequestScopeFactory getBridgeRequestScopeFactory() {
+		return bridgeRequestScopeFactory;
+	}
+
+	/**
+	 * Returns the portlet-namespaced name of the render parameter (and session attribute) that holds the bridge request
+	 * scope "id".
+	 */
+	public String getBridgeRequestScopeKey() {
+		return bridgeRequestScopeKey;
+	}
+
+	public FacesContextFactory getFacesContextFactory() {
+		return facesContextFactory;
+	}
+
+	public Lifecycle getFacesLifecycle() {
+		return facesLifecycle;
+	}
+
+	public IncongruityContextFactory getIncongruityContextFactory() {
+		return incongruityContextFactory;
+	}
+
+	/**
+	 * Returns the {@link PortletConfig} that was obtained from {@link
+	 * BridgeConfigFactory#getPortletConfig(PortletConfig)}.
+	 */
+	public PortletConfig getPortletConfig() {
+		return portletConfig;
+	}
+
+	public PortletConfigParamValues getPortletConfigParamValues() {
+		return portletConfigParamValues;
+	}
+
+	/**
+	 * Returns the {@link PortletContext} that was obtained from the {@link BridgePortletContextFactory}.
+	 */
+	public PortletContext getPortletContext() {
+		return portletContext;
+	}
+}
@@ -16,6 +16,8 @@ package com.liferay.faces.bridge.internal;
 import java.io.IOException;
 import java.io.Writer;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.faces.application.NavigationHandler;
 import javax.faces.application.ViewHandler;
@@ -25,25 +27,32 @@ import javax.faces.context.FacesContext;
 import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseId;
 import javax.faces.event.PhaseListener;
+import javax.faces.render.ResponseStateManager;
+import javax.portlet.CacheControl;
 import javax.portlet.PortalContext;
 import javax.portlet.PortletConfig;
 import javax.portlet.PortletMode;
 import javax.portlet.PortletRequest;
 import javax.portlet.PortletResponse;
-import javax.portlet.PortletSession;
 import javax.portlet.RenderRequest;
 import javax.portlet.RenderResponse;
 import javax.portlet.faces.Bridge;
 import javax.portlet.faces.Bridge.PortletPhase;
 import javax.portlet.faces.BridgeException;
+import javax.portlet.faces.annotation.PortletNamingContainer;
 
 import com.liferay.faces.bridge.BridgeFactoryFinder;
 import com.liferay.faces.bridge.application.internal.BridgeNavigationHandler;
 import com.liferay.faces.bridge.application.internal.BridgeNavigationHandlerImpl;
 import com.liferay.faces.bridge.config.BridgeConfig;
-import com.liferay.faces.bridge.config.internal.PortletConfigParam;
 import com.liferay.faces.bridge.context.BridgePortalContext;
+import com.liferay.faces.bridge.context.HeadResponseWriter;
+import com.liferay.faces.bridge.context.HeadResponseWriterFactory;
+import com.liferay.faces.bridge.context.internal.CapturingWriter;
+import com.liferay.faces.bridge.context.internal.HeadResponseWriterBase;
+import com.liferay.faces.bridge.context.internal.RenderMarkupCache;
 import com.liferay.faces.bridge.context.internal.RenderRedirectWriter;
+import com.liferay.faces.bridge.context.internal.StreamingWriter;
 import com.liferay.faces.bridge.context.url.BridgeURI;
 import com.liferay.faces.bridge.context.url.BridgeURIFactory;
 import com.liferay.faces.bridge.context.url.BridgeURL;
@@ -111,6 +120,34 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	protected void cacheRenderedMarkup(RenderMarkupCache renderMarkupCache, String renderCacheKey) {
+
+		StringBuilder capturedMarkup = (StringBuilder) bridgeContext.getAttributes().get(
+				RenderMarkupCache.CAPTURED_MARKUP);
+		List<RenderMarkupCache.HeadElement> capturedHeadElements = (List<RenderMarkupCache.HeadElement>) facesContext
+			.getAttributes().get(RenderMarkupCache.CAPTURED_HEAD_ELEMENTS);
+
+		// Views that contain a JSF view state (such as views with forms) are not idempotent, since the view state would
+		// be shared by subsequent requests. Likewise, views that queued Faces messages depend on more than the state
+		// of the request.
+		String markup = capturedMarkup.toString();
+
+		if (facesContext.getMessages().hasNext() || markup.contains(ResponseStateManager.VIEW_STATE_PARAM)) {
+			logger.debug("Unable to cache markup for renderCacheKey=[{0}] since the view is not idempotent",
+				renderCacheKey);
+		}
+		else {
+
+			UIViewRoot uiViewRoot = facesContext.getViewRoot();
+			boolean namespaced = (uiViewRoot != null) &&
+				(uiViewRoot.getClass().getAnnotation(PortletNamingContainer.class) != null);
+			RenderMarkupCache.CachedMarkup cachedMarkup = renderMarkupCache.put(renderCacheKey, markup,
+					capturedHeadElements, namespaced);
+			renderResponse.getCacheControl().setETag(cachedMarkup.getETag());
+		}
+	}
+
 	@Override
 	protected void cleanup() {
 
@@ -179,6 +216,43 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 
 		logger.debug("portletName=[{0}] facesLifecycleExecuted=[{1}]", portletName, facesLifecycleExecuted);
 
+		// If the render markup cache is enabled and the view is being rendered without a preceding ACTION_PHASE, then
+		// attempt to render the markup of the view from the cache rather than executing the Faces lifecycle.
+		RenderMarkupCache renderMarkupCache = RenderMarkupCache.getInstance(portletConfig);
+		String renderCacheKey = null;
+
+		if ((renderMarkupCache != null) && (renderRedirectURL == null) && !facesLifecycleExecuted &&
+				!bridgeRequestScope.isPortletModeChanged() &&
+				(bridgeRequestScope.getBeganInPhase() != Bridge.PortletPhase.ACTION_PHASE)) {
+
+			String viewId = bridgeContext.getFacesViewId();
+			renderCacheKey = getRenderCacheKey(renderMarkupCache, viewId);
+
+			// If the key is null, then the markup must not be cached for the current user.
+			if (renderCacheKey != null) {
+
+				RenderMarkupCache.CachedMarkup cachedMarkup = renderMarkupCache.get(renderCacheKey);
+
+				if (cachedMarkup != null) {
+
+					if (renderCachedMarkup(cachedMarkup)) {
+
+						logger.debug("Rendered cached markup for viewId=[{0}] {1}", viewId, renderMarkupCache);
+
+						// Set the view history according to Section 5.4.3 of the Bridge Spec.
+						setViewHistory(viewId);
+
+						return;
+					}
+				}
+
+				// Capture the markup and the <head>...</head> resources of the view so that they can be cached.
+				bridgeContext.getAttributes().put(RenderMarkupCache.CAPTURED_MARKUP, new StringBuilder());
+				facesContext.getAttributes().put(RenderMarkupCache.CAPTURED_HEAD_ELEMENTS,
+					new ArrayList<RenderMarkupCache.HeadElement>());
+			}
+		}
+
 		// If the JSF lifecycle executed back in the ACTION_PHASE of the portlet lifecycle, then
 		if (facesLifecycleExecuted) {
 
@@ -242,7 +316,7 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 		}
 
 		// Determines whether or not lifecycle incongruities should be managed.
-		boolean manageIncongruities = PortletConfigParam.ManageIncongruities.getBooleanValue(portletConfig);
+		boolean manageIncongruities = portletConfigParamValues.isManageIncongruities();
 
 		// Now that we're executing the RENDER_PHASE of the Portlet lifecycle, before the JSF
 		// RENDER_RESPONSE phase is executed, we have to fix some incongruities between the Portlet
@@ -292,6 +366,20 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 			if (writer instanceof RenderRedirectWriter) {
 				RenderRedirectWriter responseOutputWriter = (RenderRedirectWriter) writer;
 				responseOutputWriter.render();
+				writer = responseOutputWriter.getWrapped();
+			}
+
+			// If the markup of the view was captured, then cache it.
+			if (writer instanceof CapturingWriter) {
+				cacheRenderedMarkup(renderMarkupCache, renderCacheKey);
+				writer = ((CapturingWriter) writer).getWrapped();
+			}
+
+			// If the streaming mode is enabled, then write the markup that remains in the streaming buffer to the
+			// response.
+			if (writer instanceof StreamingWriter) {
+				StreamingWriter streamingWriter = (StreamingWriter) writer;
+				streamingWriter.finish();
 			}
 		}
 	}
@@ -334,6 +422,74 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 		return bridgeNavigationHandler;
 	}
 
+	protected String getRenderCacheKey(RenderMarkupCache renderMarkupCache, String viewId) {
+
+		// If a cache key expression has been specified, then evaluate it so that its value becomes part of the key.
+		String customKey = renderMarkupCache.getCustomKey(facesContext);
+
+		// Markup that is cached in the private scope (the default) must not be shared among users.
+		boolean publicScope = renderResponse.getCacheControl().isPublicScope();
+
+		// Since the same portlet can be placed on more than one portal page, the markup must not be shared among pages.
+		PortalContext portalContext = renderRequest.getPortalContext();
+		String pageId = portalContext.getProperty(BridgePortalContext.PAGE_ID);
+
+		return RenderMarkupCache.getKey(renderRequest, renderResponse.getNamespace(), pageId, viewId, publicScope,
+				customKey);
+	}
+
+	/**
+	 * Renders the specified cached markup (and adds the associated resources to the &lt;head&gt;...&lt;/head&gt;
+	 * section of the portal page) according to the {@link CacheControl} semantics of the Portlet 2.0 API. If the
+	 * validation token (ETag) of the request matches the cached markup, then the portlet container is instructed to
+	 * use the content that it has already cached.
+	 *
+	 * @return  <code>true</code> if the cached markup was rendered, otherwise <code>false</code>.
+	 */
+	protected boolean renderCachedMarkup(RenderMarkupCache.CachedMarkup cachedMarkup) throws IOException {
+
+		List<RenderMarkupCache.HeadElement> headElements = cachedMarkup.getHeadElements();
+		HeadResponseWriterBase headResponseWriter = null;
+
+		if (!headElements.isEmpty()) {
+
+			HeadResponseWriterFactory headResponseWriterFactory = (HeadResponseWriterFactory) BridgeFactoryFinder
+				.getFactory(HeadResponseWriterFactory.class);
+			HeadResponseWriter responseWriter = headResponseWriterFactory.getHeadResponseWriter(bridgeContext,
+					facesContext.getResponseWriter());
+
+			// If the resources cannot be added to the <head>...</head> section, then the view must be rendered.
+			if (!(responseWriter instanceof HeadResponseWriterBase)) {
+				return false;
+			}
+
+			headResponseWriter = (HeadResponseWriterBase) responseWriter;
+		}
+
+		CacheControl cacheControl = renderResponse.getCacheControl();
+		String eTag = cachedMarkup.getETag();
+		cacheControl.setETag(eTag);
+
+		if (eTag.equals(renderRequest.getETag())) {
+			cacheControl.setExpirationTime(cachedMarkup.getExpirationSeconds());
+			cacheControl.setUseCachedContent(true);
+		}
+		else {
+
+			if (headResponseWriter != null) {
+				headResponseWriter.addHeadElements(headElements);
+			}
+
+			renderResponse.getWriter().write(cachedMarkup.getMarkup());
+		}
+
+		if (cachedMarkup.isNamespaced()) {
+			renderResponse.addProperty(Bridge.PORTLET_NAMESPACED_RESPONSE_PROPERTY, Boolean.TRUE.toString());
+		}
+
+		return true;
+	}
+
 	/**
 	 * Sets the "javax.portlet.faces.viewIdHistory.<code>portletMode</code>" session attribute according to the
 	 * requirements in Section 5.4.3 of the Bridge Spec. There is no corresponding getter method, because the value is
@@ -342,10 +498,7 @@ public class BridgePhaseRenderImpl extends BridgePhaseCompat_2_2_Impl {
 	 * @param  viewId  The current Faces viewId.
 	 */
 	protected void setViewHistory(String viewId) {
-
-		String attributeName = Bridge.VIEWID_HISTORY.concat(".").concat(renderRequest.getPortletMode().toString());
-		PortletSession portletSession = renderRequest.getPortletSession();
-		portletSession.setAttribute(attributeName, viewId);
+		viewIdHistory.setViewId(renderRequest, renderRequest.getPortletMode().toString(), viewId);
 	}
 
 }
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletSession;
+import javax.portlet.faces.Bridge;
+
+import com.liferay.faces.bridge.helper.internal.PortletModeHelper;
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class maintains the "javax.portlet.faces.viewIdHistory.<code>portletMode</code>" session attributes according
+ * to the requirements in Section 5.4.3 of the Bridge Spec. When the session is created on demand (see {@link
+ * com.liferay.faces.bridge.config.internal.PortletConfigParam#SessionCreatedOnDemand}), the history is only seeded
+ * with the default viewIds if a session already exists, and a session is only created in order to record a viewId that
+ * differs from the default viewId. In addition, an attribute is only written when its value changes.
+ *
+ * @author  Neil Griffin
+ */
+public class ViewIdHistory {
+
+	// Private Constants
+	private static final Map<String, String> ATTRIBUTE_NAMES;
+
+	static {
+
+		Map<String, String> attributeNames = new HashMap<String, String>();
+
+		for (String portletMode : PortletModeHelper.PORTLET_MODE_NAMES) {
+			attributeNames.put(portletMode, Bridge.VIEWID_HISTORY + StringPool.PERIOD + portletMode);
+		}
+
+		ATTRIBUTE_NAMES = attributeNames;
+	}
+
+	// Private Data Members
+	private Map<String, String> defaultViewIdMap;
+	private boolean sessionCreatedOnDemand;
+
+	public ViewIdHistory(Map<String, String> defaultViewIdMap, boolean sessionCreatedOnDemand) {
+		this.defaultViewIdMap = defaultViewIdMap;
+		this.sessionCreatedOnDemand = sessionCreatedOnDemand;
+	}
+
+	/**
+	 * Returns the name of the session attribute that records the viewId history of the specified portlet mode.
+	 */
+	public static String getAttributeName(String portletMode) {
+
+		String attributeName = ATTRIBUTE_NAMES.get(portletMode);
+
+		if (attributeName == null) {
+			attributeName = Bridge.VIEWID_HISTORY + StringPool.PERIOD + portletMode;
+		}
+
+		return attributeName;
+	}
+
+	/**
+	 * If not set by a previous request, then sets the default viewId history for each of the portlet modes.
+	 */
+	public void initialize(PortletRequest portletRequest) {
+
+		PortletSession portletSession;
+
+		if (sessionCreatedOnDemand) {
+			portletSession = portletRequest.getPortletSession(false);
+		}
+		else {
+			portletSession = portletRequest.getPortletSession();
+		}
+
+		if (portletSession != null) {
+			initialize(portletSession);
+		}
+	}
+
+	/**
+	 * Records the specified viewId as the viewId history of the specified portlet mode.
+	 */
+	public void setViewId(PortletRequest portletRequest, String portletMode, String viewId) {
+
+		String attributeName = getAttributeName(portletMode);
+
+		if (sessionCreatedOnDemand) {
+
+			PortletSession portletSession = portletRequest.getPortletSession(false);
+
+			if (portletSession == null) {
+
+				// If the viewId is the default viewId, then the history does not need to be recorded since it would
+				// be seeded with the same value when the session is eventually created.
+				if ((viewId == null) || viewId.equals(defaultViewIdMap.get(portletMode))) {
+					return;
+				}
+
+				portletSession = portletRequest.getPortletSession(true);
+				initialize(portletSession);
+			}
+
+			if ((viewId == null) || !viewId.equals(portletSession.getAttribute(attributeName))) {
+				portletSession.setAttribute(attributeName, viewId);
+			}
+		}
+		else {
+			PortletSession portletSession = portletRequest.getPortletSession();
+			portletSession.setAttribute(attributeName, viewId);
+		}
+	}
+
+	private void initialize(PortletSession portletSession) {
+
+		for (String portletMode : PortletModeHelper.PORTLET_MODE_NAMES) {
+
+			String defaultViewId = defaultViewIdMap.get(portletMode);
+
+			if (defaultViewId != null) {
+
+				String attributeName = getAttributeName(portletMode);
+
+				if (portletSession.getAttribute(attributeName) == null) {
+					portletSession.setAttribute(attributeName, defaultViewId);
+				}
+			}
+		}
+	}
+}
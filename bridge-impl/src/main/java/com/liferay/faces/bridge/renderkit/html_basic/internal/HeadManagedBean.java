@@ -13,13 +13,17 @@
  */
 package com.liferay.faces.bridge.renderkit.html_basic.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.el.ELResolver;
 import javax.faces.bean.ManagedBean;
 import javax.faces.bean.ViewScoped;
+import javax.faces.component.UIViewRoot;
 import javax.faces.context.FacesContext;
 
 
@@ -39,18 +43,77 @@ public class HeadManagedBean implements Serializable {
 	// serialVersionUID
 	private static final long serialVersionUID = 3829127137783852729L;
 
+	// Private Constants
+	private static final String INSTANCE = HeadManagedBean.class.getName();
+	private static final String INSTANCE_VIEW_ROOT = HeadManagedBean.class.getName() + ".viewRoot";
+
 	// Private Data Members
-	private Set<String> headResourceIds = new HashSet<String>();
+	private Set<String> headResourceIds = new HeadResourceIdSet();
 
+	/**
+	 * Returns the instance associated with the current view. Since this method is called by the renderer of each
+	 * resource in the view, the result of the EL resolution is remembered for the remainder of the request (for as long
+	 * as the view does not change).
+	 */
 	public static HeadManagedBean getInstance(FacesContext facesContext) {
-		String elExpression = "headManagedBean";
-		ELResolver elResolver = facesContext.getApplication().getELResolver();
 
-		return (HeadManagedBean) elResolver.getValue(facesContext.getELContext(), null, elExpression);
+		HeadManagedBean headManagedBean;
+		UIViewRoot viewRoot = facesContext.getViewRoot();
+		Map<Object, Object> attributes = facesContext.getAttributes();
+
+		if ((viewRoot != null) && (viewRoot == attributes.get(INSTANCE_VIEW_ROOT))) {
+			headManagedBean = (HeadManagedBean) attributes.get(INSTANCE);
+		}
+		else {
+			String elExpression = "headManagedBean";
+			ELResolver elResolver = facesContext.getApplication().getELResolver();
+			headManagedBean = (HeadManagedBean) elResolver.getValue(facesContext.getELContext(), null, elExpression);
+
+			if (viewRoot != null) {
+				attributes.put(INSTANCE, headManagedBean);
+				attributes.put(INSTANCE_VIEW_ROOT, viewRoot);
+			}
+		}
+
+		return headManagedBean;
 	}
 
 	public Set<String> getHeadResourceIds() {
 		return headResourceIds;
 	}
 
+	/**
+	 * This class is a set of resource ids that interns each id as it is added (or deserialized). Since the same
+	 * resource ids (like "javax.faces:jsf.js") are found in the head of every view of every user, interning them keeps
+	 * only one copy of each id in memory regardless of the number of active views.
+	 */
+	protected static class HeadResourceIdSet extends HashSet<String> {
+
+		// serialVersionUID
+		private static final long serialVersionUID = 5937120964862319817L;
+
+		@Override
+		public boolean add(String resourceId) {
+
+			if (resourceId != null) {
+				resourceId = resourceId.intern();
+			}
+
+			return super.add(resourceId);
+		}
+
+		private void readObject(ObjectInputStream objectInputStream) throws IOException, ClassNotFoundException {
+
+			// Note that HashSet deserializes its elements without calling add(String), so they are interned here (for
+			// example when a view-scoped HeadManagedBean is restored from a replicated or persisted session).
+			objectInputStream.defaultReadObject();
+
+			String[] resourceIds = toArray(new String[size()]);
+			clear();
+
+			for (String resourceId : resourceIds) {
+				add(resourceId);
+			}
+		}
+	}
 }
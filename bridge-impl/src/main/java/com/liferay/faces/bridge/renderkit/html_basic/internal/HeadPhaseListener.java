@@ -18,7 +18,6 @@ import java.util.Set;
 import javax.faces.bean.ViewScoped;
 import javax.faces.component.UICommand;
 import javax.faces.context.FacesContext;
-import javax.faces.context.Flash;
 import javax.faces.event.PhaseEvent;
 import javax.faces.event.PhaseId;
 import javax.faces.event.PhaseListener;
@@ -46,7 +45,7 @@ import com.liferay.faces.util.logging.LoggerFactory;
 public class HeadPhaseListener implements PhaseListener {
 
 	// Private Constants
-	private static final String HEAD_RESOURCE_IDS = "HEAD_RESOURCE_IDS";
+	private static final String HEAD_RESOURCE_IDS = HeadPhaseListener.class.getName() + ".headResourceIds";
 
 	// serialVersionUID
 	private static final long serialVersionUID = 8502242430265622811L;
@@ -92,27 +91,35 @@ public class HeadPhaseListener implements PhaseListener {
 	 * It might be the case that a navigation-rule has fired and a NEW JSF view has been loaded up after the {@link
 	 * PhaseId#APPLY_REQUEST_VALUES} phase (in the case of immediate="true") or the {@link PhaseId#INVOKE_APPLICATION}
 	 * phase (in the case of immediate="false") has completed. If this is the case, then the list of head resourceIds in
-	 * the {@link HeadManagedBean} needs to be repopulated from the list found in the Flash scope.</p>
+	 * the {@link HeadManagedBean} needs to be repopulated from the list that was remembered. If a navigation-rule has
+	 * not fired, then the list that was remembered is the very same list that is in the {@link HeadManagedBean} and
+	 * there is nothing to do.</p>
 	 */
 	protected void beforeAjaxifiedRenderResponsePhase(PhaseEvent phaseEvent) {
 		FacesContext facesContext = phaseEvent.getFacesContext();
-		Flash flash = facesContext.getExternalContext().getFlash();
-		String viewId = facesContext.getViewRoot().getViewId();
 
 		@SuppressWarnings("unchecked")
-		Set<String> headResourceIdsFromFlash = (Set<String>) flash.get(HEAD_RESOURCE_IDS);
+		Set<String> rememberedHeadResourceIds = (Set<String>) facesContext.getAttributes().get(HEAD_RESOURCE_IDS);
 
-		if (headResourceIdsFromFlash != null) {
+		if (rememberedHeadResourceIds != null) {
 			HeadManagedBean headManagedBean = HeadManagedBean.getInstance(facesContext);
-			Set<String> managedBeanResourceIds = headManagedBean.getHeadResourceIds();
 
-			for (String resourceIdFromFlash : headResourceIdsFromFlash) {
+			if (headManagedBean != null) {
+
+				Set<String> managedBeanResourceIds = headManagedBean.getHeadResourceIds();
+
+				if (managedBeanResourceIds != rememberedHeadResourceIds) {
 
-				if (!managedBeanResourceIds.contains(resourceIdFromFlash)) {
-					managedBeanResourceIds.add(resourceIdFromFlash);
-					logger.debug(
-						"Added resourceId=[{0}] from the Flash scope to the list of resourceIds in the HeadManagedBean for viewId=[{1}]",
-						resourceIdFromFlash, viewId);
+					String viewId = facesContext.getViewRoot().getViewId();
+
+					for (String rememberedResourceId : rememberedHeadResourceIds) {
+
+						if (managedBeanResourceIds.add(rememberedResourceId)) {
+							logger.debug(
+								"Added remembered resourceId=[{0}] to the list of resourceIds in the HeadManagedBean for viewId=[{1}]",
+								rememberedResourceId, viewId);
+						}
+					}
 				}
 			}
 		}
@@ -132,42 +139,33 @@ public class HeadPhaseListener implements PhaseListener {
 	 * PhaseId#APPLY_REQUEST_VALUES} phase. The list of resources would be contained in the {@link HeadManagedBean}
 	 * {@link ViewScoped} instance that is managed by the JSF managed-bean facility. The list would have been populated
 	 * initially in the {@link HeadManagedBean} by the {@link HeadRender} during the initial HTTP-GET of the portal
-	 * page. The way we "remember" the list is by placing it into the JSF 2 {@link Flash} scope. This scope is used
-	 * because it is very short-lived and survives any navigation-rules that might fire, thereby causing the rendering
-	 * of a new JSF view.</p>
+	 * page. The way we "remember" the list is by placing a reference to it into the {@link FacesContext} attributes.
+	 * Since Ajax requests execute the entire JSF lifecycle within a single {@link PortletRequest#RESOURCE_PHASE}, the
+	 * reference survives any navigation-rules that might fire, thereby causing the rendering of a new JSF view. Note
+	 * that this avoids the cost of a round-trip through the JSF 2 {@link javax.faces.context.Flash} scope.</p>
 	 *
 	 * <p>The story is continued in the {@link #beforeRenderResponsePhase(PhaseEvent)} method below...</p>
 	 */
 	protected void beforeApplyRequestValuesPhase(PhaseEvent phaseEvent) {
 
-		// Get the list of resourceIds that might be contained in the Flash scope. Note that they would have been
-		// placed into the Flash scope by this very same method, except during in the case below for the
-		// RENDER_RESPONSE phase.
 		FacesContext facesContext = phaseEvent.getFacesContext();
-		Flash flash = facesContext.getExternalContext().getFlash();
-
-		@SuppressWarnings("unchecked")
-		Set<String> headResourceIdsFromFlash = (Set<String>) flash.get(HEAD_RESOURCE_IDS);
 
 		// Log the viewId so that it can be visually compared with the value that is to be logged after the
 		// INVOKE_APPLICATION phase completes.
 		logger.debug("Before APPLY_REQUEST_VALUES: viewId=[{0}]", facesContext.getViewRoot().getViewId());
 
-		// If the Flash scope does not yet contain a list of head resourceIds, then the scope needs to be populated
-		// with a list so that the {@link #beforeRenderResponsePhase(PhaseEvent)} method below can retrieve it.
-		if (headResourceIdsFromFlash == null) {
+		// Remember the list of head resourceIds so that the beforeAjaxifiedRenderResponsePhase(PhaseEvent) method
+		// above can retrieve it.
+		HeadManagedBean headManagedBean = HeadManagedBean.getInstance(facesContext);
 
-			HeadManagedBean headManagedBean = HeadManagedBean.getInstance(facesContext);
+		// Note that in the case where a portlet RESOURCE_PHASE was invoked with a "portlet:resource" type of URL,
+		// there will be no HeadManagedBean available.
+		if (headManagedBean != null) {
 
-			// Note that in the case where a portlet RESOURCE_PHASE was invoked with a "portlet:resource" type of URL,
-			// there will be no HeadManagedBean available.
-			if (headManagedBean != null) {
+			Set<String> headResourceIds = headManagedBean.getHeadResourceIds();
 
-				Set<String> headResourceIds = headManagedBean.getHeadResourceIds();
-
-				if ((flash != null) && (headResourceIds != null) && (headResourceIds.size() > 0)) {
-					flash.put(HEAD_RESOURCE_IDS, headManagedBean.getHeadResourceIds());
-				}
+			if ((headResourceIds != null) && (headResourceIds.size() > 0)) {
+				facesContext.getAttributes().put(HEAD_RESOURCE_IDS, headResourceIds);
 			}
 		}
 	}
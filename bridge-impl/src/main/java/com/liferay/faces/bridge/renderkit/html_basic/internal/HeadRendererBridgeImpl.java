@@ -74,9 +74,13 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 	@Override
 	public void encodeChildren(FacesContext facesContext, UIComponent uiComponent) throws IOException {
 
-		// Build up a list of components that are intended for the <head> section of the portal page.
+		// Build up a list of components that are intended for the <head> section of the portal page. Note that the
+		// list is built in a single pass: the stylesheets in the view root are added directly, and only the scripts in
+		// the view root need to be held back until the components that are to appear in the middle have been added.
 		PortletNamingContainerUIViewRoot uiViewRoot = (PortletNamingContainerUIViewRoot) facesContext.getViewRoot();
-		List<UIComponent> uiComponentResources = new ArrayList<UIComponent>();
+		List<UIComponent> uiViewRootComponentResources = uiViewRoot.getComponentResources(facesContext,
+				StringPool.HEAD);
+		List<UIComponent> uiComponentResources = new ArrayList<UIComponent>(uiViewRootComponentResources.size() + 3);
 
 		// Add the list of components that are to appear first.
 		List<UIComponent> firstResources = getFirstResources(facesContext, uiComponent);
@@ -85,22 +89,14 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 			uiComponentResources.addAll(firstResources);
 		}
 
-		// Sort the components that are in the view root into stylesheets and scripts.
-		List<UIComponent> uiViewRootComponentResources = uiViewRoot.getComponentResources(facesContext,
-				StringPool.HEAD);
-		List<UIComponent> uiViewRootStyleSheetResources = null;
+		// Add the stylesheet components that are in the view root, and set aside the script components.
 		List<UIComponent> uiViewRootScriptResources = null;
 
 		for (UIComponent curComponent : uiViewRootComponentResources) {
 			String resourceName = (String) curComponent.getAttributes().get(StringPool.NAME);
 
 			if ((resourceName != null) && resourceName.endsWith(EXTENSION_CSS)) {
-
-				if (uiViewRootStyleSheetResources == null) {
-					uiViewRootStyleSheetResources = new ArrayList<UIComponent>();
-				}
-
-				uiViewRootStyleSheetResources.add(curComponent);
+				uiComponentResources.add(curComponent);
 			}
 			else {
 
@@ -112,11 +108,6 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 			}
 		}
 
-		// Add the list of stylesheet components that are in the view root.
-		if (uiViewRootStyleSheetResources != null) {
-			uiComponentResources.addAll(uiViewRootStyleSheetResources);
-		}
-
 		// Add the list of components that are to appear in the middle.
 		List<UIComponent> middleResources = getMiddleResources(facesContext, uiComponent);
 
@@ -138,8 +129,8 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 
 		// Initializations
 		boolean ajaxRequest = facesContext.getPartialViewContext().isAjaxRequest();
-		List<UIComponent> resourcesForAddingToHead = new ArrayList<UIComponent>();
-		List<UIComponent> resourcesForRelocatingToBody = new ArrayList<UIComponent>();
+		List<UIComponent> resourcesForAddingToHead = null;
+		List<UIComponent> resourcesForRelocatingToBody = null;
 		ExternalContext externalContext = facesContext.getExternalContext();
 		PortletRequest portletRequest = (PortletRequest) externalContext.getRequest();
 		BridgeContext bridgeContext = BridgeContext.getCurrentInstance();
@@ -172,13 +163,27 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 		ComponentResourceFactory componentResourceFactory = (ComponentResourceFactory) FactoryExtensionFinder
 			.getFactory(ComponentResourceFactory.class);
 
-		// For each resource in the ViewRoot: Determine if it should added to the <head> section of the portal page,
-		// or if it should be relocated to the body (which is actually not a <body> element, but a <div> element
-		// rendered by the bridge's BodyRenderer).
-		for (UIComponent uiComponentResource : uiComponentResources) {
+		// If this is not taking place during an Ajax request and this is not a Liferay runtime portlet, then every
+		// resource is either added to the <head> section of the portal page (if the portlet container has the
+		// ability to do so) or relocated to the body (which is actually not a <body> element, but a <div> element
+		// rendered by the bridge's BodyRenderer). In either case there is no need to examine each resource.
+		if (!ajaxRequest && !liferayRuntimePortlet) {
 
-			// If this is taking place during an Ajax request or this is a Liferay runtime portlet, then
-			if (ajaxRequest || liferayRuntimePortlet) {
+			if (portletContainerAbleToAddScriptResourceToHead) {
+				resourcesForAddingToHead = uiComponentResources;
+			}
+			else {
+				resourcesForRelocatingToBody = uiComponentResources;
+			}
+		}
+
+		// Otherwise, for each resource in the ViewRoot: Determine if it is already present in the <head> section of
+		// the portal page, or if it should be relocated to the body.
+		else {
+
+			resourcesForRelocatingToBody = new ArrayList<UIComponent>();
+
+			for (UIComponent uiComponentResource : uiComponentResources) {
 
 				// Determine whether or not the resource is already present in the <head> section of the portal page.
 				// Note that this can happen in one of two ways: 1) If this is NON-Liferay-Runtime portlet (currently
@@ -221,18 +226,6 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 					resourcesForRelocatingToBody.add(uiComponentResource);
 				}
 			}
-
-			// Otherwise, if the portlet container has the ability to add resources to the <head> section of the
-			// portal page, then add it to the list of resources that are to be added to the <head> section.
-			else if (portletContainerAbleToAddScriptResourceToHead) {
-				resourcesForAddingToHead.add(uiComponentResource);
-			}
-
-			// Otherwise, we have no choice but to add it to the list of resources that are to be relocated to
-			// the body.
-			else {
-				resourcesForRelocatingToBody.add(uiComponentResource);
-			}
 		}
 
 		// If the portlet container has the ability to add resources to the <head> section of the portal page, then
@@ -257,44 +250,47 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 			facesContext.setResponseWriter(headResponseWriter);
 
 			// For each resource:
-			for (UIComponent uiComponentResource : resourcesForAddingToHead) {
+			if (resourcesForAddingToHead != null) {
 
-				ComponentResource componentResource = componentResourceFactory.getComponentResource(
-						uiComponentResource);
+				for (UIComponent uiComponentResource : resourcesForAddingToHead) {
 
-				// Command the resource to render itself to the HeadResponseWriter
-				if (componentResource.isRenderable()) {
-					uiComponentResource.encodeAll(facesContext);
-				}
+					ComponentResource componentResource = componentResourceFactory.getComponentResource(
+							uiComponentResource);
 
-				String resourceId = componentResource.getId();
+					// Command the resource to render itself to the HeadResponseWriter
+					if (componentResource.isRenderable()) {
+						uiComponentResource.encodeAll(facesContext);
+					}
 
-				// If the resource has not yet been marked as having been added, then mark it now. Note that unless the
-				// resource is a RichFaces Resource Library (see comments below), the resource has probably already been
-				// marked as being in the head by ResourceRendererBridgeImpl#encodeEnd(FacesContext, UIComponent).
-				if (!headResourceIdsFromManagedBean.contains(resourceId)) {
+					String resourceId = componentResource.getId();
 
-					headResourceIdsFromManagedBean.add(resourceId);
+					// If the resource has not yet been marked as having been added, then mark it now. Note that unless
+					// the resource is a RichFaces Resource Library (see comments below), the resource has probably
+					// already been marked as being in the head by ResourceRendererBridgeImpl#encodeEnd(FacesContext,
+					// UIComponent).
+					if (!headResourceIdsFromManagedBean.contains(resourceId)) {
 
-					if (logger.isDebugEnabled()) {
+						headResourceIdsFromManagedBean.add(resourceId);
 
-						if (resourceId.endsWith(RICHFACES_RESLIB_SUFFIX) ||
-								RENDERER_TYPE_RICHFACES_RESOURCE_LIBRARY.equals(
-									uiComponentResource.getRendererType())) {
+						if (logger.isDebugEnabled()) {
 
-							// RichFaces has resources like "org.richfaces:base-component.reslib",
-							// "org.richfaces:message.reslib", and "org.richfaces:ajax.reslib" that represent a
-							// collection of resources.
-							logger.debug("Marking RichFaces resource library [{0}] as being present in the head",
-								resourceId);
-						}
-						else {
-							logger.debug("Marking non-RichFaces resourceId=[{0}] as being present in the head",
-								resourceId);
+							if (resourceId.endsWith(RICHFACES_RESLIB_SUFFIX) ||
+									RENDERER_TYPE_RICHFACES_RESOURCE_LIBRARY.equals(
+										uiComponentResource.getRendererType())) {
+
+								// RichFaces has resources like "org.richfaces:base-component.reslib",
+								// "org.richfaces:message.reslib", and "org.richfaces:ajax.reslib" that represent a
+								// collection of resources.
+								logger.debug("Marking RichFaces resource library [{0}] as being present in the head",
+									resourceId);
+							}
+							else {
+								logger.debug("Marking non-RichFaces resourceId=[{0}] as being present in the head",
+									resourceId);
+							}
 						}
 					}
 				}
-
 			}
 
 			super.encodeChildren(facesContext, uiComponent);
@@ -305,27 +301,29 @@ public class HeadRendererBridgeImpl extends BridgeRenderer {
 
 		// Relocate resources to the body if necessary. Note that the "ADDED" attribute has to be set to true
 		// in order to prevent events from firing during the relocation process.
-		for (UIComponent uiComponentResource : resourcesForRelocatingToBody) {
+		if (resourcesForRelocatingToBody != null) {
 
-			uiComponentResource.getAttributes().put(ORIGINAL_TARGET, StringPool.HEAD);
-			uiComponentResource.getAttributes().put(ADDED, Boolean.TRUE);
-			uiViewRoot.addComponentResource(facesContext, uiComponentResource, StringPool.BODY);
+			for (UIComponent uiComponentResource : resourcesForRelocatingToBody) {
 
-			if (logger.isDebugEnabled()) {
-				ComponentResource componentResource = componentResourceFactory.getComponentResource(
-						uiComponentResource);
+				uiComponentResource.getAttributes().put(ORIGINAL_TARGET, StringPool.HEAD);
+				uiComponentResource.getAttributes().put(ADDED, Boolean.TRUE);
+				uiViewRoot.addComponentResource(facesContext, uiComponentResource, StringPool.BODY);
 
-				logger.debug(
-					"Relocating resource to body: name=[{0}] library=[{1}] rendererType=[{2}] value=[{3}] className=[{4}]",
-					new Object[] {
-						componentResource.getName(), componentResource.getLibrary(),
-						uiComponentResource.getRendererType(),
-						ComponentResourceUtil.getComponentValue(uiComponentResource),
-						uiComponentResource.getClass().getName(),
-					});
+				if (logger.isDebugEnabled()) {
+					ComponentResource componentResource = componentResourceFactory.getComponentResource(
+							uiComponentResource);
+
+					logger.debug(
+						"Relocating resource to body: name=[{0}] library=[{1}] rendererType=[{2}] value=[{3}] className=[{4}]",
+						new Object[] {
+							componentResource.getName(), componentResource.getLibrary(),
+							uiComponentResource.getRendererType(),
+							ComponentResourceUtil.getComponentValue(uiComponentResource),
+							uiComponentResource.getClass().getName(),
+						});
+				}
 			}
 		}
-
 	}
 
 	@Override
@@ -53,6 +53,8 @@ public class FileUploadRendererPrimeFacesImpl extends RendererWrapper {
 	private static final String FQCN_UPLOADED_FILE = "org.primefaces.model.UploadedFile";
 
 	// Private Data Members
+	private volatile Constructor<?> defaultUploadedFileConstructor;
+	private volatile Constructor<?> fileUploadEventConstructor;
 	private Renderer wrappedRenderer;
 
 	public FileUploadRendererPrimeFacesImpl(Renderer renderer) {
@@ -91,9 +93,7 @@ public class FileUploadRendererPrimeFacesImpl extends RendererWrapper {
 						FileItem fileItem = new PrimeFacesFileItem(clientId, uploadedFile);
 
 						// Reflectively create an instance of the PrimeFaces DefaultUploadedFile class.
-						Class<?> defaultUploadedFileClass = Class.forName(FQCN_DEFAULT_UPLOADED_FILE);
-						Constructor<?> constructor = defaultUploadedFileClass.getDeclaredConstructor(FileItem.class);
-						Object defaultUploadedFile = constructor.newInstance(fileItem);
+						Object defaultUploadedFile = getDefaultUploadedFileConstructor().newInstance(fileItem);
 
 						// If the PrimeFaces FileUpload component is in "simple" mode, then simply set the submitted
 						// value of the component to the DefaultUploadedFile instance.
@@ -109,12 +109,8 @@ public class FileUploadRendererPrimeFacesImpl extends RendererWrapper {
 							logger.debug("Queuing FileUploadEvent for submittedValue=[{0}]", submittedValue);
 
 							// Reflectively create an instance of the PrimeFaces FileUploadEvent class.
-							Class<?> uploadedFileClass = Class.forName(FQCN_UPLOADED_FILE);
-							Class<?> fileUploadEventClass = Class.forName(FQCN_FILE_UPLOAD_EVENT);
-							constructor = fileUploadEventClass.getConstructor(UIComponent.class, uploadedFileClass);
-
-							FacesEvent fileUploadEvent = (FacesEvent) constructor.newInstance(uiComponent,
-									defaultUploadedFile);
+							FacesEvent fileUploadEvent = (FacesEvent) getFileUploadEventConstructor().newInstance(
+									uiComponent, defaultUploadedFile);
 
 							// Queue the event.
 							primeFacesFileUpload.queueEvent(fileUploadEvent);
@@ -128,6 +124,43 @@ public class FileUploadRendererPrimeFacesImpl extends RendererWrapper {
 		}
 	}
 
+	/**
+	 * Returns the constructor of the PrimeFaces DefaultUploadedFile class. Since this renderer lives as long as the
+	 * application, the constructor is resolved only one time rather than for each uploaded file. Resolving it more than
+	 * once in the case of a race condition is harmless, so there is no need for synchronization.
+	 */
+	protected Constructor<?> getDefaultUploadedFileConstructor() throws ClassNotFoundException, NoSuchMethodException {
+
+		Constructor<?> defaultUploadedFileConstructor = this.defaultUploadedFileConstructor;
+
+		if (defaultUploadedFileConstructor == null) {
+
+			Class<?> defaultUploadedFileClass = Class.forName(FQCN_DEFAULT_UPLOADED_FILE);
+			defaultUploadedFileConstructor = defaultUploadedFileClass.getDeclaredConstructor(FileItem.class);
+			this.defaultUploadedFileConstructor = defaultUploadedFileConstructor;
+		}
+
+		return defaultUploadedFileConstructor;
+	}
+
+	/**
+	 * Returns the constructor of the PrimeFaces FileUploadEvent class, which is resolved only one time.
+	 */
+	protected Constructor<?> getFileUploadEventConstructor() throws ClassNotFoundException, NoSuchMethodException {
+
+		Constructor<?> fileUploadEventConstructor = this.fileUploadEventConstructor;
+
+		if (fileUploadEventConstructor == null) {
+
+			Class<?> uploadedFileClass = Class.forName(FQCN_UPLOADED_FILE);
+			Class<?> fileUploadEventClass = Class.forName(FQCN_FILE_UPLOAD_EVENT);
+			fileUploadEventConstructor = fileUploadEventClass.getConstructor(UIComponent.class, uploadedFileClass);
+			this.fileUploadEventConstructor = fileUploadEventConstructor;
+		}
+
+		return fileUploadEventConstructor;
+	}
+
 	@Override
 	public Renderer getWrapped() {
 		return wrappedRenderer;
@@ -13,6 +13,8 @@
  */
 package com.liferay.faces.bridge.renderkit.richfaces.internal;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +49,8 @@ public class FileUploadRendererRichFacesImpl extends RendererWrapper {
 	private static final String RICHFACES_FILE_UPLOAD_EVENT_FQCN = "org.richfaces.event.FileUploadEvent";
 
 	// Private Data Members
+	private volatile Constructor<?> fileUploadEventConstructor;
+	private volatile Constructor<?> uploadedFileProxyConstructor;
 	private Renderer wrappedRenderer;
 
 	public FileUploadRendererRichFacesImpl(Renderer renderer) {
@@ -71,23 +75,23 @@ public class FileUploadRendererRichFacesImpl extends RendererWrapper {
 
 			if (uploadedFileMap != null) {
 
-				// Use reflection to create a dynamic proxy class that implements the RichFaces UploadedFile interface.
-				Class<?> uploadedFileInterface = Class.forName(RICHFACES_UPLOADED_FILE_FQCN);
-				Class<?> fileUploadEventClass = Class.forName(RICHFACES_FILE_UPLOAD_EVENT_FQCN);
-				ClassLoader classLoader = uploadedFileInterface.getClassLoader();
-
 				String clientId = uiComponent.getClientId(facesContext);
 				List<UploadedFile> uploadedFiles = uploadedFileMap.get(clientId);
 
 				if (uploadedFiles != null) {
 
+					// Use reflection to create dynamic proxy instances that implement the RichFaces UploadedFile
+					// interface.
+					Constructor<?> uploadedFileProxyConstructor = getUploadedFileProxyConstructor();
+					Constructor<?> fileUploadEventConstructor = getFileUploadEventConstructor();
+
 					for (UploadedFile uploadedFile : uploadedFiles) {
 						RichFacesUploadedFileHandler richFacesUploadedFileHandler = new RichFacesUploadedFileHandler(
 								uploadedFile);
-						Object richFacesUploadedFile = Proxy.newProxyInstance(classLoader,
-								new Class[] { uploadedFileInterface }, richFacesUploadedFileHandler);
-						FacesEvent fileUploadEvent = (FacesEvent) fileUploadEventClass.getConstructor(UIComponent.class,
-								uploadedFileInterface).newInstance(uiComponent, richFacesUploadedFile);
+						Object richFacesUploadedFile = uploadedFileProxyConstructor.newInstance(
+								richFacesUploadedFileHandler);
+						FacesEvent fileUploadEvent = (FacesEvent) fileUploadEventConstructor.newInstance(uiComponent,
+								richFacesUploadedFile);
 
 						// Queue the RichFaces FileUploadEvent instance so that it can be handled with an
 						// ActionListener.
@@ -101,6 +105,46 @@ public class FileUploadRendererRichFacesImpl extends RendererWrapper {
 		}
 	}
 
+	/**
+	 * Returns the constructor of the RichFaces FileUploadEvent class. Since this renderer lives as long as the
+	 * application, the constructor is resolved only one time rather than for each postback. Resolving it more than once
+	 * in the case of a race condition is harmless, so there is no need for synchronization.
+	 */
+	protected Constructor<?> getFileUploadEventConstructor() throws ClassNotFoundException, NoSuchMethodException {
+
+		Constructor<?> fileUploadEventConstructor = this.fileUploadEventConstructor;
+
+		if (fileUploadEventConstructor == null) {
+
+			Class<?> uploadedFileInterface = Class.forName(RICHFACES_UPLOADED_FILE_FQCN);
+			Class<?> fileUploadEventClass = Class.forName(RICHFACES_FILE_UPLOAD_EVENT_FQCN);
+			fileUploadEventConstructor = fileUploadEventClass.getConstructor(UIComponent.class, uploadedFileInterface);
+			this.fileUploadEventConstructor = fileUploadEventConstructor;
+		}
+
+		return fileUploadEventConstructor;
+	}
+
+	/**
+	 * Returns the constructor of the dynamic proxy class that implements the RichFaces UploadedFile interface, which is
+	 * resolved only one time.
+	 */
+	protected Constructor<?> getUploadedFileProxyConstructor() throws ClassNotFoundException, NoSuchMethodException {
+
+		Constructor<?> uploadedFileProxyConstructor = this.uploadedFileProxyConstructor;
+
+		if (uploadedFileProxyConstructor == null) {
+
+			Class<?> uploadedFileInterface = Class.forName(RICHFACES_UPLOADED_FILE_FQCN);
+			ClassLoader classLoader = uploadedFileInterface.getClassLoader();
+			Class<?> proxyClass = Proxy.getProxyClass(classLoader, uploadedFileInterface);
+			uploadedFileProxyConstructor = proxyClass.getConstructor(InvocationHandler.class);
+			this.uploadedFileProxyConstructor = uploadedFileProxyConstructor;
+		}
+
+		return uploadedFileProxyConstructor;
+	}
+
 	@Override
 	public Renderer getWrapped() {
 		return wrappedRenderer;
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.faces.application.FacesMessage;
 import javax.faces.component.UIViewRoot;
@@ -52,6 +53,7 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpSession;
 
 import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.config.internal.PortletConfigParamValues;
 import com.liferay.faces.bridge.context.BridgeContext;
 import com.liferay.faces.bridge.context.IncongruityContext;
 import com.liferay.faces.bridge.util.internal.FacesMessageWrapper;
@@ -93,6 +95,8 @@ public class BridgeRequestScopeImpl extends BridgeRequestScopeCompat_2_2_Impl im
 
 	// Other Private Constants
 	private static final String JAVAX_FACES_ENCODED_URL_PARAM = "javax.faces.encodedURL";
+	private static final String SESSIONLESS_ID_PREFIX = "sessionless-";
+	private static final AtomicLong SESSIONLESS_SEQUENCE = new AtomicLong();
 
 	// Private Data Members
 	private Bridge.PortletPhase beganInPhase;
@@ -118,9 +122,29 @@ public class BridgeRequestScopeImpl extends BridgeRequestScopeCompat_2_2_Impl im
 
 		portletName = portletConfig.getPortletName();
 
-		PortletSession portletSession = portletRequest.getPortletSession();
-		String sessionId = portletSession.getId();
-		this.idPrefix = portletName + ":::" + sessionId + ":::";
+		PortletSession portletSession;
+		PortletConfigParamValues portletConfigParamValues = PortletConfigParamValues.getInstance(portletConfig);
+
+		if (portletConfigParamValues.isSessionCreatedOnDemand()) {
+			portletSession = portletRequest.getPortletSession(false);
+		}
+		else {
+			portletSession = portletRequest.getPortletSession();
+		}
+
+		String sessionId;
+
+		// If the session is created on demand and does not yet exist, then a sequence number is used (instead of the
+		// session id) in order to keep the id unique. Note that the prefix is replaced with one that contains the
+		// session id if the scope is ever cached.
+		if (portletSession == null) {
+			sessionId = SESSIONLESS_ID_PREFIX + SESSIONLESS_SEQUENCE.incrementAndGet();
+		}
+		else {
+			sessionId = portletSession.getId();
+		}
+
+		this.idPrefix = getIdPrefix(portletName, sessionId);
 		this.idSuffix = Long.toString(this.dateCreated);
 
 		this.excludedAttributeNames = new ArrayList<String>();
@@ -683,6 +707,13 @@ public class BridgeRequestScopeImpl extends BridgeRequestScopeCompat_2_2_Impl im
 		return idPrefix + idSuffix;
 	}
 
+	/**
+	 * Returns the prefix of the id of a bridge request scope that was created for the specified portlet and session.
+	 */
+	public static String getIdPrefix(String portletName, String sessionId) {
+		return portletName + ":::" + sessionId + ":::";
+	}
+
 	public void setIdPrefix(String idPrefix) {
 		this.idPrefix = idPrefix;
 	}
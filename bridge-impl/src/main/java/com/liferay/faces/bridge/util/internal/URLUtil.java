@@ -21,7 +21,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import com.liferay.faces.bridge.internal.BridgeConstants;
 import com.liferay.faces.util.lang.StringPool;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
@@ -35,70 +34,99 @@ public class URLUtil {
 	// Logger
 	private static final Logger logger = LoggerFactory.getLogger(URLUtil.class);
 
+	// Private Constants
+	private static final String ENCODED_AMPERSAND_SUFFIX = StringPool.AMPERSAND_ENCODED.substring(1);
+
 	public static Map<String, String[]> parseParameterMapValuesArray(String url) {
+
 		Map<String, String[]> parameterMapValuesArray = new LinkedHashMap<String, String[]>();
 
 		if (url != null) {
-			int pos = url.indexOf(StringPool.QUESTION);
+			parseParameterMapValuesArray(url, url.indexOf(StringPool.QUESTION), parameterMapValuesArray);
+		}
+
+		return parameterMapValuesArray;
+	}
 
-			if (pos > 0) {
-				String queryString = url.substring(pos + 1);
-				queryString = queryString.replaceAll(StringPool.AMPERSAND_ENCODED, StringPool.AMPERSAND);
+	/**
+	 * Parses the query-string of the specified URL into the specified map in a single pass, without allocating
+	 * intermediate strings for the query-string or the name=value pairs. Occurrences of &amp;amp; are regarded as
+	 * parameter delimiters and the fragment identifier (if any) is ignored.
+	 *
+	 * @param  url                      The URL to parse.
+	 * @param  questionPos              The position of the question-mark character within the specified URL, or -1 if
+	 *                                  it is not present.
+	 * @param  parameterMapValuesArray  The map that is to receive the parameters in the order in which they appear.
+	 */
+	public static void parseParameterMapValuesArray(String url, int questionPos,
+		Map<String, String[]> parameterMapValuesArray) {
+
+		if (questionPos > 0) {
+
+			int queryStart = questionPos + 1;
+			int queryEnd = url.indexOf(StringPool.POUND, queryStart);
+
+			if (queryEnd <= queryStart) {
+				queryEnd = url.length();
+			}
+
+			int tokenStart = queryStart;
+
+			while (tokenStart < queryEnd) {
+
+				int tokenEnd = url.indexOf(StringPool.AMPERSAND, tokenStart);
+
+				if ((tokenEnd < 0) || (tokenEnd > queryEnd)) {
+					tokenEnd = queryEnd;
+				}
 
-				if ((queryString != null) && (queryString.length() > 0)) {
+				if (tokenEnd > tokenStart) {
 
-					pos = queryString.indexOf(StringPool.POUND);
+					int equalsPos = url.indexOf(StringPool.EQUAL, tokenStart);
 
-					if (pos > 0) {
-						queryString = queryString.substring(0, pos);
+					if ((equalsPos < 0) || (equalsPos >= tokenEnd)) {
+						addParameterValue(parameterMapValuesArray, url.substring(tokenStart, tokenEnd),
+							StringPool.BLANK);
 					}
+					else {
 
-					String[] queryParameters = queryString.split(BridgeConstants.REGEX_AMPERSAND_DELIMITER);
-
-					for (String queryParameter : queryParameters) {
-						String[] nameValueArray = queryParameter.split("[=]");
-
-						if (nameValueArray != null) {
-
-							String name = nameValueArray[0];
-							String[] existingValues = parameterMapValuesArray.get(name);
-
-							if (nameValueArray.length == 1) {
-								String[] newValues = null;
-
-								if (existingValues == null) {
-									newValues = new String[] { StringPool.BLANK };
-								}
-								else {
-									newValues = Arrays.copyOf(existingValues, existingValues.length + 1);
-									newValues[existingValues.length] = StringPool.BLANK;
-								}
-
-								parameterMapValuesArray.put(name, newValues);
-							}
-							else if (nameValueArray.length == 2) {
-								String[] newValues = null;
-
-								if (existingValues == null) {
-									newValues = new String[] { nameValueArray[1] };
-								}
-								else {
-									newValues = Arrays.copyOf(existingValues, existingValues.length + 1);
-									newValues[existingValues.length] = nameValueArray[1];
-								}
-
-								parameterMapValuesArray.put(name, newValues);
-							}
-							else {
-								logger.error("Invalid name=value pair=[{0}] in URL=[{1}]", nameValueArray, url);
-							}
+						int extraEqualsPos = url.indexOf(StringPool.EQUAL, equalsPos + 1);
+
+						if ((extraEqualsPos < 0) || (extraEqualsPos >= tokenEnd)) {
+							addParameterValue(parameterMapValuesArray, url.substring(tokenStart, equalsPos),
+								url.substring(equalsPos + 1, tokenEnd));
+						}
+						else {
+							logger.error("Invalid name=value pair=[{0}] in URL=[{1}]",
+								url.substring(tokenStart, tokenEnd), url);
 						}
 					}
 				}
+
+				// Skip the delimiter, which might be an encoded ampersand.
+				tokenStart = tokenEnd + 1;
+
+				if (url.startsWith(ENCODED_AMPERSAND_SUFFIX, tokenStart)) {
+					tokenStart += ENCODED_AMPERSAND_SUFFIX.length();
+				}
 			}
 		}
+	}
+
+	private static void addParameterValue(Map<String, String[]> parameterMapValuesArray, String name, String value) {
+
+		String[] existingValues = parameterMapValuesArray.get(name);
+		String[] newValues;
+
+		if (existingValues == null) {
+			newValues = new String[] { value };
+		}
+		else {
+			newValues = Arrays.copyOf(existingValues, existingValues.length + 1);
+			newValues[existingValues.length] = value;
+		}
 
-		return parameterMapValuesArray;
+		parameterMapValuesArray.put(name, newValues);
 	}
 
 	public static Map<String, List<String>> parseParameterMapValuesList(String url) {
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge;
+
+import javax.faces.FactoryFinder;
+import javax.faces.lifecycle.LifecycleFactory;
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+import javax.portlet.PortletSession;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.config.BridgeConfigFactoryMockImpl;
+import com.liferay.faces.bridge.config.PortletConfigMockImpl;
+import com.liferay.faces.bridge.context.BridgeContextFactoryMockImpl;
+import com.liferay.faces.bridge.context.FacesContextFactoryMockImpl;
+import com.liferay.faces.bridge.context.internal.IncongruityContextFactoryImpl;
+import com.liferay.faces.bridge.filter.BridgePortletContextFactoryMockImpl;
+import com.liferay.faces.bridge.filter.BridgePortletRequestFactoryMockImpl;
+import com.liferay.faces.bridge.filter.BridgePortletResponseFactoryMockImpl;
+import com.liferay.faces.bridge.internal.BridgePhaseActionImpl;
+import com.liferay.faces.bridge.internal.BridgePhaseEnvironment;
+import com.liferay.faces.bridge.lifecycle.LifecycleFactoryMockImpl;
+import com.liferay.faces.bridge.lifecycle.LifecycleMockImpl;
+import com.liferay.faces.bridge.scope.BridgeRequestScope;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeCache;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeFactoryMockImpl;
+import com.liferay.faces.bridge.scope.internal.BridgeRequestScopeCacheFactoryImpl;
+import com.liferay.faces.portlet.ActionRequestMockImpl;
+import com.liferay.faces.portlet.ActionResponseMockImpl;
+import com.liferay.faces.portlet.PortletContextMockImpl;
+import com.liferay.faces.util.config.ConfiguredElement;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class BridgePhaseActionTest {
+
+	@Before
+	public void setUp() {
+
+		registerFactory(BridgeConfigFactoryMockImpl.class);
+		registerFactory(BridgeContextFactoryMockImpl.class);
+		registerFactory(BridgePortletContextFactoryMockImpl.class);
+		registerFactory(BridgePortletRequestFactoryMockImpl.class);
+		registerFactory(BridgePortletResponseFactoryMockImpl.class);
+		registerFactory(BridgeRequestScopeCacheFactoryImpl.class);
+		registerFactory(BridgeRequestScopeFactoryMockImpl.class);
+		registerFactory(IncongruityContextFactoryImpl.class);
+
+		FactoryFinder.setFactory(FactoryFinder.FACES_CONTEXT_FACTORY, FacesContextFactoryMockImpl.class.getName());
+		FactoryFinder.setFactory(FactoryFinder.LIFECYCLE_FACTORY, LifecycleFactoryMockImpl.class.getName());
+	}
+
+	@After
+	public void tearDown() {
+		FactoryFinder.releaseFactories();
+	}
+
+	@Test
+	public void testSessionCreatedOnDemand() {
+
+		PortletConfig portletConfig = newPortletConfig("portletSessionCreatedOnDemand");
+		BridgeConfig bridgeConfig = BridgePhaseEnvironment.getInstance(portletConfig).getBridgeConfig();
+		ActionRequestMockImpl actionRequest = new ActionRequestMockImpl("/context-path", "session1");
+		ActionResponseMockImpl actionResponse = new ActionResponseMockImpl();
+
+		// A sessionless action request must cause the Faces lifecycle to be executed.
+		new BridgePhaseActionImpl(actionRequest, actionResponse, portletConfig, bridgeConfig).execute();
+
+		LifecycleFactory lifecycleFactory = (LifecycleFactory) FactoryFinder.getFactory(
+				FactoryFinder.LIFECYCLE_FACTORY);
+		LifecycleMockImpl lifecycle = (LifecycleMockImpl) lifecycleFactory.getLifecycle(
+				LifecycleFactory.DEFAULT_LIFECYCLE);
+		Assert.assertEquals(1, lifecycle.getExecuteCount());
+
+		// Since the bridge request scope is maintained for the subsequent render request, the session must have been
+		// created in order for the cached bridge request scope to be removed when the session expires.
+		PortletSession portletSession = actionRequest.getPortletSession(false);
+		Assert.assertNotNull(portletSession);
+
+		String bridgeRequestScopeKey = "portletSessionCreatedOnDemand" +
+			"com.liferay.faces.bridge.bridgeRequestScopeId";
+		String[] bridgeRequestScopeIds = actionResponse.getRenderParameterMap().get(bridgeRequestScopeKey);
+		Assert.assertNotNull(bridgeRequestScopeIds);
+
+		String bridgeRequestScopeId = bridgeRequestScopeIds[0];
+		Assert.assertEquals("session1", bridgeRequestScopeId.split("[:][:][:]")[1]);
+
+		BridgeRequestScopeCache bridgeRequestScopeCache = BridgePhaseEnvironment.getInstance(portletConfig)
+			.getBridgeRequestScopeCache();
+		Assert.assertEquals(1, bridgeRequestScopeCache.size());
+
+		BridgeRequestScope bridgeRequestScope = bridgeRequestScopeCache.get(bridgeRequestScopeId);
+		Assert.assertNotNull(bridgeRequestScope);
+		Assert.assertEquals(bridgeRequestScopeId, bridgeRequestScope.getId());
+
+		for (String cachedBridgeRequestScopeId : bridgeRequestScopeCache.keySet()) {
+			Assert.assertFalse(cachedBridgeRequestScopeId.contains("sessionless-"));
+		}
+	}
+
+	protected PortletConfig newPortletConfig(final String portletName) {
+
+		final PortletContext portletContext = new PortletContextMockImpl();
+
+		return new PortletConfigMockImpl() {
+
+				@Override
+				public String getInitParameter(String name) {
+
+					if ("com.liferay.faces.bridge.sessionCreatedOnDemand".equals(name)) {
+						return Boolean.TRUE.toString();
+					}
+					else {
+						return null;
+					}
+				}
+
+				@Override
+				public PortletContext getPortletContext() {
+					return portletContext;
+				}
+
+				@Override
+				public String getPortletName() {
+					return portletName;
+				}
+			};
+	}
+
+	protected void registerFactory(final Class<?> factoryClass) {
+
+		FactoryExtensionFinder.getInstance().registerFactory(new ConfiguredElement() {
+
+				public String getName() {
+					return factoryClass.getSimpleName();
+				}
+
+				public String getValue() {
+					return factoryClass.getName();
+				}
+			});
+	}
+}
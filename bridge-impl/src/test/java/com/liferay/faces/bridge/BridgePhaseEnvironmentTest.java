@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge;
+
+import javax.faces.FactoryFinder;
+import javax.faces.lifecycle.Lifecycle;
+import javax.faces.lifecycle.LifecycleFactory;
+import javax.faces.webapp.FacesServlet;
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.config.BridgeConfigFactoryMockImpl;
+import com.liferay.faces.bridge.config.PortletConfigMockImpl;
+import com.liferay.faces.bridge.context.BridgeContextFactoryMockImpl;
+import com.liferay.faces.bridge.context.FacesContextFactoryMockImpl;
+import com.liferay.faces.bridge.context.internal.IncongruityContextFactoryImpl;
+import com.liferay.faces.bridge.filter.BridgePortletContextFactoryMockImpl;
+import com.liferay.faces.bridge.internal.BridgePhaseEnvironment;
+import com.liferay.faces.bridge.lifecycle.LifecycleFactoryMockImpl;
+import com.liferay.faces.bridge.lifecycle.LifecycleMockImpl;
+import com.liferay.faces.bridge.scope.BridgeRequestScopeFactoryMockImpl;
+import com.liferay.faces.bridge.scope.internal.BridgeRequestScopeCacheFactoryImpl;
+import com.liferay.faces.portlet.PortletContextMockImpl;
+import com.liferay.faces.util.config.ConfiguredElement;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class BridgePhaseEnvironmentTest {
+
+	@Before
+	public void setUp() {
+
+		registerFactory(BridgeConfigFactoryMockImpl.class);
+		registerFactory(BridgeContextFactoryMockImpl.class);
+		registerFactory(BridgePortletContextFactoryMockImpl.class);
+		registerFactory(BridgeRequestScopeCacheFactoryImpl.class);
+		registerFactory(BridgeRequestScopeFactoryMockImpl.class);
+		registerFactory(IncongruityContextFactoryImpl.class);
+
+		FactoryFinder.setFactory(FactoryFinder.FACES_CONTEXT_FACTORY, FacesContextFactoryMockImpl.class.getName());
+		FactoryFinder.setFactory(FactoryFinder.LIFECYCLE_FACTORY, LifecycleFactoryMockImpl.class.getName());
+	}
+
+	@After
+	public void tearDown() {
+		FactoryFinder.releaseFactories();
+	}
+
+	@Test
+	public void testGetInstance() {
+
+		PortletContextMockImpl portletContext = new PortletContextMockImpl();
+		PortletConfig portletConfig = newPortletConfig(portletContext, "portletEnvironment");
+
+		// The environment must be built once per portlet and then obtained from the portlet context.
+		BridgePhaseEnvironment bridgePhaseEnvironment = BridgePhaseEnvironment.getInstance(portletConfig);
+		Assert.assertSame(bridgePhaseEnvironment, BridgePhaseEnvironment.getInstance(portletConfig));
+		Assert.assertSame(bridgePhaseEnvironment,
+			portletContext.getAttribute(BridgePhaseEnvironment.class.getName() + ".portletEnvironment"));
+
+		Assert.assertSame(portletConfig, bridgePhaseEnvironment.getPortletConfig());
+		Assert.assertSame(portletContext, bridgePhaseEnvironment.getPortletContext());
+		Assert.assertNotNull(bridgePhaseEnvironment.getBridgeConfig());
+		Assert.assertTrue(bridgePhaseEnvironment.getBridgeContextFactory() instanceof BridgeContextFactoryMockImpl);
+		Assert.assertTrue(bridgePhaseEnvironment.getBridgeRequestScopeFactory() instanceof
+			BridgeRequestScopeFactoryMockImpl);
+		Assert.assertTrue(bridgePhaseEnvironment.getIncongruityContextFactory() instanceof
+			IncongruityContextFactoryImpl);
+		Assert.assertTrue(bridgePhaseEnvironment.getFacesContextFactory() instanceof FacesContextFactoryMockImpl);
+		Assert.assertTrue(bridgePhaseEnvironment.getFacesLifecycle() instanceof LifecycleMockImpl);
+		Assert.assertTrue(bridgePhaseEnvironment.getPortletConfigParamValues().isSessionCreatedOnDemand());
+
+		// The bridge request scope cache is shared by all of the portlets in the portlet context.
+		Assert.assertSame(bridgePhaseEnvironment.getBridgeRequestScopeCache(),
+			portletContext.getAttribute("com.liferay.faces.bridge.bridgeRequestScopeCache"));
+
+		// The render parameter that holds the bridge request scope id is namespaced with the portlet name.
+		Assert.assertEquals("portletEnvironmentcom.liferay.faces.bridge.bridgeRequestScopeId",
+			bridgePhaseEnvironment.getBridgeRequestScopeKey());
+	}
+
+	@Test
+	public void testInitialize() {
+
+		PortletContextMockImpl portletContext = new PortletContextMockImpl();
+		PortletConfig portletConfig1 = newPortletConfig(portletContext, "portletEnvironment1");
+		PortletConfig portletConfig2 = newPortletConfig(portletContext, "portletEnvironment2");
+
+		// Each portlet in the portlet context must have its own environment.
+		BridgePhaseEnvironment bridgePhaseEnvironment1 = BridgePhaseEnvironment.initialize(portletConfig1);
+		BridgePhaseEnvironment bridgePhaseEnvironment2 = BridgePhaseEnvironment.initialize(portletConfig2);
+		Assert.assertNotSame(bridgePhaseEnvironment1, bridgePhaseEnvironment2);
+		Assert.assertSame(bridgePhaseEnvironment1, BridgePhaseEnvironment.getInstance(portletConfig1));
+		Assert.assertSame(bridgePhaseEnvironment2, BridgePhaseEnvironment.getInstance(portletConfig2));
+		Assert.assertSame(bridgePhaseEnvironment1.getBridgeRequestScopeCache(),
+			bridgePhaseEnvironment2.getBridgeRequestScopeCache());
+		Assert.assertFalse(bridgePhaseEnvironment1.getBridgeRequestScopeKey().equals(
+				bridgePhaseEnvironment2.getBridgeRequestScopeKey()));
+
+		// Initializing the environment again (as when the bridge is re-initialized) must replace the previous one.
+		BridgePhaseEnvironment bridgePhaseEnvironment3 = BridgePhaseEnvironment.initialize(portletConfig1);
+		Assert.assertNotSame(bridgePhaseEnvironment1, bridgePhaseEnvironment3);
+		Assert.assertSame(bridgePhaseEnvironment3, BridgePhaseEnvironment.getInstance(portletConfig1));
+	}
+
+	@Test
+	public void testLifecycleId() {
+
+		LifecycleFactory lifecycleFactory = (LifecycleFactory) FactoryFinder.getFactory(
+				FactoryFinder.LIFECYCLE_FACTORY);
+		Lifecycle customLifecycle = new LifecycleMockImpl();
+		lifecycleFactory.addLifecycle("custom", customLifecycle);
+
+		// The lifecycle that is specified by the javax.faces.LIFECYCLE_ID context-param must be used instead of the
+		// default lifecycle.
+		PortletContextMockImpl portletContext = new PortletContextMockImpl();
+		portletContext.setInitParameter(FacesServlet.LIFECYCLE_ID_ATTR, "custom");
+
+		PortletConfig portletConfig = newPortletConfig(portletContext, "portletEnvironmentLifecycle");
+		Assert.assertSame(customLifecycle, BridgePhaseEnvironment.getInstance(portletConfig).getFacesLifecycle());
+	}
+
+	protected PortletConfig newPortletConfig(final PortletContext portletContext, final String portletName) {
+
+		return new PortletConfigMockImpl() {
+
+				@Override
+				public String getInitParameter(String name) {
+
+					if ("com.liferay.faces.bridge.sessionCreatedOnDemand".equals(name)) {
+						return Boolean.TRUE.toString();
+					}
+					else {
+						return null;
+					}
+				}
+
+				@Override
+				public PortletContext getPortletContext() {
+					return portletContext;
+				}
+
+				@Override
+				public String getPortletName() {
+					return portletName;
+				}
+			};
+	}
+
+	protected void registerFactory(final Class<?> factoryClass) {
+
+		FactoryExtensionFinder.getInstance().registerFactory(new ConfiguredElement() {
+
+				public String getName() {
+					return factoryClass.getSimpleName();
+				}
+
+				public String getValue() {
+					return factoryClass.getName();
+				}
+			});
+	}
+}
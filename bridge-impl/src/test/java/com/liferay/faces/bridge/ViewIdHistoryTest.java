@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.PortletSession;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.internal.ViewIdHistory;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+import com.liferay.faces.portlet.PortletSessionMockImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ViewIdHistoryTest {
+
+	@Test
+	public void testSessionCreatedOnDemand() {
+
+		SessionTrackingPortletRequest portletRequest = new SessionTrackingPortletRequest();
+		ViewIdHistory viewIdHistory = new ViewIdHistory(getDefaultViewIdMap(), true);
+
+		// A stateless GET render of the default view must not cause a session to be created.
+		viewIdHistory.initialize(portletRequest);
+		viewIdHistory.setViewId(portletRequest, "view", "/views/view.xhtml");
+		Assert.assertNull(portletRequest.getPortletSession(false));
+
+		// Navigating to a view other than the default view requires the history to be recorded in a new session that
+		// is seeded with the default viewIds.
+		viewIdHistory.setViewId(portletRequest, "view", "/views/other.xhtml");
+
+		PortletSessionMockImpl portletSession = (PortletSessionMockImpl) portletRequest.getPortletSession(false);
+		Assert.assertNotNull(portletSession);
+		Assert.assertEquals("/views/other.xhtml",
+			portletSession.getAttribute(ViewIdHistory.getAttributeName("view")));
+		Assert.assertEquals("/views/edit.xhtml", portletSession.getAttribute(ViewIdHistory.getAttributeName("edit")));
+
+		// Rendering the same view again must not cause the attribute to be written again.
+		int setAttributeCount = portletSession.getSetAttributeCount();
+		viewIdHistory.initialize(portletRequest);
+		viewIdHistory.setViewId(portletRequest, "view", "/views/other.xhtml");
+		Assert.assertEquals(setAttributeCount, portletSession.getSetAttributeCount());
+	}
+
+	@Test
+	public void testSessionCreatedOnEveryRequest() {
+
+		SessionTrackingPortletRequest portletRequest = new SessionTrackingPortletRequest();
+		ViewIdHistory viewIdHistory = new ViewIdHistory(getDefaultViewIdMap(), false);
+		viewIdHistory.initialize(portletRequest);
+
+		PortletSession portletSession = portletRequest.getPortletSession(false);
+		Assert.assertNotNull(portletSession);
+		Assert.assertEquals("/views/view.xhtml", portletSession.getAttribute(ViewIdHistory.getAttributeName("view")));
+	}
+
+	protected Map<String, String> getDefaultViewIdMap() {
+
+		Map<String, String> defaultViewIdMap = new HashMap<String, String>();
+		defaultViewIdMap.put("view", "/views/view.xhtml");
+		defaultViewIdMap.put("edit", "/views/edit.xhtml");
+
+		return defaultViewIdMap;
+	}
+
+	protected static class SessionTrackingPortletRequest extends PortletRequestMockImpl {
+
+		// Private Data Members
+		private PortletSession portletSession;
+
+		public SessionTrackingPortletRequest() {
+			super("/context-path");
+		}
+
+		@Override
+		public PortletSession getPortletSession() {
+			return getPortletSession(true);
+		}
+
+		@Override
+		public PortletSession getPortletSession(boolean create) {
+
+			if ((portletSession == null) && create) {
+				portletSession = new PortletSessionMockImpl();
+			}
+
+			return portletSession;
+		}
+	}
+}
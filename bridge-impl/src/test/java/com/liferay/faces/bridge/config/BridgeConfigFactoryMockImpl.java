@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.config;
+
+import java.util.Set;
+
+import javax.portlet.PortletConfig;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class BridgeConfigFactoryMockImpl extends BridgeConfigFactory {
+
+	@Override
+	public BridgeConfig getBridgeConfig(PortletConfig portletConfig) {
+
+		return new BridgeConfigMockImpl() {
+
+				@Override
+				public Set<String> getExcludedRequestAttributes() {
+					return null;
+				}
+			};
+	}
+
+	@Override
+	public PortletConfig getPortletConfig(PortletConfig portletConfig) {
+		return portletConfig;
+	}
+
+	@Override
+	public BridgeConfigFactory getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
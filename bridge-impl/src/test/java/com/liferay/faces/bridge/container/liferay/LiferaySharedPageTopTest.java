@@ -28,10 +28,11 @@ import junit.framework.Assert;
 
 
 /**
- * The purpose of this test is to verify that the {@link LiferaySharedPageTop} class is working properly in a
- * multi-threaded environment. It starts up 10,000 threads, each of which attempts to create a {@link
- * LiferaySharedPageTop} instance that parses an XML document and removes duplicate link and script elements. Note that
- * not all of the threads have a chance to terminate gracefully before the JVM terminates, but that's OK.
+ * The purpose of this test is to verify that the {@link LiferaySharedPageTop} class scans the page top markup
+ * correctly, and that it is working properly in a multi-threaded environment. The multi-threaded test starts up 10,000
+ * threads, each of which attempts to create a {@link LiferaySharedPageTop} instance that scans the page top markup and
+ * removes duplicate link and script elements. Note that not all of the threads have a chance to terminate gracefully
+ * before the JVM terminates, but that's OK.
  *
  * @author  Neil Griffin
  */
@@ -111,6 +112,139 @@ public class LiferaySharedPageTopTest {
 		totalFailed++;
 	}
 
+	@Test
+	public void testAttributeQuoting() {
+
+		// The same URL must be recognized regardless of whether the attribute value is double-quoted, single-quoted or
+		// unquoted, and regardless of the case of the attribute name.
+		String markup = "<script src=\"/a.js\"></script>" + "<script SRC='/a.js'></script>" +
+			"<script src=/a.js></script>" + "<script src = \"/b.js\"></script>";
+		Assert.assertEquals("<script src=\"/a.js\"></script>" + "<script src = \"/b.js\"></script>",
+			removeDuplicates(markup));
+
+		// A '>' character inside of a quoted attribute value must not terminate the start tag.
+		markup = "<link title=\"a>b\" href=\"/a.css\"><link href=\"/a.css\" title='c>d'>";
+		Assert.assertEquals("<link title=\"a>b\" href=\"/a.css\">", removeDuplicates(markup));
+
+		// An attribute whose name merely ends with "src" must not be mistaken for the src attribute.
+		markup = "<script data-src=\"/a.js\"></script><script data-src=\"/a.js\"></script>";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+	}
+
+	@Test
+	public void testEntityDecoding() {
+
+		// URLs that only differ in the way that characters are encoded as entities are duplicates, and the markup of
+		// the first occurrence is written back verbatim.
+		String encoded = "<script src=\"/x.js?a=1&amp;b=2\"></script>";
+		String unencoded = "<script src=\"/x.js?a=1&b=2\"></script>";
+		Assert.assertEquals(encoded, removeDuplicates(encoded + unencoded));
+		Assert.assertEquals(unencoded, removeDuplicates(unencoded + encoded));
+
+		String numeric = "<link href=\"/x.css?a=1&#38;b=2\"/>";
+		String named = "<link href=\"/x.css?a=1&amp;b=2\"/>";
+		Assert.assertEquals(numeric, removeDuplicates(numeric + named));
+
+		// Unrecognized entities are not decoded.
+		String unknown = "<script src=\"/x.js?a=1&foo;b=2\"></script>";
+		Assert.assertEquals(unknown + unencoded, removeDuplicates(unknown + unencoded));
+	}
+
+	@Test
+	public void testFacesResourceDetection() {
+
+		// Different URLs (for example, rendered by two instances of the same portlet) that reference the same JSF
+		// resource and library are duplicates.
+		String jsf1 =
+			"<script src=\"/web/guest/home?p_p_id=p1&amp;_p1_javax.faces.resource=jsf.js&amp;_p1_ln=javax.faces\">" +
+			"</script>";
+		String jsf2 =
+			"<script src=\"/web/guest/home?p_p_id=p2&amp;_p2_ln=javax.faces&amp;_p2_javax.faces.resource=jsf.js\">" +
+			"</script>";
+		Assert.assertEquals(jsf1, removeDuplicates(jsf1 + jsf2));
+
+		// The same resource name in a different library is not a duplicate.
+		String jsf3 =
+			"<script src=\"/web/guest/home?p_p_id=p3&amp;_p3_javax.faces.resource=jsf.js&amp;_p3_ln=other\">" +
+			"</script>";
+		Assert.assertEquals(jsf1 + jsf3, removeDuplicates(jsf1 + jsf3));
+
+		// The resource type is part of the key, so a stylesheet and a script with the same name are not duplicates.
+		String css = "<link href=\"/web/guest/home?_p1_javax.faces.resource=jsf.js&amp;_p1_ln=javax.faces\"/>";
+		Assert.assertEquals(jsf1 + css, removeDuplicates(jsf1 + css));
+
+		// A resource without a library is identified by its URL only.
+		String noLibrary1 = "<script src=\"/home?_p1_javax.faces.resource=a.js\"></script>";
+		String noLibrary2 = "<script src=\"/home?_p2_javax.faces.resource=a.js\"></script>";
+		Assert.assertEquals(noLibrary1 + noLibrary2, removeDuplicates(noLibrary1 + noLibrary2));
+	}
+
+	@Test
+	public void testMalformedMarkup() {
+
+		// Resources that have been commented-out are neither removed nor considered when detecting duplicates.
+		String markup = "<!-- <script src=\"/a.js\"></script> --><script src=\"/a.js\"></script>";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+
+		// An unterminated comment hides the remainder of the markup.
+		markup = "<script src=\"/a.js\"></script><!-- <script src=\"/a.js\"></script>";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+
+		// An unterminated start tag stops the scan, and the remainder of the markup is written back verbatim.
+		markup = "<script src=\"/a.js\"></script><script src=\"/a.js\"></script><script src=\"/a.js\"";
+		Assert.assertEquals("<script src=\"/a.js\"></script><script src=\"/a.js\"", removeDuplicates(markup));
+
+		// A missing end tag causes the element to extend to the end of the markup.
+		markup = "<script src=\"/a.js\"></script><script src=\"/a.js\">alert('unclosed');";
+		Assert.assertEquals("<script src=\"/a.js\"></script>", removeDuplicates(markup));
+
+		// Elements whose names merely begin with "link", "script" or "style" are not resources.
+		markup = "<linked href=\"/a.css\"><linked href=\"/a.css\"><scripts src=\"/a.js\"><scripts src=\"/a.js\">";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+
+		// Stray '<' characters and truncated tag names are tolerated.
+		markup = "a < b <script src=\"/a.js\"></script><script src=\"/a.js\"></script><scr";
+		Assert.assertEquals("a < b <script src=\"/a.js\"></script><scr", removeDuplicates(markup));
+		Assert.assertEquals("", removeDuplicates(""));
+	}
+
+	@Test
+	public void testSegments() {
+
+		// Elements that span the segments of the StringBundler must be detected, and the non-duplicate markup must be
+		// written back without any changes.
+		Assert.assertEquals("<p>text</p><script src=\"/a.js\"></script><p>more</p>",
+			removeDuplicates("<p>text</p><scr", "ipt src=\"/a", ".js\"></script><p>more</p><script sr",
+				"c=\"/a.js\"></scr", "ipt>"));
+	}
+
+	@Test
+	public void testSelfClosingAndPairedTags() {
+
+		// Self-closing and paired elements that reference the same URL are duplicates, and the removed duplicate must
+		// include its end tag (if any).
+		String markup = "<link href=\"/a.css\"/><link href=\"/a.css\"></link><link href=\"/a.css\">" +
+			"<script src=\"/b.js\" /><script src=\"/b.js\"></SCRIPT><p>after</p>";
+		Assert.assertEquals("<link href=\"/a.css\"/><script src=\"/b.js\" /><p>after</p>", removeDuplicates(markup));
+
+		// A <link> that is not closed must not consume markup up to a subsequent end tag.
+		markup = "<link href=\"/a.css\"><p>between</p><link href=\"/a.css\"><p>after</p></link>";
+		Assert.assertEquals("<link href=\"/a.css\"><p>between</p><p>after</p></link>", removeDuplicates(markup));
+	}
+
+	@Test
+	public void testStyleElements() {
+
+		// Inline styles do not reference a URL and are therefore never considered duplicates.
+		String markup = "<style type=\"text/css\">.a { color: red; }</style><style>.a { color: red; }</style>";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+
+		// Markup inside of a <style> element (or a <script> element) must not be mistaken for a resource.
+		markup = "<link href=\"/a.css\"><style>/* <link href=\"/a.css\"> */</style>" +
+			"<script>document.write('<script src=\"/a.js\"></scr' + 'ipt>');</script><script src=\"/a.js\"></script>";
+		Assert.assertEquals(markup, removeDuplicates(markup));
+	}
+
 	@Test
 	public void testMultiThreaded() {
 
@@ -153,6 +287,20 @@ public class LiferaySharedPageTopTest {
 			duration, totalPassed, totalFailed);
 	}
 
+	protected String removeDuplicates(String... segments) {
+
+		StringBundler stringBundler = new StringBundler();
+
+		for (String segment : segments) {
+			stringBundler.append(segment);
+		}
+
+		LiferaySharedPageTop liferaySharedPageTop = new LiferaySharedPageTop(stringBundler);
+		liferaySharedPageTop.removeDuplicates();
+
+		return liferaySharedPageTop.toStringBundler().toString();
+	}
+
 	protected class TestThread extends Thread {
 
 		// Private Data Members
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletResponse;
+import javax.portlet.faces.Bridge;
+
+import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.scope.BridgeRequestScope;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class BridgeContextFactoryMockImpl extends BridgeContextFactory {
+
+	@Override
+	public BridgeContext getBridgeContext(BridgeConfig bridgeConfig, BridgeRequestScope bridgeRequestScope,
+		PortletConfig portletConfig, PortletContext portletContext, PortletRequest portletRequest,
+		PortletResponse portletResponse, Bridge.PortletPhase portletPhase, IncongruityContext incongruityContext) {
+
+		return new BridgeContextMockImpl(bridgeConfig, portletRequest, "/views/view.xhtml") {
+
+				@Override
+				public Map<String, String> getDefaultViewIdMap() {
+
+					Map<String, String> defaultViewIdMap = new HashMap<String, String>();
+					defaultViewIdMap.put("view", "/views/view.xhtml");
+
+					return defaultViewIdMap;
+				}
+			};
+	}
+
+	@Override
+	public BridgeContextFactory getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
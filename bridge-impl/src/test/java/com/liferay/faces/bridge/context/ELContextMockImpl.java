@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.el.FunctionMapper;
+import javax.el.VariableMapper;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ELContextMockImpl extends ELContext {
+
+	// Private Data Members
+	private ELResolver elResolver;
+
+	public ELContextMockImpl(ELResolver elResolver) {
+		this.elResolver = elResolver;
+	}
+
+	@Override
+	public ELResolver getELResolver() {
+		return elResolver;
+	}
+
+	@Override
+	public FunctionMapper getFunctionMapper() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public VariableMapper getVariableMapper() {
+		throw new UnsupportedOperationException();
+	}
+}
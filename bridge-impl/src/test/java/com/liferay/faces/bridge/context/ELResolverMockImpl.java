@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.beans.FeatureDescriptor;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ELResolverMockImpl extends ELResolver {
+
+	// Private Data Members
+	private Map<String, Object> beans;
+	private int valueCount;
+
+	public ELResolverMockImpl() {
+		this.beans = new HashMap<String, Object>();
+	}
+
+	public void putBean(String name, Object bean) {
+		beans.put(name, bean);
+	}
+
+	@Override
+	public Class<?> getCommonPropertyType(ELContext context, Object base) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isReadOnly(ELContext context, Object base, Object property) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Class<?> getType(ELContext context, Object base, Object property) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object getValue(ELContext context, Object base, Object property) {
+
+		if (base != null) {
+			throw new UnsupportedOperationException();
+		}
+
+		valueCount++;
+
+		return beans.get(property);
+	}
+
+	@Override
+	public void setValue(ELContext context, Object base, Object property, Object value) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns the number of times that a top-level name (like a managed-bean name) has been resolved.
+	 */
+	public int getValueCount() {
+		return valueCount;
+	}
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.faces.context.ExternalContext;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ExternalContextMockImpl extends ExternalContext {
+
+	// Private Data Members
+	private Map<String, Object> applicationMap;
+	private Object request;
+	private Map<String, Object> requestMap;
+	private Map<String, String> requestParameterMap;
+	private Object response;
+	private Map<String, Object> sessionMap;
+
+	public ExternalContextMockImpl(Object request, Object response) {
+		this.applicationMap = new HashMap<String, Object>();
+		this.request = request;
+		this.requestMap = new HashMap<String, Object>();
+		this.requestParameterMap = new HashMap<String, String>();
+		this.response = response;
+		this.sessionMap = new HashMap<String, Object>();
+	}
+
+	@Override
+	public void dispatch(String path) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String encodeActionURL(String url) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String encodeNamespace(String name) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String encodeResourceURL(String url) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void log(String message) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void log(String message, Throwable exception) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void redirect(String url) throws IOException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, Object> getApplicationMap() {
+		return applicationMap;
+	}
+
+	@Override
+	public String getAuthType() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object getContext() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isUserInRole(String role) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String getInitParameter(String name) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, String> getInitParameterMap() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String getRemoteUser() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object getRequest() {
+		return request;
+	}
+
+	@Override
+	public String getRequestContextPath() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, Object> getRequestCookieMap() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, String> getRequestHeaderMap() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, String[]> getRequestHeaderValuesMap() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Locale getRequestLocale() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<Locale> getRequestLocales() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, Object> getRequestMap() {
+		return requestMap;
+	}
+
+	@Override
+	public Map<String, String> getRequestParameterMap() {
+		return requestParameterMap;
+	}
+
+	@Override
+	public Iterator<String> getRequestParameterNames() {
+		return requestParameterMap.keySet().iterator();
+	}
+
+	@Override
+	public Map<String, String[]> getRequestParameterValuesMap() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String getRequestPathInfo() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String getRequestServletPath() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public URL getResource(String path) throws MalformedURLException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public InputStream getResourceAsStream(String path) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Set<String> getResourcePaths(String path) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object getResponse() {
+		return response;
+	}
+
+	@Override
+	public Object getSession(boolean create) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Map<String, Object> getSessionMap() {
+		return sessionMap;
+	}
+
+	@Override
+	public Principal getUserPrincipal() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.faces.application.Application;
+import javax.faces.application.FacesMessage;
+import javax.faces.application.FacesMessage.Severity;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExceptionHandler;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.faces.context.PartialViewContext;
+import javax.faces.context.ResponseStream;
+import javax.faces.context.ResponseWriter;
+import javax.faces.render.RenderKit;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class FacesContextMockImpl extends FacesContext {
+
+	// Private Data Members
+	private Application application;
+	private Map<Object, Object> attributes;
+	private ELContext elContext;
+	private ExceptionHandler exceptionHandler;
+	private ExternalContext externalContext;
+	private PartialViewContext partialViewContext;
+	private boolean renderResponse;
+	private boolean responseComplete;
+	private ResponseWriter responseWriter;
+	private UIViewRoot viewRoot;
+
+	public FacesContextMockImpl(ExternalContext externalContext) {
+		this.attributes = new HashMap<Object, Object>();
+		this.externalContext = externalContext;
+		setCurrentInstance(this);
+	}
+
+	@Override
+	public void addMessage(String clientId, FacesMessage message) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void release() {
+		this.application = null;
+		this.attributes = null;
+		this.elContext = null;
+		this.exceptionHandler = null;
+		this.externalContext = null;
+		this.partialViewContext = null;
+		this.responseWriter = null;
+		this.viewRoot = null;
+		setCurrentInstance(null);
+	}
+
+	@Override
+	public void renderResponse() {
+		this.renderResponse = true;
+	}
+
+	@Override
+	public void responseComplete() {
+		this.responseComplete = true;
+	}
+
+	@Override
+	public Application getApplication() {
+		return application;
+	}
+
+	public void setApplication(Application application) {
+		this.application = application;
+	}
+
+	@Override
+	public Map<Object, Object> getAttributes() {
+		return attributes;
+	}
+
+	@Override
+	public Iterator<String> getClientIdsWithMessages() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ELContext getELContext() {
+		return elContext;
+	}
+
+	public void setELContext(ELContext elContext) {
+		this.elContext = elContext;
+	}
+
+	@Override
+	public ExceptionHandler getExceptionHandler() {
+		return exceptionHandler;
+	}
+
+	@Override
+	public void setExceptionHandler(ExceptionHandler exceptionHandler) {
+		this.exceptionHandler = exceptionHandler;
+	}
+
+	@Override
+	public ExternalContext getExternalContext() {
+		return externalContext;
+	}
+
+	@Override
+	public Severity getMaximumSeverity() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<FacesMessage> getMessages() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<FacesMessage> getMessages(String clientId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public PartialViewContext getPartialViewContext() {
+		return partialViewContext;
+	}
+
+	public void setPartialViewContext(PartialViewContext partialViewContext) {
+		this.partialViewContext = partialViewContext;
+	}
+
+	@Override
+	public RenderKit getRenderKit() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean getRenderResponse() {
+		return renderResponse;
+	}
+
+	@Override
+	public boolean getResponseComplete() {
+		return responseComplete;
+	}
+
+	@Override
+	public ResponseStream getResponseStream() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setResponseStream(ResponseStream responseStream) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ResponseWriter getResponseWriter() {
+		return responseWriter;
+	}
+
+	@Override
+	public void setResponseWriter(ResponseWriter responseWriter) {
+		this.responseWriter = responseWriter;
+	}
+
+	@Override
+	public UIViewRoot getViewRoot() {
+		return viewRoot;
+	}
+
+	@Override
+	public void setViewRoot(UIViewRoot viewRoot) {
+		this.viewRoot = viewRoot;
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.internal.FacesViewIdCache;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class FacesViewIdCacheTest {
+
+	@Test
+	public void testDevelopmentStage() {
+
+		FacesViewIdCache facesViewIdCache = new FacesViewIdCache(0, 256, true);
+		facesViewIdCache.put("/views/foo.faces", "/views/foo.faces");
+		Assert.assertFalse(facesViewIdCache.isEnabled());
+		Assert.assertNull(facesViewIdCache.get("/views/foo.faces"));
+		Assert.assertEquals(0, facesViewIdCache.getMissCount());
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+
+		FacesViewIdCache facesViewIdCache = new FacesViewIdCache(0, 256, false);
+		Assert.assertNull(facesViewIdCache.get("/views/foo.faces"));
+		facesViewIdCache.put("/views/foo.faces", "/views/foo.faces");
+		Assert.assertEquals("/views/foo.faces", facesViewIdCache.get("/views/foo.faces"));
+		Assert.assertEquals(1, facesViewIdCache.getHitCount());
+		Assert.assertEquals(1, facesViewIdCache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+
+		FacesViewIdCache facesViewIdCache = new FacesViewIdCache(0, 2, false);
+		facesViewIdCache.put("/views/a.faces", "/views/a.xhtml");
+		facesViewIdCache.put("/views/b.faces", "/views/b.xhtml");
+
+		// Accessing "a" makes "b" the least recently used entry, so "b" is evicted when "c" is added.
+		Assert.assertEquals("/views/a.xhtml", facesViewIdCache.get("/views/a.faces"));
+		facesViewIdCache.put("/views/c.faces", "/views/c.xhtml");
+		Assert.assertEquals("/views/a.xhtml", facesViewIdCache.get("/views/a.faces"));
+		Assert.assertNull(facesViewIdCache.get("/views/b.faces"));
+		Assert.assertEquals("/views/c.xhtml", facesViewIdCache.get("/views/c.faces"));
+	}
+
+	@Test
+	public void testNegativeTimeToLive() {
+
+		FacesViewIdCache facesViewIdCache = new FacesViewIdCache(-1, 256, false);
+		facesViewIdCache.put("/views/foo.faces", "/views/foo.faces");
+		Assert.assertFalse(facesViewIdCache.isEnabled());
+		Assert.assertNull(facesViewIdCache.get("/views/foo.faces"));
+	}
+
+	@Test
+	public void testUnresolvedNotCached() {
+
+		FacesViewIdCache facesViewIdCache = new FacesViewIdCache(0, 256, false);
+
+		// A viewPath that could not be resolved must be resolved again on the next request.
+		facesViewIdCache.put("/views/missing.faces", null);
+		Assert.assertNull(facesViewIdCache.get("/views/missing.faces"));
+		Assert.assertNull(facesViewIdCache.get("/views/missing.faces"));
+		Assert.assertEquals(0, facesViewIdCache.getHitCount());
+		Assert.assertEquals(2, facesViewIdCache.getMissCount());
+		Assert.assertTrue(facesViewIdCache.toString().contains("size=[0]"));
+	}
+}
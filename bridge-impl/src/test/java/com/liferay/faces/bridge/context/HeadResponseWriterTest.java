@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.w3c.dom.Element;
+
+import com.liferay.faces.bridge.context.internal.HeadResponseWriterBase;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.ElementImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class HeadResponseWriterTest {
+
+	@Test
+	public void testBlankElement() throws IOException {
+
+		HeadResponseWriterTestImpl headResponseWriter = new HeadResponseWriterTestImpl();
+
+		// Renderers that write before calling startElement() cause a blank pseudo-element to be pushed, and the text
+		// of the blank pseudo-element is prepended to the text of the next element that is ended.
+		headResponseWriter.write("var a = 1;");
+		headResponseWriter.startElement("script", null);
+		headResponseWriter.write("var b = 2;");
+		headResponseWriter.endElement("script");
+
+		List<String> resources = headResponseWriter.getResources();
+		Assert.assertEquals(1, resources.size());
+		Assert.assertEquals("<script>var a = 1;var b = 2;</script>", resources.get(0));
+	}
+
+	@Test
+	public void testBlankElementAttributes() throws Exception {
+
+		HeadResponseWriterTestImpl headResponseWriter = new HeadResponseWriterTestImpl();
+
+		for (int i = 0; i < 100; i++) {
+
+			// An attribute written before startElement() belongs to a blank pseudo-element, which is not rendered.
+			headResponseWriter.writeAttribute("id", "blank" + i, null);
+			headResponseWriter.startElement("script", null);
+			headResponseWriter.writeAttribute("type", "text/javascript", null);
+			headResponseWriter.endElement("script");
+		}
+
+		List<String> resources = headResponseWriter.getResources();
+		Assert.assertEquals(100, resources.size());
+		Assert.assertEquals("<script type=\"text/javascript\"></script>", resources.get(99));
+
+		// The attributes of the blank pseudo-elements must be discarded along with those of the elements that were
+		// ended, rather than accumulating in the writer.
+		Field attributeCountField = HeadResponseWriterBase.class.getDeclaredField("attributeCount");
+		attributeCountField.setAccessible(true);
+		Assert.assertEquals(0, attributeCountField.getInt(headResponseWriter));
+
+		Field attributeNamesField = HeadResponseWriterBase.class.getDeclaredField("attributeNames");
+		attributeNamesField.setAccessible(true);
+
+		for (Object attributeName : (Object[]) attributeNamesField.get(headResponseWriter)) {
+			Assert.assertNull(attributeName);
+		}
+	}
+
+	@Test
+	public void testCaptureResources() throws IOException {
+
+		HeadResponseWriterTestImpl headResponseWriter = new HeadResponseWriterTestImpl();
+		headResponseWriter.startElement("head", null);
+
+		for (int i = 0; i < 100; i++) {
+
+			if ((i % 2) == 0) {
+				headResponseWriter.startElement("link", null);
+				headResponseWriter.writeURIAttribute("href", "/css/" + i + ".css?a=1&b=2", null);
+				headResponseWriter.endElement("link");
+			}
+			else {
+				headResponseWriter.startElement("script", null);
+				headResponseWriter.writeAttribute("type", "text/javascript", null);
+				headResponseWriter.writeText("var i = " + i + ";", null);
+				headResponseWriter.endElement("script");
+			}
+		}
+
+		headResponseWriter.endElement("head");
+
+		List<String> resources = headResponseWriter.getResources();
+		Assert.assertEquals(100, resources.size());
+		Assert.assertEquals("<link href=\"/css/0.css?a=1&amp;b=2\" />", resources.get(0));
+		Assert.assertEquals("<script type=\"text/javascript\">var i = 99;</script>", resources.get(99));
+	}
+
+	@Test
+	public void testTitleElement() throws IOException {
+
+		HeadResponseWriterTestImpl headResponseWriter = new HeadResponseWriterTestImpl();
+		headResponseWriter.startElement("style", null);
+		headResponseWriter.startElement("title", null);
+		headResponseWriter.writeText("Title", null);
+		headResponseWriter.endElement("title");
+		headResponseWriter.endElement("style");
+
+		List<String> resources = headResponseWriter.getResources();
+		Assert.assertEquals(1, resources.size());
+		Assert.assertEquals("<style></style>", resources.get(0));
+	}
+
+	protected static class HeadResponseWriterTestImpl extends HeadResponseWriterBase {
+
+		// Private Data Members
+		private List<String> resources = new ArrayList<String>();
+
+		public HeadResponseWriterTestImpl() {
+			super(null);
+		}
+
+		@Override
+		public Element createElement(String name) {
+			return new ElementImpl(name);
+		}
+
+		@Override
+		protected void addResourceToHeadSection(Element element, String nodeName) throws IOException {
+			resources.add(element.toString());
+		}
+
+		public List<String> getResources() {
+			return resources;
+		}
+	}
+}
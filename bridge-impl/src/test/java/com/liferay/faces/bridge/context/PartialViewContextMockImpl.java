@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.util.Collection;
+
+import javax.faces.context.PartialResponseWriter;
+import javax.faces.context.PartialViewContext;
+import javax.faces.event.PhaseId;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class PartialViewContextMockImpl extends PartialViewContext {
+
+	// Private Data Members
+	private boolean ajaxRequest;
+
+	public PartialViewContextMockImpl(boolean ajaxRequest) {
+		this.ajaxRequest = ajaxRequest;
+	}
+
+	@Override
+	public void processPartial(PhaseId phaseId) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void release() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isAjaxRequest() {
+		return ajaxRequest;
+	}
+
+	@Override
+	public Collection<String> getExecuteIds() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isExecuteAll() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setPartialRequest(boolean isPartialRequest) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isPartialRequest() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public PartialResponseWriter getPartialResponseWriter() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isRenderAll() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setRenderAll(boolean renderAll) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Collection<String> getRenderIds() {
+		throw new UnsupportedOperationException();
+	}
+}
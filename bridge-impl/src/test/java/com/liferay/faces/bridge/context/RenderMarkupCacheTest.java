@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.portlet.PortletMode;
+import javax.portlet.PortletPreferences;
+import javax.portlet.PortletSession;
+import javax.portlet.RenderRequest;
+import javax.portlet.WindowState;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.internal.RenderMarkupCache;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+import com.liferay.faces.portlet.PortletSessionMockImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RenderMarkupCacheTest {
+
+	@Test
+	public void testGetKeyAnonymousUser() {
+
+		RenderRequestMockImpl renderRequest = new RenderRequestMockImpl(null);
+
+		// An anonymous user without a session can not be distinguished from other anonymous users, so the markup must
+		// not be cached in the private scope.
+		Assert.assertNull(RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, null));
+		Assert.assertNotNull(RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", true, null));
+
+		// Anonymous users that have a session are distinguished by the session id.
+		renderRequest.setSessionId("session1");
+
+		String key1 = RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, null);
+		Assert.assertNotNull(key1);
+		renderRequest.setSessionId("session2");
+
+		String key2 = RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, null);
+		Assert.assertNotNull(key2);
+		Assert.assertFalse(key1.equals(key2));
+
+		// The session id of an anonymous user must not collide with the name of an authenticated user.
+		RenderRequestMockImpl userRenderRequest = new RenderRequestMockImpl("session2");
+		Assert.assertFalse(key2.equals(
+				RenderMarkupCache.getKey(userRenderRequest, "_1_", "10", "/views/foo.xhtml", false, null)));
+	}
+
+	@Test
+	public void testGetKeyNamespaceAndPlid() {
+
+		RenderRequestMockImpl renderRequest = new RenderRequestMockImpl("user1");
+		String key = RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, null);
+		Assert.assertEquals(key, RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, null));
+
+		// The same portlet can be placed on more than one page (or more than once on the same page), so the markup
+		// must not be shared among portlet instances.
+		Assert.assertFalse(key.equals(
+				RenderMarkupCache.getKey(renderRequest, "_2_", "10", "/views/foo.xhtml", false, null)));
+		Assert.assertFalse(key.equals(
+				RenderMarkupCache.getKey(renderRequest, "_1_", "11", "/views/foo.xhtml", false, null)));
+		Assert.assertFalse(key.equals(RenderMarkupCache.getKey(renderRequest, "_1_", null, "/views/foo.xhtml", false,
+					null)));
+		Assert.assertFalse(key.equals(
+				RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/bar.xhtml", false, null)));
+		Assert.assertFalse(key.equals(
+				RenderMarkupCache.getKey(renderRequest, "_1_", "10", "/views/foo.xhtml", false, "custom")));
+	}
+
+	@Test
+	public void testGetKeyParameters() {
+
+		RenderRequestMockImpl renderRequest1 = new RenderRequestMockImpl("user1");
+		renderRequest1.getParameterMap().put("a", new String[] { "1" });
+		renderRequest1.getParameterMap().put("b", new String[] { "2", "3" });
+
+		RenderRequestMockImpl renderRequest2 = new RenderRequestMockImpl("user1");
+		renderRequest2.getParameterMap().put("b", new String[] { "2", "3" });
+		renderRequest2.getParameterMap().put("a", new String[] { "1" });
+
+		// The key must not depend on the order in which the parameters were added.
+		String key = RenderMarkupCache.getKey(renderRequest1, "_1_", "10", "/views/foo.xhtml", false, null);
+		Assert.assertEquals(key,
+			RenderMarkupCache.getKey(renderRequest2, "_1_", "10", "/views/foo.xhtml", false, null));
+
+		renderRequest2.getParameterMap().put("b", new String[] { "2" });
+		Assert.assertFalse(key.equals(
+				RenderMarkupCache.getKey(renderRequest2, "_1_", "10", "/views/foo.xhtml", false, null)));
+	}
+
+	@Test
+	public void testGetKeyParameterCollisions() {
+
+		// Values that contain the characters that separate values must not collide with multiple values.
+		RenderRequestMockImpl renderRequest1 = new RenderRequestMockImpl("user1");
+		renderRequest1.getParameterMap().put("a", new String[] { "x,y" });
+
+		RenderRequestMockImpl renderRequest2 = new RenderRequestMockImpl("user1");
+		renderRequest2.getParameterMap().put("a", new String[] { "x", "y" });
+
+		Assert.assertFalse(RenderMarkupCache.getKey(renderRequest1, "_1_", "10", "/views/foo.xhtml", false, null)
+			.equals(RenderMarkupCache.getKey(renderRequest2, "_1_", "10", "/views/foo.xhtml", false, null)));
+
+		// Values that contain the characters that separate parameters must not collide with multiple parameters.
+		RenderRequestMockImpl renderRequest3 = new RenderRequestMockImpl("user1");
+		renderRequest3.getParameterMap().put("a", new String[] { "1&b=2" });
+
+		RenderRequestMockImpl renderRequest4 = new RenderRequestMockImpl("user1");
+		renderRequest4.getParameterMap().put("a", new String[] { "1" });
+		renderRequest4.getParameterMap().put("b", new String[] { "2" });
+
+		Assert.assertFalse(RenderMarkupCache.getKey(renderRequest3, "_1_", "10", "/views/foo.xhtml", false, null)
+			.equals(RenderMarkupCache.getKey(renderRequest4, "_1_", "10", "/views/foo.xhtml", false, null)));
+
+		// Components that contain the characters that separate components must not collide with each other.
+		RenderRequestMockImpl renderRequest5 = new RenderRequestMockImpl("user1");
+		Assert.assertFalse(RenderMarkupCache.getKey(renderRequest5, "_1_|10", null, "/views/foo.xhtml", false, null)
+			.equals(RenderMarkupCache.getKey(renderRequest5, "_1_", "10", "/views/foo.xhtml", false, null)));
+	}
+
+	@Test
+	public void testGetKeyRemoteUser() {
+
+		RenderRequestMockImpl renderRequest1 = new RenderRequestMockImpl("user1");
+		RenderRequestMockImpl renderRequest2 = new RenderRequestMockImpl("user2");
+
+		// Markup that is cached in the private scope must not be shared among users.
+		Assert.assertFalse(RenderMarkupCache.getKey(renderRequest1, "_1_", "10", "/views/foo.xhtml", false, null)
+			.equals(RenderMarkupCache.getKey(renderRequest2, "_1_", "10", "/views/foo.xhtml", false, null)));
+
+		// Markup that is cached in the public scope is shared among users.
+		Assert.assertEquals(RenderMarkupCache.getKey(renderRequest1, "_1_", "10", "/views/foo.xhtml", true, null),
+			RenderMarkupCache.getKey(renderRequest2, "_1_", "10", "/views/foo.xhtml", true, null));
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+
+		RenderMarkupCache renderMarkupCache = new RenderMarkupCache(60);
+		Assert.assertNull(renderMarkupCache.get("/views/foo.xhtml"));
+
+		List<RenderMarkupCache.HeadElement> headElements = new ArrayList<RenderMarkupCache.HeadElement>();
+		headElements.add(new RenderMarkupCache.HeadElement("link", new String[] { "href" },
+				new String[] { "/css/foo.css" }, null));
+		renderMarkupCache.put("/views/foo.xhtml", "<div>foo</div>", headElements, false);
+
+		RenderMarkupCache.CachedMarkup cachedMarkup = renderMarkupCache.get("/views/foo.xhtml");
+		Assert.assertNotNull(cachedMarkup);
+		Assert.assertEquals("<div>foo</div>", cachedMarkup.getMarkup());
+		Assert.assertEquals(1, cachedMarkup.getHeadElements().size());
+		Assert.assertEquals("link", cachedMarkup.getHeadElements().get(0).getName());
+		Assert.assertNotNull(cachedMarkup.getETag());
+		Assert.assertTrue(cachedMarkup.getExpirationSeconds() > 0);
+		Assert.assertEquals(1, renderMarkupCache.getHitCount());
+		Assert.assertEquals(1, renderMarkupCache.getMissCount());
+		Assert.assertEquals(0.5, renderMarkupCache.getHitRatio(), 0.0);
+	}
+
+	@Test
+	public void testMaxEntries() {
+
+		RenderMarkupCache renderMarkupCache = new RenderMarkupCache(60);
+
+		for (int i = 0; i < RenderMarkupCache.MAX_ENTRIES; i++) {
+			Assert.assertNotNull(renderMarkupCache.put("/views/foo" + i + ".xhtml", "<div>foo</div>", null, false));
+		}
+
+		// Touch the first entry so that the second entry becomes the least recently used one.
+		Assert.assertNotNull(renderMarkupCache.get("/views/foo0.xhtml"));
+		Assert.assertEquals(0, renderMarkupCache.getEvictionCount());
+
+		// A full cache must still cache new markup by evicting the least recently used entry.
+		Assert.assertNotNull(renderMarkupCache.put("/views/bar.xhtml", "<div>bar</div>", null, false));
+		Assert.assertEquals(1, renderMarkupCache.getEvictionCount());
+		Assert.assertNotNull(renderMarkupCache.get("/views/bar.xhtml"));
+		Assert.assertNotNull(renderMarkupCache.get("/views/foo0.xhtml"));
+		Assert.assertNull(renderMarkupCache.get("/views/foo1.xhtml"));
+	}
+
+	protected static class RenderRequestMockImpl extends PortletRequestMockImpl implements RenderRequest {
+
+		// Private Data Members
+		private Map<String, String[]> parameterMap = new HashMap<String, String[]>();
+		private String remoteUser;
+		private String sessionId;
+
+		public RenderRequestMockImpl(String remoteUser) {
+			super("/context-path");
+			this.remoteUser = remoteUser;
+		}
+
+		public String getETag() {
+			return null;
+		}
+
+		@Override
+		public Locale getLocale() {
+			return Locale.US;
+		}
+
+		@Override
+		public Map<String, String[]> getParameterMap() {
+			return parameterMap;
+		}
+
+		@Override
+		public PortletMode getPortletMode() {
+			return PortletMode.VIEW;
+		}
+
+		@Override
+		public PortletSession getPortletSession(boolean create) {
+
+			if (sessionId == null) {
+				return null;
+			}
+
+			return new PortletSessionMockImpl() {
+
+					@Override
+					public String getId() {
+						return sessionId;
+					}
+				};
+		}
+
+		@Override
+		public PortletPreferences getPreferences() {
+			return null;
+		}
+
+		@Override
+		public String getRemoteUser() {
+			return remoteUser;
+		}
+
+		public void setSessionId(String sessionId) {
+			this.sessionId = sessionId;
+		}
+
+		@Override
+		public WindowState getWindowState() {
+			return WindowState.NORMAL;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.internal.RenderRedirectWriterImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RenderRedirectWriterTest {
+
+	@Test
+	public void testDiscard() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		RenderRedirectWriterImpl renderRedirectWriter = new RenderRedirectWriterImpl(stringWriter);
+		renderRedirectWriter.write("original view");
+		renderRedirectWriter.discard();
+		Assert.assertEquals(0, renderRedirectWriter.getBufferedCharCount());
+		renderRedirectWriter.write("redirected view");
+		renderRedirectWriter.render();
+		Assert.assertEquals("redirected view", stringWriter.toString());
+	}
+
+	@Test
+	public void testMaxBufferSize() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		RenderRedirectWriterImpl renderRedirectWriter = new RenderRedirectWriterImpl(stringWriter, 8);
+		renderRedirectWriter.write("abcd");
+		Assert.assertEquals(0, stringWriter.getBuffer().length());
+		renderRedirectWriter.write("efghij");
+		Assert.assertEquals("abcdefghij", stringWriter.toString());
+		renderRedirectWriter.write('k');
+		Assert.assertEquals("abcdefghijk", stringWriter.toString());
+	}
+
+	@Test
+	public void testRelease() throws IOException {
+
+		// Releasing a writer that was neither rendered nor discarded (for example, because an exception was thrown)
+		// must discard the buffered characters.
+		StringWriter stringWriter = new StringWriter();
+		RenderRedirectWriterImpl renderRedirectWriter = new RenderRedirectWriterImpl(stringWriter);
+		renderRedirectWriter.write("partial view");
+		renderRedirectWriter.flush();
+		renderRedirectWriter.release();
+		Assert.assertEquals(0, renderRedirectWriter.getBufferedCharCount());
+		renderRedirectWriter.render();
+		Assert.assertEquals("", stringWriter.toString());
+	}
+
+	@Test
+	public void testRender() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		RenderRedirectWriterImpl renderRedirectWriter = new RenderRedirectWriterImpl(stringWriter);
+		StringBuilder expected = new StringBuilder();
+
+		// Write enough characters to span several chunks, and reuse the same char array for every write in order to
+		// ensure that the characters are copied.
+		char[] cbuf = new char[1000];
+
+		for (int i = 0; i < 20; i++) {
+
+			for (int j = 0; j < cbuf.length; j++) {
+				cbuf[j] = (char) ('a' + ((i + j) % 26));
+			}
+
+			renderRedirectWriter.write(cbuf, 1, 998);
+			expected.append(cbuf, 1, 998);
+			renderRedirectWriter.write('-');
+			expected.append('-');
+			renderRedirectWriter.write("<br />", 1, 2);
+			expected.append("br");
+		}
+
+		renderRedirectWriter.flush();
+		Assert.assertEquals(0, stringWriter.getBuffer().length());
+		Assert.assertEquals(expected.length(), renderRedirectWriter.getBufferedCharCount());
+		renderRedirectWriter.render();
+		Assert.assertEquals(expected.toString(), stringWriter.toString());
+		Assert.assertEquals(expected.length(), renderRedirectWriter.getPeakBufferedCharCount());
+	}
+}
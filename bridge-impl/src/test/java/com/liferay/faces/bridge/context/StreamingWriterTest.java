@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.internal.RenderRedirectWriterImpl;
+import com.liferay.faces.bridge.context.internal.StreamingWriter;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class StreamingWriterTest {
+
+	@Test
+	public void testRenderRedirect() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		StreamingWriter streamingWriter = new StreamingWriter(stringWriter, 4);
+		RenderRedirectWriterImpl renderRedirectWriter = new RenderRedirectWriterImpl(streamingWriter);
+		renderRedirectWriter.write("original view");
+		renderRedirectWriter.discard();
+		renderRedirectWriter.write("redirected view");
+		Assert.assertEquals(0, stringWriter.getBuffer().length());
+		renderRedirectWriter.render();
+		streamingWriter.finish();
+		Assert.assertEquals("redirected view", stringWriter.toString());
+		Assert.assertEquals("redirected view".length(), streamingWriter.getStreamedCharCount());
+	}
+
+	@Test
+	public void testStreaming() throws IOException {
+
+		StringWriter stringWriter = new StringWriter();
+		StreamingWriter streamingWriter = new StreamingWriter(stringWriter, 8);
+		streamingWriter.write("abcd");
+		Assert.assertEquals(0, stringWriter.getBuffer().length());
+		streamingWriter.write("efgh");
+		Assert.assertEquals(0, stringWriter.getBuffer().length());
+		streamingWriter.write('i');
+		Assert.assertEquals("abcdefgh", stringWriter.toString());
+		Assert.assertEquals(1, streamingWriter.getFlushCount());
+
+		// Writes that are larger than the buffer are written through after the buffer has been drained.
+		streamingWriter.write("jklmnopqrstu".toCharArray(), 0, 12);
+		Assert.assertEquals("abcdefghijklmnopqrstu", stringWriter.toString());
+		streamingWriter.write("vwxyz", 0, 5);
+		streamingWriter.finish();
+		Assert.assertEquals("abcdefghijklmnopqrstuvwxyz", stringWriter.toString());
+		Assert.assertEquals(26, streamingWriter.getStreamedCharCount());
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.Cookie;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.map.internal.RequestCookieMap;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RequestCookieMapTest {
+
+	@Test
+	public void testDuplicateNames() {
+
+		Cookie cookie1 = new Cookie("JSESSIONID", "1");
+		Cookie cookie2 = new Cookie("GUEST_LANGUAGE_ID", "en_US");
+		Cookie cookie3 = new Cookie("JSESSIONID", "3");
+		RequestCookieMap requestCookieMap = new RequestCookieMap(new Cookie[] { cookie1, cookie2, cookie3 });
+
+		// The value for a duplicate name must be the first cookie with that name.
+		Assert.assertSame(cookie1, requestCookieMap.get("JSESSIONID"));
+		Assert.assertEquals(2, requestCookieMap.size());
+		Assert.assertTrue(requestCookieMap.containsValue(cookie1));
+		Assert.assertFalse(requestCookieMap.containsValue(cookie3));
+		Assert.assertEquals(Arrays.asList("JSESSIONID", "GUEST_LANGUAGE_ID"),
+			new ArrayList<String>(requestCookieMap.keySet()));
+		Assert.assertEquals(Arrays.<Object>asList(cookie1, cookie2), new ArrayList<Object>(requestCookieMap.values()));
+	}
+
+	@Test
+	public void testImmutableViews() {
+
+		Cookie cookie = new Cookie("COOKIE_SUPPORT", "true");
+		RequestCookieMap requestCookieMap = new RequestCookieMap(new Cookie[] { cookie });
+
+		// The collection views must be cached.
+		Assert.assertSame(requestCookieMap.keySet(), requestCookieMap.keySet());
+		Assert.assertSame(requestCookieMap.values(), requestCookieMap.values());
+		Assert.assertSame(requestCookieMap.entrySet(), requestCookieMap.entrySet());
+
+		try {
+			requestCookieMap.keySet().clear();
+			Assert.fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		try {
+			requestCookieMap.entrySet().iterator().next().setValue(null);
+			Assert.fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		Assert.assertSame(cookie, requestCookieMap.get("COOKIE_SUPPORT"));
+	}
+
+	@Test
+	public void testNoCookies() {
+
+		RequestCookieMap requestCookieMap = new RequestCookieMap(null);
+		Assert.assertTrue(requestCookieMap.isEmpty());
+		Assert.assertEquals(0, requestCookieMap.size());
+		Assert.assertNull(requestCookieMap.get("JSESSIONID"));
+		Assert.assertFalse(requestCookieMap.containsKey("JSESSIONID"));
+		Assert.assertTrue(requestCookieMap.keySet().isEmpty());
+		Assert.assertTrue(requestCookieMap.values().isEmpty());
+		Assert.assertTrue(requestCookieMap.entrySet().isEmpty());
+	}
+
+	@Test
+	public void testOrdering() {
+
+		List<Cookie> cookies = new ArrayList<Cookie>();
+
+		for (int i = 30; i > 0; i--) {
+			cookies.add(new Cookie("cookie" + i, Integer.toString(i)));
+		}
+
+		RequestCookieMap requestCookieMap = new RequestCookieMap(cookies.toArray(new Cookie[cookies.size()]));
+		Assert.assertEquals(30, requestCookieMap.size());
+
+		// The iteration order of the entries must be the order of the cookies in the request.
+		Iterator<Map.Entry<String, Object>> iterator = requestCookieMap.entrySet().iterator();
+
+		for (Cookie cookie : cookies) {
+
+			Map.Entry<String, Object> mapEntry = iterator.next();
+			Assert.assertEquals(cookie.getName(), mapEntry.getKey());
+			Assert.assertSame(cookie, mapEntry.getValue());
+			Assert.assertTrue(requestCookieMap.containsKey(cookie.getName()));
+		}
+
+		Assert.assertFalse(iterator.hasNext());
+	}
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.BridgeContextMockImpl;
+import com.liferay.faces.bridge.context.map.internal.RequestHeaderValuesMap;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RequestHeaderValuesMapTest {
+
+	@Test
+	public void testAbsentNames() {
+
+		PropertiesPortletRequest portletRequest = new PropertiesPortletRequest();
+		portletRequest.addProperty("User-Agent", "Mozilla/5.0");
+
+		RequestHeaderValuesMap requestHeaderValuesMap = newRequestHeaderValuesMap(portletRequest);
+		Assert.assertNull(requestHeaderValuesMap.get("X-Absent"));
+		Assert.assertFalse(requestHeaderValuesMap.containsKey("x-absent"));
+
+		// A header that is not present in the request must only be looked up once.
+		Assert.assertEquals(Arrays.asList("X-Absent"), portletRequest.getRequestedProperties());
+		Assert.assertFalse(requestHeaderValuesMap.keySet().contains("x-absent"));
+	}
+
+	@Test
+	public void testCaseInsensitiveKeys() {
+
+		PropertiesPortletRequest portletRequest = new PropertiesPortletRequest();
+		portletRequest.addProperty("User-Agent", "Mozilla/5.0");
+		portletRequest.addProperty("X-Forwarded-For", "10.0.0.1", "10.0.0.2");
+
+		RequestHeaderValuesMap requestHeaderValuesMap = newRequestHeaderValuesMap(portletRequest);
+		String[] values = requestHeaderValuesMap.get("User-Agent");
+		Assert.assertEquals(1, values.length);
+		Assert.assertEquals("Mozilla/5.0", values[0]);
+		Assert.assertSame(values, requestHeaderValuesMap.get("user-agent"));
+		Assert.assertSame(values, requestHeaderValuesMap.get("USER-AGENT"));
+		Assert.assertTrue(requestHeaderValuesMap.containsKey("uSeR-aGeNt"));
+
+		// Multi-valued properties are comma-delimited.
+		Assert.assertEquals("10.0.0.1,10.0.0.2", requestHeaderValuesMap.get("x-forwarded-for")[0]);
+		Assert.assertEquals(Arrays.asList("User-Agent", "x-forwarded-for"), portletRequest.getRequestedProperties());
+	}
+
+	@Test
+	public void testEmptyValues() {
+
+		PropertiesPortletRequest portletRequest = new PropertiesPortletRequest();
+		portletRequest.addProperty("X-Empty");
+		portletRequest.addProperty("X-Blank", "");
+
+		// A property that the portlet container lists without any values is present with an empty value.
+		RequestHeaderValuesMap requestHeaderValuesMap = newRequestHeaderValuesMap(portletRequest);
+		Assert.assertTrue(requestHeaderValuesMap.containsKey("X-Empty"));
+		Assert.assertEquals("", requestHeaderValuesMap.get("X-Empty")[0]);
+		Assert.assertEquals("", requestHeaderValuesMap.get("X-Blank")[0]);
+		Assert.assertNull(requestHeaderValuesMap.get("X-Absent"));
+
+		requestHeaderValuesMap = newRequestHeaderValuesMap(portletRequest);
+		Assert.assertTrue(requestHeaderValuesMap.keySet().contains("x-empty"));
+		Assert.assertTrue(requestHeaderValuesMap.keySet().contains("x-blank"));
+		Assert.assertEquals("", requestHeaderValuesMap.get("x-empty")[0]);
+	}
+
+	@Test
+	public void testLazyLookup() {
+
+		PropertiesPortletRequest portletRequest = new PropertiesPortletRequest();
+		portletRequest.addProperty("Accept-Language", "en-US");
+		portletRequest.addProperty("User-Agent", "Mozilla/5.0");
+		portletRequest.addProperty("Host", "localhost");
+
+		// Only the headers that are accessed must be resolved from the portlet request.
+		RequestHeaderValuesMap requestHeaderValuesMap = newRequestHeaderValuesMap(portletRequest);
+		Assert.assertTrue(portletRequest.getRequestedProperties().isEmpty());
+		Assert.assertEquals("Mozilla/5.0", requestHeaderValuesMap.get("User-Agent")[0]);
+		Assert.assertEquals(Arrays.asList("User-Agent"), portletRequest.getRequestedProperties());
+		Assert.assertEquals(0, portletRequest.getPropertyNamesCount());
+
+		// Iterating the map causes all of the headers (including the synthesized "Accept" header) to be resolved.
+		Assert.assertEquals(4, requestHeaderValuesMap.size());
+		Assert.assertEquals("localhost", requestHeaderValuesMap.get("host")[0]);
+		Assert.assertEquals("text/html,text/xml", requestHeaderValuesMap.get("accept")[0]);
+		Assert.assertEquals("en-US,fr", requestHeaderValuesMap.get("accept-language")[0]);
+		Assert.assertEquals(1, portletRequest.getPropertyNamesCount());
+	}
+
+	protected RequestHeaderValuesMap newRequestHeaderValuesMap(PropertiesPortletRequest portletRequest) {
+		return new RequestHeaderValuesMap(new BridgeContextMockImpl(null, portletRequest, "/views/view.xhtml"));
+	}
+
+	protected static class PropertiesPortletRequest extends PortletRequestMockImpl {
+
+		// Private Data Members
+		private Map<String, List<String>> properties = new LinkedHashMap<String, List<String>>();
+		private int propertyNamesCount;
+		private List<String> requestedProperties = new ArrayList<String>();
+
+		public PropertiesPortletRequest() {
+			super("/context-path");
+		}
+
+		public void addProperty(String name, String... values) {
+			properties.put(name, Arrays.asList(values));
+		}
+
+		@Override
+		public Enumeration<Locale> getLocales() {
+			return Collections.enumeration(Arrays.asList(Locale.US, Locale.FRENCH));
+		}
+
+		@Override
+		public Enumeration<String> getProperties(String name) {
+
+			requestedProperties.add(name);
+
+			for (Map.Entry<String, List<String>> mapEntry : properties.entrySet()) {
+
+				if (mapEntry.getKey().equalsIgnoreCase(name)) {
+					return Collections.enumeration(mapEntry.getValue());
+				}
+			}
+
+			return Collections.enumeration(Collections.<String>emptyList());
+		}
+
+		@Override
+		public String getProperty(String name) {
+
+			Enumeration<String> values = getProperties(name);
+
+			if (values.hasMoreElements()) {
+				return values.nextElement();
+			}
+			else {
+				return null;
+			}
+		}
+
+		@Override
+		public Enumeration<String> getPropertyNames() {
+
+			propertyNamesCount++;
+
+			return Collections.enumeration(properties.keySet());
+		}
+
+		public int getPropertyNamesCount() {
+			return propertyNamesCount;
+		}
+
+		public List<String> getRequestedProperties() {
+			return requestedProperties;
+		}
+
+		@Override
+		public Enumeration<String> getResponseContentTypes() {
+			return Collections.enumeration(Arrays.asList("text/html", "text/xml"));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.context.map;
+
+import javax.faces.bean.ManagedBean;
+import javax.faces.bean.RequestScoped;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.map.internal.RequestScopedClassCache;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class RequestScopedClassCacheTest {
+
+	@Test
+	public void testRequestScoped() {
+
+		RequestScopedClassCache requestScopedClassCache = new RequestScopedClassCache();
+		Assert.assertTrue(requestScopedClassCache.isRequestScoped(RequestScopedBean.class));
+		Assert.assertTrue(requestScopedClassCache.isRequestScoped(RequestScopedBean.class));
+		Assert.assertFalse(requestScopedClassCache.isRequestScoped(String.class));
+		Assert.assertFalse(requestScopedClassCache.isRequestScoped(String.class));
+	}
+
+	@ManagedBean
+	@RequestScoped
+	public static class RequestScopedBean {
+	}
+}
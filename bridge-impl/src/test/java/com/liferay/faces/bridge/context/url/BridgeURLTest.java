@@ -14,6 +14,8 @@
 package com.liferay.faces.bridge.context.url;
 
 import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Map;
 
 import javax.portlet.PortletRequest;
 
@@ -102,6 +104,26 @@ public class BridgeURLTest {
 		}
 	}
 
+	@Test
+	public void testParameterMap() {
+
+		try {
+			Assert.assertTrue(newBridgeURI("http://www.liferay.com/foo").getParameterMap().isEmpty());
+
+			Map<String, String[]> parameterMap = newBridgeURI("/foo?a=1&amp;b=2&a=3&c=&d#e=4").getParameterMap();
+			Assert.assertEquals(4, parameterMap.size());
+			Assert.assertTrue(Arrays.equals(new String[] { "1", "3" }, parameterMap.get("a")));
+			Assert.assertTrue(Arrays.equals(new String[] { "2" }, parameterMap.get("b")));
+			Assert.assertTrue(Arrays.equals(new String[] { StringPool.BLANK }, parameterMap.get("c")));
+			Assert.assertTrue(Arrays.equals(new String[] { StringPool.BLANK }, parameterMap.get("d")));
+			Assert.assertNull(parameterMap.get("e"));
+			Assert.assertEquals("[a, b, c, d]", parameterMap.keySet().toString());
+		}
+		catch (URISyntaxException e) {
+			Assert.fail(e.getMessage());
+		}
+	}
+
 	@Test
 	public void testPathRelative() {
 
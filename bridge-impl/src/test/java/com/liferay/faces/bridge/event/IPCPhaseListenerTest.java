@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.event;
+
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletContext;
+import javax.portlet.PortletSession;
+import javax.portlet.faces.Bridge;
+
+import org.junit.Test;
+
+import com.liferay.faces.bridge.config.BridgeConfig;
+import com.liferay.faces.bridge.config.BridgeConfigMockImpl;
+import com.liferay.faces.bridge.config.PortletConfigMockImpl;
+import com.liferay.faces.bridge.context.BridgeContext;
+import com.liferay.faces.bridge.context.BridgeContextMockImpl;
+import com.liferay.faces.bridge.event.internal.IPCPhaseListener;
+import com.liferay.faces.bridge.event.internal.PublicRenderParameterMappings;
+import com.liferay.faces.bridge.scope.BridgeRequestScope;
+import com.liferay.faces.bridge.scope.internal.BridgeRequestScopeImpl;
+import com.liferay.faces.portlet.PortletContextMockImpl;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class IPCPhaseListenerTest {
+
+	// Private Constants
+	private static final String OPTIMIZE_PUBLIC_RENDER_PARAMETER_INJECTION =
+		"com.liferay.faces.bridge.optimizePublicRenderParameterInjection";
+
+	@Test
+	public void testOptimizationDisabled() {
+
+		IPCPhaseListenerTestImpl ipcPhaseListener = new IPCPhaseListenerTestImpl();
+		BridgeContext bridgeContext = newBridgeContext(Bridge.PortletPhase.RENDER_PHASE, "false");
+
+		try {
+			PublicRenderParameterMappings publicRenderParameterMappings = newPublicRenderParameterMappings();
+			Map<String, String[]> publicParameterMap = newPublicParameterMap("1234");
+
+			// Without the optimization the incoming values must be injected into the model on every request.
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					publicParameterMap));
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					publicParameterMap));
+		}
+		finally {
+			bridgeContext.release();
+		}
+	}
+
+	@Test
+	public void testOptimizationEnabled() {
+
+		IPCPhaseListenerTestImpl ipcPhaseListener = new IPCPhaseListenerTestImpl();
+		BridgeContext bridgeContext = newBridgeContext(Bridge.PortletPhase.RENDER_PHASE, "true");
+
+		try {
+			PublicRenderParameterMappings publicRenderParameterMappings = newPublicRenderParameterMappings();
+
+			// The first request must always inject since there are no previous values to compare against.
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					newPublicParameterMap("1234")));
+
+			// A subsequent request with equal values must skip the injection.
+			Assert.assertTrue(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					newPublicParameterMap("1234")));
+
+			// A subsequent request with different values must inject again, and remember the new values.
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					newPublicParameterMap("5678")));
+			Assert.assertTrue(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					newPublicParameterMap("5678")));
+		}
+		finally {
+			bridgeContext.release();
+		}
+	}
+
+	@Test
+	public void testOptimizationEnabledOutsideRenderPhase() {
+
+		IPCPhaseListenerTestImpl ipcPhaseListener = new IPCPhaseListenerTestImpl();
+		BridgeContext bridgeContext = newBridgeContext(Bridge.PortletPhase.ACTION_PHASE, "true");
+
+		try {
+			PublicRenderParameterMappings publicRenderParameterMappings = newPublicRenderParameterMappings();
+			Map<String, String[]> publicParameterMap = newPublicParameterMap("1234");
+
+			// The optimization only applies to the RENDER_PHASE of the portlet lifecycle.
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					publicParameterMap));
+			Assert.assertFalse(ipcPhaseListener.isUnchanged(bridgeContext, publicRenderParameterMappings,
+					publicParameterMap));
+		}
+		finally {
+			bridgeContext.release();
+		}
+	}
+
+	protected BridgeContext newBridgeContext(final Bridge.PortletPhase portletPhase,
+		String optimizePublicRenderParameterInjection) {
+
+		final PortletContextMockImpl portletContext = new PortletContextMockImpl();
+		portletContext.setInitParameter(OPTIMIZE_PUBLIC_RENDER_PARAMETER_INJECTION,
+			optimizePublicRenderParameterInjection);
+
+		final PortletConfig portletConfig = new PortletConfigMockImpl() {
+
+				@Override
+				public PortletContext getPortletContext() {
+					return portletContext;
+				}
+
+				@Override
+				public String getPortletName() {
+					return "portlet1";
+				}
+			};
+
+		BridgeConfig bridgeConfig = new BridgeConfigMockImpl() {
+
+				@Override
+				public Set<String> getExcludedRequestAttributes() {
+					return null;
+				}
+			};
+
+		PortletRequestMockImpl portletRequest = new PortletRequestMockImpl("/context-path") {
+
+				@Override
+				public Object getAttribute(String name) {
+					return null;
+				}
+
+				@Override
+				public Enumeration<String> getAttributeNames() {
+					return null;
+				}
+
+				@Override
+				public PortletSession getPortletSession() {
+					return null;
+				}
+
+				@Override
+				public PortletSession getPortletSession(boolean create) {
+					return null;
+				}
+			};
+
+		final BridgeRequestScope bridgeRequestScope = new BridgeRequestScopeImpl(portletRequest, portletConfig,
+				bridgeConfig);
+
+		return new BridgeContextMockImpl(bridgeConfig, portletRequest, "/views/view.xhtml") {
+
+				@Override
+				public BridgeRequestScope getBridgeRequestScope() {
+					return bridgeRequestScope;
+				}
+
+				@Override
+				public PortletConfig getPortletConfig() {
+					return portletConfig;
+				}
+
+				@Override
+				public Bridge.PortletPhase getPortletRequestPhase() {
+					return portletPhase;
+				}
+			};
+	}
+
+	protected Map<String, String[]> newPublicParameterMap(String customerId) {
+
+		Map<String, String[]> publicParameterMap = new HashMap<String, String[]>();
+		publicParameterMap.put("selectedCustomerId", new String[] { customerId });
+
+		return publicParameterMap;
+	}
+
+	protected PublicRenderParameterMappings newPublicRenderParameterMappings() {
+
+		Map<String, String[]> publicParameterMappings = new HashMap<String, String[]>();
+		publicParameterMappings.put("portlet1:selectedCustomerId",
+			new String[] { "#{customersModelBean.selectedCustomerId}" });
+
+		return new PublicRenderParameterMappings(publicParameterMappings, "portlet1");
+	}
+
+	protected static class IPCPhaseListenerTestImpl extends IPCPhaseListener {
+
+		// serialVersionUID
+		private static final long serialVersionUID = 1L;
+
+		public boolean isUnchanged(BridgeContext bridgeContext,
+			PublicRenderParameterMappings publicRenderParameterMappings, Map<String, String[]> publicParameterMap) {
+
+			return isIncomingPublicRenderParametersUnchanged(bridgeContext, publicRenderParameterMappings,
+					publicParameterMap);
+		}
+	}
+}
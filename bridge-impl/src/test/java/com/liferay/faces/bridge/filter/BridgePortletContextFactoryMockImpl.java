@@ -11,36 +11,23 @@
  * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
  * details.
  */
-package com.liferay.faces.bridge.context.map.internal;
+package com.liferay.faces.bridge.filter;
 
-import java.util.Map;
+import javax.portlet.PortletContext;
 
 
 /**
  * @author  Neil Griffin
  */
-public class RequestCookieMapEntry implements Map.Entry<String, Object> {
+public class BridgePortletContextFactoryMockImpl extends BridgePortletContextFactory {
 
-	private String key;
-	private Object value;
-
-	public RequestCookieMapEntry(String key, Object value) {
-		this.key = key;
-		this.value = value;
-	}
-
-	public String getKey() {
-		return key;
+	@Override
+	public PortletContext getPortletContext(PortletContext portletContext) {
+		return portletContext;
 	}
 
-	public Object getValue() {
-		return value;
-	}
-
-	public Object setValue(Object value) {
-		Object oldValue = this.value;
-		this.value = value;
-
-		return oldValue;
+	@Override
+	public BridgePortletContextFactory getWrapped() {
+		throw new UnsupportedOperationException();
 	}
 }
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.filter;
+
+import javax.portlet.ActionResponse;
+import javax.portlet.EventResponse;
+import javax.portlet.RenderResponse;
+import javax.portlet.ResourceResponse;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class BridgePortletResponseFactoryMockImpl extends BridgePortletResponseFactory {
+
+	@Override
+	public ActionResponse getActionResponse(ActionResponse actionResponse) {
+		return actionResponse;
+	}
+
+	@Override
+	public EventResponse getEventResponse(EventResponse eventResponse) {
+		return eventResponse;
+	}
+
+	@Override
+	public RenderResponse getRenderResponse(RenderResponse renderResponse) {
+		return renderResponse;
+	}
+
+	@Override
+	public ResourceResponse getResourceResponse(ResourceResponse resourceResponse) {
+		return resourceResponse;
+	}
+
+	@Override
+	public BridgePortletResponseFactory getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
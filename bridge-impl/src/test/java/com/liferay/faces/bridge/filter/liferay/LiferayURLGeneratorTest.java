@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.filter.liferay;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletMode;
+import javax.portlet.WindowState;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.ExternalContextMockImpl;
+import com.liferay.faces.bridge.context.FacesContextMockImpl;
+import com.liferay.faces.bridge.filter.liferay.internal.LiferayURLGeneratorRenderImpl;
+import com.liferay.faces.bridge.filter.liferay.internal.LiferayURLGeneratorResourceImpl;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class LiferayURLGeneratorTest {
+
+	// Private Constants
+	private static final String BASE_URL = "http://localhost:8080/web/guest/home?";
+	private static final String RESPONSE_NAMESPACE = "_1_WAR_portlet_";
+
+	// Private Data Members
+	private FacesContext facesContext;
+
+	@Before
+	public void setUp() {
+
+		ExternalContextMockImpl externalContext = new ExternalContextMockImpl(null, null);
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		applicationMap.put(RESPONSE_NAMESPACE + "p_p_col_id", "column-1");
+		applicationMap.put(RESPONSE_NAMESPACE + "p_p_col_count", "2");
+		applicationMap.put(RESPONSE_NAMESPACE + "p_p_col_pos", "1");
+		applicationMap.put(RESPONSE_NAMESPACE + "p_p_mode", "view");
+		applicationMap.put(RESPONSE_NAMESPACE + "p_p_state", "normal");
+		facesContext = new FacesContextMockImpl(externalContext);
+	}
+
+	@After
+	public void tearDown() {
+		facesContext.release();
+	}
+
+	@Test
+	public void testFriendlyURL() {
+
+		String friendlyURL = "http://localhost:8080/web/guest/home/-/portlet/view";
+		LiferayURLGenerator liferayURLGenerator = new LiferayURLGeneratorRenderImpl(friendlyURL, PortletMode.VIEW,
+				RESPONSE_NAMESPACE, WindowState.NORMAL);
+
+		// Friendly URLs are returned as-is.
+		Assert.assertEquals(friendlyURL, liferayURLGenerator.generateURL(newParameterMap("foo", "1")));
+	}
+
+	@Test
+	public void testOverriddenParameters() {
+
+		LiferayURLGenerator liferayURLGenerator = newRenderURLGenerator("#anchor");
+
+		// Additional parameters that override the beginning of the URL must not be namespaced, and must not affect
+		// the URLs that are generated afterwards.
+		Map<String, String[]> parameterMap = newParameterMap("foo", "1");
+		parameterMap.put("p_p_state", new String[] { "maximized" });
+		parameterMap.put("p_p_mode", new String[] { "edit" });
+		parameterMap.put("doAsUserId", new String[] { "1234" });
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=maximized&p_p_mode=edit&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1&doAsUserId=1234&_1_WAR_portlet_foo=1#anchor",
+			liferayURLGenerator.generateURL(parameterMap));
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=normal&p_p_mode=view&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=2#anchor",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "2")));
+	}
+
+	@Test
+	public void testPortletModeAndWindowState() {
+
+		LiferayURLGenerator liferayURLGenerator = newRenderURLGenerator("");
+
+		// Each combination of portlet mode and window state must have its own beginning of the URL.
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=maximized&p_p_mode=edit&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1"), PortletMode.EDIT, WindowState.MAXIMIZED));
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=minimized&p_p_mode=edit&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1"), PortletMode.EDIT, WindowState.MINIMIZED));
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=normal&p_p_mode=view&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1")));
+	}
+
+	@Test
+	public void testRenderURL() {
+
+		LiferayURLGenerator liferayURLGenerator = newRenderURLGenerator("");
+
+		// Parameters found in the base URL that are not expected by Liferay Portal are discarded, and additional
+		// parameters are namespaced and encoded.
+		String expectedHead = BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=normal&p_p_mode=view&p_p_col_id=column-1" +
+			"&p_p_col_count=2&p_p_col_pos=1";
+		Assert.assertEquals(expectedHead + "&_1_WAR_portlet__jsfBridgeViewId=%2Fviews%2Fview.xhtml",
+			liferayURLGenerator.generateURL(newParameterMap("_jsfBridgeViewId", "/views/view.xhtml")));
+
+		// The pre-compiled beginning of the URL must be reused with different parameters.
+		Assert.assertEquals(expectedHead + "&_1_WAR_portlet_foo=a+b",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "a b")));
+		Assert.assertEquals(expectedHead, liferayURLGenerator.generateURL(new HashMap<String, String[]>()));
+	}
+
+	@Test
+	public void testResourceURL() {
+
+		LiferayURLGenerator liferayURLGenerator = new LiferayURLGeneratorResourceImpl(BASE_URL +
+				"p_p_id=1_WAR_portlet&p_p_lifecycle=2&p_p_state=normal&p_p_mode=view" +
+				"&p_p_cacheability=cacheLevelPage&p_p_col_id=column-1&p_p_col_count=2", RESPONSE_NAMESPACE);
+
+		// The p_p_cacheability parameter is taken from the base URL unless it is specified, and the p_p_resource_id
+		// parameter is added to the end of the URL.
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=2&p_p_state=normal&p_p_mode=view&p_p_cacheability=cacheLevelPage" +
+			"&p_p_col_id=column-1&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1&p_p_resource_id=myResource",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1"), null, "myResource"));
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=2&p_p_state=normal&p_p_mode=view&p_p_cacheability=cacheLevelFull" +
+			"&p_p_col_id=column-1&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1"), "cacheLevelFull", null));
+		Assert.assertEquals(BASE_URL +
+			"p_p_id=1_WAR_portlet&p_p_lifecycle=2&p_p_state=normal&p_p_mode=view&p_p_cacheability=cacheLevelPage" +
+			"&p_p_col_id=column-1&p_p_col_count=2&p_p_col_pos=1&_1_WAR_portlet_foo=1",
+			liferayURLGenerator.generateURL(newParameterMap("foo", "1")));
+	}
+
+	protected Map<String, String[]> newParameterMap(String name, String... values) {
+
+		Map<String, String[]> parameterMap = new HashMap<String, String[]>();
+		parameterMap.put(name, values);
+
+		return parameterMap;
+	}
+
+	protected LiferayURLGenerator newRenderURLGenerator(String anchor) {
+
+		return new LiferayURLGeneratorRenderImpl(BASE_URL +
+				"p_p_id=1_WAR_portlet&p_p_lifecycle=0&p_p_state=normal&p_p_mode=view&p_p_col_id=column-1" +
+				"&p_p_col_count=2&_1_WAR_portlet_bar=1" + anchor, PortletMode.VIEW, RESPONSE_NAMESPACE,
+				WindowState.NORMAL);
+	}
+}
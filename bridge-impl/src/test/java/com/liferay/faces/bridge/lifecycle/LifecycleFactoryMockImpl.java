@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.lifecycle;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.faces.lifecycle.Lifecycle;
+import javax.faces.lifecycle.LifecycleFactory;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class LifecycleFactoryMockImpl extends LifecycleFactory {
+
+	// Private Data Members
+	private Map<String, Lifecycle> lifecycles;
+
+	public LifecycleFactoryMockImpl() {
+		this.lifecycles = new HashMap<String, Lifecycle>();
+		this.lifecycles.put(DEFAULT_LIFECYCLE, new LifecycleMockImpl());
+	}
+
+	@Override
+	public void addLifecycle(String lifecycleId, Lifecycle lifecycle) {
+		lifecycles.put(lifecycleId, lifecycle);
+	}
+
+	@Override
+	public Lifecycle getLifecycle(String lifecycleId) {
+		return lifecycles.get(lifecycleId);
+	}
+
+	@Override
+	public Iterator<String> getLifecycleIds() {
+		return Collections.unmodifiableSet(lifecycles.keySet()).iterator();
+	}
+}
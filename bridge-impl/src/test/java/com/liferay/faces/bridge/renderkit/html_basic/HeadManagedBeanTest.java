@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.renderkit.html_basic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+
+import javax.faces.component.UIViewRoot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.ApplicationMockImpl;
+import com.liferay.faces.bridge.context.ELResolverMockImpl;
+import com.liferay.faces.bridge.context.ExternalContextMockImpl;
+import com.liferay.faces.bridge.context.FacesContextMockImpl;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadManagedBean;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class HeadManagedBeanTest {
+
+	// Private Constants
+	private static final String JSF_JS = "javax.faces:jsf.js";
+
+	// Private Data Members
+	private ELResolverMockImpl elResolver;
+	private FacesContextMockImpl facesContext;
+
+	@Before
+	public void setUp() {
+
+		elResolver = new ELResolverMockImpl();
+		facesContext = new FacesContextMockImpl(new ExternalContextMockImpl(null, null));
+		facesContext.setApplication(new ApplicationMockImpl(elResolver));
+	}
+
+	@After
+	public void tearDown() {
+		facesContext.release();
+	}
+
+	@Test
+	public void testGetInstanceForView() {
+
+		HeadManagedBean headManagedBean1 = new HeadManagedBean();
+		elResolver.putBean("headManagedBean", headManagedBean1);
+		facesContext.setViewRoot(new UIViewRoot());
+
+		// The managed-bean must be resolved only one time for as long as the view does not change.
+		Assert.assertSame(headManagedBean1, HeadManagedBean.getInstance(facesContext));
+		Assert.assertSame(headManagedBean1, HeadManagedBean.getInstance(facesContext));
+		Assert.assertEquals(1, elResolver.getValueCount());
+
+		// When a navigation-rule causes a new view to be created, the managed-bean of the new view must be resolved.
+		HeadManagedBean headManagedBean2 = new HeadManagedBean();
+		elResolver.putBean("headManagedBean", headManagedBean2);
+		facesContext.setViewRoot(new UIViewRoot());
+		Assert.assertSame(headManagedBean2, HeadManagedBean.getInstance(facesContext));
+		Assert.assertSame(headManagedBean2, HeadManagedBean.getInstance(facesContext));
+		Assert.assertEquals(2, elResolver.getValueCount());
+	}
+
+	@Test
+	public void testGetInstanceWithoutView() {
+
+		HeadManagedBean headManagedBean = new HeadManagedBean();
+		elResolver.putBean("headManagedBean", headManagedBean);
+
+		// Without a view, there is nothing to associate the resolved managed-bean with.
+		Assert.assertSame(headManagedBean, HeadManagedBean.getInstance(facesContext));
+		Assert.assertSame(headManagedBean, HeadManagedBean.getInstance(facesContext));
+		Assert.assertEquals(2, elResolver.getValueCount());
+	}
+
+	@Test
+	public void testHeadResourceIdsInterned() throws Exception {
+
+		HeadManagedBean headManagedBean = new HeadManagedBean();
+		Set<String> headResourceIds = headManagedBean.getHeadResourceIds();
+		headResourceIds.add(new String(JSF_JS));
+		Assert.assertSame(JSF_JS, headResourceIds.iterator().next());
+
+		// The resource ids must also be interned when a view-scoped managed-bean is deserialized, since the elements
+		// of a HashSet are deserialized without calling the add(String) method.
+		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream);
+		objectOutputStream.writeObject(headManagedBean);
+		objectOutputStream.close();
+
+		ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(
+					byteArrayOutputStream.toByteArray()));
+		HeadManagedBean deserializedHeadManagedBean = (HeadManagedBean) objectInputStream.readObject();
+		objectInputStream.close();
+
+		Set<String> deserializedHeadResourceIds = deserializedHeadManagedBean.getHeadResourceIds();
+		Assert.assertEquals(1, deserializedHeadResourceIds.size());
+		Assert.assertSame(JSF_JS, deserializedHeadResourceIds.iterator().next());
+
+		// The deserialized set must continue to intern the ids that are added to it.
+		deserializedHeadResourceIds.add(new String("javax.faces:jsf-uncompressed.js"));
+		Assert.assertTrue(deserializedHeadResourceIds.contains("javax.faces:jsf-uncompressed.js"));
+
+		for (String resourceId : deserializedHeadResourceIds) {
+			Assert.assertSame(resourceId.intern(), resourceId);
+		}
+	}
+}
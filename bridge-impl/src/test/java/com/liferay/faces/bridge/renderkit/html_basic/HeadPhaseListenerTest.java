@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.renderkit.html_basic;
+
+import java.util.Set;
+
+import javax.faces.FacesException;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+import javax.faces.lifecycle.Lifecycle;
+import javax.portlet.faces.Bridge;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.ApplicationMockImpl;
+import com.liferay.faces.bridge.context.ELResolverMockImpl;
+import com.liferay.faces.bridge.context.ExternalContextMockImpl;
+import com.liferay.faces.bridge.context.FacesContextMockImpl;
+import com.liferay.faces.bridge.context.PartialViewContextMockImpl;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadManagedBean;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadPhaseListener;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class HeadPhaseListenerTest {
+
+	// Private Data Members
+	private ELResolverMockImpl elResolver;
+	private FacesContextMockImpl facesContext;
+	private HeadPhaseListener headPhaseListener;
+	private Lifecycle lifecycle;
+
+	@Before
+	public void setUp() {
+
+		elResolver = new ELResolverMockImpl();
+
+		ExternalContextMockImpl externalContext = new ExternalContextMockImpl(null, null);
+		externalContext.getRequestMap().put(Bridge.PORTLET_LIFECYCLE_PHASE, Bridge.PortletPhase.RESOURCE_PHASE);
+		facesContext = new FacesContextMockImpl(externalContext);
+		facesContext.setApplication(new ApplicationMockImpl(elResolver));
+		facesContext.setPartialViewContext(new PartialViewContextMockImpl(true));
+		headPhaseListener = new HeadPhaseListener();
+		lifecycle = new LifecycleMockImpl();
+	}
+
+	@After
+	public void tearDown() {
+		facesContext.release();
+	}
+
+	@Test
+	public void testAjaxNavigation() {
+
+		HeadManagedBean headManagedBean1 = newHeadManagedBean("/views/view1.xhtml", "javax.faces:jsf.js",
+				"primefaces:primefaces.css");
+		beforePhase(PhaseId.APPLY_REQUEST_VALUES);
+
+		// A navigation-rule fires during INVOKE_APPLICATION and causes a new view with a new (empty) HeadManagedBean.
+		HeadManagedBean headManagedBean2 = newHeadManagedBean("/views/view2.xhtml");
+		beforePhase(PhaseId.INVOKE_APPLICATION);
+		Assert.assertTrue(headManagedBean2.getHeadResourceIds().isEmpty());
+
+		// The resources that were already added to the <head> section by the initial view must be remembered by the
+		// new view.
+		beforePhase(PhaseId.RENDER_RESPONSE);
+
+		Set<String> headResourceIds = headManagedBean2.getHeadResourceIds();
+		Assert.assertEquals(headManagedBean1.getHeadResourceIds(), headResourceIds);
+		Assert.assertTrue(headResourceIds.contains("javax.faces:jsf.js"));
+		Assert.assertTrue(headResourceIds.contains("primefaces:primefaces.css"));
+	}
+
+	@Test
+	public void testAjaxWithoutNavigation() {
+
+		HeadManagedBean headManagedBean = newHeadManagedBean("/views/view1.xhtml", "javax.faces:jsf.js");
+		Set<String> headResourceIds = headManagedBean.getHeadResourceIds();
+		beforePhase(PhaseId.APPLY_REQUEST_VALUES);
+		beforePhase(PhaseId.RENDER_RESPONSE);
+
+		// Without navigation, the remembered set is the very same set that is in the HeadManagedBean, and the
+		// HeadManagedBean is resolved only one time for the view.
+		Assert.assertSame(headResourceIds, headManagedBean.getHeadResourceIds());
+		Assert.assertEquals(1, headResourceIds.size());
+		Assert.assertEquals(1, elResolver.getValueCount());
+	}
+
+	@Test
+	public void testNonAjaxRender() {
+
+		newHeadManagedBean("/views/view1.xhtml", "javax.faces:jsf.js");
+		beforePhase(PhaseId.APPLY_REQUEST_VALUES);
+
+		// The remembered resources are only relevant to an Ajax request, since a full page render adds the resources
+		// of the new view to the <head> section of the portal page.
+		HeadManagedBean headManagedBean = newHeadManagedBean("/views/view2.xhtml");
+		facesContext.setPartialViewContext(new PartialViewContextMockImpl(false));
+		beforePhase(PhaseId.RENDER_RESPONSE);
+		Assert.assertTrue(headManagedBean.getHeadResourceIds().isEmpty());
+	}
+
+	protected void beforePhase(PhaseId phaseId) {
+		headPhaseListener.beforePhase(new PhaseEvent(facesContext, phaseId, lifecycle));
+	}
+
+	/**
+	 * Creates a new view that has a new {@link HeadManagedBean} containing the specified resource ids.
+	 */
+	protected HeadManagedBean newHeadManagedBean(String viewId, String... headResourceIds) {
+
+		UIViewRoot viewRoot = new UIViewRoot();
+		viewRoot.setViewId(viewId);
+		facesContext.setViewRoot(viewRoot);
+
+		HeadManagedBean headManagedBean = new HeadManagedBean();
+
+		for (String headResourceId : headResourceIds) {
+			headManagedBean.getHeadResourceIds().add(headResourceId);
+		}
+
+		elResolver.putBean("headManagedBean", headManagedBean);
+
+		return headManagedBean;
+	}
+
+	private static class LifecycleMockImpl extends Lifecycle {
+
+		@Override
+		public void addPhaseListener(PhaseListener listener) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void execute(FacesContext context) throws FacesException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void removePhaseListener(PhaseListener listener) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void render(FacesContext context) throws FacesException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public PhaseListener[] getPhaseListeners() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
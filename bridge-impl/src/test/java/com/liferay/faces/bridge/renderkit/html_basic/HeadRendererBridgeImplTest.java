@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.bridge.renderkit.html_basic;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIOutput;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortalContext;
+import javax.portlet.PortletMode;
+import javax.portlet.PortletRequest;
+import javax.portlet.WindowState;
+import javax.portlet.faces.component.PortletNamingContainerUIViewRoot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.bridge.context.ApplicationMockImpl;
+import com.liferay.faces.bridge.context.ELResolverMockImpl;
+import com.liferay.faces.bridge.context.ExternalContextMockImpl;
+import com.liferay.faces.bridge.context.FacesContextMockImpl;
+import com.liferay.faces.bridge.context.PartialViewContextMockImpl;
+import com.liferay.faces.bridge.renderkit.bridge.internal.BridgeRenderer;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadManagedBean;
+import com.liferay.faces.bridge.renderkit.html_basic.internal.HeadRendererBridgeImpl;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+import com.liferay.faces.util.application.internal.ComponentResourceFactoryImpl;
+import com.liferay.faces.util.config.ConfiguredElement;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+
+import junit.framework.Assert;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class HeadRendererBridgeImplTest {
+
+	// Private Data Members
+	private FacesContextMockImpl facesContext;
+	private HeadManagedBean headManagedBean;
+	private UIViewRootMockImpl uiViewRoot;
+
+	@Before
+	public void setUp() {
+
+		FactoryExtensionFinder.getInstance().registerFactory(new ConfiguredElement() {
+
+				public String getName() {
+					return "component-resource-factory";
+				}
+
+				public String getValue() {
+					return ComponentResourceFactoryImpl.class.getName();
+				}
+			});
+
+		// Simulate a portlet container that does not have the ability to add resources to the <head> section of the
+		// portal page, so that the resources are relocated to the body.
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context") {
+
+				// Private Data Members
+				private Map<String, Object> attributes = new HashMap<String, Object>();
+
+				@Override
+				public Object getAttribute(String name) {
+					return attributes.get(name);
+				}
+
+				@Override
+				public void setAttribute(String name, Object value) {
+					attributes.put(name, value);
+				}
+
+				@Override
+				public PortalContext getPortalContext() {
+					return new PortalContextMockImpl();
+				}
+			};
+
+		ELResolverMockImpl elResolver = new ELResolverMockImpl();
+		headManagedBean = new HeadManagedBean();
+		elResolver.putBean("headManagedBean", headManagedBean);
+		facesContext = new FacesContextMockImpl(new ExternalContextMockImpl(portletRequest, null));
+		facesContext.setApplication(new ApplicationMockImpl(elResolver));
+		uiViewRoot = new UIViewRootMockImpl();
+		facesContext.setViewRoot(uiViewRoot);
+	}
+
+	@After
+	public void tearDown() {
+		facesContext.release();
+	}
+
+	@Test
+	public void testAjaxRelocatesResourcesNotInHead() throws Exception {
+
+		facesContext.setPartialViewContext(new PartialViewContextMockImpl(true));
+
+		UIComponent jsfScript = newResource("javax.faces", "jsf.js");
+		UIComponent alloyScript = newResource("liferay-faces-alloy", "alloy.js");
+		UIComponent alloyStylesheet = newResource("liferay-faces-alloy", "alloy.css");
+		uiViewRoot.addHeadResources(jsfScript, alloyScript, alloyStylesheet);
+
+		// Resources that were added to the <head> section of the portal page during the initial render must not be
+		// relocated, but resources that were introduced by the Ajax request must be relocated to the body.
+		headManagedBean.getHeadResourceIds().add("javax.faces:jsf.js");
+		new HeadRendererBridgeImpl().encodeChildren(facesContext, new UIOutput());
+
+		List<UIComponent> bodyResources = uiViewRoot.getBodyResources();
+		Assert.assertEquals(2, bodyResources.size());
+		Assert.assertSame(alloyStylesheet, bodyResources.get(0));
+		Assert.assertSame(alloyScript, bodyResources.get(1));
+		Assert.assertEquals(1, headManagedBean.getHeadResourceIds().size());
+	}
+
+	@Test
+	public void testResourceOrder() throws Exception {
+
+		facesContext.setPartialViewContext(new PartialViewContextMockImpl(false));
+
+		UIComponent viewScript1 = newResource("javax.faces", "jsf.js");
+		UIComponent viewStylesheet1 = newResource("primefaces", "primefaces.css");
+		UIComponent viewScript2 = newResource("primefaces", "primefaces.js");
+		UIComponent viewStylesheet2 = newResource("primefaces", "theme.css");
+		uiViewRoot.addHeadResources(viewScript1, viewStylesheet1, viewScript2, viewStylesheet2);
+
+		UIComponent headComponent = new UIOutput();
+		UIComponent firstFacet = newResource(null, "first.js");
+		UIComponent middleFacet = newResource(null, "middle.js");
+		UIComponent lastFacet = newResource(null, "last.js");
+		headComponent.getFacets().put("first", firstFacet);
+		headComponent.getFacets().put("middle", middleFacet);
+		headComponent.getFacets().put("last", lastFacet);
+		new HeadRendererBridgeImpl().encodeChildren(facesContext, headComponent);
+
+		// The "first" facet, the stylesheets of the view, the "middle" facet, the scripts of the view and the "last"
+		// facet must be relocated to the body in that order (with the order of the view preserved).
+		List<UIComponent> bodyResources = uiViewRoot.getBodyResources();
+		Assert.assertEquals(7, bodyResources.size());
+		Assert.assertSame(firstFacet, bodyResources.get(0));
+		Assert.assertSame(viewStylesheet1, bodyResources.get(1));
+		Assert.assertSame(viewStylesheet2, bodyResources.get(2));
+		Assert.assertSame(middleFacet, bodyResources.get(3));
+		Assert.assertSame(viewScript1, bodyResources.get(4));
+		Assert.assertSame(viewScript2, bodyResources.get(5));
+		Assert.assertSame(lastFacet, bodyResources.get(6));
+
+		for (UIComponent bodyResource : bodyResources) {
+			Assert.assertEquals("head", bodyResource.getAttributes().get(BridgeRenderer.ORIGINAL_TARGET));
+		}
+	}
+
+	protected UIComponent newResource(String library, String name) {
+
+		UIComponent uiComponent = new UIOutput();
+		Map<String, Object> attributes = uiComponent.getAttributes();
+
+		if (library != null) {
+			attributes.put("library", library);
+		}
+
+		attributes.put("name", name);
+
+		return uiComponent;
+	}
+
+	private static class PortalContextMockImpl implements PortalContext {
+
+		public String getPortalInfo() {
+			throw new UnsupportedOperationException();
+		}
+
+		public String getProperty(String name) {
+			return null;
+		}
+
+		public Enumeration<String> getPropertyNames() {
+			throw new UnsupportedOperationException();
+		}
+
+		public Enumeration<PortletMode> getSupportedPortletModes() {
+			throw new UnsupportedOperationException();
+		}
+
+		public Enumeration<WindowState> getSupportedWindowStates() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static class UIViewRootMockImpl extends PortletNamingContainerUIViewRoot {
+
+		// serialVersionUID
+		private static final long serialVersionUID = 1284621938725014563L;
+
+		// Private Data Members
+		private List<UIComponent> bodyResources = new ArrayList<UIComponent>();
+		private List<UIComponent> headResources = new ArrayList<UIComponent>();
+
+		@Override
+		public void addComponentResource(FacesContext facesContext, UIComponent componentResource, String target) {
+
+			if ("body".equals(target)) {
+				bodyResources.add(componentResource);
+			}
+			else {
+				throw new UnsupportedOperationException();
+			}
+		}
+
+		public void addHeadResources(UIComponent... componentResources) {
+
+			for (UIComponent componentResource : componentResources) {
+				headResources.add(componentResource);
+			}
+		}
+
+		public List<UIComponent> getBodyResources() {
+			return bodyResources;
+		}
+
+		@Override
+		public List<UIComponent> getComponentResources(FacesContext facesContext, String target) {
+
+			if ("head".equals(target)) {
+				return headResources;
+			}
+			else {
+				throw new UnsupportedOperationException();
+			}
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portlet;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.ActionRequest;
+import javax.portlet.PortletMode;
+import javax.portlet.PortletSession;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ActionRequestMockImpl extends PortletRequestMockImpl implements ActionRequest {
+
+	// Private Data Members
+	private Map<String, Object> attributes = new HashMap<String, Object>();
+	private PortletSession portletSession;
+	private String sessionId;
+
+	public ActionRequestMockImpl(String contextPath, String sessionId) {
+		super(contextPath);
+		this.sessionId = sessionId;
+	}
+
+	@Override
+	public void removeAttribute(String name) {
+		attributes.remove(name);
+	}
+
+	@Override
+	public Object getAttribute(String name) {
+		return attributes.get(name);
+	}
+
+	@Override
+	public void setAttribute(String name, Object value) {
+
+		if (value == null) {
+			attributes.remove(name);
+		}
+		else {
+			attributes.put(name, value);
+		}
+	}
+
+	@Override
+	public Enumeration<String> getAttributeNames() {
+		return Collections.enumeration(attributes.keySet());
+	}
+
+	public String getCharacterEncoding() {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setCharacterEncoding(String encoding) {
+		throw new UnsupportedOperationException();
+	}
+
+	public int getContentLength() {
+		throw new UnsupportedOperationException();
+	}
+
+	public String getContentType() {
+		throw new UnsupportedOperationException();
+	}
+
+	public String getMethod() {
+		return "POST";
+	}
+
+	@Override
+	public String getParameter(String name) {
+		return null;
+	}
+
+	public InputStream getPortletInputStream() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public PortletMode getPortletMode() {
+		return PortletMode.VIEW;
+	}
+
+	@Override
+	public PortletSession getPortletSession() {
+		return getPortletSession(true);
+	}
+
+	@Override
+	public PortletSession getPortletSession(boolean create) {
+
+		if ((portletSession == null) && create) {
+			portletSession = new PortletSessionMockImpl() {
+
+					@Override
+					public String getId() {
+						return sessionId;
+					}
+				};
+		}
+
+		return portletSession;
+	}
+
+	public BufferedReader getReader() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portlet;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.ActionResponse;
+import javax.portlet.PortletMode;
+import javax.portlet.WindowState;
+import javax.servlet.http.Cookie;
+import javax.xml.namespace.QName;
+
+import org.w3c.dom.Element;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ActionResponseMockImpl implements ActionResponse {
+
+	// Private Data Members
+	private Map<String, String> properties = new HashMap<String, String>();
+	private Map<String, String[]> renderParameterMap = new HashMap<String, String[]>();
+
+	public void addProperty(Cookie cookie) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void addProperty(String key, Element element) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void addProperty(String key, String value) {
+		properties.put(key, value);
+	}
+
+	public Element createElement(String tagName) {
+		throw new UnsupportedOperationException();
+	}
+
+	public String encodeURL(String path) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void removePublicRenderParameter(String name) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void sendRedirect(String location) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void sendRedirect(String location, String renderUrlParamName) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setEvent(QName name, Serializable value) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setEvent(String name, Serializable value) {
+		throw new UnsupportedOperationException();
+	}
+
+	public String getNamespace() {
+		throw new UnsupportedOperationException();
+	}
+
+	public PortletMode getPortletMode() {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setPortletMode(PortletMode portletMode) {
+		throw new UnsupportedOperationException();
+	}
+
+	public Map<String, String> getProperties() {
+		return properties;
+	}
+
+	public void setProperty(String key, String value) {
+		properties.put(key, value);
+	}
+
+	public void setRenderParameter(String key, String value) {
+		renderParameterMap.put(key, new String[] { value });
+	}
+
+	public void setRenderParameter(String key, String[] values) {
+		renderParameterMap.put(key, values);
+	}
+
+	public Map<String, String[]> getRenderParameterMap() {
+		return renderParameterMap;
+	}
+
+	public void setRenderParameters(Map<String, String[]> parameters) {
+		renderParameterMap.clear();
+		renderParameterMap.putAll(parameters);
+	}
+
+	public WindowState getWindowState() {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setWindowState(WindowState windowState) {
+		throw new UnsupportedOperationException();
+	}
+}
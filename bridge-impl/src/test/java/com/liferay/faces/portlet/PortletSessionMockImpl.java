@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portlet;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.portlet.PortletContext;
+import javax.portlet.PortletSession;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class PortletSessionMockImpl implements PortletSession {
+
+	// Private Data Members
+	private Map<String, Object> attributeMap = new HashMap<String, Object>();
+	private int setAttributeCount;
+
+	public void invalidate() {
+		throw new UnsupportedOperationException();
+	}
+
+	public void removeAttribute(String name) {
+		attributeMap.remove(name);
+	}
+
+	public void removeAttribute(String name, int scope) {
+		throw new UnsupportedOperationException();
+	}
+
+	public Object getAttribute(String name) {
+		return attributeMap.get(name);
+	}
+
+	public Object getAttribute(String name, int scope) {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setAttribute(String name, Object value) {
+		setAttributeCount++;
+		attributeMap.put(name, value);
+	}
+
+	public void setAttribute(String name, Object value, int scope) {
+		throw new UnsupportedOperationException();
+	}
+
+	public Map<String, Object> getAttributeMap() {
+		return attributeMap;
+	}
+
+	public Map<String, Object> getAttributeMap(int scope) {
+		throw new UnsupportedOperationException();
+	}
+
+	public Enumeration<String> getAttributeNames() {
+		return Collections.enumeration(attributeMap.keySet());
+	}
+
+	public Enumeration<String> getAttributeNames(int scope) {
+		throw new UnsupportedOperationException();
+	}
+
+	public long getCreationTime() {
+		throw new UnsupportedOperationException();
+	}
+
+	public String getId() {
+		throw new UnsupportedOperationException();
+	}
+
+	public long getLastAccessedTime() {
+		throw new UnsupportedOperationException();
+	}
+
+	public int getMaxInactiveInterval() {
+		throw new UnsupportedOperationException();
+	}
+
+	public void setMaxInactiveInterval(int interval) {
+		throw new UnsupportedOperationException();
+	}
+
+	public boolean isNew() {
+		throw new UnsupportedOperationException();
+	}
+
+	public PortletContext getPortletContext() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns the number of times that {@link #setAttribute(String, Object)} has been called.
+	 */
+	public int getSetAttributeCount() {
+		return setAttributeCount;
+	}
+}
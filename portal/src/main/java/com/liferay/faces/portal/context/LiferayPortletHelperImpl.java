@@ -14,13 +14,17 @@
 package com.liferay.faces.portal.context;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.faces.context.FacesContext;
 import javax.portlet.PortletRequest;
 
 import com.liferay.faces.portal.bean.Liferay;
+import com.liferay.faces.portal.context.internal.ThemeDisplayValues;
 import com.liferay.faces.portal.security.AuthorizationException;
+import com.liferay.faces.portal.security.UserPermissionCache;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -35,10 +39,8 @@ import com.liferay.portal.model.User;
 import com.liferay.portal.security.permission.PermissionChecker;
 import com.liferay.portal.service.RoleLocalServiceUtil;
 import com.liferay.portal.service.ServiceContext;
-import com.liferay.portal.service.UserLocalServiceUtil;
 import com.liferay.portal.service.permission.PortletPermissionUtil;
 import com.liferay.portal.theme.ThemeDisplay;
-import com.liferay.portal.util.PortalUtil;
 
 
 /**
@@ -71,11 +73,23 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 		ThemeDisplay themeDisplay = getThemeDisplay();
 		PermissionChecker permissionChecker = themeDisplay.getPermissionChecker();
 		String portletId = themeDisplay.getPortletDisplay().getId();
+		long userId = permissionChecker.getUserId();
+		long plid = themeDisplay.getPlid();
+
+		// Since permission checks are typically found in the "rendered" attribute of components, the same decision is
+		// often requested several times during a single request. Consult the request-scoped memo first.
+		UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(getPortletRequest());
+		Boolean cachedPermission = userPermissionCache.getPortletPermission(userId, plid, portletId, actionId);
+
+		if (cachedPermission != null) {
+			return cachedPermission;
+		}
+
 		boolean hasPermission = false;
 
 		try {
-			hasPermission = PortletPermissionUtil.contains(permissionChecker, themeDisplay.getPlid(), portletId,
-					actionId);
+			hasPermission = PortletPermissionUtil.contains(permissionChecker, plid, portletId, actionId);
+			userPermissionCache.setPortletPermission(userId, plid, portletId, actionId, hasPermission);
 		}
 		catch (Exception e) {
 			logger.error(e.getMessage(), e);
@@ -87,15 +101,25 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	public boolean userHasRole(String roleName) {
 
 		try {
-			List<Role> roles = getUserRoles();
+			long userId = getUserId();
+			UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(getPortletRequest());
+			Set<String> roleNames = userPermissionCache.getRoleNames(userId);
+
+			// If the names of the roles assigned to the user have not yet been retrieved during the current request,
+			// then retrieve them one time so that subsequent checks do not call the role service again.
+			if (roleNames == null) {
 
-			for (Role role : roles) {
+				List<Role> roles = getUserRoles();
+				roleNames = new HashSet<String>(roles.size());
 
-				if (role.getName().equals(roleName)) {
-					return true;
+				for (Role role : roles) {
+					roleNames.add(role.getName());
 				}
+
+				userPermissionCache.setRoleNames(userId, roleNames);
 			}
 
+			return roleNames.contains(roleName);
 		}
 		catch (Exception e) {
 			logger.error(e.getMessage(), e);
@@ -110,7 +134,7 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	}
 
 	public String getDocumentLibraryURL() {
-		return getPortalURL() + "/c/document_library";
+		return getThemeDisplayValues().getDocumentLibraryURL();
 	}
 
 	public long getHostGroupId() {
@@ -118,7 +142,7 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	}
 
 	public String getImageGalleryURL() {
-		return getPortalURL() + "/image_gallery";
+		return getThemeDisplayValues().getImageGalleryURL();
 	}
 
 	public Layout getLayout() {
@@ -141,7 +165,7 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	}
 
 	public String getPortalURL() {
-		return getThemeDisplay().getPortalURL();
+		return getThemeDisplayValues().getPortalURL();
 	}
 
 	public Portlet getPortlet() {
@@ -183,42 +207,26 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	}
 
 	public User getScopeGroupUser() {
-		User groupUser = null;
-		Group scopeGroup = getScopeGroup();
-
-		if (scopeGroup.isUser()) {
-
-			try {
-				groupUser = UserLocalServiceUtil.getUserById(scopeGroup.getClassPK());
-			}
-			catch (Exception e) {
-				logger.error(e.getMessage(), e);
-			}
-		}
-
-		return groupUser;
+		return getThemeDisplayValues().getScopeGroupUser();
 	}
 
 	public ServiceContext getServiceContext() {
 
+		// Since callers are free to modify the returned ServiceContext, a new instance is created for each call. However,
+		// the URLs that are expensive to compute are resolved only one time per request.
 		ServiceContext serviceContext = new ServiceContext();
-		ThemeDisplay themeDisplay = getThemeDisplay();
+		ThemeDisplayValues themeDisplayValues = getThemeDisplayValues();
+		ThemeDisplay themeDisplay = themeDisplayValues.getThemeDisplay();
 		serviceContext.setCompanyId(themeDisplay.getCompanyId());
 		serviceContext.setLanguageId(themeDisplay.getLanguageId());
-		serviceContext.setPathMain(PortalUtil.getPathMain());
+		serviceContext.setPathMain(themeDisplayValues.getPathMain());
 		serviceContext.setPlid(themeDisplay.getPlid());
-		serviceContext.setPortalURL(PortalUtil.getPortalURL(getPortletRequest()));
+		serviceContext.setPortalURL(themeDisplayValues.getRequestPortalURL());
 		serviceContext.setScopeGroupId(themeDisplay.getScopeGroupId());
 		serviceContext.setUserId(themeDisplay.getUserId());
-
-		try {
-			serviceContext.setLayoutFullURL(PortalUtil.getLayoutFullURL(themeDisplay));
-			serviceContext.setLayoutURL(PortalUtil.getLayoutURL(themeDisplay));
-			serviceContext.setUserDisplayURL(themeDisplay.getUser().getDisplayURL(themeDisplay));
-		}
-		catch (Exception e) {
-			logger.error(e.getMessage(), e);
-		}
+		serviceContext.setLayoutFullURL(themeDisplayValues.getLayoutFullURL());
+		serviceContext.setLayoutURL(themeDisplayValues.getLayoutURL());
+		serviceContext.setUserDisplayURL(themeDisplayValues.getUserDisplayURL());
 
 		return serviceContext;
 	}
@@ -234,28 +242,11 @@ public class LiferayPortletHelperImpl implements LiferayPortletHelper, Serializa
 	}
 
 	public String getThemeImagesURL() {
+		return getThemeDisplayValues().getThemeImagesURL();
+	}
 
-		String portalURL = null;
-		ThemeDisplay themeDisplay = getThemeDisplay();
-		String cdnHost = themeDisplay.getCDNHost();
-
-		if ((cdnHost != null) && (cdnHost.length() > 0)) {
-			portalURL = cdnHost;
-		}
-		else {
-			portalURL = themeDisplay.getPortalURL();
-		}
-
-		String pathThemeImages = themeDisplay.getPathThemeImages();
-
-		if (pathThemeImages.startsWith(portalURL)) {
-
-			// The portalURL will already be included for versions of Liferay Portal newer than 6.1.0 CE GA1
-			return pathThemeImages;
-		}
-		else {
-			return portalURL + pathThemeImages;
-		}
+	protected ThemeDisplayValues getThemeDisplayValues() {
+		return ThemeDisplayValues.getInstance(getPortletRequest());
 	}
 
 	public User getUser() {
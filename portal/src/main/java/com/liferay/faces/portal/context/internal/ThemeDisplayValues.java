@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.context.internal;
+
+import javax.portlet.PortletRequest;
+
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+import com.liferay.portal.kernel.util.WebKeys;
+import com.liferay.portal.model.Group;
+import com.liferay.portal.model.User;
+import com.liferay.portal.service.UserLocalServiceUtil;
+import com.liferay.portal.theme.ThemeDisplay;
+import com.liferay.portal.util.PortalUtil;
+
+
+/**
+ * This class is a per-request snapshot of values that are derived from the Liferay {@link ThemeDisplay}. Each value is
+ * computed lazily the first time it is requested and is then reused for the remainder of the request, which is
+ * beneficial when EL expressions like #{liferay.themeImagesURL} are evaluated by iterating components. The snapshot is
+ * stored as a {@link PortletRequest} attribute so that it is shared by every {@link
+ * com.liferay.faces.portal.context.LiferayPortletHelperImpl} (and therefore by {@link
+ * com.liferay.faces.portal.context.LiferayFacesContextImpl} and the "liferay" managed-bean) during the request.
+ *
+ * @author  Neil Griffin
+ */
+public class ThemeDisplayValues {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(ThemeDisplayValues.class);
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = ThemeDisplayValues.class.getName();
+
+	// Private Data Members
+	private String documentLibraryURL;
+	private String imageGalleryURL;
+	private String layoutFullURL;
+	private String layoutURL;
+	private String pathMain;
+	private String portalURL;
+	private PortletRequest portletRequest;
+	private String requestPortalURL;
+	private User scopeGroupUser;
+	private boolean scopeGroupUserResolved;
+	private boolean serviceContextURLsResolved;
+	private ThemeDisplay themeDisplay;
+	private String themeImagesURL;
+	private String userDisplayURL;
+
+	private ThemeDisplayValues(PortletRequest portletRequest, ThemeDisplay themeDisplay) {
+		this.portletRequest = portletRequest;
+		this.themeDisplay = themeDisplay;
+	}
+
+	/**
+	 * Returns the snapshot associated with the specified request. If the {@link ThemeDisplay} request attribute has been
+	 * replaced since the snapshot was created, then a new snapshot is created.
+	 */
+	public static ThemeDisplayValues getInstance(PortletRequest portletRequest) {
+
+		ThemeDisplay themeDisplay = (ThemeDisplay) portletRequest.getAttribute(WebKeys.THEME_DISPLAY);
+		ThemeDisplayValues themeDisplayValues = (ThemeDisplayValues) portletRequest.getAttribute(ATTRIBUTE_NAME);
+
+		if ((themeDisplayValues == null) || (themeDisplayValues.themeDisplay != themeDisplay)) {
+			themeDisplayValues = new ThemeDisplayValues(portletRequest, themeDisplay);
+			portletRequest.setAttribute(ATTRIBUTE_NAME, themeDisplayValues);
+		}
+
+		return themeDisplayValues;
+	}
+
+	protected void resolveServiceContextURLs() {
+
+		if (!serviceContextURLsResolved) {
+
+			pathMain = PortalUtil.getPathMain();
+			requestPortalURL = PortalUtil.getPortalURL(portletRequest);
+
+			try {
+				layoutFullURL = PortalUtil.getLayoutFullURL(themeDisplay);
+				layoutURL = PortalUtil.getLayoutURL(themeDisplay);
+				userDisplayURL = themeDisplay.getUser().getDisplayURL(themeDisplay);
+			}
+			catch (Exception e) {
+				logger.error(e.getMessage(), e);
+			}
+
+			serviceContextURLsResolved = true;
+		}
+	}
+
+	public String getDocumentLibraryURL() {
+
+		if (documentLibraryURL == null) {
+			documentLibraryURL = getPortalURL() + "/c/document_library";
+		}
+
+		return documentLibraryURL;
+	}
+
+	public String getImageGalleryURL() {
+
+		if (imageGalleryURL == null) {
+			imageGalleryURL = getPortalURL() + "/image_gallery";
+		}
+
+		return imageGalleryURL;
+	}
+
+	/**
+	 * Returns the value of {@link PortalUtil#getLayoutFullURL(ThemeDisplay)}, suitable for populating a {@link
+	 * com.liferay.portal.service.ServiceContext}.
+	 */
+	public String getLayoutFullURL() {
+		resolveServiceContextURLs();
+
+		return layoutFullURL;
+	}
+
+	/**
+	 * Returns the value of {@link PortalUtil#getLayoutURL(ThemeDisplay)}, suitable for populating a {@link
+	 * com.liferay.portal.service.ServiceContext}.
+	 */
+	public String getLayoutURL() {
+		resolveServiceContextURLs();
+
+		return layoutURL;
+	}
+
+	/**
+	 * Returns the value of {@link PortalUtil#getPathMain()}, suitable for populating a {@link
+	 * com.liferay.portal.service.ServiceContext}.
+	 */
+	public String getPathMain() {
+		resolveServiceContextURLs();
+
+		return pathMain;
+	}
+
+	public String getPortalURL() {
+
+		if (portalURL == null) {
+			portalURL = themeDisplay.getPortalURL();
+		}
+
+		return portalURL;
+	}
+
+	/**
+	 * Returns the value of {@link PortalUtil#getPortalURL(PortletRequest)}, suitable for populating a {@link
+	 * com.liferay.portal.service.ServiceContext}.
+	 */
+	public String getRequestPortalURL() {
+		resolveServiceContextURLs();
+
+		return requestPortalURL;
+	}
+
+	public User getScopeGroupUser() {
+
+		if (!scopeGroupUserResolved) {
+
+			Group scopeGroup = themeDisplay.getScopeGroup();
+
+			if (scopeGroup.isUser()) {
+
+				try {
+					scopeGroupUser = UserLocalServiceUtil.getUserById(scopeGroup.getClassPK());
+				}
+				catch (Exception e) {
+					logger.error(e.getMessage(), e);
+				}
+			}
+
+			scopeGroupUserResolved = true;
+		}
+
+		return scopeGroupUser;
+	}
+
+	public ThemeDisplay getThemeDisplay() {
+		return themeDisplay;
+	}
+
+	public String getThemeImagesURL() {
+
+		if (themeImagesURL == null) {
+
+			String portalURL = null;
+			String cdnHost = themeDisplay.getCDNHost();
+
+			if ((cdnHost != null) && (cdnHost.length() > 0)) {
+				portalURL = cdnHost;
+			}
+			else {
+				portalURL = getPortalURL();
+			}
+
+			String pathThemeImages = themeDisplay.getPathThemeImages();
+
+			if (pathThemeImages.startsWith(portalURL)) {
+
+				// The portalURL will already be included for versions of Liferay Portal newer than 6.1.0 CE GA1
+				themeImagesURL = pathThemeImages;
+			}
+			else {
+				themeImagesURL = portalURL + pathThemeImages;
+			}
+		}
+
+		return themeImagesURL;
+	}
+
+	/**
+	 * Returns the display URL of the {@link User} associated with the {@link ThemeDisplay}, suitable for populating a
+	 * {@link com.liferay.portal.service.ServiceContext}.
+	 */
+	public String getUserDisplayURL() {
+		resolveServiceContextURLs();
+
+		return userDisplayURL;
+	}
+}
@@ -18,6 +18,7 @@ import java.lang.reflect.Method;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 
+import com.liferay.faces.util.lang.MethodCache;
 import com.liferay.faces.util.logging.Logger;
 import com.liferay.faces.util.logging.LoggerFactory;
 
@@ -40,6 +41,8 @@ public class HttpServletRequestTagSafeImpl extends HttpServletRequestWrapper {
 	// Private Constants
 	private static final String AUI_FORM_USE_NAMESPACE = "aui:form:useNamespace";
 	private static final String NAMESPACE_SERVLET_REQUEST_FQCN = "com.liferay.portal.servlet.NamespaceServletRequest";
+	private static final MethodCache SET_ATTRIBUTE_METHOD_CACHE = new MethodCache("setAttribute", String.class,
+			Object.class, boolean.class);
 
 	public HttpServletRequestTagSafeImpl(HttpServletRequest httpServletRequest) {
 		super(httpServletRequest);
@@ -63,18 +66,26 @@ public class HttpServletRequestTagSafeImpl extends HttpServletRequestWrapper {
 	public void setAttribute(String name, Object value) {
 
 		Object wrappedRequest = getRequest();
+		Class<?> wrappedRequestClass = wrappedRequest.getClass();
 
-		if (wrappedRequest.getClass().getName().equals(NAMESPACE_SERVLET_REQUEST_FQCN)) {
+		if (wrappedRequestClass.getName().equals(NAMESPACE_SERVLET_REQUEST_FQCN)) {
 
 			try {
 
 				// Calling NameSpaceServletRequest.setAttribute(String, Object, false) instead of
 				// NameSpaceServletRequest.setAttribute(String, Object) will prevent the attribute name from getting
 				// prefixed with the response namespace. The method must be called reflectively since the
-				// NameSpaceServletRequest is packaged in portal-impl.jar and is not available at compile-time.
-				Method method = wrappedRequest.getClass().getMethod("setAttribute", String.class, Object.class,
-						boolean.class);
-				method.invoke(wrappedRequest, name, value, false);
+				// NameSpaceServletRequest is packaged in portal-impl.jar and is not available at compile-time. Note
+				// that the method is resolved only one time per class.
+				Method method = SET_ATTRIBUTE_METHOD_CACHE.getMethod(wrappedRequestClass);
+
+				if (method == null) {
+					logger.error("Unable to find method setAttribute(String, Object, boolean) in class=[{0}]",
+						wrappedRequestClass.getName());
+				}
+				else {
+					method.invoke(wrappedRequest, name, value, false);
+				}
 			}
 			catch (Exception e) {
 				logger.error(e);
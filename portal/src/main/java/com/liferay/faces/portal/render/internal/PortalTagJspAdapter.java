@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.render.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+import com.liferay.faces.util.jsp.JspAdapterFactory;
+import com.liferay.faces.util.logging.Logger;
+import com.liferay.faces.util.logging.LoggerFactory;
+
+
+/**
+ * This class holds the Facelet -&gt; JSP tag adapter objects (the tag-safe request/response wrappers, the string-based
+ * {@link JspWriter} and the string-based {@link PageContext}) that are needed in order to invoke the JSP tag lifecycle
+ * of a Liferay Portal JSP tag. Rather than creating these objects for every portal tag on the page, a single instance
+ * is pooled for the duration of the request as a {@link FacesContext} attribute. When the adapter is released, the
+ * buffer of the writer and the page scope of the page context are cleared. The request/response wrappers and the page
+ * context are kept for the next portal tag as long as it is rendered by the same renderer with the same portlet
+ * request, portlet response and {@link ELContext}. Otherwise they are resolved again so that renderers are able to
+ * override them.
+ *
+ * @author  Neil Griffin
+ */
+public class PortalTagJspAdapter {
+
+	// Logger
+	private static final Logger logger = LoggerFactory.getLogger(PortalTagJspAdapter.class);
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = PortalTagJspAdapter.class.getName();
+
+	// Private Data Members
+	private ELContext elContext;
+	private HttpServletRequest httpServletRequest;
+	private HttpServletResponse httpServletResponse;
+	private boolean inUse;
+	private JspAdapterFactory jspAdapterFactory;
+	private PortalTagRenderer<?, ?> portalTagRenderer;
+	private PortletRequest portletRequest;
+	private PortletResponse portletResponse;
+	private JspWriter stringJspWriter;
+	private PageContext stringPageContext;
+
+	private PortalTagJspAdapter() {
+
+		this.jspAdapterFactory = (JspAdapterFactory) FactoryExtensionFinder.getFactory(JspAdapterFactory.class);
+		this.stringJspWriter = jspAdapterFactory.getStringJspWriter();
+	}
+
+	/**
+	 * Returns the adapter that is pooled for the current request, or a new (non-pooled) adapter in the case that the
+	 * pooled adapter is already in use by an enclosing portal tag. Callers must invoke {@link #release()} when finished
+	 * with the adapter.
+	 */
+	public static PortalTagJspAdapter acquire(FacesContext facesContext, PortalTagRenderer<?, ?> portalTagRenderer) {
+
+		Map<Object, Object> attributes = facesContext.getAttributes();
+		PortalTagJspAdapter pooledAdapter = (PortalTagJspAdapter) attributes.get(ATTRIBUTE_NAME);
+		PortalTagJspAdapter portalTagJspAdapter = pooledAdapter;
+
+		// If the pooled adapter is being used by an enclosing portal tag, then a new (non-pooled) adapter is necessary.
+		if ((pooledAdapter == null) || pooledAdapter.inUse) {
+
+			portalTagJspAdapter = new PortalTagJspAdapter();
+
+			if (pooledAdapter == null) {
+				attributes.put(ATTRIBUTE_NAME, portalTagJspAdapter);
+			}
+		}
+
+		ExternalContext externalContext = facesContext.getExternalContext();
+		PortletRequest portletRequest = (PortletRequest) externalContext.getRequest();
+		PortletResponse portletResponse = (PortletResponse) externalContext.getResponse();
+		ELContext elContext = facesContext.getELContext();
+
+		// Since the request/response wrappers are obtained from the renderer, they (and the page context that was
+		// created with them) can only be kept if the renderer, the portlet request/response and the ELContext are
+		// the same as the ones that were used in order to create them.
+		if ((portalTagJspAdapter.stringPageContext == null) ||
+				(portalTagJspAdapter.portalTagRenderer != portalTagRenderer) ||
+				(portalTagJspAdapter.portletRequest != portletRequest) ||
+				(portalTagJspAdapter.portletResponse != portletResponse) ||
+				(portalTagJspAdapter.elContext != elContext)) {
+
+			portalTagJspAdapter.portalTagRenderer = portalTagRenderer;
+			portalTagJspAdapter.portletRequest = portletRequest;
+			portalTagJspAdapter.portletResponse = portletResponse;
+			portalTagJspAdapter.elContext = elContext;
+			portalTagJspAdapter.httpServletRequest = portalTagRenderer.getHttpServletRequest(portletRequest);
+			portalTagJspAdapter.httpServletResponse = portalTagRenderer.getHttpServletResponse(portletResponse);
+			portalTagJspAdapter.stringPageContext = portalTagJspAdapter.jspAdapterFactory.getStringPageContext(
+					portalTagJspAdapter.httpServletRequest, portalTagJspAdapter.httpServletResponse, elContext,
+					portalTagJspAdapter.stringJspWriter);
+		}
+
+		portalTagJspAdapter.inUse = true;
+
+		return portalTagJspAdapter;
+	}
+
+	/**
+	 * Clears the buffer of the writer and the page scope of the page context so that the adapter can be reused by the
+	 * next portal tag.
+	 */
+	public void release() {
+
+		try {
+			stringJspWriter.clearBuffer();
+		}
+		catch (IOException e) {
+			logger.error(e);
+		}
+
+		// Attributes that were set in the page scope by the tag must not be visible to the next tag. Note that the
+		// names are copied before removing the attributes, since the enumeration is backed by the page scope.
+		List<String> pageScopeAttributeNames = Collections.list(stringPageContext.getAttributeNamesInScope(
+					PageContext.PAGE_SCOPE));
+
+		for (String pageScopeAttributeName : pageScopeAttributeNames) {
+			stringPageContext.removeAttribute(pageScopeAttributeName, PageContext.PAGE_SCOPE);
+		}
+
+		inUse = false;
+	}
+
+	public HttpServletRequest getHttpServletRequest() {
+		return httpServletRequest;
+	}
+
+	public HttpServletResponse getHttpServletResponse() {
+		return httpServletResponse;
+	}
+
+	public JspWriter getStringJspWriter() {
+		return stringJspWriter;
+	}
+
+	public PageContext getStringPageContext() {
+		return stringPageContext;
+	}
+}
@@ -20,6 +20,9 @@ import com.liferay.faces.util.lang.StringPool;
 
 
 /**
+ * This class parses the output of a JSP tag by locating the markup and the scripts according to their offsets within
+ * the output, rather than by repeatedly copying substrings of the output.
+ *
  * @author  Neil Griffin
  */
 public class PortalTagOutputParserImpl implements PortalTagOutputParser {
@@ -31,81 +34,147 @@ public class PortalTagOutputParserImpl implements PortalTagOutputParser {
 	@Override
 	public PortalTagOutput parse(JspWriter stringJspWriter) {
 
-		String markup = stringJspWriter.toString();
-		String scriptText = null;
+		String output = stringJspWriter.toString();
+		int length = output.length();
+		int markupEnd = length;
 		StringBuilder scriptBuilder = new StringBuilder();
 
 		String scriptSectionMarker = getScriptSectionMarker();
-		int scriptMarkerPos = markup.indexOf(scriptSectionMarker);
+		int scriptMarkerPos = output.indexOf(scriptSectionMarker);
 
 		if (scriptMarkerPos > 0) {
-			scriptText = markup.substring(scriptMarkerPos);
-			markup = markup.substring(0, scriptMarkerPos);
-		}
+			markupEnd = scriptMarkerPos;
 
-		boolean done1 = (scriptText == null);
+			// Scripts that begin with a plain <script> tag are appended before scripts that begin with a <script> tag
+			// that specifies the type attribute.
+			appendScripts(output, scriptMarkerPos, length, StringPool.SCRIPT_TAG_BEGIN, scriptBuilder);
+			appendScripts(output, scriptMarkerPos, length, SCRIPT_TAG_BEGIN_TYPE_JS, scriptBuilder);
+		}
 
-		while (!done1) {
-			int beginPos = scriptText.indexOf(StringPool.SCRIPT_TAG_BEGIN);
+		return new PortalTagOutputImpl(trim(output, 0, markupEnd), scriptBuilder.toString());
+	}
 
-			if (beginPos < 0) {
-				beginPos = scriptText.indexOf(SCRIPT_TAG_BEGIN_TYPE_JS);
-			}
+	/**
+	 * Appends the contents of each script (found within the specified range of the specified output) that begins with
+	 * the specified script tag to the specified {@link StringBuilder}.
+	 */
+	protected void appendScripts(String output, int start, int end, String scriptTagBegin,
+		StringBuilder scriptBuilder) {
 
-			int endPos = scriptText.indexOf(StringPool.SCRIPT_TAG_END, beginPos);
+		int beginPos = output.indexOf(scriptTagBegin, start);
 
-			if ((beginPos >= 0) && (endPos > beginPos)) {
-				String script = scriptText.substring(beginPos, endPos + StringPool.SCRIPT_TAG_END.length());
+		while ((beginPos >= 0) && (beginPos < end)) {
 
-				boolean done2 = false;
+			int endPos = output.indexOf(StringPool.SCRIPT_TAG_END, beginPos);
 
-				while (!done2) {
-					int cdataOpenPos = script.indexOf(StringPool.CDATA_OPEN);
+			if ((endPos < 0) || (endPos >= end)) {
+				break;
+			}
 
-					if (cdataOpenPos > 0) {
-						script = script.substring(cdataOpenPos + StringPool.CDATA_OPEN.length());
+			int scriptEnd = endPos + StringPool.SCRIPT_TAG_END.length();
+			int contentStart = beginPos;
+			int contentEnd = scriptEnd;
 
-						int cdataClosePos = script.indexOf(COMMENT_CDATA_CLOSE);
+			// Narrow the script down to the contents of the (possibly nested) CDATA sections.
+			int cdataOpenPos = indexOf(output, StringPool.CDATA_OPEN, contentStart + 1, contentEnd);
 
-						if (cdataClosePos > 0) {
-							script = script.substring(0, cdataClosePos);
-						}
-						else {
-							cdataClosePos = script.indexOf(StringPool.CDATA_CLOSE);
+			while (cdataOpenPos >= 0) {
 
-							if (cdataClosePos > 0) {
-								script = script.substring(0, cdataClosePos);
-							}
-						}
-					}
-					else {
-						done2 = true;
-					}
-				}
+				contentStart = cdataOpenPos + StringPool.CDATA_OPEN.length();
 
-				// Remove all the "<![CDATA[" and "]]>" tokens since they will interfere with the JSF
-				// partial-response.
-				String[] tokensToRemove = new String[] { StringPool.CDATA_OPEN, StringPool.CDATA_CLOSE };
+				int cdataClosePos = indexOf(output, COMMENT_CDATA_CLOSE, contentStart + 1, contentEnd);
 
-				for (String token : tokensToRemove) {
-					int pos = script.indexOf(token);
+				if (cdataClosePos < 0) {
+					cdataClosePos = indexOf(output, StringPool.CDATA_CLOSE, contentStart + 1, contentEnd);
+				}
 
-					while (pos >= 0) {
-						script = script.substring(0, pos) + script.substring(pos + token.length());
-						pos = script.indexOf(token);
-					}
+				if (cdataClosePos >= 0) {
+					contentEnd = cdataClosePos;
 				}
 
-				scriptBuilder.append(script.trim());
-				scriptText = scriptText.substring(0, beginPos) +
-					scriptText.substring(endPos + StringPool.SCRIPT_TAG_END.length());
+				cdataOpenPos = indexOf(output, StringPool.CDATA_OPEN, contentStart + 1, contentEnd);
 			}
-			else {
-				done1 = true;
+
+			// Append the contents without the "<![CDATA[" and "]]>" tokens since they will interfere with the JSF
+			// partial-response.
+			int scriptStart = scriptBuilder.length();
+			int pos = contentStart;
+
+			while (pos < contentEnd) {
+
+				if (output.startsWith(StringPool.CDATA_OPEN, pos) &&
+						((pos + StringPool.CDATA_OPEN.length()) <= contentEnd)) {
+					pos += StringPool.CDATA_OPEN.length();
+				}
+				else if (output.startsWith(StringPool.CDATA_CLOSE, pos) &&
+						((pos + StringPool.CDATA_CLOSE.length()) <= contentEnd)) {
+					pos += StringPool.CDATA_CLOSE.length();
+				}
+				else {
+					scriptBuilder.append(output.charAt(pos));
+					pos++;
+				}
 			}
+
+			trim(scriptBuilder, scriptStart);
+			beginPos = output.indexOf(scriptTagBegin, scriptEnd);
+		}
+	}
+
+	/**
+	 * Returns the position of the specified token if it is found in its entirety within the specified range of the
+	 * specified string, otherwise -1.
+	 */
+	protected int indexOf(String value, String token, int start, int end) {
+
+		int pos = value.indexOf(token, start);
+
+		if ((pos >= 0) && ((pos + token.length()) > end)) {
+			pos = -1;
+		}
+
+		return pos;
+	}
+
+	/**
+	 * Returns the specified range of the specified string with leading and trailing whitespace omitted.
+	 */
+	protected String trim(String value, int start, int end) {
+
+		while ((start < end) && (value.charAt(start) <= ' ')) {
+			start++;
+		}
+
+		while ((end > start) && (value.charAt(end - 1) <= ' ')) {
+			end--;
 		}
 
-		return new PortalTagOutputImpl(markup.trim(), scriptBuilder.toString());
+		return value.substring(start, end);
+	}
+
+	/**
+	 * Removes leading and trailing whitespace from the portion of the specified {@link StringBuilder} that begins at
+	 * the specified position.
+	 */
+	protected void trim(StringBuilder stringBuilder, int start) {
+
+		int end = stringBuilder.length();
+
+		while ((end > start) && (stringBuilder.charAt(end - 1) <= ' ')) {
+			end--;
+		}
+
+		stringBuilder.setLength(end);
+
+		int firstNonWhitespacePos = start;
+
+		while ((firstNonWhitespacePos < end) && (stringBuilder.charAt(firstNonWhitespacePos) <= ' ')) {
+			firstNonWhitespacePos++;
+		}
+
+		if (firstNonWhitespacePos > start) {
+			stringBuilder.delete(start, firstNonWhitespacePos);
+		}
 	}
 
 	@Override
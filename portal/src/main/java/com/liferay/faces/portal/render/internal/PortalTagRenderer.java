@@ -16,9 +16,7 @@ package com.liferay.faces.portal.render.internal;
 import java.io.IOException;
 import java.util.Map;
 
-import javax.el.ELContext;
 import javax.faces.component.UIComponent;
-import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.faces.context.PartialViewContext;
 import javax.faces.context.ResponseWriter;
@@ -33,8 +31,6 @@ import javax.servlet.jsp.PageContext;
 import javax.servlet.jsp.tagext.Tag;
 
 import com.liferay.faces.util.context.FacesRequestContext;
-import com.liferay.faces.util.factory.FactoryExtensionFinder;
-import com.liferay.faces.util.jsp.JspAdapterFactory;
 
 import com.liferay.portal.kernel.util.WebKeys;
 import com.liferay.portal.util.PortalUtil;
@@ -168,52 +164,51 @@ public abstract class PortalTagRenderer<U extends UIComponent, T extends Tag> ex
 	protected PortalTagOutput getPortalTagOutput(FacesContext facesContext, UIComponent uiComponent, Tag tag)
 		throws JspException {
 
-		// Setup the Facelet -> JSP tag adapter.
-		ExternalContext externalContext = facesContext.getExternalContext();
-		PortletRequest portletRequest = (PortletRequest) externalContext.getRequest();
-		HttpServletRequest httpServletRequest = getHttpServletRequest(portletRequest);
-		PortletResponse portletResponse = (PortletResponse) externalContext.getResponse();
-		HttpServletResponse httpServletResponse = getHttpServletResponse(portletResponse);
-		ELContext elContext = facesContext.getELContext();
-		JspAdapterFactory jspAdapterFactory = (JspAdapterFactory) FactoryExtensionFinder.getFactory(
-				JspAdapterFactory.class);
-		JspWriter stringJspWriter = jspAdapterFactory.getStringJspWriter();
-		PageContext stringPageContext = jspAdapterFactory.getStringPageContext(httpServletRequest, httpServletResponse,
-				elContext, stringJspWriter);
+		// Setup the Facelet -> JSP tag adapter. Note that the adapter is pooled for the duration of the request.
+		PortalTagJspAdapter portalTagJspAdapter = PortalTagJspAdapter.acquire(facesContext, this);
 
-		// Invoke the JSP tag lifecycle directly (rather than using the tag from a JSP).
-		tag.setPageContext(stringPageContext);
-		tag.doStartTag();
-		tag.doEndTag();
+		try {
+			HttpServletRequest httpServletRequest = portalTagJspAdapter.getHttpServletRequest();
+			JspWriter stringJspWriter = portalTagJspAdapter.getStringJspWriter();
+			PageContext stringPageContext = portalTagJspAdapter.getStringPageContext();
 
-		// If executing within an Ajax request, then write all the scripts contained in the AUI_SCRIPT_DATA attribute
-		// directly to the tag output.
-		PartialViewContext partialViewContext = facesContext.getPartialViewContext();
+			// Invoke the JSP tag lifecycle directly (rather than using the tag from a JSP).
+			tag.setPageContext(stringPageContext);
+			tag.doStartTag();
+			tag.doEndTag();
 
-		if (partialViewContext.isAjaxRequest()) {
+			// If executing within an Ajax request, then write all the scripts contained in the AUI_SCRIPT_DATA
+			// attribute directly to the tag output.
+			PartialViewContext partialViewContext = facesContext.getPartialViewContext();
 
-			//J-
-			// TODO: Possibly need to be concerned about inline scripts written in the <head>...</head> section during Ajax.
-			//
-			// StringBundler data = HtmlTopTag.getData(httpServletRequest, WebKeys.PAGE_TOP);
-			//J+
+			if (partialViewContext.isAjaxRequest()) {
 
-			Object scriptData = httpServletRequest.getAttribute(WebKeys.AUI_SCRIPT_DATA);
+				//J-
+				// TODO: Possibly need to be concerned about inline scripts written in the <head>...</head> section during Ajax.
+				//
+				// StringBundler data = HtmlTopTag.getData(httpServletRequest, WebKeys.PAGE_TOP);
+				//J+
 
-			if (scriptData != null) {
+				Object scriptData = httpServletRequest.getAttribute(WebKeys.AUI_SCRIPT_DATA);
 
-				try {
+				if (scriptData != null) {
 
-					stringJspWriter.write(portalTagOutputParser.getScriptSectionMarker());
-					ScriptTagUtil.flushScriptData(stringPageContext);
-				}
-				catch (IOException e) {
-					throw new JspException(e);
+					try {
+
+						stringJspWriter.write(portalTagOutputParser.getScriptSectionMarker());
+						ScriptTagUtil.flushScriptData(stringPageContext);
+					}
+					catch (IOException e) {
+						throw new JspException(e);
+					}
 				}
 			}
-		}
 
-		// Return the tag output.
-		return portalTagOutputParser.parse(stringJspWriter);
+			// Return the tag output.
+			return portalTagOutputParser.parse(stringJspWriter);
+		}
+		finally {
+			portalTagJspAdapter.release();
+		}
 	}
 }
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.portlet.PortletRequest;
+
+import com.liferay.faces.util.lang.StringPool;
+
+
+/**
+ * This class is a request-scoped memo of the portlet permission and role decisions made on behalf of the current user.
+ * Expressions like #{liferay.userHasPortletPermission['VIEW']} are typically found in the "rendered" attribute of
+ * components, which can be evaluated several times for each component during a single request. The memo is stored as
+ * a {@link PortletRequest} attribute so that the portal permission services are consulted at most one time per
+ * distinct decision during a request. Applications that change permissions or role assignments during a request can
+ * discard the memo by calling {@link #invalidate(PortletRequest)}.
+ *
+ * @author  Neil Griffin
+ */
+public class UserPermissionCache {
+
+	// Private Constants
+	private static final String ATTRIBUTE_NAME = UserPermissionCache.class.getName();
+
+	// Private Data Members
+	private Map<String, Boolean> portletPermissions;
+	private Map<Long, Set<String>> roleNames;
+
+	public UserPermissionCache() {
+		this.portletPermissions = new HashMap<String, Boolean>();
+		this.roleNames = new HashMap<Long, Set<String>>();
+	}
+
+	public static UserPermissionCache getInstance(PortletRequest portletRequest) {
+
+		UserPermissionCache userPermissionCache = (UserPermissionCache) portletRequest.getAttribute(ATTRIBUTE_NAME);
+
+		if (userPermissionCache == null) {
+			userPermissionCache = new UserPermissionCache();
+			portletRequest.setAttribute(ATTRIBUTE_NAME, userPermissionCache);
+		}
+
+		return userPermissionCache;
+	}
+
+	/**
+	 * Discards the memo associated with the specified request so that subsequent permission and role checks during the
+	 * request consult the portal services again.
+	 */
+	public static void invalidate(PortletRequest portletRequest) {
+		portletRequest.removeAttribute(ATTRIBUTE_NAME);
+	}
+
+	/**
+	 * Returns the key of the specified portlet permission decision. Since portletIds (such as foo_WAR_barportlet) and
+	 * actionIds can contain any character, each of them is prefixed by its length so that distinct decisions can never
+	 * produce the same key.
+	 */
+	protected static String getPortletPermissionKey(long userId, long plid, String portletId, String actionId) {
+
+		StringBuilder buf = new StringBuilder();
+		buf.append(userId);
+		buf.append(StringPool.UNDERLINE);
+		buf.append(plid);
+		buf.append(StringPool.UNDERLINE);
+		appendComponent(buf, portletId);
+		appendComponent(buf, actionId);
+
+		return buf.toString();
+	}
+
+	private static void appendComponent(StringBuilder buf, String component) {
+
+		if (component == null) {
+			buf.append(StringPool.DASH);
+		}
+		else {
+			buf.append(component.length());
+			buf.append(StringPool.COLON);
+			buf.append(component);
+		}
+	}
+
+	/**
+	 * Returns the memoized portlet permission decision, or <code>null</code> if the decision has not been made during
+	 * the current request.
+	 */
+	public Boolean getPortletPermission(long userId, long plid, String portletId, String actionId) {
+		return portletPermissions.get(getPortletPermissionKey(userId, plid, portletId, actionId));
+	}
+
+	public void setPortletPermission(long userId, long plid, String portletId, String actionId,
+		boolean hasPermission) {
+		portletPermissions.put(getPortletPermissionKey(userId, plid, portletId, actionId), hasPermission);
+	}
+
+	/**
+	 * Returns the memoized set of role names that are assigned to the specified user, or <code>null</code> if the roles
+	 * have not been retrieved during the current request.
+	 */
+	public Set<String> getRoleNames(long userId) {
+		return roleNames.get(userId);
+	}
+
+	public void setRoleNames(long userId, Set<String> roleNames) {
+		this.roleNames.put(userId, roleNames);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.ExternalContextWrapper;
+import javax.faces.context.FacesContext;
+import javax.faces.context.FacesContextWrapper;
+
+
+/**
+ * This class is a minimal {@link FacesContext} that only supports the attributes and the request/response of the
+ * {@link ExternalContext}. All other methods throw {@link UnsupportedOperationException}.
+ *
+ * @author  Neil Griffin
+ */
+public class FacesContextMockImpl extends FacesContextWrapper {
+
+	// Private Data Members
+	private Map<Object, Object> attributes;
+	private ExternalContext externalContext;
+
+	public FacesContextMockImpl(final Object request, final Object response) {
+
+		this.attributes = new HashMap<Object, Object>();
+		this.externalContext = new ExternalContextWrapper() {
+
+				@Override
+				public Object getRequest() {
+					return request;
+				}
+
+				@Override
+				public Object getResponse() {
+					return response;
+				}
+
+				@Override
+				public ExternalContext getWrapped() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		setCurrentInstance(this);
+	}
+
+	@Override
+	public void release() {
+		this.attributes = null;
+		this.externalContext = null;
+		setCurrentInstance(null);
+	}
+
+	@Override
+	public Map<Object, Object> getAttributes() {
+		return attributes;
+	}
+
+	@Override
+	public ELContext getELContext() {
+		return null;
+	}
+
+	@Override
+	public ExternalContext getExternalContext() {
+		return externalContext;
+	}
+
+	@Override
+	public FacesContext getWrapped() {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.context;
+
+import javax.portlet.PortletRequest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.portal.context.internal.ThemeDisplayValues;
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+
+import com.liferay.portal.kernel.util.WebKeys;
+import com.liferay.portal.theme.ThemeDisplay;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class ThemeDisplayValuesTest {
+
+	@Test
+	public void testCDNHost() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		ThemeDisplayMockImpl themeDisplay = new ThemeDisplayMockImpl("http://localhost:8080", "http://cdn.example.com",
+				"/html/themes/classic/images");
+		portletRequest.setAttribute(WebKeys.THEME_DISPLAY, themeDisplay);
+
+		// When a CDN host is configured, theme images must be served from it rather than from the portal.
+		ThemeDisplayValues themeDisplayValues = ThemeDisplayValues.getInstance(portletRequest);
+		Assert.assertEquals("http://cdn.example.com/html/themes/classic/images",
+			themeDisplayValues.getThemeImagesURL());
+		Assert.assertEquals(0, themeDisplay.getPortalURLCount());
+	}
+
+	@Test
+	public void testThemeDisplayReplaced() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		portletRequest.setAttribute(WebKeys.THEME_DISPLAY, new ThemeDisplayMockImpl("http://localhost:8080", null,
+				"/html/themes/classic/images"));
+
+		ThemeDisplayValues themeDisplayValues = ThemeDisplayValues.getInstance(portletRequest);
+		Assert.assertEquals("http://localhost:8080", themeDisplayValues.getPortalURL());
+
+		// If the ThemeDisplay request attribute is replaced (for example by a portal filter), then the values derived
+		// from the previous ThemeDisplay must not be returned.
+		ThemeDisplayMockImpl replacementThemeDisplay = new ThemeDisplayMockImpl("https://www.example.com", null,
+				"/html/themes/classic/images");
+		portletRequest.setAttribute(WebKeys.THEME_DISPLAY, replacementThemeDisplay);
+
+		ThemeDisplayValues replacementThemeDisplayValues = ThemeDisplayValues.getInstance(portletRequest);
+		Assert.assertNotSame(themeDisplayValues, replacementThemeDisplayValues);
+		Assert.assertSame(replacementThemeDisplay, replacementThemeDisplayValues.getThemeDisplay());
+		Assert.assertEquals("https://www.example.com", replacementThemeDisplayValues.getPortalURL());
+	}
+
+	@Test
+	public void testThemeImagesURLWithPortalURL() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		portletRequest.setAttribute(WebKeys.THEME_DISPLAY, new ThemeDisplayMockImpl("http://localhost:8080", "",
+				"http://localhost:8080/html/themes/classic/images"));
+
+		// Versions of Liferay Portal newer than 6.1.0 CE GA1 already include the portalURL in the theme images path.
+		ThemeDisplayValues themeDisplayValues = ThemeDisplayValues.getInstance(portletRequest);
+		Assert.assertEquals("http://localhost:8080/html/themes/classic/images",
+			themeDisplayValues.getThemeImagesURL());
+	}
+
+	@Test
+	public void testValuesComputedOnce() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		ThemeDisplayMockImpl themeDisplay = new ThemeDisplayMockImpl("http://localhost:8080", null,
+				"/html/themes/classic/images");
+		portletRequest.setAttribute(WebKeys.THEME_DISPLAY, themeDisplay);
+
+		ThemeDisplayValues themeDisplayValues = ThemeDisplayValues.getInstance(portletRequest);
+		Assert.assertSame(themeDisplay, themeDisplayValues.getThemeDisplay());
+
+		for (int i = 0; i < 3; i++) {
+
+			// The snapshot must be shared by every lookup during the request, and each value must be derived from the
+			// ThemeDisplay only one time.
+			Assert.assertSame(themeDisplayValues, ThemeDisplayValues.getInstance(portletRequest));
+			Assert.assertEquals("http://localhost:8080", themeDisplayValues.getPortalURL());
+			Assert.assertEquals("http://localhost:8080/c/document_library", themeDisplayValues.getDocumentLibraryURL());
+			Assert.assertEquals("http://localhost:8080/image_gallery", themeDisplayValues.getImageGalleryURL());
+			Assert.assertEquals("http://localhost:8080/html/themes/classic/images",
+				themeDisplayValues.getThemeImagesURL());
+		}
+
+		Assert.assertEquals(1, themeDisplay.getPortalURLCount());
+		Assert.assertEquals(1, themeDisplay.getPathThemeImagesCount());
+	}
+
+	private static class ThemeDisplayMockImpl extends ThemeDisplay {
+
+		// serialVersionUID
+		private static final long serialVersionUID = 2546812974593278432L;
+
+		// Private Data Members
+		private String cdnHost;
+		private String pathThemeImages;
+		private int pathThemeImagesCount;
+		private String portalURL;
+		private int portalURLCount;
+
+		public ThemeDisplayMockImpl(String portalURL, String cdnHost, String pathThemeImages) {
+			this.portalURL = portalURL;
+			this.cdnHost = cdnHost;
+			this.pathThemeImages = pathThemeImages;
+		}
+
+		@Override
+		public String getCDNHost() {
+			return cdnHost;
+		}
+
+		@Override
+		public String getPathThemeImages() {
+
+			pathThemeImagesCount++;
+
+			return pathThemeImages;
+		}
+
+		public int getPathThemeImagesCount() {
+			return pathThemeImagesCount;
+		}
+
+		@Override
+		public String getPortalURL() {
+
+			portalURLCount++;
+
+			return portalURL;
+		}
+
+		public int getPortalURLCount() {
+			return portalURLCount;
+		}
+	}
+}
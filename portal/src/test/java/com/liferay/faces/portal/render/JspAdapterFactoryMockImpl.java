@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.render;
+
+import javax.el.ELContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.BodyContent;
+
+import com.liferay.faces.util.jsp.JspAdapterFactory;
+import com.liferay.faces.util.jsp.internal.JspWriterStringImpl;
+import com.liferay.faces.util.jsp.internal.PageContextStringImpl;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class JspAdapterFactoryMockImpl extends JspAdapterFactory {
+
+	// Private Data Members
+	private HttpServletRequest httpServletRequest;
+	private HttpServletResponse httpServletResponse;
+	private int pageContextCount;
+	private JspWriter stringJspWriter;
+
+	@Override
+	public BodyContent getStringBodyContent(JspWriter stringJspWriter) {
+		throw new UnsupportedOperationException();
+	}
+
+	public HttpServletRequest getHttpServletRequest() {
+		return httpServletRequest;
+	}
+
+	public HttpServletResponse getHttpServletResponse() {
+		return httpServletResponse;
+	}
+
+	@Override
+	public JspWriter getStringJspWriter() {
+		return new JspWriterStringImpl();
+	}
+
+	public int getPageContextCount() {
+		return pageContextCount;
+	}
+
+	public JspWriter getPageContextJspWriter() {
+		return stringJspWriter;
+	}
+
+	/**
+	 * Records the specified arguments and counts the page contexts that are created so that tests can verify them.
+	 */
+	@Override
+	public PageContext getStringPageContext(HttpServletRequest httpServletRequest,
+		HttpServletResponse httpServletResponse, ELContext elContext, JspWriter stringJspWriter) {
+
+		this.httpServletRequest = httpServletRequest;
+		this.httpServletResponse = httpServletResponse;
+		this.stringJspWriter = stringJspWriter;
+		pageContextCount++;
+
+		return new PageContextStringImpl(httpServletRequest, httpServletResponse, elContext, stringJspWriter);
+	}
+
+	@Override
+	public JspAdapterFactory getWrapped() {
+		return null;
+	}
+}
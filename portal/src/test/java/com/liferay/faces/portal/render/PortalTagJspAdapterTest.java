@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.render;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.PageContext;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.liferay.faces.portal.context.FacesContextMockImpl;
+import com.liferay.faces.portal.render.internal.PortalTagJspAdapter;
+import com.liferay.faces.util.config.ConfiguredElement;
+import com.liferay.faces.util.factory.FactoryExtensionFinder;
+import com.liferay.faces.util.jsp.JspAdapterFactory;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class PortalTagJspAdapterTest {
+
+	// Private Data Members
+	private FacesContext facesContext;
+	private JspAdapterFactoryMockImpl jspAdapterFactory;
+	private PortletRequest portletRequest;
+	private PortletResponse portletResponse;
+
+	@Before
+	public void setUp() {
+
+		FactoryExtensionFinder.getInstance().registerFactory(new ConfiguredElement() {
+
+				public String getName() {
+					return "jsp-adapter-factory";
+				}
+
+				public String getValue() {
+					return JspAdapterFactoryMockImpl.class.getName();
+				}
+			});
+		jspAdapterFactory = (JspAdapterFactoryMockImpl) FactoryExtensionFinder.getFactory(JspAdapterFactory.class);
+		portletRequest = newProxy(PortletRequest.class, "portletRequest");
+		portletResponse = newProxy(PortletResponse.class, "portletResponse");
+		facesContext = new FacesContextMockImpl(portletRequest, portletResponse);
+	}
+
+	@After
+	public void tearDown() {
+		facesContext.release();
+	}
+
+	@Test
+	public void testAcquireResolvesRequestAndResponse() {
+
+		HttpServletRequest httpServletRequest1 = newHttpServletRequest("httpServletRequest1");
+		HttpServletResponse httpServletResponse1 = newProxy(HttpServletResponse.class, "httpServletResponse1");
+		PortalTagRendererMockImpl portalTagRenderer1 = new PortalTagRendererMockImpl(httpServletRequest1,
+				httpServletResponse1);
+		PortalTagJspAdapter portalTagJspAdapter1 = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer1);
+
+		// The request/response wrappers must be obtained from the renderer for the current portlet request/response,
+		// and the page context must be created with them.
+		Assert.assertSame(portletRequest, portalTagRenderer1.getPortletRequest());
+		Assert.assertSame(portletResponse, portalTagRenderer1.getPortletResponse());
+		Assert.assertSame(httpServletRequest1, portalTagJspAdapter1.getHttpServletRequest());
+		Assert.assertSame(httpServletResponse1, portalTagJspAdapter1.getHttpServletResponse());
+		Assert.assertSame(httpServletRequest1, jspAdapterFactory.getHttpServletRequest());
+		Assert.assertSame(httpServletResponse1, jspAdapterFactory.getHttpServletResponse());
+		Assert.assertSame(portalTagJspAdapter1.getStringJspWriter(), jspAdapterFactory.getPageContextJspWriter());
+		portalTagJspAdapter1.release();
+
+		// When the pooled adapter is acquired by a different renderer, the request/response wrappers of that renderer
+		// must be used rather than the ones that were resolved by the previous renderer.
+		HttpServletRequest httpServletRequest2 = newHttpServletRequest("httpServletRequest2");
+		HttpServletResponse httpServletResponse2 = newProxy(HttpServletResponse.class, "httpServletResponse2");
+		PortalTagRendererMockImpl portalTagRenderer2 = new PortalTagRendererMockImpl(httpServletRequest2,
+				httpServletResponse2);
+		PortalTagJspAdapter portalTagJspAdapter2 = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer2);
+		Assert.assertSame(portalTagJspAdapter1, portalTagJspAdapter2);
+		Assert.assertSame(httpServletRequest2, portalTagJspAdapter2.getHttpServletRequest());
+		Assert.assertSame(httpServletResponse2, portalTagJspAdapter2.getHttpServletResponse());
+		Assert.assertSame(httpServletRequest2, jspAdapterFactory.getHttpServletRequest());
+		Assert.assertSame(httpServletResponse2, jspAdapterFactory.getHttpServletResponse());
+		portalTagJspAdapter2.release();
+	}
+
+	@Test
+	public void testAcquireReusesPageContext() {
+
+		PortalTagRendererMockImpl portalTagRenderer = new PortalTagRendererMockImpl(newHttpServletRequest(
+					"httpServletRequest"), newProxy(HttpServletResponse.class, "httpServletResponse"));
+		PortalTagJspAdapter portalTagJspAdapter1 = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+		PageContext stringPageContext = portalTagJspAdapter1.getStringPageContext();
+		Assert.assertNotNull(stringPageContext);
+		portalTagJspAdapter1.release();
+
+		// When the pooled adapter is acquired by the same renderer for the same request, the page context (and the
+		// request/response wrappers that it was created with) must be reused.
+		PortalTagJspAdapter portalTagJspAdapter2 = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+		Assert.assertSame(portalTagJspAdapter1, portalTagJspAdapter2);
+		Assert.assertSame(stringPageContext, portalTagJspAdapter2.getStringPageContext());
+		Assert.assertEquals(1, jspAdapterFactory.getPageContextCount());
+		portalTagJspAdapter2.release();
+	}
+
+	@Test
+	public void testNestedAcquire() {
+
+		PortalTagRendererMockImpl portalTagRenderer = new PortalTagRendererMockImpl(newHttpServletRequest(
+					"httpServletRequest"), newProxy(HttpServletResponse.class, "httpServletResponse"));
+		PortalTagJspAdapter outerAdapter = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+
+		// While the pooled adapter is in use by an enclosing tag, a different adapter (with its own writer) must be
+		// provided.
+		PortalTagJspAdapter innerAdapter = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+		Assert.assertNotSame(outerAdapter, innerAdapter);
+		Assert.assertNotSame(outerAdapter.getStringJspWriter(), innerAdapter.getStringJspWriter());
+		innerAdapter.release();
+		outerAdapter.release();
+
+		// The adapter of the enclosing tag is the one that remains pooled.
+		PortalTagJspAdapter portalTagJspAdapter = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+		Assert.assertSame(outerAdapter, portalTagJspAdapter);
+		portalTagJspAdapter.release();
+	}
+
+	@Test
+	public void testRelease() throws IOException {
+
+		PortalTagRendererMockImpl portalTagRenderer = new PortalTagRendererMockImpl(newHttpServletRequest(
+					"httpServletRequest"), newProxy(HttpServletResponse.class, "httpServletResponse"));
+		PortalTagJspAdapter portalTagJspAdapter = PortalTagJspAdapter.acquire(facesContext, portalTagRenderer);
+		PageContext stringPageContext = portalTagJspAdapter.getStringPageContext();
+		portalTagJspAdapter.getStringJspWriter().write("<div>markup</div>");
+		stringPageContext.setAttribute("foo", "bar", PageContext.PAGE_SCOPE);
+		stringPageContext.setAttribute("baz", "qux", PageContext.PAGE_SCOPE);
+		portalTagJspAdapter.release();
+
+		// The output and the page scope attributes of the tag must be discarded so that they can not leak into the
+		// next tag.
+		Assert.assertEquals("", portalTagJspAdapter.getStringJspWriter().toString());
+		Assert.assertSame(stringPageContext, portalTagJspAdapter.getStringPageContext());
+		Assert.assertFalse(stringPageContext.getAttributeNamesInScope(PageContext.PAGE_SCOPE).hasMoreElements());
+	}
+
+	/**
+	 * Returns a placeholder {@link HttpServletRequest} that only supports the session (and its servlet context), which
+	 * are required in order to create a page context.
+	 */
+	protected HttpServletRequest newHttpServletRequest(String name) {
+
+		HttpSession httpSession = newProxy(HttpSession.class, name + ".session",
+				newProxy(ServletContext.class, name + ".servletContext"));
+
+		return newProxy(HttpServletRequest.class, name, httpSession);
+	}
+
+	/**
+	 * Returns a placeholder instance of the specified interface that only supports the methods of {@link Object}.
+	 */
+	protected <T> T newProxy(Class<T> clazz, String name) {
+		return newProxy(clazz, name, null);
+	}
+
+	/**
+	 * Returns a placeholder instance of the specified interface that only supports the methods of {@link Object} and,
+	 * if the specified child is not null, the getSession() and getServletContext() methods that return it.
+	 */
+	protected <T> T newProxy(Class<T> clazz, final String name, final Object child) {
+
+		InvocationHandler invocationHandler = new InvocationHandler() {
+
+				public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+					String methodName = method.getName();
+
+					if ("equals".equals(methodName)) {
+						return proxy == args[0];
+					}
+					else if ("hashCode".equals(methodName)) {
+						return System.identityHashCode(proxy);
+					}
+					else if ("toString".equals(methodName)) {
+						return name;
+					}
+					else if ((child != null) &&
+							("getSession".equals(methodName) || "getServletContext".equals(methodName))) {
+						return child;
+					}
+					else {
+						throw new UnsupportedOperationException(methodName);
+					}
+				}
+			};
+
+		return clazz.cast(Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[] { clazz },
+					invocationHandler));
+	}
+}
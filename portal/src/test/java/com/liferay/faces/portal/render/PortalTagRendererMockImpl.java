@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.render;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+import javax.portlet.PortletRequest;
+import javax.portlet.PortletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.jsp.tagext.Tag;
+
+import com.liferay.faces.portal.render.internal.PortalTagRenderer;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class PortalTagRendererMockImpl extends PortalTagRenderer<UIComponent, Tag> {
+
+	// Private Data Members
+	private HttpServletRequest httpServletRequest;
+	private HttpServletResponse httpServletResponse;
+	private PortletRequest portletRequest;
+	private PortletResponse portletResponse;
+
+	public PortalTagRendererMockImpl(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) {
+		this.httpServletRequest = httpServletRequest;
+		this.httpServletResponse = httpServletResponse;
+	}
+
+	@Override
+	public Tag newTag() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected UIComponent cast(UIComponent uiComponent) {
+		return uiComponent;
+	}
+
+	@Override
+	protected void copyFrameworkAttributes(FacesContext facesContext, UIComponent uiComponent, Tag tag) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected void copyNonFrameworkAttributes(FacesContext facesContext, UIComponent uiComponent, Tag tag) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected HttpServletRequest getHttpServletRequest(PortletRequest portletRequest) {
+		this.portletRequest = portletRequest;
+
+		return httpServletRequest;
+	}
+
+	@Override
+	protected HttpServletResponse getHttpServletResponse(PortletResponse portletResponse) {
+		this.portletResponse = portletResponse;
+
+		return httpServletResponse;
+	}
+
+	public PortletRequest getPortletRequest() {
+		return portletRequest;
+	}
+
+	public PortletResponse getPortletResponse() {
+		return portletResponse;
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.portal.security;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.portlet.PortletRequest;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.liferay.faces.portlet.PortletRequestMockImpl;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class UserPermissionCacheTest {
+
+	@Test
+	public void testInvalidate() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(portletRequest);
+		userPermissionCache.setPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW", true);
+		userPermissionCache.setRoleNames(1L, Collections.singleton("Administrator"));
+
+		// After invalidation, the decisions that were made prior must be made again.
+		UserPermissionCache.invalidate(portletRequest);
+
+		UserPermissionCache invalidatedCache = UserPermissionCache.getInstance(portletRequest);
+		Assert.assertNotSame(userPermissionCache, invalidatedCache);
+		Assert.assertNull(invalidatedCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW"));
+		Assert.assertNull(invalidatedCache.getRoleNames(1L));
+	}
+
+	@Test
+	public void testPortletPermissionHits() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(portletRequest);
+		Assert.assertNull(userPermissionCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW"));
+		userPermissionCache.setPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW", true);
+		userPermissionCache.setPortletPermission(1L, 2L, "portlet_WAR_test", "CONFIGURATION", false);
+
+		// The memo must be shared by every lookup during the same request.
+		UserPermissionCache sameRequestCache = UserPermissionCache.getInstance(portletRequest);
+		Assert.assertSame(userPermissionCache, sameRequestCache);
+		Assert.assertEquals(Boolean.TRUE, sameRequestCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW"));
+		Assert.assertEquals(Boolean.FALSE,
+			sameRequestCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "CONFIGURATION"));
+
+		// Decisions for a different layout, portlet or action must not be answered from the memo.
+		Assert.assertNull(sameRequestCache.getPortletPermission(1L, 3L, "portlet_WAR_test", "VIEW"));
+		Assert.assertNull(sameRequestCache.getPortletPermission(1L, 2L, "other_WAR_test", "VIEW"));
+		Assert.assertNull(sameRequestCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "ADD_TO_PAGE"));
+
+		// A different request must start with an empty memo.
+		UserPermissionCache otherRequestCache = UserPermissionCache.getInstance(new PortletRequestMockImpl(
+					"/context"));
+		Assert.assertNotSame(userPermissionCache, otherRequestCache);
+		Assert.assertNull(otherRequestCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW"));
+	}
+
+	@Test
+	public void testPortletPermissionKeyCollisions() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(portletRequest);
+		userPermissionCache.setPortletPermission(1L, 2L, "foo_WAR_barportlet", "VIEW", true);
+
+		// Since portletIds and actionIds can contain underscores, decisions whose components merely concatenate to the
+		// same text must not be answered from the memo.
+		Assert.assertNull(userPermissionCache.getPortletPermission(1L, 2L, "foo_WAR", "barportlet_VIEW"));
+		Assert.assertNull(userPermissionCache.getPortletPermission(1L, 2L, "foo", "WAR_barportlet_VIEW"));
+		userPermissionCache.setPortletPermission(1L, 2L, "foo_WAR", "barportlet_VIEW", false);
+		Assert.assertEquals(Boolean.TRUE,
+			userPermissionCache.getPortletPermission(1L, 2L, "foo_WAR_barportlet", "VIEW"));
+		Assert.assertEquals(Boolean.FALSE,
+			userPermissionCache.getPortletPermission(1L, 2L, "foo_WAR", "barportlet_VIEW"));
+	}
+
+	@Test
+	public void testUserIsolation() {
+
+		PortletRequest portletRequest = new PortletRequestMockImpl("/context");
+		UserPermissionCache userPermissionCache = UserPermissionCache.getInstance(portletRequest);
+		userPermissionCache.setPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW", true);
+
+		Set<String> roleNames = new HashSet<String>();
+		roleNames.add("Administrator");
+		roleNames.add("Power User");
+		userPermissionCache.setRoleNames(1L, roleNames);
+
+		// The decisions made on behalf of one user must never be returned for another user.
+		Assert.assertNull(userPermissionCache.getPortletPermission(11L, 2L, "portlet_WAR_test", "VIEW"));
+		Assert.assertNull(userPermissionCache.getRoleNames(11L));
+		userPermissionCache.setPortletPermission(11L, 2L, "portlet_WAR_test", "VIEW", false);
+		userPermissionCache.setRoleNames(11L, Collections.singleton("User"));
+		Assert.assertEquals(Boolean.TRUE, userPermissionCache.getPortletPermission(1L, 2L, "portlet_WAR_test", "VIEW"));
+		Assert.assertEquals(Boolean.FALSE,
+			userPermissionCache.getPortletPermission(11L, 2L, "portlet_WAR_test", "VIEW"));
+		Assert.assertEquals(roleNames, userPermissionCache.getRoleNames(1L));
+		Assert.assertEquals(Collections.singleton("User"), userPermissionCache.getRoleNames(11L));
+	}
+}
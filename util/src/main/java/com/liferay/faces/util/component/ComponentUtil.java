@@ -22,6 +22,7 @@ import javax.faces.component.UIViewRoot;
 import javax.faces.component.html.HtmlOutputLabel;
 import javax.faces.context.FacesContext;
 
+import com.liferay.faces.util.lang.MethodCache;
 import com.liferay.faces.util.lang.StringPool;
 
 
@@ -32,6 +33,7 @@ public class ComponentUtil {
 
 	// Private Constants
 	private static final String DOUBLE_BACKSLASH_COLON = "\\\\\\\\:";
+	private static final MethodCache GET_LABEL_METHOD_CACHE = new MethodCache("getLabel");
 	private static final String REGEX_COLON = "[:]";
 
 	public static String concatCssClasses(String... classNames) {
@@ -150,14 +152,7 @@ public class ComponentUtil {
 
 			if (parent != null) {
 
-				Method method = null;
-
-				try {
-					method = parent.getClass().getMethod("getLabel", (Class<?>[]) null);
-				}
-				catch (NoSuchMethodException e) {
-					// ignore
-				}
+				Method method = GET_LABEL_METHOD_CACHE.getMethod(parent.getClass());
 
 				if (method != null) {
 
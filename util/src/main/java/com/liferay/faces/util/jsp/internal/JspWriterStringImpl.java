@@ -14,7 +14,7 @@
 package com.liferay.faces.util.jsp.internal;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.util.Arrays;
 
 import javax.servlet.jsp.JspWriter;
 
@@ -22,7 +22,9 @@ import com.liferay.faces.util.lang.StringPool;
 
 
 /**
- * This class is an implementation of {@link JspWriter} that writes to an underlying String instead of JSP.
+ * This class is an implementation of {@link JspWriter} that writes to an underlying String instead of JSP. Characters
+ * are written to a growable char buffer that is retained by {@link #clear()} and {@link #clearBuffer()} so that a
+ * single instance can be reused to capture the output of many JSP tags.
  *
  * @author  Neil Griffin
  */
@@ -33,78 +35,79 @@ public class JspWriterStringImpl extends JspWriter {
 	public static final int DEFAULT_BUFFER_SIZE = 1024;
 
 	// Private Data Members
-	private StringWriter stringWriter;
+	private char[] buf;
+	private int count;
 
 	public JspWriterStringImpl() {
 		super(DEFAULT_BUFFER_SIZE, DEFAULT_AUTO_FLUSH);
-		this.stringWriter = new StringWriter(DEFAULT_BUFFER_SIZE);
+		this.buf = new char[DEFAULT_BUFFER_SIZE];
 	}
 
 	@Override
 	public void clear() throws IOException {
-		stringWriter = new StringWriter(getBufferSize());
+		count = 0;
 	}
 
 	@Override
 	public void clearBuffer() throws IOException {
-		stringWriter = new StringWriter(getBufferSize());
+		count = 0;
 	}
 
 	@Override
 	public void close() throws IOException {
-		stringWriter.close();
+		// no-op since there is no underlying resource.
 	}
 
 	@Override
 	public void flush() throws IOException {
-		stringWriter.flush();
+		// no-op since there is no underlying resource.
 	}
 
 	@Override
 	public void newLine() throws IOException {
-		stringWriter.write(StringPool.NEW_LINE);
+		write(StringPool.NEW_LINE);
 	}
 
 	@Override
 	public void print(boolean b) throws IOException {
-		stringWriter.write(Boolean.toString(b));
+		write(Boolean.toString(b));
 	}
 
 	@Override
 	public void print(char c) throws IOException {
-		stringWriter.write(Character.toString(c));
+		write(c);
 	}
 
 	@Override
 	public void print(int i) throws IOException {
-		stringWriter.write(Integer.toString(i));
+		write(Integer.toString(i));
 	}
 
 	@Override
 	public void print(long l) throws IOException {
-		stringWriter.write(Long.toString(l));
+		write(Long.toString(l));
 	}
 
 	@Override
 	public void print(float f) throws IOException {
-		stringWriter.write(Float.toString(f));
+		write(Float.toString(f));
 	}
 
 	@Override
 	public void print(double d) throws IOException {
-		stringWriter.write(Double.toString(d));
+		write(Double.toString(d));
 	}
 
 	@Override
 	public void print(char[] s) throws IOException {
-		stringWriter.write(s);
+		write(s);
 	}
 
 	@Override
 	public void print(String s) throws IOException {
 
 		if (s != null) {
-			stringWriter.write(s);
+			write(s);
 		}
 	}
 
@@ -112,13 +115,13 @@ public class JspWriterStringImpl extends JspWriter {
 	public void print(Object o) throws IOException {
 
 		if (o != null) {
-			stringWriter.write(o.toString());
+			write(o.toString());
 		}
 	}
 
 	@Override
 	public void println() throws IOException {
-		stringWriter.write(StringPool.NEW_LINE);
+		write(StringPool.NEW_LINE);
 	}
 
 	@Override
@@ -177,17 +180,39 @@ public class JspWriterStringImpl extends JspWriter {
 
 	@Override
 	public String toString() {
-		return stringWriter.toString();
+		return new String(buf, 0, count);
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		ensureCapacity(count + 1);
+		buf[count++] = (char) c;
 	}
 
 	@Override
 	public void write(char[] cbuf, int off, int len) throws IOException {
-		stringWriter.write(cbuf, off, len);
+		ensureCapacity(count + len);
+		System.arraycopy(cbuf, off, buf, count, len);
+		count += len;
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		ensureCapacity(count + len);
+		str.getChars(off, off + len, buf, count);
+		count += len;
+	}
+
+	protected void ensureCapacity(int minCapacity) {
+
+		if (minCapacity > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(buf.length * 2, minCapacity));
+		}
 	}
 
 	@Override
 	public int getRemaining() {
-		return getBufferSize() - stringWriter.getBuffer().length();
+		return getBufferSize() - count;
 	}
 
 }
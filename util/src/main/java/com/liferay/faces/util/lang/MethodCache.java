@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.util.lang;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+
+/**
+ * This class provides reflective access to a public method with a particular signature. The {@link Method} is resolved
+ * one time for each class and is stored in a class-keyed cache, so that subsequent calls avoid the cost of {@link
+ * Class#getMethod(String, Class...)} (which copies the {@link Method} every time) and the cost of a thrown {@link
+ * NoSuchMethodException} for classes that do not have the method. The cache holds its classes weakly and its methods
+ * softly (a {@link Method} refers to its declaring class) so that it does not prevent the class loader of a
+ * redeployed web application from being garbage collected.
+ *
+ * @author  Neil Griffin
+ */
+public class MethodCache {
+
+	// Private Constants
+	private static final Object METHOD_NOT_FOUND = new Object();
+
+	// Private Data Members
+	private Map<Class<?>, Object> methodMap;
+	private String methodName;
+	private Class<?>[] parameterTypes;
+
+	public MethodCache(String methodName, Class<?>... parameterTypes) {
+		this.methodName = methodName;
+		this.parameterTypes = parameterTypes;
+		this.methodMap = Collections.synchronizedMap(new WeakHashMap<Class<?>, Object>());
+	}
+
+	/**
+	 * Returns the public method of the specified class that has the signature of this cache, or <code>null</code> if
+	 * the class does not have such a method.
+	 */
+	public Method getMethod(Class<?> clazz) {
+
+		Object value = methodMap.get(clazz);
+
+		if (value == METHOD_NOT_FOUND) {
+			return null;
+		}
+
+		Method method = null;
+
+		if (value != null) {
+
+			@SuppressWarnings("unchecked")
+			SoftReference<Method> methodReference = (SoftReference<Method>) value;
+			method = methodReference.get();
+		}
+
+		if (method == null) {
+
+			try {
+				method = clazz.getMethod(methodName, parameterTypes);
+				methodMap.put(clazz, new SoftReference<Method>(method));
+			}
+			catch (NoSuchMethodException e) {
+				methodMap.put(clazz, METHOD_NOT_FOUND);
+			}
+		}
+
+		return method;
+	}
+
+	public String getMethodName() {
+		return methodName;
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.util.text;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * This class provides cached instances of the date formatting classes of the JDK, which are expensive to create. Since
+ * {@link SimpleDateFormat} and {@link Calendar} are not thread-safe, the instances returned by {@link
+ * #getSimpleDateFormat(String, Locale, TimeZone)} and {@link #getCalendar(TimeZone)} are cached per-thread. They must
+ * not be modified (other than by the methods that are used to set the time of a calendar) and must not be shared with
+ * other threads. The values returned by {@link #getDatePattern(int, Locale)} and {@link #getTimeZone(String)} are
+ * shared by all threads, and the returned {@link TimeZone} must not be modified.
+ *
+ * @author  Neil Griffin
+ */
+public final class DateFormatCache {
+
+	// Private Constants
+	private static final int MAX_SHARED_ENTRIES = 256;
+	private static final int MAX_THREAD_ENTRIES = 32;
+	private static final ConcurrentMap<List<Object>, String> DATE_PATTERNS =
+		new ConcurrentHashMap<List<Object>, String>();
+
+	// Note: The values of the thread-locals are instances of JDK classes (rather than anonymous classes such as a
+	// subclass of LinkedHashMap) so that the threads of the servlet container do not prevent the class loader of the
+	// webapp from being garbage collected after it is undeployed.
+	private static final ThreadLocal<Calendar> CALENDAR = new ThreadLocal<Calendar>();
+	private static final ThreadLocal<LinkedHashMap<List<Object>, SimpleDateFormat>> SIMPLE_DATE_FORMATS =
+		new ThreadLocal<LinkedHashMap<List<Object>, SimpleDateFormat>>();
+	private static final ConcurrentMap<String, TimeZone> TIME_ZONES = new ConcurrentHashMap<String, TimeZone>();
+
+	private DateFormatCache() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Returns a cleared calendar that is set to the specified time zone. The calendar is cached for the current thread.
+	 */
+	public static Calendar getCalendar(TimeZone timeZone) {
+
+		Calendar calendar = CALENDAR.get();
+
+		if (calendar == null) {
+			calendar = new GregorianCalendar();
+			CALENDAR.set(calendar);
+		}
+
+		calendar.clear();
+		calendar.setTimeZone(timeZone);
+
+		return calendar;
+	}
+
+	/**
+	 * Returns the pattern of the date format for the specified style and locale. This is equivalent to calling {@link
+	 * SimpleDateFormat#toPattern()} on the result of {@link DateFormat#getDateInstance(int, Locale)}.
+	 */
+	public static String getDatePattern(int style, Locale locale) {
+
+		List<Object> key = Arrays.<Object>asList(style, locale);
+		String datePattern = DATE_PATTERNS.get(key);
+
+		if (datePattern == null) {
+
+			SimpleDateFormat simpleDateFormat = (SimpleDateFormat) DateFormat.getDateInstance(style, locale);
+			datePattern = simpleDateFormat.toPattern();
+
+			if (DATE_PATTERNS.size() < MAX_SHARED_ENTRIES) {
+				DATE_PATTERNS.putIfAbsent(key, datePattern);
+			}
+		}
+
+		return datePattern;
+	}
+
+	/**
+	 * Returns a date format for the specified pattern, locale and time zone. The date format is cached for the current
+	 * thread.
+	 *
+	 * @param  pattern   The pattern of the date format.
+	 * @param  locale    The locale of the date format. If <code>null</code>, then the default locale is used.
+	 * @param  timeZone  The time zone of the date format. If <code>null</code>, then the default time zone is used.
+	 */
+	public static SimpleDateFormat getSimpleDateFormat(String pattern, Locale locale, TimeZone timeZone) {
+
+		if (locale == null) {
+			locale = Locale.getDefault();
+		}
+
+		if (timeZone == null) {
+			timeZone = TimeZone.getDefault();
+		}
+
+		List<Object> key = Arrays.<Object>asList(pattern, locale, timeZone);
+		LinkedHashMap<List<Object>, SimpleDateFormat> simpleDateFormats = SIMPLE_DATE_FORMATS.get();
+
+		if (simpleDateFormats == null) {
+
+			// Note: The map is ordered by access so that the least recently used date format is evicted first.
+			simpleDateFormats = new LinkedHashMap<List<Object>, SimpleDateFormat>(16, 0.75f, true);
+			SIMPLE_DATE_FORMATS.set(simpleDateFormats);
+		}
+
+		SimpleDateFormat simpleDateFormat = simpleDateFormats.get(key);
+
+		if (simpleDateFormat == null) {
+
+			simpleDateFormat = new SimpleDateFormat(pattern, locale);
+			simpleDateFormat.setTimeZone(timeZone);
+			simpleDateFormats.put(key, simpleDateFormat);
+
+			if (simpleDateFormats.size() > MAX_THREAD_ENTRIES) {
+
+				Iterator<List<Object>> iterator = simpleDateFormats.keySet().iterator();
+				iterator.next();
+				iterator.remove();
+			}
+		}
+
+		return simpleDateFormat;
+	}
+
+	/**
+	 * Returns the time zone for the specified id. This is equivalent to calling {@link TimeZone#getTimeZone(String)},
+	 * except that the returned instance is shared and must not be modified.
+	 */
+	public static TimeZone getTimeZone(String id) {
+
+		TimeZone timeZone = TIME_ZONES.get(id);
+
+		if (timeZone == null) {
+
+			timeZone = TimeZone.getTimeZone(id);
+
+			if (TIME_ZONES.size() < MAX_SHARED_ENTRIES) {
+				TIME_ZONES.putIfAbsent(id, timeZone);
+			}
+		}
+
+		return timeZone;
+	}
+}
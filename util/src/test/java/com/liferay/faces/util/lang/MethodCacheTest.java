@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.util.lang;
+
+import java.lang.reflect.Method;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class MethodCacheTest {
+
+	@Test
+	public void testGetMethod() throws Exception {
+
+		MethodCache methodCache = new MethodCache("substring", int.class, int.class);
+		Method method = methodCache.getMethod(String.class);
+		Assert.assertNotNull(method);
+		Assert.assertEquals("ell", method.invoke("hello", 1, 4));
+
+		// Subsequent lookups for the same class must return the cached instance.
+		Assert.assertSame(method, methodCache.getMethod(String.class));
+	}
+
+	@Test
+	public void testMethodNotFound() {
+
+		MethodCache methodCache = new MethodCache("substring", int.class, int.class);
+
+		// Negative results are cached too, and must be reported as null each time.
+		Assert.assertNull(methodCache.getMethod(Object.class));
+		Assert.assertNull(methodCache.getMethod(Object.class));
+	}
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2000-2015 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+package com.liferay.faces.util.text;
+
+import java.lang.reflect.Field;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * @author  Neil Griffin
+ */
+public class DateFormatCacheTest {
+
+	@Test
+	public void testConcurrentFormatAndParse() throws Exception {
+
+		final TimeZone timeZone = DateFormatCache.getTimeZone("Greenwich");
+		int threadCount = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+		try {
+
+			List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+
+			for (int i = 0; i < threadCount; i++) {
+
+				final int threadIndex = i;
+
+				futures.add(executorService.submit(new Callable<Integer>() {
+
+							public Integer call() throws Exception {
+
+								// Each thread formats and parses different dates with formatters that have the same
+								// key. If a formatter were shared between threads, the results would be corrupted.
+								int iterations = 2000;
+
+								for (int j = 0; j < iterations; j++) {
+
+									long time = (((threadIndex * iterations) + j) * 86400000L) + (j * 1000L);
+									Date date = new Date(time);
+									SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat(
+											"yyyy-MM-dd HH:mm:ss", Locale.US, timeZone);
+									String dateString = simpleDateFormat.format(date);
+									Date parsedDate = DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm:ss",
+											Locale.US, timeZone).parse(dateString);
+									Assert.assertEquals(date, parsedDate);
+
+									Calendar calendar = DateFormatCache.getCalendar(timeZone);
+									calendar.setTime(date);
+									Assert.assertEquals(time, calendar.getTimeInMillis());
+								}
+
+								return iterations;
+							}
+						}));
+			}
+
+			for (Future<Integer> future : futures) {
+				Assert.assertEquals(Integer.valueOf(2000), future.get());
+			}
+		}
+		finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+
+		SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat("'a'", Locale.US, null);
+		SimpleDateFormat firstSimpleDateFormat = DateFormatCache.getSimpleDateFormat("'0'", Locale.US, null);
+
+		for (int i = 1; i < 40; i++) {
+
+			// Accessing a date format makes it the most recently used, which prevents it from being evicted.
+			Assert.assertSame(simpleDateFormat, DateFormatCache.getSimpleDateFormat("'a'", Locale.US, null));
+			DateFormatCache.getSimpleDateFormat("'" + i + "'", Locale.US, null);
+		}
+
+		// The number of date formats that are cached for the current thread must be bounded, and the least recently
+		// used date format must have been evicted.
+		Assert.assertEquals(32, ((Map<?, ?>) getThreadLocal("SIMPLE_DATE_FORMATS").get()).size());
+		Assert.assertSame(simpleDateFormat, DateFormatCache.getSimpleDateFormat("'a'", Locale.US, null));
+		Assert.assertNotSame(firstSimpleDateFormat, DateFormatCache.getSimpleDateFormat("'0'", Locale.US, null));
+	}
+
+	@Test
+	public void testGetDatePattern() {
+
+		SimpleDateFormat simpleDateFormat = (SimpleDateFormat) DateFormat.getDateInstance(DateFormat.MEDIUM,
+				Locale.GERMANY);
+		Assert.assertEquals(simpleDateFormat.toPattern(),
+			DateFormatCache.getDatePattern(DateFormat.MEDIUM, Locale.GERMANY));
+	}
+
+	@Test
+	public void testGetSimpleDateFormat() throws Exception {
+
+		final TimeZone timeZone = DateFormatCache.getTimeZone("America/New_York");
+		SimpleDateFormat simpleDateFormat = DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US,
+				timeZone);
+		Assert.assertEquals("1970-01-01 00:00", simpleDateFormat.format(new Date(5 * 3600000L)));
+
+		// Subsequent lookups with the same key on the same thread must return the cached instance.
+		Assert.assertSame(simpleDateFormat,
+			DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US, timeZone));
+
+		// Each of the pattern, locale and time zone is part of the key.
+		Assert.assertNotSame(simpleDateFormat,
+			DateFormatCache.getSimpleDateFormat("yyyy-MM-dd", Locale.US, timeZone));
+		Assert.assertNotSame(simpleDateFormat,
+			DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm", Locale.GERMANY, timeZone));
+		Assert.assertNotSame(simpleDateFormat,
+			DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US, DateFormatCache.getTimeZone("GMT")));
+
+		// Formatters must not be shared between threads.
+		final SimpleDateFormat[] otherThreadSimpleDateFormat = new SimpleDateFormat[1];
+		Thread thread = new Thread(new Runnable() {
+
+					public void run() {
+						otherThreadSimpleDateFormat[0] = DateFormatCache.getSimpleDateFormat("yyyy-MM-dd HH:mm",
+								Locale.US, timeZone);
+					}
+				});
+		thread.start();
+		thread.join();
+		Assert.assertNotNull(otherThreadSimpleDateFormat[0]);
+		Assert.assertNotSame(simpleDateFormat, otherThreadSimpleDateFormat[0]);
+	}
+
+	@Test
+	public void testGetTimeZone() {
+
+		TimeZone timeZone = DateFormatCache.getTimeZone("Greenwich");
+		Assert.assertEquals(TimeZone.getTimeZone("Greenwich"), timeZone);
+		Assert.assertSame(timeZone, DateFormatCache.getTimeZone("Greenwich"));
+	}
+
+	@Test
+	public void testThreadLocalValues() throws Exception {
+
+		DateFormatCache.getSimpleDateFormat("yyyy", Locale.US, null);
+		DateFormatCache.getCalendar(TimeZone.getDefault());
+
+		// The thread-locals and their values must be instances of JDK classes so that the threads of the servlet
+		// container do not prevent the class loader of the webapp from being garbage collected.
+		for (String fieldName : new String[] { "CALENDAR", "SIMPLE_DATE_FORMATS" }) {
+
+			ThreadLocal<?> threadLocal = getThreadLocal(fieldName);
+			Assert.assertEquals(ThreadLocal.class, threadLocal.getClass());
+			Assert.assertNull(threadLocal.get().getClass().getClassLoader());
+		}
+	}
+
+	protected ThreadLocal<?> getThreadLocal(String fieldName) throws Exception {
+
+		Field field = DateFormatCache.class.getDeclaredField(fieldName);
+		field.setAccessible(true);
+
+		return (ThreadLocal<?>) field.get(null);
+	}
+}